@@ -0,0 +1,71 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.CRSFactory;
+import org.cts.registry.EPSGRegistry;
+import org.cts.registry.ESRIRegistry;
+import org.cts.registry.IGNFRegistry;
+import org.cts.registry.RegistryManager;
+
+/**
+ * Helpers shared by the benchmarks.
+ */
+final class Benchmarks {
+
+    /**
+     * Number of coordinates transformed by the benchmarks working on packed
+     * coordinates.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Create a CRSFactory knowing the IGNF, EPSG and ESRI registries.
+     */
+    static CRSFactory createCRSFactory() {
+        CRSFactory crsFactory = new CRSFactory();
+        RegistryManager registryManager = crsFactory.getRegistryManager();
+        registryManager.addRegistry(new IGNFRegistry());
+        registryManager.addRegistry(new EPSGRegistry());
+        registryManager.addRegistry(new ESRIRegistry());
+        return crsFactory;
+    }
+
+    /**
+     * Fill packed with BATCH_SIZE coordinates of the given dimension spread
+     * around (lat, lon), latitude and longitude being expressed in the same
+     * unit as step.
+     */
+    static double[] createBatch(double lat, double lon, double step, int dim) {
+        double[] packed = new double[BATCH_SIZE * dim];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            packed[i * dim] = lat + step * ((i % 10) - 5);
+            packed[i * dim + 1] = lon + step * ((i / 10 % 10) - 5);
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.CRSFactory;
+import org.cts.Identifier;
+import org.cts.crs.CompoundCRS;
+import org.cts.crs.GeodeticCRS;
+import org.cts.crs.VerticalCRS;
+import org.cts.datum.VerticalDatum;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.CoordinateOperationFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip between RGF93 Lambert 93 + IGN69 and another compound CRS with
+ * IGN69 heights. These transformations memorize and load ordinates around
+ * the horizontal and vertical operations, and should not allocate anything
+ * in steady state : run this benchmark with <code>-prof gc</code> and check
+ * that <code>gc.alloc.rate.norm</code> is close to 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompoundCRSBenchmark {
+
+    /**
+     * The horizontal CRS of the target compound CRS.
+     */
+    @Param({"IGNF:LAMBE", "IGNF:RGF93G"})
+    public String target;
+
+    private CoordinateOperation op;
+    private CoordinateOperation inverse;
+    private double[] input;
+    private double[] coord = new double[3];
+    private double[] packedInput;
+    private double[] packed;
+
+    @Setup
+    public void setup() throws Exception {
+        CRSFactory crsFactory = Benchmarks.createCRSFactory();
+        VerticalCRS ign69 = new VerticalCRS(new Identifier("EPSG", "5720", "IGN69"),
+                VerticalDatum.IGN69, VerticalCRS.ALTITUDE_CS);
+        CompoundCRS sourceCRS = new CompoundCRS(new Identifier(CompoundCRS.class, "RGF93 Lambert 93 + IGN69"),
+                (GeodeticCRS) crsFactory.getCRS("IGNF:LAMB93"), ign69);
+        CompoundCRS targetCRS = new CompoundCRS(new Identifier(CompoundCRS.class, target + " + IGN69"),
+                (GeodeticCRS) crsFactory.getCRS(target), ign69);
+        op = CoordinateOperationFactory.getMostPrecise(
+                CoordinateOperationFactory.createCoordinateOperations(sourceCRS, targetCRS));
+        inverse = CoordinateOperationFactory.getMostPrecise(
+                CoordinateOperationFactory.createCoordinateOperations(targetCRS, sourceCRS));
+        // easting, northing, altitude in Lambert 93 + IGN69
+        input = new double[]{882408.3, 6543019.6, 100.0};
+        packedInput = Benchmarks.createBatch(882408.3, 6543019.6, 1000.0, 3);
+        for (int i = 2; i < packedInput.length; i += 3) {
+            packedInput[i] = 100.0;
+        }
+        packed = new double[packedInput.length];
+    }
+
+    @Benchmark
+    public double[] transform() throws Exception {
+        System.arraycopy(input, 0, coord, 0, 3);
+        return inverse.transform(op.transform(coord));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Benchmarks.BATCH_SIZE)
+    public double[] transformPacked() throws Exception {
+        System.arraycopy(packedInput, 0, packed, 0, packed.length);
+        op.transform(packed, 0, Benchmarks.BATCH_SIZE, 3);
+        inverse.transform(packed, 0, Benchmarks.BATCH_SIZE, 3);
+        return packed;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.Identifier;
+import org.cts.datum.Ellipsoid;
+import org.cts.datum.PrimeMeridian;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.CoordinateOperationSequence;
+import org.cts.op.Geocentric2Geographic;
+import org.cts.op.Geographic2Geocentric;
+import org.cts.op.LongitudeRotation;
+import org.cts.op.transformation.FrenchGeocentricNTF2RGF;
+import org.cts.op.transformation.GeocentricTranslation;
+import org.cts.op.transformation.NTv2GridShiftTransformation;
+import org.cts.op.transformation.SevenParameterTransformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the datum shift operations : seven parameter and grid based
+ * transformations, and the geocentric to geographic conversion they are
+ * usually chained with. The GeographicDatumShift cases compare a sequence
+ * changing the datum of geographic coordinates with and without the fused
+ * {@link org.cts.op.transformation.GeographicDatumShift}.
+ * The ntf_r93.gsb and gr3df97a.txt grids must be available in the .cts
+ * folder of the user home, or downloadable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatumShiftBenchmark {
+
+    @Param({"SevenParameterTransformation", "Geocentric2Geographic", "Geocentric2Geographic-vermeille",
+            "NTv2GridShiftTransformation", "NTv2GridShiftTransformation-mapped",
+            "FrenchGeocentricNTF2RGF", "GeographicDatumShift", "GeographicDatumShift-unfused"})
+    public String operation;
+
+    private CoordinateOperation op;
+    private double[] input;
+    private double[] coord = new double[3];
+    private double[] packedInput;
+    private double[] packed;
+
+    @Setup
+    public void setup() throws Exception {
+        // Paris, in radians
+        double lat = Math.toRadians(48.85);
+        double lon = Math.toRadians(2.35);
+        double[] geographic = new double[]{lat, lon, 100.0};
+        double[] packedGeographic = Benchmarks.createBatch(lat, lon, 1E-3, 3);
+        switch (operation) {
+            case "SevenParameterTransformation":
+                op = SevenParameterTransformation.createBursaWolfTransformation(
+                        -168, -60, 320, 0.5, -0.1, 0.2, 1.5);
+                input = toGeocentric(Ellipsoid.CLARKE1880IGN, geographic, packedGeographic);
+                break;
+            case "Geocentric2Geographic":
+            case "Geocentric2Geographic-vermeille":
+                op = new Geocentric2Geographic(Ellipsoid.GRS80, operation.endsWith("vermeille")
+                        ? Geocentric2Geographic.Algorithm.VERMEILLE : Geocentric2Geographic.Algorithm.ITERATIVE);
+                input = toGeocentric(Ellipsoid.GRS80, geographic, packedGeographic);
+                break;
+            case "NTv2GridShiftTransformation":
+            case "NTv2GridShiftTransformation-mapped":
+                NTv2GridShiftTransformation ntv2 =
+                        NTv2GridShiftTransformation.createNTv2GridShiftTransformation("ntf_r93.gsb");
+                ntv2.setMode(operation.endsWith("mapped")
+                        ? NTv2GridShiftTransformation.MAPPED : NTv2GridShiftTransformation.SPEED);
+                op = ntv2;
+                input = geographic;
+                break;
+            case "FrenchGeocentricNTF2RGF":
+                op = new FrenchGeocentricNTF2RGF();
+                input = toGeocentric(Ellipsoid.CLARKE1880IGN, geographic, packedGeographic);
+                break;
+            case "GeographicDatumShift":
+            case "GeographicDatumShift-unfused":
+                op = createGeographicDatumShift(operation.endsWith("unfused"));
+                input = geographic;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+        packedInput = packedGeographic;
+        packed = new double[packedInput.length];
+        // Make sure grids are loaded before the measurement
+        op.transform(input.clone());
+    }
+
+    /**
+     * Convert geographic into geocentric coordinates, in place for the packed
+     * ones.
+     */
+    private static double[] toGeocentric(Ellipsoid ellipsoid, double[] geographic,
+                                        double[] packedGeographic) throws Exception {
+        CoordinateOperation geog2geoc = new Geographic2Geocentric(ellipsoid);
+        geog2geoc.transform(packedGeographic, 0, Benchmarks.BATCH_SIZE, 3);
+        return geog2geoc.transform(geographic.clone());
+    }
+
+    /**
+     * Create a sequence changing geographic coordinates from NTF (Paris) to
+     * ED50.
+     */
+    private static CoordinateOperation createGeographicDatumShift(boolean unfused) {
+        SevenParameterTransformation toWGS84 = SevenParameterTransformation.createBursaWolfTransformation(
+                -84, -97, -117, 0.5, -0.1, 0.2, 1.5);
+        CoordinateOperation[] sequence = new CoordinateOperation[]{
+                LongitudeRotation.getLongitudeRotationFrom(PrimeMeridian.PARIS),
+                new Geographic2Geocentric(Ellipsoid.CLARKE1880IGN),
+                new GeocentricTranslation(-168, -60, 320),
+                toWGS84.inverse(),
+                new Geocentric2Geographic(Ellipsoid.INTERNATIONAL1924)};
+        Identifier id = new Identifier(CoordinateOperationSequence.class, "NTF to ED50");
+        if (unfused) {
+            return new CoordinateOperationSequence(id, sequence) {
+                @Override
+                protected CoordinateOperation[] optimizeSequence(CoordinateOperation[] sequence) {
+                    return sequence;
+                }
+            };
+        }
+        return new CoordinateOperationSequence(id, sequence);
+    }
+
+    @Benchmark
+    public double[] transform() throws Exception {
+        System.arraycopy(input, 0, coord, 0, 3);
+        return op.transform(coord);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Benchmarks.BATCH_SIZE)
+    public double[] transformPacked() throws Exception {
+        System.arraycopy(packedInput, 0, packed, 0, packed.length);
+        op.transform(packed, 0, Benchmarks.BATCH_SIZE, 3);
+        return packed;
+    }
+}
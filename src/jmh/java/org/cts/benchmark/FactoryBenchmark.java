@@ -0,0 +1,100 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.CRSFactory;
+import org.cts.crs.CoordinateReferenceSystem;
+import org.cts.crs.GeodeticCRS;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.CoordinateOperationFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the creation of CRS and coordinate operations, served from
+ * the caches of {@link CRSFactory} and {@link CoordinateOperationFactory} or
+ * built from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBenchmark {
+
+    /**
+     * Source and target CRS codes.
+     */
+    @Param({"EPSG:4326>EPSG:2154", "EPSG:27572>EPSG:2154", "EPSG:4326>EPSG:32631"})
+    public String codes;
+
+    private CRSFactory crsFactory;
+    private String sourceCode;
+    private GeodeticCRS source;
+    private GeodeticCRS target;
+
+    @Setup
+    public void setup() throws Exception {
+        crsFactory = Benchmarks.createCRSFactory();
+        String[] split = codes.split(">");
+        sourceCode = split[0];
+        source = (GeodeticCRS) crsFactory.getCRS(split[0]);
+        target = (GeodeticCRS) crsFactory.getCRS(split[1]);
+    }
+
+    @Benchmark
+    public CoordinateReferenceSystem getCRS() throws Exception {
+        return crsFactory.getCRS(sourceCode);
+    }
+
+    @Benchmark
+    public CoordinateReferenceSystem getCRSNotCached() throws Exception {
+        crsFactory.getCRSCache().clear();
+        return crsFactory.getCRS(sourceCode);
+    }
+
+    @Benchmark
+    public Set<CoordinateOperation> createCoordinateOperations() throws Exception {
+        return CoordinateOperationFactory.createCoordinateOperations(source, target);
+    }
+
+    @Benchmark
+    public Set<CoordinateOperation> createCoordinateOperationsNotCached() throws Exception {
+        CoordinateOperationFactory.clearCache();
+        return CoordinateOperationFactory.createCoordinateOperations(source, target);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.op.transformation.grids.GeographicGrid;
+import org.cts.op.transformation.grids.IGNGeographicGrid;
+import org.cts.op.transformation.grids.IGNVerticalGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the bilinear interpolation in the IGN grids : the
+ * gr3df97a.txt translation grid used by FrenchGeocentricNTF2RGF and the
+ * RAF09.txt geoid grid used by Altitude2EllipsoidalHeight.
+ * The grids must be available in the .cts folder of the user home, or
+ * downloadable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridInterpolationBenchmark {
+
+    @Param({"gr3df97a.txt", "RAF09.txt"})
+    public String grid;
+
+    private GeographicGrid geographicGrid;
+    private double[] shift;
+    private int n;
+
+    @Setup
+    public void setup() throws Exception {
+        if (grid.equals("gr3df97a.txt")) {
+            geographicGrid = IGNGeographicGrid.loadGrid(grid);
+        } else {
+            geographicGrid = IGNVerticalGrid.loadGrid(grid);
+        }
+        shift = new double[geographicGrid.getDim()];
+    }
+
+    /**
+     * Next position to interpolate, moving over the south of France so that
+     * successive calls do not read the same cell.
+     */
+    private double nextLatitude() {
+        return 44.0 + (n % 97) * 0.01;
+    }
+
+    private double nextLongitude() {
+        return 1.0 + (n++ % 89) * 0.02;
+    }
+
+    @Benchmark
+    public double[] interpolate() throws Exception {
+        return geographicGrid.bilinearInterpolation(nextLatitude(), nextLongitude());
+    }
+
+    @Benchmark
+    public double[] interpolateInto() throws Exception {
+        return geographicGrid.bilinearInterpolation(nextLatitude(), nextLongitude(), shift);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.datum.Ellipsoid;
+import org.cts.datum.GeodeticDatum;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.Geographic2Geocentric;
+import org.cts.op.transformation.Altitude2EllipsoidalHeight;
+import org.cts.op.transformation.FrenchGeocentricNTF2RGF;
+import org.cts.op.transformation.NTv2GridShiftTransformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the grid based transformations when several threads
+ * transform single coordinates with the same operation, which is how a
+ * transformation cached by the CoordinateOperationFactory is generally used.
+ * The grid is read from the GridManager for each coordinate, so this
+ * benchmark measures the cost of sharing the grid between threads.
+ * The ntf_r93.gsb, gr3df97a.txt and RAF09.txt grids must be available in the
+ * .cts folder of the user home, or downloadable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class GridSharingBenchmark {
+
+    @Param({"NTv2GridShiftTransformation", "NTv2GridShiftTransformation-mapped",
+            "FrenchGeocentricNTF2RGF", "Altitude2EllipsoidalHeight"})
+    public String operation;
+
+    private CoordinateOperation op;
+    private double[] input;
+
+    /**
+     * The coordinate transformed by each thread.
+     */
+    @State(Scope.Thread)
+    public static class Coordinate {
+
+        private final double[] coord = new double[3];
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        // Paris, in radians
+        double[] geographic = new double[]{Math.toRadians(48.85), Math.toRadians(2.35), 100.0};
+        switch (operation) {
+            case "NTv2GridShiftTransformation":
+            case "NTv2GridShiftTransformation-mapped":
+                NTv2GridShiftTransformation ntv2 =
+                        NTv2GridShiftTransformation.createNTv2GridShiftTransformation("ntf_r93.gsb");
+                ntv2.setMode(operation.endsWith("mapped")
+                        ? NTv2GridShiftTransformation.MAPPED : NTv2GridShiftTransformation.SPEED);
+                op = ntv2;
+                input = geographic;
+                break;
+            case "FrenchGeocentricNTF2RGF":
+                op = new FrenchGeocentricNTF2RGF();
+                input = new Geographic2Geocentric(Ellipsoid.CLARKE1880IGN).transform(geographic);
+                break;
+            case "Altitude2EllipsoidalHeight":
+                op = new Altitude2EllipsoidalHeight("RAF09.txt", GeodeticDatum.RGF93);
+                // The geoid grid is interpolated with decimal degrees
+                input = new double[]{48.85, 2.35, 100.0};
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+        // Make sure grids are loaded before the measurement
+        op.transform(input.clone());
+    }
+
+    @Benchmark
+    public double[] transform(Coordinate coordinate) throws Exception {
+        System.arraycopy(input, 0, coordinate.coord, 0, 3);
+        return op.transform(coordinate.coord);
+    }
+}
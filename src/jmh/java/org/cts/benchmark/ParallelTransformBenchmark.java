@@ -0,0 +1,95 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.crs.GeodeticCRS;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.CoordinateOperationFactory;
+import org.cts.op.ParallelTransformExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time needed to reproject one million coordinates from WGS 84 to Lambert 93
+ * with {@link ParallelTransformExecutor}, depending on the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelTransformBenchmark {
+
+    private static final int COUNT = 1000000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private ParallelTransformExecutor executor;
+    private CoordinateOperation op;
+    private double[] coordinates;
+    private double[] packed;
+
+    @Setup
+    public void setup() throws Exception {
+        GeodeticCRS source = (GeodeticCRS) Benchmarks.createCRSFactory().getCRS("EPSG:4326");
+        GeodeticCRS target = (GeodeticCRS) Benchmarks.createCRSFactory().getCRS("EPSG:2154");
+        op = CoordinateOperationFactory.getMostPrecise(source, target);
+        pool = new ForkJoinPool(threads);
+        executor = new ParallelTransformExecutor(pool);
+        coordinates = new double[COUNT * 2];
+        for (int i = 0; i < COUNT; i++) {
+            coordinates[2 * i] = Math.toRadians(43.0 + (i % 1000) * 0.005);
+            coordinates[2 * i + 1] = Math.toRadians(-1.0 + (i / 1000) * 0.007);
+        }
+        packed = new double[coordinates.length];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] transform() throws Exception {
+        System.arraycopy(coordinates, 0, packed, 0, packed.length);
+        executor.transform(op, packed, 0, COUNT, 2);
+        return packed;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.CRSFactory;
+import org.cts.crs.ProjectedCRS;
+import org.cts.datum.Ellipsoid;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.projection.Projection;
+import org.cts.op.projection.UniversalTransverseMercatorAuto;
+import org.cts.units.Measure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward and inverse throughput of every projection of
+ * {@link org.cts.op.projection}, for a single coordinate and for packed
+ * coordinates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    /**
+     * The projection to benchmark, and the CRS it is read from with a point
+     * (latitude, longitude in degrees) of its area of use.
+     */
+    @Param({"AlbersEqualArea", "CassiniSoldner", "CylindricalEqualArea",
+            "EquidistantCylindrical", "GaussSchreiberTransverseMercator", "Krovak",
+            "LambertAzimuthalEqualArea", "LambertConicConformal1SP", "LambertConicConformal2SP",
+            "Mercator1SP", "MillerCylindrical", "NewZealandMapGrid", "ObliqueMercator",
+            "ObliqueStereographicAlternative", "Polyconic", "Stereographic",
+            "SwissObliqueMercator", "TransverseMercator", "UniversalTransverseMercator",
+            "UniversalTransverseMercatorAuto"})
+    public String projection;
+
+    private Projection direct;
+    private CoordinateOperation inverse;
+    private double[] geographic;
+    private double[] projected;
+    private double[] coord = new double[2];
+    private double[] packedGeographic;
+    private double[] packedProjected;
+    private double[] packed;
+
+    @Setup
+    public void setup() throws Exception {
+        CRSFactory crsFactory = Benchmarks.createCRSFactory();
+        switch (projection) {
+            case "AlbersEqualArea":
+                init(crsFactory, "EPSG:3005", 53.0, -125.0);
+                break;
+            case "CassiniSoldner":
+                init(crsFactory, "EPSG:2099", 25.5, 50.8);
+                break;
+            case "CylindricalEqualArea":
+                init(crsFactory, "EPSG:3975", 30.0, 10.0);
+                break;
+            case "EquidistantCylindrical":
+                init(crsFactory, "EPSG:4087", 30.0, 10.0);
+                break;
+            case "GaussSchreiberTransverseMercator":
+                init(crsFactory, "IGNF:REUN47GAUSSL", -21.1, 55.5);
+                break;
+            case "Krovak":
+                init(crsFactory, "EPSG:5221", 49.5, 15.0);
+                break;
+            case "LambertAzimuthalEqualArea":
+                init(crsFactory, "EPSG:3035", 50.0, 10.0);
+                break;
+            case "LambertConicConformal1SP":
+                init(crsFactory, "EPSG:27572", 46.5, 3.0);
+                break;
+            case "LambertConicConformal2SP":
+                init(crsFactory, "EPSG:2154", 46.5, 3.0);
+                break;
+            case "Mercator1SP":
+                init(crsFactory, "EPSG:3395", 30.0, 10.0);
+                break;
+            case "MillerCylindrical":
+                init(crsFactory, "ESRI:54003", 30.0, 10.0);
+                break;
+            case "NewZealandMapGrid":
+                init(crsFactory, "EPSG:27200", -41.0, 173.0);
+                break;
+            case "ObliqueMercator":
+                init(crsFactory, "EPSG:3078", 45.0, -86.0);
+                break;
+            case "ObliqueStereographicAlternative":
+                init(crsFactory, "EPSG:2171", 50.6, 21.0);
+                break;
+            case "Polyconic":
+                init(crsFactory, "EPSG:5530", -10.0, -54.0);
+                break;
+            case "Stereographic":
+                init(crsFactory, "EPSG:3031", -75.0, 10.0);
+                break;
+            case "SwissObliqueMercator":
+                init(crsFactory, "EPSG:2056", 46.9, 7.4);
+                break;
+            case "TransverseMercator":
+                init(crsFactory, "EPSG:2000", 17.0, -62.0);
+                break;
+            case "UniversalTransverseMercator":
+                init(crsFactory, "EPSG:32631", 45.0, 3.0);
+                break;
+            case "UniversalTransverseMercatorAuto":
+                // There is no registry entry for this projection
+                init(new UniversalTransverseMercatorAuto(Ellipsoid.WGS84, new HashMap<String, Measure>()), 45.0, 3.0);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown projection " + projection);
+        }
+    }
+
+    private void init(CRSFactory crsFactory, String code, double lat, double lon) throws Exception {
+        init(((ProjectedCRS) crsFactory.getCRS(code)).getProjection(), lat, lon);
+    }
+
+    private void init(Projection projection, double lat, double lon) throws Exception {
+        direct = projection;
+        inverse = projection.inverse();
+        geographic = new double[]{Math.toRadians(lat), Math.toRadians(lon)};
+        projected = direct.transform(geographic.clone());
+        packedGeographic = Benchmarks.createBatch(geographic[0], geographic[1], 1E-3, 2);
+        packedProjected = packedGeographic.clone();
+        direct.transform(packedProjected, 0, Benchmarks.BATCH_SIZE, 2);
+        packed = new double[packedGeographic.length];
+    }
+
+    @Benchmark
+    public double[] forward() throws Exception {
+        coord[0] = geographic[0];
+        coord[1] = geographic[1];
+        return direct.transform(coord);
+    }
+
+    @Benchmark
+    public double[] inverse() throws Exception {
+        coord[0] = projected[0];
+        coord[1] = projected[1];
+        return inverse.transform(coord);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Benchmarks.BATCH_SIZE)
+    public double[] forwardPacked() throws Exception {
+        System.arraycopy(packedGeographic, 0, packed, 0, packed.length);
+        direct.transform(packed, 0, Benchmarks.BATCH_SIZE, 2);
+        return packed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Benchmarks.BATCH_SIZE)
+    public double[] inversePacked() throws Exception {
+        System.arraycopy(packedProjected, 0, packed, 0, packed.length);
+        inverse.transform(packed, 0, Benchmarks.BATCH_SIZE, 2);
+        return packed;
+    }
+}
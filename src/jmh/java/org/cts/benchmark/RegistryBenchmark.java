@@ -0,0 +1,94 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.registry.AbstractProjRegistry;
+import org.cts.registry.EPSGRegistry;
+import org.cts.registry.IGNFRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the lookup of the parameters of a code in a registry, with
+ * the registry already used or with a new registry, which reuses the index
+ * of the registry file read by the first one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+
+    @Param({"epsg", "ignf"})
+    public String registryName;
+
+    private AbstractProjRegistry registry;
+    private String[] codes;
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        registry = createRegistry();
+        codes = registry.getSupportedCodes().toArray(new String[0]);
+    }
+
+    private AbstractProjRegistry createRegistry() {
+        return "epsg".equals(registryName) ? new EPSGRegistry() : new IGNFRegistry();
+    }
+
+    private String nextCode() {
+        String code = codes[next];
+        next = (next + 1) % codes.length;
+        return code;
+    }
+
+    @Benchmark
+    public Map<String, String> getParameters() throws Exception {
+        return registry.getParameters(nextCode());
+    }
+
+    @Benchmark
+    public Map<String, String> getParametersNewRegistry() throws Exception {
+        return createRegistry().getParameters(nextCode());
+    }
+
+    @Benchmark
+    public int getSupportedCodes() throws Exception {
+        return createRegistry().getSupportedCodes().size();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.benchmark;
+
+import org.cts.CRSFactory;
+import org.cts.Identifier;
+import org.cts.crs.GeodeticCRS;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.CoordinateOperationFactory;
+import org.cts.op.CoordinateOperationSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of coordinate operation sequences whose unit conversions, axis
+ * switches and longitude rotations are folded into a single
+ * {@link org.cts.op.AffineCoordinateConversion}, compared with the same
+ * sequences applying each operation one after the other ("-unfolded").
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBenchmark {
+
+    /**
+     * The source and target CRS of the sequence.
+     */
+    @Param({"EPSG:4807>EPSG:4275", "EPSG:4807>EPSG:4275-unfolded",
+            "EPSG:4326>EPSG:32631", "EPSG:4326>EPSG:32631-unfolded"})
+    public String sequence;
+
+    private CoordinateOperation op;
+    private double[] input;
+    private double[] coord = new double[2];
+    private double[] packedInput;
+    private double[] packed;
+
+    @Setup
+    public void setup() throws Exception {
+        CRSFactory crsFactory = Benchmarks.createCRSFactory();
+        boolean unfolded = sequence.endsWith("-unfolded");
+        String[] codes = sequence.replace("-unfolded", "").split(">");
+        CoordinateOperation mostPrecise = CoordinateOperationFactory.getMostPrecise(
+                CoordinateOperationFactory.createCoordinateOperations(
+                        (GeodeticCRS) crsFactory.getCRS(codes[0]), (GeodeticCRS) crsFactory.getCRS(codes[1])));
+        Identifier id = new Identifier(CoordinateOperationSequence.class, sequence);
+        if (unfolded) {
+            op = new CoordinateOperationSequence(id, mostPrecise) {
+                @Override
+                protected CoordinateOperation[] optimizeSequence(CoordinateOperation[] sequence) {
+                    return sequence;
+                }
+            };
+        } else {
+            op = new CoordinateOperationSequence(id, mostPrecise);
+        }
+        // longitude, latitude in degrees
+        input = new double[]{3.0, 45.0};
+        packedInput = Benchmarks.createBatch(3.0, 45.0, 0.01, 2);
+        packed = new double[packedInput.length];
+    }
+
+    @Benchmark
+    public double[] transform() throws Exception {
+        System.arraycopy(input, 0, coord, 0, 2);
+        return op.transform(coord);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Benchmarks.BATCH_SIZE)
+    public double[] transformPacked() throws Exception {
+        System.arraycopy(packedInput, 0, packed, 0, packed.length);
+        op.transform(packed, 0, Benchmarks.BATCH_SIZE, 2);
+        return packed;
+    }
+}
@@ -31,12 +31,20 @@ import org.cts.parser.proj4.Proj4Parser;
 import org.cts.registry.Registry;
 import org.cts.registry.RegistryException;
 import org.cts.registry.RegistryManager;
+import org.cts.util.ConcurrentCache;
+import org.cts.util.ConcurrentCache.EvictionPolicy;
 
 import java.io.*;
 import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * This factory is in charge of creating new
@@ -56,20 +64,51 @@ import java.util.Set;
  * {@link org.cts.parser.prj.PrjParser}.
  * <p>This class also manages a Cache which return
  * {@link org.cts.crs.CoordinateReferenceSystem}s which have already been
- * parsed.</p>
+ * parsed. The cache can be shared by several threads, its size and its
+ * eviction policy are set when the factory is created. A second cache, of the
+ * same size, returns the same {@link org.cts.crs.CoordinateReferenceSystem}
+ * for equivalent OGC WKT or proj4 definitions.</p>
  *
  * @author Erwan Bocher
  * TODO authorityAndSrid is the same as Identifier.getCode()
  */
 public class CRSFactory {
 
+    /**
+     * The default maximum number of CRS kept in the cache.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 100;
+
     private final RegistryManager registryManager = new RegistryManager();
-    protected final CRSCache<String, CoordinateReferenceSystem> CRSPOOL = new CRSCache<String, CoordinateReferenceSystem>(10);
+    private final ConcurrentCache<String, CoordinateReferenceSystem> crsCache;
+    protected final ConcurrentCache<String, CoordinateReferenceSystem> DEFINITIONPOOL;
 
     /**
-     * Creates a new factory.
+     * A view of the cache of the CRS created by {@link #getCRS(String)}.
+     *
+     * @deprecated use {@link #getCRSCache()}, which can be shared by several
+     * threads
+     */
+    @Deprecated
+    protected final CRSCache<String, CoordinateReferenceSystem> CRSPOOL = new CRSCacheView();
+
+    /**
+     * Creates a new factory with a LRU cache of {@link #DEFAULT_CACHE_SIZE}
+     * CRS.
      */
     public CRSFactory() {
+        this(DEFAULT_CACHE_SIZE, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Creates a new factory.
+     *
+     * @param cacheSize the maximum number of CRS kept in the cache
+     * @param policy    the policy used to evict CRS when the cache is full
+     */
+    public CRSFactory(int cacheSize, EvictionPolicy policy) {
+        crsCache = new ConcurrentCache<String, CoordinateReferenceSystem>(cacheSize, policy);
+        DEFINITIONPOOL = new ConcurrentCache<String, CoordinateReferenceSystem>(cacheSize, policy);
     }
 
     /**
@@ -81,25 +120,112 @@ public class CRSFactory {
      * @return
      * @throws CRSException
      */
-    public CoordinateReferenceSystem getCRS(String authorityAndSrid) throws CRSException {
-        CoordinateReferenceSystem crs = CRSPOOL.get(authorityAndSrid.toUpperCase());
-        if (crs == null) {
-            try {
-                String[] registryNameWithCode = splitRegistryNameAndCode(authorityAndSrid);
-                String authority = registryNameWithCode[0];
-                String code = registryNameWithCode[1];
-                if (isRegistrySupported(authority)) {
-                    Registry registry = getRegistryManager().getRegistry(authority);
-                    crs = registry.getCoordinateReferenceSystem(new Identifier(authority, code, ""));
-                    if (crs != null) {
-                        CRSPOOL.put(authorityAndSrid.toUpperCase(), crs);
+    public CoordinateReferenceSystem getCRS(final String authorityAndSrid) throws CRSException {
+        return crsCache.get(authorityAndSrid.toUpperCase(), key -> createCRS(authorityAndSrid));
+    }
+
+    /**
+     * Creates the {@link org.cts.crs.CoordinateReferenceSystem} corresponding
+     * to an authority and a srid from the registry of this authority.
+     *
+     * @param authorityAndSrid the code of the desired CRS
+     * @throws CRSException
+     */
+    private CoordinateReferenceSystem createCRS(String authorityAndSrid) throws CRSException {
+        try {
+            String[] registryNameWithCode = splitRegistryNameAndCode(authorityAndSrid);
+            String authority = registryNameWithCode[0];
+            String code = registryNameWithCode[1];
+            if (isRegistrySupported(authority)) {
+                Registry registry = getRegistryManager().getRegistry(authority);
+                return registry.getCoordinateReferenceSystem(new Identifier(authority, code, ""));
+            }
+            return null;
+        } catch (RegistryException ex) {
+            throw new CRSException("Cannot create the CRS", ex);
+        }
+    }
+
+    /**
+     * Return the cache of the {@link org.cts.crs.CoordinateReferenceSystem}s
+     * created by {@link #getCRS(String)}. It gives access to the hit, miss
+     * and eviction counters of the cache.
+     */
+    public ConcurrentCache<String, CoordinateReferenceSystem> getCRSCache() {
+        return crsCache;
+    }
+
+    /**
+     * Return the cache of the {@link org.cts.crs.CoordinateReferenceSystem}s
+     * created by {@link #createFromPrj(String)} and
+     * {@link #createFromPrj4(String)}, whose keys are the canonical forms of
+     * the definitions (see {@link #getCanonicalDefinition(String, Map, boolean)}).
+     */
+    public ConcurrentCache<String, CoordinateReferenceSystem> getDefinitionCache() {
+        return DEFINITIONPOOL;
+    }
+
+    /**
+     * Return a canonical form of the parameters read from a CRS definition.
+     * Parameters are sorted by key and numbers are written as by
+     * {@link Double#toString(double)}, so that definitions differing only by
+     * white spaces, the order of their parameters or the formatting of their
+     * numbers have the same canonical form.
+     *
+     * @param format         the format of the definition (ex. WKT, PROJ4)
+     * @param parameters     the parameters read from the definition
+     * @param rewriteNumbers false if the numbers are already written by
+     *                       {@link Double#toString(double)}, as done by the
+     *                       PrjParser
+     */
+    static String getCanonicalDefinition(String format, Map<String, String> parameters, boolean rewriteNumbers) {
+        StringBuilder b = new StringBuilder(format);
+        for (Map.Entry<String, String> parameter : new TreeMap<String, String>(parameters).entrySet()) {
+            b.append(' ').append(parameter.getKey());
+            String value = parameter.getValue();
+            if (value != null && !rewriteNumbers) {
+                b.append('=').append(value);
+            } else if (value != null) {
+                b.append('=');
+                int start = 0;
+                for (int i = 0; i <= value.length(); i++) {
+                    if (i == value.length() || value.charAt(i) == ',') {
+                        if (start > 0) {
+                            b.append(',');
+                        }
+                        b.append(getCanonicalNumber(value.substring(start, i)));
+                        start = i + 1;
                     }
                 }
-            } catch (RegistryException ex) {
-                throw new CRSException("Cannot create the CRS", ex);
             }
         }
-        return crs;
+        return b.toString();
+    }
+
+    /**
+     * Return the value as written by {@link Double#toString(double)} if it is
+     * a decimal number, or the value itself otherwise.
+     */
+    private static String getCanonicalNumber(String value) {
+        String v = value.trim();
+        if (v.isEmpty()) {
+            return v;
+        }
+        char c = v.charAt(v.length() - 1);
+        if (c < '0' || c > '9') {
+            return v;
+        }
+        for (int i = 0; i < v.length(); i++) {
+            c = v.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return v;
+            }
+        }
+        try {
+            return Double.toString(Double.parseDouble(v));
+        } catch (NumberFormatException e) {
+            return v;
+        }
     }
 
     /**
@@ -142,7 +268,8 @@ public class CRSFactory {
 
     /**
      * Creates a {@link CoordinateReferenceSystem} defined by an OGC WKT String
-     * (PRJ).
+     * (PRJ). Equivalent definitions return the same CRS as long as it is kept
+     * in the cache of this factory.
      *
      * @param prjString the OGC WKT String defining the CRS
      * @return
@@ -150,7 +277,19 @@ public class CRSFactory {
      */
     public CoordinateReferenceSystem createFromPrj(String prjString) throws CRSException {
         PrjParser p = new PrjParser();
-        Map<String, String> prjParameters = p.getParameters(prjString);
+        final Map<String, String> prjParameters = p.getParameters(prjString);
+        return DEFINITIONPOOL.get(getCanonicalDefinition("WKT", prjParameters, false),
+                key -> createFromPrjParameters(prjParameters));
+    }
+
+    /**
+     * Creates the {@link CoordinateReferenceSystem} defined by the parameters
+     * read from an OGC WKT String.
+     *
+     * @param prjParameters the parameters read by the PrjParser
+     * @throws org.cts.crs.CRSException
+     */
+    private CoordinateReferenceSystem createFromPrjParameters(Map<String, String> prjParameters) throws CRSException {
         String name = prjParameters.remove(PrjKeyParameters.NAME);
         String refname = prjParameters.remove(PrjKeyParameters.REFNAME);
         if (refname != null) {
@@ -163,7 +302,7 @@ public class CRSFactory {
 
     /**
      * Creates a {@link CoordinateReferenceSystem} defined by an OGC WKT String
-     * (PRJ).
+     * (PRJ). The stream is read until its end, line breaks are ignored.
      *
      * @param stream   the input stream of bytes defining the OGC WKT String
      * @param encoding the charset used to read the input stream
@@ -172,10 +311,19 @@ public class CRSFactory {
      * @throws org.cts.crs.CRSException
      */
     public CoordinateReferenceSystem createFromPrj(InputStream stream, Charset encoding) throws IOException, CRSException {
-        BufferedReader r = new BufferedReader(new InputStreamReader(stream, encoding));
+        Reader r = new InputStreamReader(stream, encoding);
         StringBuilder b = new StringBuilder();
-        while (r.ready()) {
-            b.append(r.readLine());
+        char[] buffer = new char[4096];
+        int n;
+        while ((n = r.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < n; i++) {
+                if (buffer[i] == '\n' || buffer[i] == '\r') {
+                    b.append(buffer, start, i - start);
+                    start = i + 1;
+                }
+            }
+            b.append(buffer, start, n - start);
         }
         return createFromPrj(b.toString());
     }
@@ -230,27 +378,44 @@ public class CRSFactory {
 
     /**
      * Creates a {@link CoordinateReferenceSystem} defined by a proj4 string
-     * representation
+     * representation. Equivalent definitions return the same CRS as long as
+     * it is kept in the cache of this factory.
      *
      * @param prj4String the proj4 string defining the CRS
      * @return
      * @throws org.cts.crs.CRSException
      */
     public CoordinateReferenceSystem createFromPrj4(String prj4String) throws CRSException {
-        Map<String, String> prjParameters = Proj4Parser.readParameters(prj4String);
+        final Map<String, String> prjParameters = Proj4Parser.readParameters(prj4String);
+        return DEFINITIONPOOL.get(getCanonicalDefinition("PROJ4", prjParameters, true),
+                key -> createFromPrj4Parameters(prjParameters));
+    }
+
+    /**
+     * Creates the {@link CoordinateReferenceSystem} defined by the parameters
+     * read from a proj4 string.
+     *
+     * @param prjParameters the parameters read by the Proj4Parser
+     * @throws org.cts.crs.CRSException
+     */
+    private CoordinateReferenceSystem createFromPrj4Parameters(Map<String, String> prjParameters) throws CRSException {
         String zone = prjParameters.get("zone");
         String crsName;
         if (zone != null) {
             crsName = prjParameters.get("south") == null ? String.format("UTM %s %s", zone, "NORTH") : String.format("UTM %s %s", zone, "SOUTH");
         } else {
-            crsName = String.format("Unknown CRS %s", System.currentTimeMillis());
+            crsName = "Unknown CRS";
         }
         return CRSHelper.createCoordinateReferenceSystem(new Identifier(CoordinateReferenceSystem.class, crsName), prjParameters);
     }
 
     /**
-     * A simple cache to manage {@link CoordinateReferenceSystem}
+     * This class is used to cache the {@link CoordinateReferenceSystem}s.
+     *
+     * @deprecated the CRS are cached in a {@link ConcurrentCache}, see
+     * {@link #getCRSCache()}
      */
+    @Deprecated
     public class CRSCache<K, V> extends LinkedHashMap<K, V> {
 
         private final int limit;
@@ -265,4 +430,152 @@ public class CRSFactory {
             return size() > limit;
         }
     }
+
+    /**
+     * The {@link CRSCache} kept in {@link #CRSPOOL} for compatibility. Lookups
+     * and updates are forwarded to the cache of this factory. The entry set,
+     * key set and values are unmodifiable copies of the content of the cache,
+     * and the compound update methods of Map are not supported.
+     */
+    private final class CRSCacheView extends CRSCache<String, CoordinateReferenceSystem> {
+
+        private static final long serialVersionUID = 1L;
+
+        private CRSCacheView() {
+            super(0);
+        }
+
+        @Override
+        public CoordinateReferenceSystem get(Object key) {
+            return key instanceof String ? crsCache.get((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && crsCache.containsKey((String) key);
+        }
+
+        @Override
+        public CoordinateReferenceSystem put(String key, CoordinateReferenceSystem value) {
+            CoordinateReferenceSystem previous = crsCache.remove(key);
+            crsCache.put(key, value);
+            return previous;
+        }
+
+        @Override
+        public CoordinateReferenceSystem remove(Object key) {
+            return key instanceof String ? crsCache.remove((String) key) : null;
+        }
+
+        @Override
+        public int size() {
+            return crsCache.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return crsCache.size() == 0;
+        }
+
+        @Override
+        public void clear() {
+            crsCache.clear();
+        }
+
+        @Override
+        public Set<Map.Entry<String, CoordinateReferenceSystem>> entrySet() {
+            return Collections.unmodifiableMap(crsCache.toMap()).entrySet();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(crsCache.toMap().keySet());
+        }
+
+        @Override
+        public Collection<CoordinateReferenceSystem> values() {
+            return Collections.unmodifiableCollection(crsCache.toMap().values());
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return crsCache.toMap().containsValue(value);
+        }
+
+        @Override
+        public CoordinateReferenceSystem getOrDefault(Object key, CoordinateReferenceSystem defaultValue) {
+            CoordinateReferenceSystem value = get(key);
+            return value == null ? defaultValue : value;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super CoordinateReferenceSystem> action) {
+            crsCache.toMap().forEach(action);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends CoordinateReferenceSystem> m) {
+            for (Map.Entry<? extends String, ? extends CoordinateReferenceSystem> entry : m.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        @Override
+        public CoordinateReferenceSystem putIfAbsent(String key, CoordinateReferenceSystem value) {
+            CoordinateReferenceSystem previous = get(key);
+            if (previous == null) {
+                crsCache.put(key, value);
+            }
+            return previous;
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean replace(String key, CoordinateReferenceSystem oldValue, CoordinateReferenceSystem newValue) {
+            throw unsupported();
+        }
+
+        @Override
+        public CoordinateReferenceSystem replace(String key, CoordinateReferenceSystem value) {
+            throw unsupported();
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super CoordinateReferenceSystem, ? extends CoordinateReferenceSystem> function) {
+            throw unsupported();
+        }
+
+        @Override
+        public CoordinateReferenceSystem computeIfAbsent(String key,
+                Function<? super String, ? extends CoordinateReferenceSystem> mappingFunction) {
+            throw unsupported();
+        }
+
+        @Override
+        public CoordinateReferenceSystem computeIfPresent(String key,
+                BiFunction<? super String, ? super CoordinateReferenceSystem, ? extends CoordinateReferenceSystem> remappingFunction) {
+            throw unsupported();
+        }
+
+        @Override
+        public CoordinateReferenceSystem compute(String key,
+                BiFunction<? super String, ? super CoordinateReferenceSystem, ? extends CoordinateReferenceSystem> remappingFunction) {
+            throw unsupported();
+        }
+
+        @Override
+        public CoordinateReferenceSystem merge(String key, CoordinateReferenceSystem value,
+                BiFunction<? super CoordinateReferenceSystem, ? super CoordinateReferenceSystem, ? extends CoordinateReferenceSystem> remappingFunction) {
+            throw unsupported();
+        }
+
+        private UnsupportedOperationException unsupported() {
+            return new UnsupportedOperationException("CRSPOOL is deprecated and only supports get, put and remove,"
+                    + " use getCRSCache() instead");
+        }
+    }
 }
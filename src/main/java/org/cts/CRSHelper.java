@@ -36,6 +36,7 @@ import org.cts.op.Identity;
 import org.cts.op.LongitudeRotation;
 import org.cts.op.projection.*;
 import org.cts.op.transformation.*;
+import org.cts.op.transformation.grids.GridManager;
 import org.cts.parser.prj.PrjKeyParameters;
 import org.cts.parser.proj.ProjKeyParameters;
 import org.cts.parser.proj.ProjValueParameters;
@@ -49,6 +50,7 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is used to build a new
@@ -66,7 +68,13 @@ public class CRSHelper {
 
     static final Logger LOGGER = LoggerFactory.getLogger(CRSHelper.class);
 
-    private static final CRSGridCache<String, AbstractCoordinateOperation> CRSGRIDPOOL = new CRSGridCache<String, AbstractCoordinateOperation>(5);
+    /**
+     * Grid based operations created from nadgrids parameters, by grid name.
+     * These operations are light : the grids themselves are shared through
+     * the {@link GridManager}.
+     */
+    private static final Map<String, AbstractCoordinateOperation> GRID_OPERATIONS =
+            new ConcurrentHashMap<String, AbstractCoordinateOperation>();
 
     /**
      * Creates a new {@link org.cts.crs.CoordinateReferenceSystem} with the
@@ -551,10 +559,9 @@ public class CRSHelper {
                             if (grid.equalsIgnoreCase("ntf_r93.gsb")) {
                                 // If this CRS uses the ntf_r93.gsb, we know it is based on NTF, and we can
                                 // use FrenchGeocentricNTF2RGF to transform coordinates to WGS or RGF93
-                                AbstractCoordinateOperation aco = CRSGRIDPOOL.get("NTF2RGF93");
+                                AbstractCoordinateOperation aco = GRID_OPERATIONS.get("NTF2RGF93");
                                 if (aco == null) {
-                                    aco = new FrenchGeocentricNTF2RGF();
-                                    CRSGRIDPOOL.put("NTF2RGF93", aco);
+                                    aco = putGridOperation("NTF2RGF93", new FrenchGeocentricNTF2RGF());
                                 }
                                 if (aco instanceof FrenchGeocentricNTF2RGF) {
                                     FrenchGeocentricNTF2RGF ntf2rgf = (FrenchGeocentricNTF2RGF) aco;
@@ -562,12 +569,11 @@ public class CRSHelper {
                                     crs.getDatum().addGeocentricTransformation(GeodeticDatum.WGS84, ntf2rgf);
                                     LOGGER.info("Add French Geocentric Grid transformation from " + crs.getDatum() + " to RGF93 and WGS84");
 
-                                    AbstractCoordinateOperation gridNTF = CRSGRIDPOOL.get("NTv2");
+                                    AbstractCoordinateOperation gridNTF = GRID_OPERATIONS.get(grid);
                                     if (gridNTF == null) {
                                         NTv2GridShiftTransformation gridNTFNew = NTv2GridShiftTransformation.createNTv2GridShiftTransformation(grid);
                                         gridNTFNew.loadGridShiftFile();
-                                        CRSGRIDPOOL.put("NTv2", gridNTFNew);
-                                        gridNTF = gridNTFNew;
+                                        gridNTF = putGridOperation(grid, gridNTFNew);
                                     }
                                     if (gridNTF instanceof NTv2GridShiftTransformation) {
                                         NTv2GridShiftTransformation ntf_r93 = (NTv2GridShiftTransformation) gridNTF;
@@ -585,11 +591,11 @@ public class CRSHelper {
                             } else {
                                 // This is the general case where we want to add a NTv2 transformation
                                 // using the file header to determine source and target datums                              
-                                AbstractCoordinateOperation aco = CRSGRIDPOOL.get("NTv2");
+                                AbstractCoordinateOperation aco = GRID_OPERATIONS.get(grid);
                                 if (aco == null) {
                                     NTv2GridShiftTransformation ntf_r93 = NTv2GridShiftTransformation.createNTv2GridShiftTransformation(grid);
                                     ntf_r93.loadGridShiftFile();
-                                    CRSGRIDPOOL.put("NTv2", ntf_r93);
+                                    aco = putGridOperation(grid, ntf_r93);
                                 }
                                 if (aco instanceof NTv2GridShiftTransformation) {
                                     NTv2GridShiftTransformation ntf_r93 = (NTv2GridShiftTransformation) aco;
@@ -611,6 +617,19 @@ public class CRSHelper {
         }
     }
 
+    /**
+     * Register a grid based operation, unless another thread registered one
+     * for the same grid in the meantime.
+     *
+     * @param grid the name of the grid
+     * @param op   the operation using this grid
+     * @return the operation registered for this grid
+     */
+    private static AbstractCoordinateOperation putGridOperation(String grid, AbstractCoordinateOperation op) {
+        AbstractCoordinateOperation previous = GRID_OPERATIONS.putIfAbsent(grid, op);
+        return previous == null ? op : previous;
+    }
+
     /**
      * Returns a {@link Ellipsoid} from a map of parameters. Try first to obtain
      * the {@link Ellipsoid} from its name using {@code ellps} keyword. Then if
@@ -775,7 +794,11 @@ public class CRSHelper {
 
     /**
      * A simple cache to manage {@link AbstractCoordinateOperation}
+     *
+     * @deprecated grids are shared through the {@link GridManager}, which is
+     * thread-safe and limits the memory they use.
      */
+    @Deprecated
     public static class CRSGridCache<K, V> extends LinkedHashMap<K, V> {
 
         private final int limit;
@@ -23,9 +23,9 @@
  */
 package org.cts;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -39,7 +39,14 @@ import java.util.Map;
 public class IdentifiableComponent implements Identifiable {
 
     private Identifier identifier;
-    private static final Map<Identifier, IdentifiableComponent> registry = new HashMap<Identifier, IdentifiableComponent>();
+    /**
+     * The components identified by an authority code, see
+     * {@link #getComponent(Identifier)}. Components with a local identifier
+     * are not registered : their identifier is unique, so that they can only
+     * be found with their own identifier, and registering them would keep
+     * every transient operation in memory.
+     */
+    private static final ConcurrentMap<Identifier, IdentifiableComponent> registry = new ConcurrentHashMap<Identifier, IdentifiableComponent>();
 
     /**
      * Return this component's Identifier
@@ -184,14 +191,35 @@ public class IdentifiableComponent implements Identifiable {
         this.registerComponent();
     }
 
+    /**
+     * Register this component if it is identified by an authority code and
+     * if no component has been registered with the same code before.
+     */
     private void registerComponent() {
-        if (!registry.containsKey(getIdentifier())) {
-            registry.put(getIdentifier(), this);
+        Identifier id = getIdentifier();
+        if (id != null && id.getAuthorityName() != null && id.getAuthorityKey() != null
+                && !id.getAuthorityName().startsWith(Identifiable.LOCAL)) {
+            registry.putIfAbsent(id, this);
         }
     }
 
+    /**
+     * Return the first component created with the authority code of id, or
+     * null if there is none. Components with a local identifier are never
+     * returned.
+     *
+     * @param id the identifier of the component
+     */
     public static IdentifiableComponent getComponent(Identifier id) {
-        return registry.get(id);
+        return id == null ? null : registry.get(id);
+    }
+
+    /**
+     * Return the number of components registered, which only grows with the
+     * number of distinct authority codes used.
+     */
+    public static int getRegistrySize() {
+        return registry.size();
     }
 
     /**
@@ -25,6 +25,8 @@ package org.cts;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Identifier used to identify objects such as Datums, Ellipsoids or
@@ -44,16 +46,17 @@ public class Identifier implements Identifiable {
      * Unique integer generated to identify a LOCAL object. LOCAL refers to a
      * namespace defined in the Identiable interface.
      */
-    private static int localId = 0;
+    private static final AtomicInteger localId = new AtomicInteger();
 
     /**
      * Return an identifier which is unique for this program session. This
-     * identifier is usually associated with the LOCAL namespace
+     * identifier is usually associated with the LOCAL namespace. It may be
+     * called by several threads at the same time.
      *
      * @return
      */
     public static int getNewId() {
-        return localId++;
+        return localId.getAndIncrement();
     }
 
     /**
@@ -80,6 +83,11 @@ public class Identifier implements Identifiable {
      * Aliases.
      */
     private List<Identifiable> aliases;
+    /**
+     * Hash code computed from the upper case authority name and from the
+     * authority key, which are immutable.
+     */
+    private final int hash;
 
     /**
      * Creates a complete identifier.
@@ -99,6 +107,10 @@ public class Identifier implements Identifiable {
         this.shortName = shortName;
         this.remarks = remarks;
         this.aliases = aliases;
+        int h = 7;
+        h = 11 * h + (authorityName != null ? authorityName.toUpperCase(Locale.ROOT).hashCode() : 0);
+        h = 11 * h + (authorityKey != null ? authorityKey.hashCode() : 0);
+        this.hash = h;
     }
 
     /**
@@ -376,16 +388,14 @@ public class Identifier implements Identifiable {
     }
 
     /**
-     * Returns the hash code for this Identifier.
+     * Returns the hash code for this Identifier. It only depends on the
+     * authority name, whatever its case, and on the authority key, so that
+     * it does not change when aliases are added.
      *
      * @return
      */
     @Override
     public int hashCode() {
-        int hash = 7;
-        hash = 11 * hash + (this.authorityName.toUpperCase() != null ? this.authorityName.toUpperCase().hashCode() : 0);
-        hash = 11 * hash + (this.authorityKey != null ? this.authorityKey.hashCode() : 0);
-        hash = 11 * hash + (this.aliases != null ? this.aliases.hashCode() : 0);
         return hash;
     }
 
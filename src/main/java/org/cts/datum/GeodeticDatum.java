@@ -29,10 +29,10 @@ import org.cts.cs.GeographicExtent;
 import org.cts.op.*;
 import org.cts.op.transformation.*;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Geodetic {@link org.cts.datum.Datum} used to determine positions relative
@@ -49,6 +49,11 @@ import java.util.Set;
  * {@link org.cts.op.CoordinateOperation}s from the standard Geographic2DCRS or
  * Geographic3DCRS associated with this Datum to the one associated to another
  * Datum.
+ * <p>Known datums and the transformations between them are stored in
+ * concurrent maps and sets, so that new CRS and datum transformations may be
+ * registered while other threads look for coordinate operations. Sets
+ * returned by the getters are live views which may grow while they are
+ * iterated.</p>
  *
  * @author Michaël Michaud, Jules Party
  */
@@ -57,8 +62,8 @@ public class GeodeticDatum extends AbstractDatum {
     /**
      * knownDatumMap maps datum Identifier or names to {@linkplain Datum datums}.
      */
-    private static final Map<Object, GeodeticDatum> knownDatumMap = new HashMap<Object, GeodeticDatum>();
-    private final static Set<GeodeticDatum> knownDatum = new HashSet<GeodeticDatum>();
+    private static final Map<Object, GeodeticDatum> knownDatumMap = new ConcurrentHashMap<Object, GeodeticDatum>();
+    private final static Set<GeodeticDatum> knownDatum = ConcurrentHashMap.newKeySet();
 
     /**
      * <p>A map of known geocentric to geocentric transformations from this Datum
@@ -69,7 +74,7 @@ public class GeodeticDatum extends AbstractDatum {
      * Bursa-Wolf equations.</p>
      */
     private final Map<GeodeticDatum, Set<GeocentricTransformation>> geocentricTransformations =
-            new HashMap<GeodeticDatum, Set<GeocentricTransformation>>();
+            new ConcurrentHashMap<GeodeticDatum, Set<GeocentricTransformation>>();
 
     /**
      * <p>A map of known geographic to geographic transformations from this Geodetic Datum
@@ -82,14 +87,14 @@ public class GeodeticDatum extends AbstractDatum {
      * the NTv2 method.</p>
      */
     private final Map<GeodeticDatum, Set<CoordinateOperation>> geographicTransformations =
-            new HashMap<GeodeticDatum, Set<CoordinateOperation>>();
+            new ConcurrentHashMap<GeodeticDatum, Set<CoordinateOperation>>();
 
     /**
      * A map of known vertical transformations from this ellipsoid to other
      * {@linkplain VerticalDatum vertical datum}.
      */
     private final Map<Datum, Set<CoordinateOperation>> heightTransformations =
-            new HashMap<Datum, Set<CoordinateOperation>>();
+            new ConcurrentHashMap<Datum, Set<CoordinateOperation>>();
 
     /**
      * The PrimeMeridian used with this Datum.
@@ -104,7 +109,7 @@ public class GeodeticDatum extends AbstractDatum {
     /**
      * The default geocentric transformation from this datum to WGS84.
      */
-    private GeocentricTransformation toWGS84;
+    private volatile GeocentricTransformation toWGS84;
 
     /**
      * World Geodetic System 1984.
@@ -314,13 +319,7 @@ public class GeodeticDatum extends AbstractDatum {
         GeodeticDatum gd = createGeodeticDatum(new Identifier(GeodeticDatum.class),
                 primeMeridian, ellipsoid, toWGS84, GeographicExtent.WORLD, "", "");
         //gd.setDefaultToWGS84Operation(toWGS84);
-        if (knownDatumMap.containsKey(gd)) {
-            return knownDatumMap.get(gd);
-        } else {
-            knownDatumMap.put(gd.getIdentifier(), gd);
-            knownDatum.add(gd);
-            return gd;
-        }
+        return gd;
     }
 
     /**
@@ -344,8 +343,9 @@ public class GeodeticDatum extends AbstractDatum {
         this.primeMeridian = primeMeridian;
         this.toWGS84 = toWGS84;
         setDefaultToWGS84Operation(toWGS84);
-        knownDatumMap.put(this.getIdentifier(), this);
-        knownDatum.add(this);
+        if (knownDatumMap.putIfAbsent(this.getIdentifier(), this) == null) {
+            knownDatum.add(this);
+        }
     }
 
     /**
@@ -363,12 +363,16 @@ public class GeodeticDatum extends AbstractDatum {
             final PrimeMeridian primeMeridian, final Ellipsoid ellipsoid,
             final GeocentricTransformation toWGS84,
             final GeographicExtent extent, final String origin, final String epoch) {
-        if (knownDatumMap.containsKey(identifier)) return knownDatumMap.get(identifier);
-        else if (knownDatumMap.containsKey(identifier.getCode())) return knownDatumMap.get(identifier.getCode());
-        else if (knownDatumMap.containsKey(identifier.getName())) return knownDatumMap.get(identifier.getName());
-        else {
-            return new GeodeticDatum(identifier, primeMeridian, ellipsoid, toWGS84, extent, origin, epoch);
+        GeodeticDatum gd = getGeodeticDatum(identifier);
+        if (gd == null) gd = getGeodeticDatum(identifier.getCode());
+        if (gd == null) gd = getGeodeticDatum(identifier.getName());
+        if (gd == null) {
+            new GeodeticDatum(identifier, primeMeridian, ellipsoid, toWGS84, extent, origin, epoch);
+            // another thread may have registered a datum with the same
+            // identifier in the meantime, the first registered one is kept
+            gd = knownDatumMap.get(identifier);
         }
+        return gd;
     }
 
     /**
@@ -416,6 +420,41 @@ public class GeodeticDatum extends AbstractDatum {
         return geographicTransformations.keySet();
     }
 
+    /**
+     * Return the datums to which geocentric transformations from this datum
+     * have been registered.
+     */
+    public Set<GeodeticDatum> getGeocentricTargetDatum() {
+        return geocentricTransformations.keySet();
+    }
+
+    /**
+     * Return the geocentric transformations to targetDatum registered so
+     * far. Contrary to {@link #getGeocentricTransformations(GeodeticDatum)},
+     * this method does not try to build new transformations, so that it can
+     * be used to walk through the transformation graph.
+     *
+     * @param targetDatum the target datum of the transformations
+     * @return the transformations to targetDatum, or an empty set
+     */
+    public Set<GeocentricTransformation> getRegisteredGeocentricTransformations(GeodeticDatum targetDatum) {
+        Set<GeocentricTransformation> ops = geocentricTransformations.get(targetDatum);
+        return ops == null ? Collections.<GeocentricTransformation>emptySet() : ops;
+    }
+
+    /**
+     * Return the geographic transformations to targetDatum registered so
+     * far, without trying to build new transformations (see
+     * {@link #getRegisteredGeocentricTransformations(GeodeticDatum)}).
+     *
+     * @param targetDatum the target datum of the transformations
+     * @return the transformations to targetDatum, or an empty set
+     */
+    public Set<CoordinateOperation> getRegisteredGeographicTransformations(GeodeticDatum targetDatum) {
+        Set<CoordinateOperation> ops = geographicTransformations.get(targetDatum);
+        return ops == null ? Collections.<CoordinateOperation>emptySet() : ops;
+    }
+
 
     /**
      * Adds a Geocentric Transformation from this datum to targetDatum.
@@ -431,14 +470,22 @@ public class GeodeticDatum extends AbstractDatum {
         addGeocentricTransformation(targetDatum, coordOp, true);
     }
 
-    private void addGeocentricTransformation(GeodeticDatum targetDatum,
-                                             GeocentricTransformation coordOp, boolean addInverseOp) {
+    /**
+     * Adds a Geocentric Transformation from this datum to targetDatum, and
+     * its inverse if addInverseOp is true. If a transformation has actually
+     * been added, the caches of {@link CoordinateOperationFactory} are
+     * cleared, as the operations and the chains of transformations found
+     * before may not be the best ones anymore.
+     *
+     * @return true if the transformation or its inverse was not registered
+     * yet
+     */
+    private boolean addGeocentricTransformation(GeodeticDatum targetDatum,
+                                                GeocentricTransformation coordOp, boolean addInverseOp) {
         // Add a transformation operation from this to datum
-        boolean added = false;
-        if (geocentricTransformations.get(targetDatum) == null) {
-            geocentricTransformations.put(targetDatum, new HashSet<GeocentricTransformation>());
-        }
-        added = geocentricTransformations.get(targetDatum).add(coordOp);
+        boolean added = geocentricTransformations.computeIfAbsent(targetDatum, GeodeticDatum::newOperationSet)
+                .add(coordOp);
+        boolean inverseAdded = false;
 
         // 2015-02-07 : if we already have added this coordOp for targetDatum,
         // we want to prevent adding derived geographicTransformation a second time,
@@ -448,19 +495,26 @@ public class GeodeticDatum extends AbstractDatum {
         // Add the inverse transformation operation from datum to this
         try {
             if (addInverseOp) {
-                targetDatum.addGeocentricTransformation(this, coordOp.inverse(), false);
+                inverseAdded = targetDatum.addGeocentricTransformation(this, coordOp.inverse(), false);
             }
         } catch (NonInvertibleOperationException e) {
             e.printStackTrace();
         }
 
-        if (!added) return;
-
-        // Add the coordinate operation sequence from this geographic coordinate system to
-        // the target datum geographic crs based on the geocentric coordOp.
-        if (geographicTransformations.get(targetDatum) == null) {
-            geographicTransformations.put(targetDatum, new HashSet<CoordinateOperation>());
+        if (added) {
+            addDerivedGeographicTransformation(targetDatum, coordOp);
+        }
+        if (addInverseOp && (added || inverseAdded)) {
+            CoordinateOperationFactory.clearCache();
         }
+        return added || inverseAdded;
+    }
+
+    /**
+     * Add the coordinate operation sequence from this geographic coordinate
+     * system to the target datum geographic crs based on the geocentric coordOp.
+     */
+    private void addDerivedGeographicTransformation(GeodeticDatum targetDatum, GeocentricTransformation coordOp) {
         CoordinateOperationSequence cos = null;
         // datum change with only prime meridian change
         if (coordOp.isIdentity() && this.getEllipsoid().equals(targetDatum.getEllipsoid())) {
@@ -479,7 +533,7 @@ public class GeodeticDatum extends AbstractDatum {
                     new Geocentric2Geographic(targetDatum.getEllipsoid()),
                     new LongitudeRotation(targetDatum.getPrimeMeridian().getLongitudeFromGreenwichInRadians()).inverse());
         }
-        geographicTransformations.get(targetDatum).add(cos);
+        geographicTransformations.computeIfAbsent(targetDatum, GeodeticDatum::newOperationSet).add(cos);
         // Inverse geographic operation is added through previous instruction
     }
 
@@ -497,19 +551,28 @@ public class GeodeticDatum extends AbstractDatum {
         addGeographicTransformation(targetDatum, coordOp, true);
     }
 
-    private void addGeographicTransformation(GeodeticDatum targetDatum, CoordinateOperation coordOp, boolean addInverseOp) {
+    /**
+     * Adds a Geographic Transformation from this datum to targetDatum, and
+     * its inverse if addInverseOp is true. The caches of
+     * {@link CoordinateOperationFactory} are cleared if a transformation has
+     * actually been added.
+     *
+     * @return true if the transformation or its inverse was not registered
+     * yet
+     */
+    private boolean addGeographicTransformation(GeodeticDatum targetDatum, CoordinateOperation coordOp, boolean addInverseOp) {
 
-        if (geographicTransformations.get(targetDatum) == null) {
-            geographicTransformations.put(targetDatum, new HashSet<CoordinateOperation>());
-        } else if (geographicTransformations.get(targetDatum).contains(coordOp)) return;
-        geographicTransformations.get(targetDatum).add(coordOp);
+        if (!geographicTransformations.computeIfAbsent(targetDatum, GeodeticDatum::newOperationSet)
+                .add(coordOp)) return false;
         if (addInverseOp) {
             try {
                 targetDatum.addGeographicTransformation(this, coordOp.inverse(), false);
             } catch (NonInvertibleOperationException e) {
                 e.printStackTrace();
             }
+            CoordinateOperationFactory.clearCache();
         }
+        return true;
     }
 
     /**
@@ -521,9 +584,8 @@ public class GeodeticDatum extends AbstractDatum {
     public Set<GeocentricTransformation> getGeocentricTransformations(GeodeticDatum targetDatum) {
 
         // Create a new empty set of operations towards targetDatum if it does not already exist
-        if (geocentricTransformations.get(targetDatum) == null) {
-            geocentricTransformations.put(targetDatum, new HashSet<GeocentricTransformation>());
-        }
+        Set<GeocentricTransformation> transformations =
+                geocentricTransformations.computeIfAbsent(targetDatum, GeodeticDatum::newOperationSet);
 
         // If targetDatum is equivalent to WGS84, this.toWGS84 is a possible CoordinateOperation
         if (targetDatum.equals(GeodeticDatum.WGS84) && getToWGS84() != null) {
@@ -568,7 +630,7 @@ public class GeodeticDatum extends AbstractDatum {
             }
         }
         //}
-        return geocentricTransformations.get(targetDatum);
+        return transformations;
     }
 
     /**
@@ -588,10 +650,8 @@ public class GeodeticDatum extends AbstractDatum {
         // Calling getGeocentricTransformations will build new transformations
         // using WGS84 pivot if needed and it will add associated geographic transformations
         getGeocentricTransformations(targetDatum);
-        Set<CoordinateOperation> ops = geographicTransformations.get(targetDatum);
-        if (ops == null) {
-            geographicTransformations.put(targetDatum, new HashSet<CoordinateOperation>());
-        }
+        Set<CoordinateOperation> ops =
+                geographicTransformations.computeIfAbsent(targetDatum, GeodeticDatum::newOperationSet);
 
         // We have transformations from each datum to WGS84. Use WGS84 as a pivot
         if (!this.equals(WGS84) && !targetDatum.equals(WGS84) &&
@@ -615,7 +675,15 @@ public class GeodeticDatum extends AbstractDatum {
                 // fails it has no importance
             }
         }
-        return geographicTransformations.get(targetDatum);
+        return ops;
+    }
+
+    /**
+     * Create a new set of operations, which may be read and updated
+     * concurrently.
+     */
+    private static <T> Set<T> newOperationSet(Object targetDatum) {
+        return ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -640,7 +708,7 @@ public class GeodeticDatum extends AbstractDatum {
     }
 
     public static GeodeticDatum getGeodeticDatum(Object id) {
-        return knownDatumMap.get(id);
+        return id == null ? null : knownDatumMap.get(id);
     }
 
 
@@ -736,5 +804,6 @@ public class GeodeticDatum extends AbstractDatum {
         }
         geocentricTransformations.clear();
         geographicTransformations.clear();
+        CoordinateOperationFactory.clearCache();
     }
 }
@@ -455,7 +455,8 @@ public class VerticalDatum extends AbstractDatum {
     private final Ellipsoid ellps;
 
     /**
-     * Creates a new VerticalDatum.
+     * Creates a new VerticalDatum. The altitude grid is not read here but by
+     * the first height transformation using it (see {@link #loadGrid()}).
      *
      * @param identifier   identifier.
      * @param extent       this datum extension
@@ -559,6 +560,47 @@ public class VerticalDatum extends AbstractDatum {
         return alti2ellpsHeight;
     }
 
+    /**
+     * Load the grid converting altitudes of this vertical datum into
+     * ellipsoidal heights, if this datum uses one and if it has not been
+     * loaded yet. Grids are otherwise loaded by the first transformation
+     * needing them.
+     *
+     * @throws java.lang.Exception if the grid file cannot be found or read
+     */
+    public void loadGrid() throws Exception {
+        if (alti2ellpsHeight instanceof Altitude2EllipsoidalHeight) {
+            ((Altitude2EllipsoidalHeight) alti2ellpsHeight).loadGrid();
+        }
+    }
+
+    /**
+     * Return true if this vertical datum does not need a grid or if its grid
+     * has already been loaded. Grids are shared through the
+     * {@link org.cts.op.transformation.grids.GridManager}, so this state is
+     * shared by all the datums using the same grid file : the grid may have
+     * been loaded by another datum, or unloaded by the manager.
+     */
+    public boolean isGridLoaded() {
+        return !(alti2ellpsHeight instanceof Altitude2EllipsoidalHeight)
+                || ((Altitude2EllipsoidalHeight) alti2ellpsHeight).isGridLoaded();
+    }
+
+    /**
+     * Load the grids of the given vertical datums, for example at application
+     * startup, so that the first height transformations do not have to wait
+     * for them.
+     *
+     * @param datums the vertical datums whose grid must be loaded
+     * @throws java.lang.Exception if one of the grid files cannot be found or
+     *                             read
+     */
+    public static void loadGrids(VerticalDatum... datums) throws Exception {
+        for (VerticalDatum datum : datums) {
+            datum.loadGrid();
+        }
+    }
+
     /**
      * @see Datum#getEllipsoid()
      */
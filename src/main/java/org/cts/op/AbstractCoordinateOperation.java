@@ -23,6 +23,7 @@
  */
 package org.cts.op;
 
+import org.cts.CoordinateDimensionException;
 import org.cts.IdentifiableComponent;
 import org.cts.Identifier;
 import org.cts.IllegalCoordinateException;
@@ -62,6 +63,61 @@ public abstract class AbstractCoordinateOperation
     public abstract double[] transform(double[] coord)
             throws IllegalCoordinateException, CoordinateOperationException;
 
+    /**
+     * Transform <code>count</code> coordinates stored one after the other in
+     * <code>packed</code>. This default implementation copies each coordinate
+     * in a buffer of length <code>stride</code>, transforms it with
+     * {@link #transform(double[])} and copies the result back. Subclasses
+     * should override it with a loop working directly on the packed array.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException              if one of the coordinates
+     *                                                 is not compatible with this <code>CoordinateOperation</code>.
+     * @throws org.cts.op.CoordinateOperationException if this operation
+     *                                                 failed during the transformation process.
+     */
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException, CoordinateOperationException {
+        checkPackedCoordinates(packed, offset, count, stride, 1);
+        double[] coord = new double[stride];
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            System.arraycopy(packed, pos, coord, 0, stride);
+            double[] result = transform(coord);
+            System.arraycopy(result, 0, packed, pos, Math.min(stride, result.length));
+        }
+    }
+
+    /**
+     * Check that <code>packed</code> contains <code>count</code> coordinates
+     * of <code>stride</code> ordinates starting at <code>offset</code>, and
+     * that each coordinate has at least <code>dimension</code> ordinates.
+     *
+     * @param packed    array holding the coordinates one after the other
+     * @param offset    index of the first ordinate of the first coordinate
+     * @param count     number of coordinates
+     * @param stride    number of ordinates of each coordinate
+     * @param dimension dimension required by the calling operation
+     * @throws CoordinateDimensionException if <code>stride</code> is lower
+     *                                      than <code>dimension</code>
+     */
+    protected static void checkPackedCoordinates(double[] packed, int offset,
+                                                 int count, int stride, int dimension)
+            throws CoordinateDimensionException {
+        if (stride < dimension) {
+            throw new CoordinateDimensionException("The dimension of packed coordinates ("
+                    + stride + ") is not valid : coordinates of at least "
+                    + dimension + "D are required");
+        }
+        if (offset < 0 || count < 0 || offset + (long) count * stride > packed.length) {
+            throw new IndexOutOfBoundsException(count + " coordinates of dimension "
+                    + stride + " starting at " + offset
+                    + " do not fit in an array of length " + packed.length);
+        }
+    }
+
     /**
      * Creates the inverse CoordinateOperation. This method can be used to chain
      * {@link org.cts.op.CoordinateOperation}s and/or inverse CoordinateOperation in
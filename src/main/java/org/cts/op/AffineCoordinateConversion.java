@@ -0,0 +1,404 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.CoordinateDimensionException;
+import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An AffineCoordinateConversion applies, in a single pass, a run of
+ * {@link UnitConversion}s, {@link CoordinateSwitch}es,
+ * {@link OppositeCoordinate}s and {@link LongitudeRotation}s. Each of these
+ * operations computes every ordinate from a single ordinate of the input
+ * coordinate, so that the whole run is computed as
+ * <code>out[i] = scale[i] * in[source[i]] + offset[i]</code>. Ordinates are
+ * never mixed, and a NaN ordinate (ex. an unknown height) stays NaN without
+ * affecting the other ordinates.
+ * <p>AffineCoordinateConversions are not built directly, {@link #fold}
+ * replaces each run of such operations of a sequence by an
+ * AffineCoordinateConversion.</p>
+ */
+public class AffineCoordinateConversion extends AbstractCoordinateOperation {
+
+    /**
+     * Maximum number of ordinates handled by an AffineCoordinateConversion.
+     */
+    private static final int MAX_DIMENSION = 3;
+
+    private static final Identifier opId =
+            new Identifier(AffineCoordinateConversion.class, "Affine coordinate conversion");
+
+    /**
+     * The folded operations, in the order they are applied.
+     */
+    private final CoordinateOperation[] operations;
+
+    /**
+     * Index of the input ordinate used to compute each output ordinate.
+     */
+    private final int[] source;
+    private final double[] scale;
+    private final double[] offset;
+
+    /**
+     * Number of ordinates changed by this conversion.
+     */
+    private final int dimension;
+
+    /**
+     * Minimum number of ordinates of the coordinates to convert.
+     */
+    private final int requiredDimension;
+
+    // Inverse operation
+    private AffineCoordinateConversion inverse;
+
+    /**
+     * Create an AffineCoordinateConversion applying operations one after the
+     * other. Each operation must be accepted by {@link #isAffine}.
+     */
+    private AffineCoordinateConversion(CoordinateOperation... operations) {
+        super(opId);
+        this.operations = operations;
+        source = new int[MAX_DIMENSION];
+        scale = new double[MAX_DIMENSION];
+        offset = new double[MAX_DIMENSION];
+        for (int i = 0; i < MAX_DIMENSION; i++) {
+            source[i] = i;
+            scale[i] = 1.0;
+        }
+        int required = 1;
+        for (CoordinateOperation op : operations) {
+            required = Math.max(required, compose(op));
+            precision += op.getPrecision();
+        }
+        int dim = required;
+        for (int i = 0; i < MAX_DIMENSION; i++) {
+            if (!isIdentity(i)) {
+                dim = Math.max(dim, i + 1);
+            }
+        }
+        this.dimension = dim;
+        this.requiredDimension = required;
+    }
+
+    /**
+     * Compose this conversion with op, applied after it, and return the
+     * minimum number of ordinates of the coordinates op can transform.
+     */
+    private int compose(CoordinateOperation op) {
+        if (op instanceof UnitConversion) {
+            UnitConversion uc = (UnitConversion) op;
+            int length = Math.min(MAX_DIMENSION, uc.getSourceUnits().length);
+            for (int i = 0; i < length; i++) {
+                double factor = uc.getSourceUnits()[i].getScale() / uc.getTargetUnits()[i].getScale();
+                scale[i] *= factor;
+                offset[i] *= factor;
+            }
+            return 1;
+        } else if (op instanceof CoordinateSwitch) {
+            CoordinateSwitch cs = (CoordinateSwitch) op;
+            swap(cs.pos1, cs.pos2);
+            return Math.max(cs.pos1, cs.pos2) + 1;
+        } else if (op instanceof OppositeCoordinate) {
+            int index = ((OppositeCoordinate) op).getIndex();
+            scale[index] = -scale[index];
+            offset[index] = -offset[index];
+            return index + 1;
+        } else {
+            offset[1] += ((LongitudeRotation) op).getRotationAngle();
+            return 2;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int s = source[i];
+        source[i] = source[j];
+        source[j] = s;
+        double d = scale[i];
+        scale[i] = scale[j];
+        scale[j] = d;
+        d = offset[i];
+        offset[i] = offset[j];
+        offset[j] = d;
+    }
+
+    /**
+     * Return true if ordinate i is not changed by this conversion.
+     */
+    private boolean isIdentity(int i) {
+        return source[i] == i && scale[i] == 1.0 && offset[i] == 0.0;
+    }
+
+    /**
+     * Return true if op can be folded in an AffineCoordinateConversion.
+     */
+    static boolean isAffine(CoordinateOperation op) {
+        if (op instanceof UnitConversion) {
+            UnitConversion uc = (UnitConversion) op;
+            for (int i = MAX_DIMENSION; i < uc.getSourceUnits().length; i++) {
+                if (!uc.getSourceUnits()[i].equals(uc.getTargetUnits()[i])) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (op instanceof CoordinateSwitch) {
+            CoordinateSwitch cs = (CoordinateSwitch) op;
+            return cs.pos1 >= 0 && cs.pos2 >= 0 && cs.pos1 < MAX_DIMENSION && cs.pos2 < MAX_DIMENSION;
+        } else if (op instanceof OppositeCoordinate) {
+            int index = ((OppositeCoordinate) op).getIndex();
+            return index >= 0 && index < MAX_DIMENSION;
+        }
+        return op instanceof LongitudeRotation;
+    }
+
+    /**
+     * Return true if this conversion gives the same results before and after
+     * dimensionChange, that is if it only reads and changes the ordinates
+     * kept by dimensionChange.
+     */
+    private boolean commutesWith(ChangeCoordinateDimension dimensionChange) {
+        int kept = dimensionChange.getKeptDimension();
+        if (requiredDimension > kept) {
+            return false;
+        }
+        for (int i = 0; i < MAX_DIMENSION; i++) {
+            if (i < kept ? source[i] >= kept : !isIdentity(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return a copy of sequence where each run of at least two operations
+     * accepted by {@link #isAffine} is replaced by an
+     * AffineCoordinateConversion, or sequence itself if it does not contain
+     * such a run. {@link ChangeCoordinateDimension}s found in a run are moved
+     * after the following operations of the run when it does not change the
+     * results, so that they do not split the run.
+     *
+     * @param sequence the operations to apply one after the other
+     */
+    public static CoordinateOperation[] fold(CoordinateOperation[] sequence) {
+        List<CoordinateOperation> result = new ArrayList<CoordinateOperation>();
+        List<CoordinateOperation> run = new ArrayList<CoordinateOperation>();
+        List<ChangeCoordinateDimension> dimensionChanges = new ArrayList<ChangeCoordinateDimension>();
+        boolean folded = false;
+        for (CoordinateOperation op : sequence) {
+            if (isAffine(op)) {
+                if (!dimensionChanges.isEmpty() && !commutesWith(op, dimensionChanges)) {
+                    folded |= flush(result, run, dimensionChanges);
+                }
+                run.add(op);
+            } else if (op instanceof ChangeCoordinateDimension && !run.isEmpty()) {
+                addDimensionChange(dimensionChanges, (ChangeCoordinateDimension) op);
+            } else {
+                folded |= flush(result, run, dimensionChanges);
+                result.add(op);
+            }
+        }
+        folded |= flush(result, run, dimensionChanges);
+        return folded ? result.toArray(new CoordinateOperation[0]) : sequence;
+    }
+
+    /**
+     * Add dimensionChange to dimensionChanges, or remove the last of
+     * dimensionChanges if dimensionChange is its inverse, as
+     * {@link CoordinateOperationSequence} does for adjacent operations.
+     */
+    private static void addDimensionChange(List<ChangeCoordinateDimension> dimensionChanges,
+                                           ChangeCoordinateDimension dimensionChange) {
+        int last = dimensionChanges.size() - 1;
+        if (last >= 0 && dimensionChanges.get(last).equals(dimensionChange.inverse())) {
+            dimensionChanges.remove(last);
+        } else {
+            dimensionChanges.add(dimensionChange);
+        }
+    }
+
+    /**
+     * Return true if op commutes with all the dimensionChanges.
+     */
+    private static boolean commutesWith(CoordinateOperation op, List<ChangeCoordinateDimension> dimensionChanges) {
+        AffineCoordinateConversion conversion = new AffineCoordinateConversion(op);
+        for (ChangeCoordinateDimension dimensionChange : dimensionChanges) {
+            if (!conversion.commutesWith(dimensionChange)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add the operations of run to result, folded if run contains several
+     * operations, followed by dimensionChanges, then clear run and
+     * dimensionChanges. Return true if operations have been folded.
+     */
+    private static boolean flush(List<CoordinateOperation> result, List<CoordinateOperation> run,
+                                 List<ChangeCoordinateDimension> dimensionChanges) {
+        boolean folded = run.size() > 1;
+        if (folded) {
+            AffineCoordinateConversion conversion =
+                    new AffineCoordinateConversion(run.toArray(new CoordinateOperation[0]));
+            if (!conversion.isIdentity()) {
+                result.add(conversion);
+            }
+        } else {
+            result.addAll(run);
+        }
+        result.addAll(dimensionChanges);
+        run.clear();
+        dimensionChanges.clear();
+        return folded;
+    }
+
+    /**
+     * Return the operations folded in this AffineCoordinateConversion.
+     */
+    public List<CoordinateOperation> getOperations() {
+        return Arrays.asList(operations.clone());
+    }
+
+    /**
+     * Convert coord in place.
+     *
+     * @param coord the coordinate to convert
+     * @throws IllegalCoordinateException if <code>coord</code> is not
+     *                                    compatible with this <code>CoordinateOperation</code>.
+     */
+    @Override
+    public double[] transform(double[] coord) throws IllegalCoordinateException {
+        if (coord.length < requiredDimension) {
+            throw new CoordinateDimensionException(coord, requiredDimension);
+        }
+        transform(coord, 0, 1, coord.length);
+        return coord;
+    }
+
+    /**
+     * Convert <code>count</code> coordinates stored one after the other in
+     * <code>packed</code>. Ordinates beyond <code>stride</code> are ignored.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is too small
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, requiredDimension);
+        int n = Math.min(dimension, stride);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double c0 = packed[pos];
+            double c1 = n > 1 ? packed[pos + 1] : 0.0;
+            double c2 = n > 2 ? packed[pos + 2] : 0.0;
+            for (int i = 0; i < n; i++) {
+                int j = source[i];
+                packed[pos + i] = scale[i] * (j == 0 ? c0 : j == 1 ? c1 : c2) + this.offset[i];
+            }
+        }
+    }
+
+    /**
+     * Creates the inverse CoordinateOperation, folding the inverse of each
+     * operation.
+     */
+    @Override
+    public CoordinateOperation inverse() throws NonInvertibleOperationException {
+        if (inverse != null) return inverse;
+        CoordinateOperation[] inverseOperations = new CoordinateOperation[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            inverseOperations[operations.length - i - 1] = operations[i].inverse();
+        }
+        return inverse = new AffineCoordinateConversion(inverseOperations) {
+            @Override
+            public CoordinateOperation inverse() {
+                return AffineCoordinateConversion.this;
+            }
+        };
+    }
+
+    /**
+     * @return true if this conversion does not change coordinates.
+     */
+    @Override
+    public boolean isIdentity() {
+        for (int i = 0; i < MAX_DIMENSION; i++) {
+            if (!isIdentity(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a String representation of this AffineCoordinateConversion,
+     * listing the folded operations.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(getName()).append(" {");
+        for (CoordinateOperation op : operations) {
+            sb.append("\n      ").append(op.toString());
+        }
+        sb.append("\n   }");
+        return sb.toString();
+    }
+
+    /**
+     * Returns true if o is an AffineCoordinateConversion folding the same
+     * operations.
+     *
+     * @param o The object to compare this AffineCoordinateConversion against
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof AffineCoordinateConversion) {
+            return Arrays.equals(operations, ((AffineCoordinateConversion) o).operations);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the hash code for this AffineCoordinateConversion.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 3;
+        hash = 31 * hash + Arrays.hashCode(operations);
+        return hash;
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.cts.op;
 
+import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
 import org.cts.IllegalCoordinateException;
 
@@ -32,7 +33,8 @@ import org.cts.IllegalCoordinateException;
  *
  * @author Michaël Michaud
  */
-public class ChangeCoordinateDimension extends AbstractCoordinateOperation {
+public class ChangeCoordinateDimension extends AbstractCoordinateOperation
+        implements DimensionChangingOperation {
 
     private static final Identifier G3DG2D =
             new Identifier("EPSG", "9659", "Geographic 3D to 2D conversion", "Geo3D->2D");
@@ -85,6 +87,51 @@ public class ChangeCoordinateDimension extends AbstractCoordinateOperation {
         return cc;
     }
 
+    /**
+     * Return the dimension of the coordinates computed from coordinates of
+     * dimension dim.
+     *
+     * @param dim the dimension of the input coordinates
+     */
+    @Override
+    public int getTargetDimension(int dim) {
+        return inputDim == outputDim ? dim : outputDim;
+    }
+
+    /**
+     * Copy <code>count</code> coordinates of dimension <code>dim</code> from
+     * <code>source</code> to <code>target</code>, adding or removing
+     * ordinates. Added ordinates are set to 0.
+     *
+     * @param source       array holding the coordinates to transform
+     * @param sourceOffset index of the first ordinate of the first coordinate
+     * @param count        number of coordinates to transform
+     * @param dim          dimension of the coordinates to transform
+     * @param target       array receiving the transformed coordinates
+     * @param targetOffset index of the first ordinate of the first coordinate
+     *                     in target
+     * @throws IllegalCoordinateException if dim is lower than the number of
+     *                                    ordinates to keep
+     */
+    @Override
+    public void transform(double[] source, int sourceOffset, int count, int dim,
+                          double[] target, int targetOffset) throws IllegalCoordinateException {
+        int targetDim = getTargetDimension(dim);
+        int kept = inputDim == outputDim ? dim : getKeptDimension();
+        if (dim < kept) {
+            throw new CoordinateDimensionException("The dimension of the coordinates (" + dim
+                    + ") is not valid : coordinates of at least " + kept + "D are required");
+        }
+        for (int i = 0; i < count; i++) {
+            int s = sourceOffset + i * dim;
+            int t = targetOffset + i * targetDim;
+            System.arraycopy(source, s, target, t, kept);
+            for (int j = kept; j < targetDim; j++) {
+                target[t + j] = 0.0;
+            }
+        }
+    }
+
     /**
      * Creates the inverse CoordinateOperation.
      */
@@ -92,4 +139,11 @@ public class ChangeCoordinateDimension extends AbstractCoordinateOperation {
     public CoordinateOperation inverse() {
         return new ChangeCoordinateDimension(new Identifier(CoordinateOperation.class), outputDim, inputDim);
     }
+
+    /**
+     * Return the number of ordinates kept by this operation.
+     */
+    int getKeptDimension() {
+        return Math.min(inputDim, outputDim);
+    }
 }
@@ -51,6 +51,27 @@ public interface CoordinateOperation extends Identifiable {
      */
     double[] transform(double[] coord) throws IllegalCoordinateException, CoordinateOperationException;
 
+    /**
+     * Transform <code>count</code> coordinates stored one after the other in
+     * a packed double array, each coordinate being made of <code>stride</code>
+     * ordinates.<p> Values of <code>packed</code> are always changed in
+     * place. If this operation changes the dimension of a coordinate, only
+     * the first <code>stride</code> ordinates of the result are written back.
+     * <p> Transforming a whole geometry or tile with a single call avoids the
+     * per-coordinate overhead of {@link #transform(double[])}.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException              if one of the coordinates
+     *                                                 is not compatible with this <code>CoordinateOperation</code>.
+     * @throws org.cts.op.CoordinateOperationException if this operation
+     *                                                 failed during the transformation process.
+     */
+    void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException, CoordinateOperationException;
+
     /**
      * Return the inverse CoordinateOperation, or throw a
      * NonInvertibleOperationException. If op.inverse() is not null,
@@ -30,10 +30,12 @@ import org.cts.datum.GeodeticDatum;
 import org.cts.datum.PrimeMeridian;
 import org.cts.op.transformation.GeocentricTransformation;
 import org.cts.op.transformation.GeocentricTransformationSequence;
+import org.cts.util.ConcurrentCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -42,6 +44,10 @@ import java.util.Set;
  * {@linkplain  org.cts.op.CoordinateOperation CoordinateOperations} from source
  * and target
  * {@linkplain org.cts.crs.CoordinateReferenceSystem CoordinateReferenceSystems}.
+ * <p>The operations created for a pair of CRS are kept in a cache, so that
+ * asking again for the same pair only costs a lookup. The cache is cleared
+ * when a transformation is added to or removed from a
+ * {@link org.cts.datum.GeodeticDatum}.</p>
  *
  * @author Michaël Michaud, Jules Party
  */
@@ -49,6 +55,23 @@ public final class CoordinateOperationFactory {
 
     private static final Logger LOG = LoggerFactory.getLogger(CoordinateOperationFactory.class);
 
+    /**
+     * The default maximum number of CRS pairs kept in the caches.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 100;
+
+    /**
+     * The operations created for a pair of CRS.
+     */
+    private static final ConcurrentCache<CRSPair, Set<CoordinateOperation>> OPERATION_CACHE =
+            new ConcurrentCache<CRSPair, Set<CoordinateOperation>>(DEFAULT_CACHE_SIZE);
+
+    /**
+     * The most precise operation created for a pair of CRS.
+     */
+    private static final ConcurrentCache<CRSPair, CoordinateOperation> MOST_PRECISE_CACHE =
+            new ConcurrentCache<CRSPair, CoordinateOperation>(DEFAULT_CACHE_SIZE);
+
     /**
      * Creates a list of {@link CoordinateOperation}s from a source
      * {@link org.cts.crs.GeodeticCRS} to a target
@@ -57,19 +80,88 @@ public final class CoordinateOperationFactory {
      * {@link org.cts.crs.Geographic2DCRS}, {@link org.cts.crs.Geographic3DCRS} and
      * {@link org.cts.crs.ProjectedCRS}.
      *
+     * The returned set is shared by all callers asking for the same pair of
+     * CRS and cannot be modified.
+     *
      * @param source the (non null) source geodetic coordinate reference system
      * @param target the (non null) target geodetic coordinate reference system
      * @return
      * @throws org.cts.op.CoordinateOperationException
      */
     public static Set<CoordinateOperation> createCoordinateOperations(
-            GeodeticCRS source, GeodeticCRS target) throws CoordinateOperationException {
+            final GeodeticCRS source, final GeodeticCRS target) throws CoordinateOperationException {
+        if (source == null) {
+            throw new IllegalArgumentException("The source CRS must not be null");
+        }
+        if (target == null) {
+            throw new IllegalArgumentException("The target CRS must not be null");
+        }
+        return OPERATION_CACHE.get(new CRSPair(source, target),
+                key -> Collections.unmodifiableSet(buildCoordinateOperations(source, target)));
+    }
+
+    /**
+     * Returns the most precise {@link CoordinateOperation} from a source
+     * {@link org.cts.crs.GeodeticCRS} to a target
+     * {@link org.cts.crs.GeodeticCRS}. This is equivalent to
+     * <code>getMostPrecise(createCoordinateOperations(source, target))</code>,
+     * but the result is cached.
+     *
+     * @param source the (non null) source geodetic coordinate reference system
+     * @param target the (non null) target geodetic coordinate reference system
+     * @return
+     * @throws org.cts.op.CoordinateOperationException
+     */
+    public static CoordinateOperation getMostPrecise(
+            final GeodeticCRS source, final GeodeticCRS target) throws CoordinateOperationException {
         if (source == null) {
             throw new IllegalArgumentException("The source CRS must not be null");
         }
         if (target == null) {
             throw new IllegalArgumentException("The target CRS must not be null");
         }
+        return MOST_PRECISE_CACHE.get(new CRSPair(source, target),
+                key -> getMostPrecise(createCoordinateOperations(source, target)));
+    }
+
+    /**
+     * Removes all operations from the caches. It must be called when the
+     * definition of a datum used by cached operations changes.
+     */
+    public static void clearCache() {
+        OPERATION_CACHE.clear();
+        MOST_PRECISE_CACHE.clear();
+        DatumTransformationGraph.clearCache();
+    }
+
+    /**
+     * Returns the cache of the operation sets created by
+     * {@link #createCoordinateOperations(GeodeticCRS, GeodeticCRS)}. It gives
+     * access to the statistics and to the size of the cache.
+     */
+    public static ConcurrentCache<?, Set<CoordinateOperation>> getOperationCache() {
+        return OPERATION_CACHE;
+    }
+
+    /**
+     * Returns the cache of the operations returned by
+     * {@link #getMostPrecise(GeodeticCRS, GeodeticCRS)}.
+     */
+    public static ConcurrentCache<?, CoordinateOperation> getMostPreciseCache() {
+        return MOST_PRECISE_CACHE;
+    }
+
+    /**
+     * Creates the set of {@link CoordinateOperation}s from a source
+     * {@link org.cts.crs.GeodeticCRS} to a target
+     * {@link org.cts.crs.GeodeticCRS}.
+     *
+     * @param source the (non null) source geodetic coordinate reference system
+     * @param target the (non null) target geodetic coordinate reference system
+     * @throws org.cts.op.CoordinateOperationException
+     */
+    private static Set<CoordinateOperation> buildCoordinateOperations(
+            GeodeticCRS source, GeodeticCRS target) throws CoordinateOperationException {
         Set<CoordinateOperation> opList = new HashSet<CoordinateOperation>();
         GeodeticDatum sourceDatum = source.getDatum();
         if (sourceDatum == null) {
@@ -174,6 +266,9 @@ public final class CoordinateOperationFactory {
                     && (targetDatum.getEllipsoid().equals(Ellipsoid.GRS80) || targetDatum.getEllipsoid().equals(Ellipsoid.WGS84))) {
                 datumTransformations.addAll(sourceDatum.getGeocentricTransformations(GeodeticDatum.WGS84));
             }
+            // A chain of transformations through other datums may be more precise
+            addDatumPath(datumTransformations,
+                    DatumTransformationGraph.getGeocentricPath(sourceDatum, targetDatum));
 
             // OK, we found at least one geocentric transformation between source and target datum,
             // now let's build complete transformation sequences from sourceCRS to target CRS
@@ -216,6 +311,8 @@ public final class CoordinateOperationFactory {
                     && (targetDatum.getEllipsoid().equals(Ellipsoid.GRS80) || targetDatum.getEllipsoid().equals(Ellipsoid.WGS84))) {
                 datumTransformations.addAll(sourceDatum.getGeographicTransformations(GeodeticDatum.WGS84));
             }
+            addDatumPath(datumTransformations,
+                    DatumTransformationGraph.getGeographicPath(sourceDatum, targetDatum));
 
             if (!datumTransformations.isEmpty()) {
                 for (CoordinateOperation datumTf : datumTransformations) {
@@ -238,6 +335,25 @@ public final class CoordinateOperationFactory {
         }
     }
 
+    /**
+     * Adds path, a chain of transformations between two datums found in the
+     * datum transformation graph, to datumTransformations if it is more
+     * precise than all of them.
+     *
+     * @param datumTransformations the transformations already found
+     * @param path                 the most precise chain of transformations,
+     *                             may be null
+     */
+    private static void addDatumPath(Set<CoordinateOperation> datumTransformations, CoordinateOperation path) {
+        if (path == null) {
+            return;
+        }
+        CoordinateOperation mostPrecise = getMostPrecise(datumTransformations);
+        if (mostPrecise == null || path.getPrecision() < mostPrecise.getPrecision()) {
+            datumTransformations.add(path);
+        }
+    }
+
     /**
      * Returns {@link org.cts.op.CoordinateOperation}s including operations of a particular type.
      */
@@ -320,4 +436,32 @@ public final class CoordinateOperationFactory {
         return preciseOp;
     }
 
+    /**
+     * Key of the caches : a source and a target CRS, compared by identity
+     * as two different CRS may be equal without having the same projection.
+     */
+    private static final class CRSPair {
+
+        private final GeodeticCRS source;
+        private final GeodeticCRS target;
+
+        private CRSPair(GeodeticCRS source, GeodeticCRS target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof CRSPair) {
+                CRSPair pair = (CRSPair) o;
+                return source == pair.source && target == pair.target;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(source) + System.identityHashCode(target);
+        }
+    }
 }
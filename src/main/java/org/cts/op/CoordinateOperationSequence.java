@@ -25,6 +25,7 @@ package org.cts.op;
 
 import org.cts.Identifier;
 import org.cts.IllegalCoordinateException;
+import org.cts.op.transformation.GeographicDatumShift;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +45,12 @@ public class CoordinateOperationSequence extends AbstractCoordinateOperation {
      */
     protected CoordinateOperation[] sequence;
 
+    /**
+     * The operations actually applied by the transform methods, computed from
+     * the sequence on first use (see {@link #optimizeSequence}).
+     */
+    private volatile CoordinateOperation[] executionSequence;
+
     /**
      * Create a CoordinateOperationSequence from an identifier and an array of
      * {@linkplain  org.cts.op.CoordinateOperation CoordinateOperations}. Precision
@@ -133,10 +140,120 @@ public class CoordinateOperationSequence extends AbstractCoordinateOperation {
     @Override
     public double[] transform(double[] coord)
             throws IllegalCoordinateException, CoordinateOperationException {
-        for (CoordinateOperation op : sequence) {
-            coord = op.transform(coord);
+        CoordinateOperation[] ops = getExecutionSequence();
+        int dim = coord.length;
+        boolean changesDimension = false;
+        for (CoordinateOperation op : ops) {
+            if (op instanceof DimensionChangingOperation) {
+                dim = ((DimensionChangingOperation) op).getTargetDimension(dim);
+                changesDimension = true;
+            } else if (isWidened(op, dim)) {
+                dim = 3;
+                changesDimension = true;
+            }
+        }
+        if (!changesDimension) {
+            for (CoordinateOperation op : ops) {
+                coord = op.transform(coord);
+            }
+            return coord;
+        }
+        // Intermediate coordinates are stored in the scratch context, only
+        // the result is allocated if its dimension is not the one of coord
+        double[] result = dim == coord.length ? coord : new double[dim];
+        transform(ops, coord, 0, 1, coord.length, result, 0, dim);
+        return result;
+    }
+
+    /**
+     * Implementation of the packed transform method for a sequence of
+     * transformation. Each operation transforms all the coordinates before
+     * the next one is applied. When an operation changes the dimension of the
+     * coordinates (ex. {@link ChangeCoordinateDimension#TO3D}), coordinates are
+     * written with the new dimension in a buffer of the {@link ScratchContext}
+     * of the current thread, and the first <code>stride</code> ordinates of
+     * the final coordinates are copied back in <code>packed</code>.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException              if one of the coordinates
+     *                                                 is not compatible with this <code>CoordinateOperation</code>.
+     * @throws org.cts.op.CoordinateOperationException
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException, CoordinateOperationException {
+        checkPackedCoordinates(packed, offset, count, stride, 1);
+        if (count == 0) {
+            return;
+        }
+        transform(getExecutionSequence(), packed, offset, count, stride, packed, offset, stride);
+    }
+
+    /**
+     * Apply ops to the <code>count</code> coordinates of dimension
+     * <code>dim</code> stored in source from <code>sourceOffset</code>, and
+     * copy the first <code>targetStride</code> ordinates of the resulting
+     * coordinates in target. Operations changing the dimension of the
+     * coordinates write them alternately in two buffers of the
+     * {@link ScratchContext}, other operations work in place.
+     *
+     * @param ops          the operations to apply
+     * @param source       array holding the coordinates one after the other
+     * @param sourceOffset index of the first ordinate of the first coordinate
+     * @param count        number of coordinates to transform
+     * @param dim          number of ordinates of each coordinate in source
+     * @param target       array receiving the transformed coordinates
+     * @param targetOffset index of the first ordinate of the first coordinate
+     *                     in target
+     * @param targetStride number of ordinates of each coordinate in target
+     */
+    private static void transform(CoordinateOperation[] ops, double[] source, int sourceOffset,
+                                  int count, int dim, double[] target, int targetOffset, int targetStride)
+            throws IllegalCoordinateException, CoordinateOperationException {
+        ScratchContext context = ScratchContext.get();
+        int base = context.push(2);
+        try {
+            double[] data = source;
+            int start = sourceOffset;
+            int next = 0;
+            for (CoordinateOperation op : ops) {
+                if (op instanceof DimensionChangingOperation) {
+                    DimensionChangingOperation dco = (DimensionChangingOperation) op;
+                    int newDim = dco.getTargetDimension(dim);
+                    double[] buffer = context.buffer(base + next, count * newDim);
+                    dco.transform(data, start, count, dim, buffer, 0);
+                    data = buffer;
+                    dim = newDim;
+                } else if (isWidened(op, dim)) {
+                    // add a null height to 2D geographic coordinates
+                    double[] buffer = context.buffer(base + next, count * 3);
+                    for (int i = 0; i < count; i++) {
+                        buffer[3 * i] = data[start + 2 * i];
+                        buffer[3 * i + 1] = data[start + 2 * i + 1];
+                        buffer[3 * i + 2] = 0.0;
+                    }
+                    data = buffer;
+                    dim = 3;
+                    op.transform(data, 0, count, dim);
+                } else {
+                    op.transform(data, start, count, dim);
+                    continue;
+                }
+                start = 0;
+                next = 1 - next;
+            }
+            if (data != target) {
+                int length = Math.min(dim, targetStride);
+                for (int i = 0; i < count; i++) {
+                    System.arraycopy(data, start + i * dim, target, targetOffset + i * targetStride, length);
+                }
+            }
+        } finally {
+            context.pop(base);
         }
-        return coord;
     }
 
     /**
@@ -180,6 +297,45 @@ public class CoordinateOperationSequence extends AbstractCoordinateOperation {
         return sequence;
     }
 
+    /**
+     * Return the operations applied by the transform methods of this
+     * sequence. They give the same results as the operations of the sequence,
+     * but some runs of operations may have been replaced by a single faster
+     * operation.
+     */
+    protected CoordinateOperation[] getExecutionSequence() {
+        CoordinateOperation[] ops = executionSequence;
+        if (ops == null) {
+            executionSequence = ops = optimizeSequence(sequence);
+        }
+        return ops;
+    }
+
+    /**
+     * Return the operations to apply in place of sequence. Each run of
+     * operations changing the datum of geographic coordinates through
+     * geocentric coordinates is replaced by a {@link GeographicDatumShift},
+     * then each run of unit conversions, axis switches, axis inversions and
+     * longitude rotations is replaced by an {@link AffineCoordinateConversion}.
+     *
+     * @param sequence the cleaned sequence of this CoordinateOperationSequence
+     */
+    protected CoordinateOperation[] optimizeSequence(CoordinateOperation[] sequence) {
+        return AffineCoordinateConversion.fold(GeographicDatumShift.fuse(sequence));
+    }
+
+    /**
+     * Return true if op adds a height to 2D geographic coordinates, so that
+     * it cannot work in place on packed coordinates of dimension
+     * <code>dim</code>.
+     *
+     * @param op  the operation to check
+     * @param dim the dimension of the input coordinates
+     */
+    private static boolean isWidened(CoordinateOperation op, int dim) {
+        return (op instanceof Geographic2Geocentric || op instanceof GeographicDatumShift) && dim == 2;
+    }
+
     /**
      * fusionSequences merges cleverly two list of CoordinateOperations by
      * removing the last element of the first list and the first of the second
@@ -101,6 +101,28 @@ public class CoordinateRounding extends AbstractCoordinateOperation {
         return coord;
     }
 
+    /**
+     * Round all the ordinates of <code>count</code> coordinates stored one
+     * after the other in <code>packed</code>. NaN values are left unchanged.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is lower than 1
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 1);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos++) {
+            if (Double.isNaN(packed[pos])) {
+                continue;
+            }
+            packed[pos] = Math.rint(packed[pos] * inv_resolution) / inv_resolution;
+        }
+    }
+
     /**
      * Creates a coordinate rounding operation from a decimal place number.
      *
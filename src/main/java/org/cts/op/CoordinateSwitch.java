@@ -63,6 +63,27 @@ public class CoordinateSwitch extends AbstractCoordinateOperation {
         return coord;
     }
 
+    /**
+     * Switch the two ordinates of <code>count</code> coordinates stored one
+     * after the other in <code>packed</code>.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is too small
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, Math.max(pos1, pos2) + 1);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double d1 = packed[pos + pos1];
+            packed[pos + pos1] = packed[pos + pos2];
+            packed[pos + pos2] = d1;
+        }
+    }
+
     /**
      * Creates the inverse CoordinateOperation.
      */
@@ -0,0 +1,272 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.Identifier;
+import org.cts.datum.GeodeticDatum;
+import org.cts.op.transformation.GeocentricTransformation;
+import org.cts.op.transformation.GeocentricTransformationSequence;
+import org.cts.util.ConcurrentCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * DatumTransformationGraph looks for chains of datum transformations between
+ * two {@link GeodeticDatum}s. Datums are the nodes of the graph and the
+ * transformations registered in each datum are its edges, weighted by their
+ * precision. The most precise chain (the one with the lowest sum of
+ * precisions) is found with the Dijkstra algorithm, and kept in a cache
+ * until {@link #clearCache()} is called. As chains are limited to
+ * {@link #MAX_LENGTH} transformations, the states of the search are a datum
+ * and the number of transformations used to reach it : a datum reached by a
+ * cheap but long chain may still be reached later by a shorter chain which
+ * can go further.
+ */
+final class DatumTransformationGraph {
+
+    /**
+     * The maximum number of transformations of a chain, so that the search
+     * stays fast and does not build sequences of doubtful precision.
+     */
+    static final int MAX_LENGTH = 4;
+
+    /**
+     * The chains found for a pair of datums, including empty ones when no
+     * chain exists.
+     */
+    private static final ConcurrentCache<DatumPair, Path> PATH_CACHE =
+            new ConcurrentCache<DatumPair, Path>(CoordinateOperationFactory.DEFAULT_CACHE_SIZE);
+
+    private DatumTransformationGraph() {
+    }
+
+    /**
+     * Return the most precise chain of geocentric transformations from
+     * source to target as a single {@link GeocentricTransformation}, or null
+     * if target cannot be reached from source.
+     *
+     * @param source the source datum
+     * @param target the target datum
+     */
+    static GeocentricTransformation getGeocentricPath(GeodeticDatum source, GeodeticDatum target) {
+        return (GeocentricTransformation) getPath(source, target, true).operation;
+    }
+
+    /**
+     * Return the most precise chain of geographic transformations from
+     * source to target as a single operation, or null if target cannot be
+     * reached from source.
+     *
+     * @param source the source datum
+     * @param target the target datum
+     */
+    static CoordinateOperation getGeographicPath(GeodeticDatum source, GeodeticDatum target) {
+        return getPath(source, target, false).operation;
+    }
+
+    /**
+     * Remove all chains from the cache. It must be called when a
+     * transformation is added to a datum.
+     */
+    static void clearCache() {
+        PATH_CACHE.clear();
+    }
+
+    /**
+     * Return the cache of the chains found between two datums.
+     */
+    static ConcurrentCache<?, ?> getCache() {
+        return PATH_CACHE;
+    }
+
+    private static Path getPath(GeodeticDatum source, GeodeticDatum target, boolean geocentric) {
+        return PATH_CACHE.get(new DatumPair(source, target, geocentric),
+                key -> search(source, target, geocentric));
+    }
+
+    /**
+     * Find the most precise chain of transformations from source to target.
+     */
+    private static Path search(GeodeticDatum source, GeodeticDatum target, boolean geocentric) {
+        // Lowest cost found for each datum and each number of transformations
+        Map<GeodeticDatum, double[]> costs = new HashMap<GeodeticDatum, double[]>();
+        PriorityQueue<Node> queue = new PriorityQueue<Node>();
+        costs.put(source, newCosts());
+        costs.get(source)[0] = 0.0;
+        queue.add(new Node(source, null, null, 0.0, 0));
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (node.cost > costs.get(node.datum)[node.length]) {
+                // A cheaper chain of the same length has been found since
+                continue;
+            }
+            if (node.datum.equals(target)) {
+                return node.length < 2 ? Path.NONE : createPath(node, geocentric);
+            }
+            if (node.length == MAX_LENGTH) {
+                continue;
+            }
+            Set<GeodeticDatum> neighbours = geocentric
+                    ? node.datum.getGeocentricTargetDatum() : node.datum.getTargetDatum();
+            for (GeodeticDatum datum : neighbours) {
+                CoordinateOperation op = CoordinateOperationFactory.getMostPrecise(geocentric
+                        ? node.datum.getRegisteredGeocentricTransformations(datum)
+                        : node.datum.getRegisteredGeographicTransformations(datum));
+                if (op == null) {
+                    continue;
+                }
+                double cost = node.cost + op.getPrecision();
+                int length = node.length + 1;
+                double[] best = costs.computeIfAbsent(datum, d -> newCosts());
+                if (!isDominated(best, cost, length)) {
+                    best[length] = cost;
+                    queue.add(new Node(datum, node, op, cost, length));
+                }
+            }
+        }
+        return Path.NONE;
+    }
+
+    /**
+     * Create the costs of a datum which has not been reached yet.
+     */
+    private static double[] newCosts() {
+        double[] costs = new double[MAX_LENGTH + 1];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        return costs;
+    }
+
+    /**
+     * Return true if a chain at least as cheap and not longer than a chain of
+     * <code>length</code> transformations costing <code>cost</code> has
+     * already been found : the new chain cannot lead to a better result.
+     */
+    private static boolean isDominated(double[] costs, double cost, int length) {
+        for (int i = 0; i <= length; i++) {
+            if (costs[i] <= cost) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build the sequence of the operations leading to node.
+     */
+    private static Path createPath(Node node, boolean geocentric) {
+        List<CoordinateOperation> ops = new ArrayList<CoordinateOperation>(node.length);
+        StringBuilder name = new StringBuilder(node.datum.getShortName());
+        for (Node n = node; n.operation != null; n = n.previous) {
+            ops.add(n.operation);
+            name.insert(0, n.previous.datum.getShortName() + " > ");
+        }
+        Collections.reverse(ops);
+        Identifier id = new Identifier(CoordinateOperationSequence.class, name.toString());
+        CoordinateOperation op = geocentric
+                ? new GeocentricTransformationSequence(id, ops)
+                : new CoordinateOperationSequence(id, ops);
+        return new Path(op);
+    }
+
+    /**
+     * A datum reached by the search, with the number of transformations and
+     * the last transformation of the chain used to reach it.
+     */
+    private static final class Node implements Comparable<Node> {
+
+        private final GeodeticDatum datum;
+        private final Node previous;
+        private final CoordinateOperation operation;
+        private final double cost;
+        private final int length;
+
+        private Node(GeodeticDatum datum, Node previous, CoordinateOperation operation, double cost, int length) {
+            this.datum = datum;
+            this.previous = previous;
+            this.operation = operation;
+            this.cost = cost;
+            this.length = length;
+        }
+
+        @Override
+        public int compareTo(Node node) {
+            int c = Double.compare(cost, node.cost);
+            return c != 0 ? c : Integer.compare(length, node.length);
+        }
+    }
+
+    /**
+     * The result of a search, operation is null if no chain of at least two
+     * transformations has been found.
+     */
+    private static final class Path {
+
+        private static final Path NONE = new Path(null);
+
+        private final CoordinateOperation operation;
+
+        private Path(CoordinateOperation operation) {
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Key of the cache : a source and a target datum, compared by identity,
+     * and the kind of transformations.
+     */
+    private static final class DatumPair {
+
+        private final GeodeticDatum source;
+        private final GeodeticDatum target;
+        private final boolean geocentric;
+
+        private DatumPair(GeodeticDatum source, GeodeticDatum target, boolean geocentric) {
+            this.source = source;
+            this.target = target;
+            this.geocentric = geocentric;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof DatumPair) {
+                DatumPair pair = (DatumPair) o;
+                return source == pair.source && target == pair.target && geocentric == pair.geocentric;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(source) + System.identityHashCode(target))
+                    + (geocentric ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.IllegalCoordinateException;
+
+/**
+ * An operation changing the number of ordinates of coordinates, which cannot
+ * work in place on packed coordinates. It writes the coordinates it
+ * computes in a second array instead, so that a
+ * {@link CoordinateOperationSequence} can chain it with other operations
+ * without allocating arrays.
+ */
+interface DimensionChangingOperation {
+
+    /**
+     * Return the dimension of the coordinates computed from coordinates of
+     * dimension dim.
+     *
+     * @param dim the dimension of the input coordinates
+     * @throws IllegalCoordinateException if coordinates of dimension dim
+     *                                    cannot be transformed
+     */
+    int getTargetDimension(int dim) throws IllegalCoordinateException;
+
+    /**
+     * Transform <code>count</code> coordinates of dimension <code>dim</code>
+     * stored one after the other in <code>source</code>, and write the
+     * resulting coordinates one after the other in <code>target</code>.
+     *
+     * @param source       array holding the coordinates to transform
+     * @param sourceOffset index of the first ordinate of the first coordinate
+     * @param count        number of coordinates to transform
+     * @param dim          dimension of the coordinates to transform
+     * @param target       array receiving the coordinates of dimension
+     *                     {@link #getTargetDimension(int)}
+     * @param targetOffset index of the first ordinate of the first coordinate
+     *                     in target
+     * @throws IllegalCoordinateException if coordinates of dimension dim
+     *                                    cannot be transformed
+     */
+    void transform(double[] source, int sourceOffset, int count, int dim,
+                   double[] target, int targetOffset) throws IllegalCoordinateException;
+}
@@ -53,6 +53,27 @@ import static java.lang.Math.*;
  */
 public class Geocentric2Geographic extends AbstractCoordinateOperation {
 
+    /**
+     * Algorithms available to compute the latitude and the height.
+     */
+    public enum Algorithm {
+
+        /**
+         * Iterative computation of the latitude, stopped when two successive
+         * values differ by less than epsilon (default).
+         */
+        ITERATIVE,
+        /**
+         * Closed-form solution of H. Vermeille, Computing geodetic coordinates
+         * from geocentric coordinates, J. Geodesy 76 (2002). For terrestrial
+         * points (height from -10 km to 10000 km), errors are less than 1E-15
+         * radian for the latitude and 1E-8 m for the height. Points within
+         * about 43 km of the center of the ellipsoid, where this solution does
+         * not apply, are computed with the iterative algorithm.
+         */
+        VERMEILLE
+    }
+
     /**
      * The Identifier used for all Geocentric to geographic conversions.
      */
@@ -69,6 +90,10 @@ public class Geocentric2Geographic extends AbstractCoordinateOperation {
      * that error is less than 1E-4 m.
      */
     private final double epsilon;
+    /**
+     * The algorithm used to compute the latitude and the height.
+     */
+    private final Algorithm algorithm;
 
     /**
      * <p>Create a new Geographic2Geocentric transformation for a specific
@@ -82,6 +107,7 @@ public class Geocentric2Geographic extends AbstractCoordinateOperation {
         this.ellipsoid = ellipsoid;
         this.precision = 1E-4;   // 0.0001 mm
         this.epsilon = 1E-11;    // condition d'arret = 1E-11 radian < 1E-4 m
+        this.algorithm = Algorithm.ITERATIVE;
     }
 
     /**
@@ -99,6 +125,28 @@ public class Geocentric2Geographic extends AbstractCoordinateOperation {
         this.ellipsoid = ellipsoid;
         this.precision = 1E-4;   // 0.0001 mm
         this.epsilon = epsilon;  // condition d'arret = 1E-11 radian < 1E-4 m
+        this.algorithm = Algorithm.ITERATIVE;
+    }
+
+    /**
+     * <p>Create a new Geographic2Geocentric transformation for a specific
+     * ellipsoid, using the given algorithm. The reference datum for both
+     * geographic and geocentric coordinates is the same.</p>
+     *
+     * @param ellipsoid the ellipsoid used to define geographic coordinates
+     * @param algorithm the algorithm used to compute the latitude and the
+     *                  height
+     * @throws IllegalArgumentException if algorithm is null
+     */
+    public Geocentric2Geographic(Ellipsoid ellipsoid, Algorithm algorithm) {
+        super(opId);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("The algorithm of the transformation cannot be null");
+        }
+        this.ellipsoid = ellipsoid;
+        this.precision = 1E-4;   // 0.0001 mm
+        this.epsilon = 1E-11;    // condition d'arret = 1E-11 radian < 1E-4 m
+        this.algorithm = algorithm;
     }
 
     /**
@@ -118,30 +166,85 @@ public class Geocentric2Geographic extends AbstractCoordinateOperation {
         if (coord.length < 3) {
             throw new CoordinateDimensionException(coord, 3);
         }
-        double X = coord[0];
-        double Y = coord[1];
-        double Z = coord[2];
+        transform(coord, 0, 1, coord.length);
+        return coord;
+    }
+
+    /**
+     * Transform <code>count</code> geocentric coordinates stored one after the
+     * other in <code>packed</code> into geographic coordinates.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is lower than 3
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 3);
         double a = ellipsoid.getSemiMajorAxis();
         double e2 = ellipsoid.getSquareEccentricity();
-        // Calcul de la longitude
-        double lon = atan2(Y, X);
-        // Calcul de la latitude
-        double XY2 = sqrt(X * X + Y * Y);
-        double lati = atan(Z / (XY2 * (1 - (a * e2 / sqrt(X * X + Y * Y + Z * Z)))));
-        double lati1 = 0;
-        while (abs(lati1 - lati) > epsilon) {
-            lati = lati1;
-            double exp1 = a * e2 * cos(lati);
-            double exp2 = sqrt(1 - (e2 * sin(lati) * sin(lati)));
-            lati1 = atan((Z / XY2) / (1 - (exp1 / (XY2 * exp2))));
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double X = packed[pos];
+            double Y = packed[pos + 1];
+            double Z = packed[pos + 2];
+            if (algorithm == Algorithm.VERMEILLE && closedForm(a, e2, X, Y, Z, packed, pos)) {
+                continue;
+            }
+            // Calcul de la longitude
+            double lon = atan2(Y, X);
+            // Calcul de la latitude
+            double XY2 = sqrt(X * X + Y * Y);
+            double lati = atan(Z / (XY2 * (1 - (a * e2 / sqrt(X * X + Y * Y + Z * Z)))));
+            double lati1 = 0;
+            while (abs(lati1 - lati) > epsilon) {
+                lati = lati1;
+                double sinlati = sin(lati);
+                double exp1 = a * e2 * cos(lati);
+                double exp2 = sqrt(1 - (e2 * sinlati * sinlati));
+                lati1 = atan((Z / XY2) / (1 - (exp1 / (XY2 * exp2))));
+            }
+            double lat = lati1;
+            // Calcul de la hauteur
+            double sinlat = sin(lat);
+            double height = XY2 / cos(lat) - a / sqrt(1 - (e2 * sinlat * sinlat));
+            packed[pos] = lat;
+            packed[pos + 1] = lon;
+            packed[pos + 2] = height;
         }
-        double lat = lati1;
-        // Calcul de la hauteur
-        double height = XY2 / cos(lat) - a / sqrt(1 - (e2 * sin(lat) * sin(lat)));
-        coord[0] = lat;
-        coord[1] = lon;
-        coord[2] = height;
-        return coord;
+    }
+
+    /**
+     * Compute geographic coordinates with the closed-form solution of
+     * H. Vermeille and store them at <code>pos</code> in <code>packed</code>.
+     *
+     * @return false if the point is too close to the center of the ellipsoid
+     * to be computed with this method
+     */
+    private static boolean closedForm(double a, double e2, double X, double Y, double Z,
+                                      double[] packed, int pos) {
+        double e4 = e2 * e2;
+        double XY2 = X * X + Y * Y;
+        double p = XY2 / (a * a);
+        double q = (1 - e2) * Z * Z / (a * a);
+        double r = (p + q - e4) / 6;
+        if (r <= 0) {
+            return false;
+        }
+        double s = e4 * p * q / (4 * r * r * r);
+        double t = cbrt(1 + s + sqrt(s * (2 + s)));
+        double u = r * (1 + t + 1 / t);
+        double v = sqrt(u * u + e4 * q);
+        double w = e2 * (u + v - q) / (2 * v);
+        double k = sqrt(u + v + w * w) - w;
+        double D = k * sqrt(XY2) / (k + e2);
+        double DZ = sqrt(D * D + Z * Z);
+        packed[pos] = 2 * atan2(Z, D + DZ);
+        packed[pos + 1] = atan2(Y, X);
+        packed[pos + 2] = (k + e2 - 1) / k * DZ;
+        return true;
     }
 
     /**
@@ -164,10 +267,17 @@ public class Geocentric2Geographic extends AbstractCoordinateOperation {
         return ellipsoid;
     }
 
+    /**
+     * Return the algorithm used to compute the latitude and the height.
+     */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
     /**
      * Returns true if o is equals to
-     * <code>this</code>. Tests equality between the ellipsoid used by the
-     * transformation.
+     * <code>this</code>. Tests equality between the ellipsoid and the
+     * algorithm used by the transformation.
      *
      * @param o The object to compare this Geocentric2Geographic against
      */
@@ -178,7 +288,8 @@ public class Geocentric2Geographic extends AbstractCoordinateOperation {
         }
         if (o instanceof Geocentric2Geographic) {
             Geocentric2Geographic gc2gg = (Geocentric2Geographic) o;
-            return getEllipsoid().equals(gc2gg.getEllipsoid());
+            return getEllipsoid().equals(gc2gg.getEllipsoid())
+                    && algorithm == gc2gg.algorithm;
         }
         return false;
     }
@@ -190,6 +301,7 @@ public class Geocentric2Geographic extends AbstractCoordinateOperation {
     public int hashCode() {
         int hash = 5;
         hash = 89 * hash + (this.ellipsoid != null ? this.ellipsoid.hashCode() : 0);
+        hash = 89 * hash + this.algorithm.ordinal();
         return hash;
     }
 }
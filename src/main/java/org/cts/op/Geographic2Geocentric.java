@@ -122,19 +122,41 @@ public class Geographic2Geocentric extends AbstractCoordinateOperation {
         } else if (coord.length == 2) {
             coord = new double[]{coord[0], coord[1], 0.0};
         }
-        double lat = coord[0];
-        double lon = coord[1];
-        double height = 0.0;
-        if (coord.length > 2 && !Double.isNaN(coord[2])) {
-            height = coord[2];
-        }
-        double N = ellipsoid.transverseRadiusOfCurvature(lat);
-        coord[0] = (N + height) * cos(lat) * cos(lon);
-        coord[1] = (N + height) * cos(lat) * sin(lon);
-        coord[2] = (N * (1 - ellipsoid.getSquareEccentricity()) + height) * sin(lat);
+        transform(coord, 0, 1, coord.length);
         return coord;
     }
 
+    /**
+     * Transform <code>count</code> geographic coordinates stored one after the
+     * other in <code>packed</code> into geocentric coordinates. As the
+     * packed array cannot grow, each coordinate must have at least 3
+     * ordinates (a NaN height is considered as 0).
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is lower than 3
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 3);
+        double e2 = ellipsoid.getSquareEccentricity();
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lat = packed[pos];
+            double lon = packed[pos + 1];
+            double height = 0.0;
+            if (!Double.isNaN(packed[pos + 2])) {
+                height = packed[pos + 2];
+            }
+            double N = ellipsoid.transverseRadiusOfCurvature(lat);
+            packed[pos] = (N + height) * cos(lat) * cos(lon);
+            packed[pos + 1] = (N + height) * cos(lat) * sin(lon);
+            packed[pos + 2] = (N * (1 - e2) + height) * sin(lat);
+        }
+    }
+
     /**
      * Creates the inverse CoordinateOperation.
      */
@@ -60,6 +60,18 @@ public class Identity extends AbstractCoordinateOperation implements ParamBasedT
         return coord;
     }
 
+    /**
+     * Identity does not change packed coordinates.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) {
+    }
+
     /**
      * Creates the inverse CoordinateOperation.
      */
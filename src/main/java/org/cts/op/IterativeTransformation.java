@@ -89,6 +89,43 @@ public class IterativeTransformation extends AbstractCoordinateOperation impleme
         return coord;
     }
 
+    /**
+     * Transform <code>count</code> coordinates stored one after the other in
+     * <code>packed</code>, see {@link #transform(double[])}. The iterated
+     * operation is applied in place on each coordinate, so that it must not
+     * change the dimension of the coordinates.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException, CoordinateOperationException {
+        checkPackedCoordinates(packed, offset, count, stride, 1);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            int iterations = 0;
+            while (needsIteration(packed, pos)) {
+                if (++iterations > maxIterations) throw new TooManyIterationsException(this, iterations);
+                op.transform(packed, pos, 1, stride);
+            }
+        }
+    }
+
+    /**
+     * Return true if one of the calculated values of the coordinate stored
+     * from pos in packed has not reached its reference value yet.
+     */
+    private boolean needsIteration(double[] packed, int pos) {
+        for (int i = 0; i < realValueIndex.length; i++) {
+            if (Math.abs(packed[pos + realValueIndex[i]] - packed[pos + calculatedValueIndex[i]]) > tolerance[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public double getPrecision() {
         // Precision of this iterative operation is difficult to guess
@@ -23,6 +23,7 @@
  */
 package org.cts.op;
 
+import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
 import org.cts.IllegalCoordinateException;
 
@@ -32,7 +33,8 @@ import org.cts.IllegalCoordinateException;
  *
  * @author Michaël Michaud
  */
-public class LoadMemorizeCoordinate extends AbstractCoordinateOperation {
+public class LoadMemorizeCoordinate extends AbstractCoordinateOperation
+        implements DimensionChangingOperation {
 
     private final int indexSaved;
     public static CoordinateOperation loadX = new LoadMemorizeCoordinate(0);
@@ -65,12 +67,54 @@ public class LoadMemorizeCoordinate extends AbstractCoordinateOperation {
      */
     @Override
     public double[] transform(double[] coord) throws IllegalCoordinateException {
-        if (coord.length < 4) {
+        double[] cc = new double[getTargetDimension(coord.length)];
+        transform(coord, 0, 1, coord.length, cc, 0);
+        return cc;
+    }
+
+    /**
+     * Return the dimension of the coordinates computed from coordinates of
+     * dimension dim : the last ordinate is removed.
+     *
+     * @param dim the dimension of the input coordinates
+     * @throws IllegalCoordinateException if dim is lower than 4
+     */
+    @Override
+    public int getTargetDimension(int dim) throws IllegalCoordinateException {
+        if (dim < 4) {
             throw new IllegalCoordinateException("There is no saved value in these coordinates.");
         }
-        double[] cc = new double[coord.length - 1];
-        System.arraycopy(coord, 0, cc, 0, coord.length - 1);
-        cc[indexSaved] = coord[coord.length - 1];
-        return cc;
+        return dim - 1;
+    }
+
+    /**
+     * Copy <code>count</code> coordinates of dimension <code>dim</code> from
+     * <code>source</code> to <code>target</code>, removing the last ordinate
+     * of each coordinate and loading it at index indexSaved.
+     *
+     * @param source       array holding the coordinates to transform
+     * @param sourceOffset index of the first ordinate of the first coordinate
+     * @param count        number of coordinates to transform
+     * @param dim          dimension of the coordinates to transform
+     * @param target       array receiving the transformed coordinates
+     * @param targetOffset index of the first ordinate of the first coordinate
+     *                     in target
+     * @throws IllegalCoordinateException if dim is lower than 4
+     */
+    @Override
+    public void transform(double[] source, int sourceOffset, int count, int dim,
+                          double[] target, int targetOffset) throws IllegalCoordinateException {
+        int targetDim = getTargetDimension(dim);
+        if (indexSaved >= targetDim) {
+            throw new CoordinateDimensionException("The dimension of the coordinates (" + dim
+                    + ") is not valid : no ordinate at index " + indexSaved);
+        }
+        for (int i = 0; i < count; i++) {
+            int s = sourceOffset + i * dim;
+            int t = targetOffset + i * targetDim;
+            double saved = source[s + targetDim];
+            System.arraycopy(source, s, target, t, targetDim);
+            target[t + indexSaved] = saved;
+        }
     }
 }
@@ -76,6 +76,25 @@ public class LongitudeRotation extends AbstractCoordinateOperation {
         return coord;
     }
 
+    /**
+     * Apply the rotation to the longitude of <code>count</code> coordinates
+     * stored one after the other in <code>packed</code>.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is lower than 2
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset + 1, end = offset + count * stride; pos < end; pos += stride) {
+            packed[pos] = packed[pos] + rotationAngle;
+        }
+    }
+
     /**
      * Creates the inverse CoordinateOperation.
      */
@@ -23,6 +23,7 @@
  */
 package org.cts.op;
 
+import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
 import org.cts.IllegalCoordinateException;
 
@@ -34,7 +35,8 @@ import java.util.Arrays;
  *
  * @author Michaël Michaud
  */
-public class MemorizeCoordinate extends AbstractCoordinateOperation {
+public class MemorizeCoordinate extends AbstractCoordinateOperation
+        implements DimensionChangingOperation {
 
     private final int[] indexesSaved;
     public static CoordinateOperation memoX = new MemorizeCoordinate(0);
@@ -60,12 +62,59 @@ public class MemorizeCoordinate extends AbstractCoordinateOperation {
      * @param coord is an array containing one, two or three ordinates
      */
     @Override
-    public double[] transform(double[] coord) {
-        double[] cc = new double[Math.max(coord.length + indexesSaved.length, 4)];
-        System.arraycopy(coord, 0, cc, 0, Math.min(coord.length, cc.length));
-        for (int i = 0; i < indexesSaved.length; i++) {
-            cc[Math.max(coord.length + i, 3 + i)] = coord[indexesSaved[i]];
-        }
+    public double[] transform(double[] coord) throws IllegalCoordinateException {
+        double[] cc = new double[getTargetDimension(coord.length)];
+        transform(coord, 0, 1, coord.length, cc, 0);
         return cc;
     }
+
+    /**
+     * Return the dimension of the coordinates computed from coordinates of
+     * dimension dim : saved ordinates are added after the third one.
+     *
+     * @param dim the dimension of the input coordinates
+     */
+    @Override
+    public int getTargetDimension(int dim) {
+        return Math.max(dim + indexesSaved.length, 4);
+    }
+
+    /**
+     * Copy <code>count</code> coordinates of dimension <code>dim</code> from
+     * <code>source</code> to <code>target</code>, saving the memorized
+     * ordinates after the third one. Ordinates between the last one of the
+     * source coordinate and the saved ones are set to 0.
+     *
+     * @param source       array holding the coordinates to transform
+     * @param sourceOffset index of the first ordinate of the first coordinate
+     * @param count        number of coordinates to transform
+     * @param dim          dimension of the coordinates to transform
+     * @param target       array receiving the transformed coordinates
+     * @param targetOffset index of the first ordinate of the first coordinate
+     *                     in target
+     * @throws IllegalCoordinateException if a memorized ordinate is missing
+     */
+    @Override
+    public void transform(double[] source, int sourceOffset, int count, int dim,
+                          double[] target, int targetOffset) throws IllegalCoordinateException {
+        for (int index : indexesSaved) {
+            if (index >= dim) {
+                throw new CoordinateDimensionException("The dimension of the coordinates (" + dim
+                        + ") is not valid : ordinate " + index + " cannot be saved");
+            }
+        }
+        int targetDim = getTargetDimension(dim);
+        int first = Math.max(dim, 3);
+        for (int i = 0; i < count; i++) {
+            int s = sourceOffset + i * dim;
+            int t = targetOffset + i * targetDim;
+            System.arraycopy(source, s, target, t, dim);
+            for (int j = dim; j < first; j++) {
+                target[t + j] = 0.0;
+            }
+            for (int j = 0; j < indexesSaved.length; j++) {
+                target[t + first + j] = source[s + indexesSaved[j]];
+            }
+        }
+    }
 }
@@ -66,6 +66,25 @@ public class OppositeCoordinate extends AbstractCoordinateOperation {
         return coord;
     }
 
+    /**
+     * Change the sign of one ordinate of <code>count</code> coordinates
+     * stored one after the other in <code>packed</code>.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is too small
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, index + 1);
+        for (int pos = offset + index, end = offset + count * stride; pos < end; pos += stride) {
+            packed[pos] = -packed[pos];
+        }
+    }
+
     /**
      * Creates the inverse CoordinateOperation.
      */
@@ -73,4 +92,11 @@ public class OppositeCoordinate extends AbstractCoordinateOperation {
     public CoordinateOperation inverse() {
         return this;
     }
+
+    /**
+     * Return the index of the ordinate transformed into its opposite.
+     */
+    int getIndex() {
+        return index;
+    }
 }
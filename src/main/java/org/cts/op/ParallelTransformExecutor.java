@@ -0,0 +1,261 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.IllegalCoordinateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Transform large arrays of packed coordinates with several threads.
+ * <p>The coordinates are split into chunks of consecutive coordinates, each
+ * chunk being transformed by a single call to
+ * {@link CoordinateOperation#transform(double[], int, int, int)} in a task of
+ * the executor. Chunks write into disjoint parts of the array, so the
+ * CoordinateOperation must only be safe to use from several threads at
+ * the same time.
+ * <p>If a chunk cannot be transformed, it is transformed again coordinate
+ * by coordinate from a copy of its original values, to find the first
+ * coordinate which cannot be transformed. The exception thrown for this
+ * coordinate is thrown again with the same type, and with a message starting
+ * with "Coordinate &lt;index&gt; : ", index being the index of the coordinate
+ * from the first transformed one (exceptions of a type without a constructor
+ * taking a message are thrown unchanged). Errors in the failing chunk are thus
+ * reported exactly as by a sequential transform, and the coordinates of the
+ * chunk preceding the failing one are transformed.
+ * <p>If several chunks fail, the exception of the first failing chunk (in
+ * coordinate order) is thrown whatever the order in which tasks were run, the
+ * exceptions of the next failing chunks being added as suppressed exceptions.
+ * The content of the other chunks is then undefined.
+ * <p>To be able to transform a failing chunk again, each task copies its
+ * chunk in a buffer of its {@link ScratchContext} before transforming it.
+ */
+public class ParallelTransformExecutor {
+
+    /**
+     * Default number of coordinates transformed by a single task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16384;
+
+    private final ExecutorService executor;
+    private final int chunkSize;
+
+    /**
+     * Create a ParallelTransformExecutor using the common ForkJoinPool.
+     */
+    public ParallelTransformExecutor() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a ParallelTransformExecutor using the given executor.
+     *
+     * @param executor executor running the tasks, for instance a ForkJoinPool
+     */
+    public ParallelTransformExecutor(ExecutorService executor) {
+        this(executor, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a ParallelTransformExecutor using the given executor.
+     *
+     * @param executor  executor running the tasks, for instance a ForkJoinPool
+     * @param chunkSize number of coordinates transformed by a single task
+     */
+    public ParallelTransformExecutor(ExecutorService executor, int chunkSize) {
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor cannot be null");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive : " + chunkSize);
+        }
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Return the executor running the tasks.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Return the number of coordinates transformed by a single task.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Transform <code>count</code> coordinates stored one after the other in
+     * <code>packed</code> with op, in place. Coordinates are transformed in
+     * the calling thread if they fit in a single chunk. See the class
+     * documentation for the exceptions thrown when some coordinates cannot be
+     * transformed.
+     *
+     * @param op     the operation to apply
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException   if one of the coordinates is not
+     *                                      compatible with op
+     * @throws CoordinateOperationException if op failed, or if the calling
+     *                                      thread was interrupted while waiting
+     *                                      for the tasks
+     */
+    public void transform(final CoordinateOperation op, final double[] packed,
+                          final int offset, int count, final int stride)
+            throws IllegalCoordinateException, CoordinateOperationException {
+        AbstractCoordinateOperation.checkPackedCoordinates(packed, offset, count, stride, 1);
+        if (count <= chunkSize) {
+            transformChunk(op, packed, offset, 0, count, stride);
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>((count - 1) / chunkSize + 1);
+        for (int first = 0; first < count; first += chunkSize) {
+            final int chunkFirst = first;
+            final int length = Math.min(chunkSize, count - first);
+            tasks.add(() -> {
+                transformChunk(op, packed, offset, chunkFirst, length, stride);
+                return null;
+            });
+        }
+        List<Future<Void>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoordinateOperationException("Interrupted while transforming " + count + " coordinates");
+        }
+        Exception failure = null;
+        for (int i = 0; i < results.size(); i++) {
+            Throwable cause;
+            try {
+                results.get(i).get();
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CoordinateOperationException("Interrupted while transforming " + count + " coordinates");
+            } catch (ExecutionException e) {
+                cause = unwrap(e.getCause());
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (failure == null) {
+                failure = (Exception) cause;
+            } else {
+                failure.addSuppressed(cause);
+            }
+        }
+        if (failure instanceof IllegalCoordinateException) {
+            throw (IllegalCoordinateException) failure;
+        } else if (failure instanceof CoordinateOperationException) {
+            throw (CoordinateOperationException) failure;
+        } else if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * Return the exception thrown by a task. A ForkJoinPool wraps the checked
+     * exceptions thrown by the tasks in RuntimeExceptions, which are removed.
+     */
+    private static Throwable unwrap(Throwable cause) {
+        Throwable t = cause;
+        while (t.getClass() == RuntimeException.class && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t instanceof IllegalCoordinateException || t instanceof CoordinateOperationException ? t : cause;
+    }
+
+    /**
+     * Transform the <code>length</code> coordinates of a chunk, starting with
+     * the coordinate of index <code>first</code>. If the chunk cannot be
+     * transformed, it is restored and transformed again coordinate by
+     * coordinate, and the exception of the first failing coordinate is thrown
+     * with its index.
+     */
+    private static void transformChunk(CoordinateOperation op, double[] packed, int offset,
+                                       int first, int length, int stride)
+            throws IllegalCoordinateException, CoordinateOperationException {
+        int start = offset + first * stride;
+        ScratchContext context = ScratchContext.get();
+        int base = context.push(1);
+        try {
+            double[] backup = context.buffer(base, length * stride);
+            System.arraycopy(packed, start, backup, 0, length * stride);
+            try {
+                op.transform(packed, start, length, stride);
+            } catch (IllegalCoordinateException | CoordinateOperationException | RuntimeException e) {
+                System.arraycopy(backup, 0, packed, start, length * stride);
+                for (int i = 0; i < length; i++) {
+                    try {
+                        op.transform(packed, start + i * stride, 1, stride);
+                    } catch (IllegalCoordinateException pointFailure) {
+                        throw withMessage(pointFailure, "Coordinate " + (first + i));
+                    } catch (CoordinateOperationException pointFailure) {
+                        throw withMessage(pointFailure, "Coordinate " + (first + i));
+                    } catch (RuntimeException pointFailure) {
+                        throw withMessage(pointFailure, "Coordinate " + (first + i));
+                    }
+                }
+                // The coordinates can be transformed one by one, but not together
+                String range = "Coordinates " + first + " to " + (first + length - 1);
+                if (e instanceof IllegalCoordinateException) {
+                    throw withMessage((IllegalCoordinateException) e, range);
+                } else if (e instanceof CoordinateOperationException) {
+                    throw withMessage((CoordinateOperationException) e, range);
+                }
+                throw withMessage((RuntimeException) e, range);
+            }
+        } finally {
+            context.pop(base);
+        }
+    }
+
+    /**
+     * Return an exception of the same type as e, with a message starting with
+     * prefix and e as cause, or e itself if its type has no constructor taking
+     * a message.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> E withMessage(E e, String prefix) {
+        try {
+            E result = (E) e.getClass().getConstructor(String.class).newInstance(prefix + " : " + e.getMessage());
+            result.initCause(e);
+            return result;
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            return e;
+        }
+    }
+}
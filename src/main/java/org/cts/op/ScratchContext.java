@@ -0,0 +1,114 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import java.util.Arrays;
+
+/**
+ * A ScratchContext holds arrays reused by coordinate operations to store
+ * intermediate coordinates, so that transforming coordinates does not
+ * allocate any array in steady state. Each thread has its own context, see
+ * {@link #get()}.
+ * <p>Operations reserve some buffers with {@link #push(int)}, use them with
+ * {@link #buffer(int, int)}, and give them back with {@link #pop(int)},
+ * usually in a finally block. As buffers are reserved on top of the ones
+ * already in use, an operation may call other operations using the context
+ * while it holds buffers.</p>
+ */
+public final class ScratchContext {
+
+    /**
+     * Buffers longer than this length are not kept after their use, so that
+     * transforming a large batch of coordinates does not retain a large
+     * amount of memory in each thread.
+     */
+    static final int MAX_RETAINED_LENGTH = 1 << 16;
+
+    private static final ThreadLocal<ScratchContext> CONTEXT =
+            ThreadLocal.withInitial(ScratchContext::new);
+
+    private double[][] buffers = new double[8][];
+
+    private int top;
+
+    private ScratchContext() {
+    }
+
+    /**
+     * Return the ScratchContext of the current thread.
+     */
+    public static ScratchContext get() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * Reserve n buffers, and return the index of the first one. The reserved
+     * buffers must be given back with {@link #pop(int)}.
+     *
+     * @param n number of buffers to reserve
+     */
+    public int push(int n) {
+        int base = top;
+        top += n;
+        if (top > buffers.length) {
+            buffers = Arrays.copyOf(buffers, Math.max(top, 2 * buffers.length));
+        }
+        return base;
+    }
+
+    /**
+     * Return the reserved buffer at index, with a length of at least length.
+     * The content of the buffer is undefined, and is lost when the buffer is
+     * requested again with a larger length.
+     *
+     * @param index  index of the buffer, between the value returned by
+     *               {@link #push(int)} and the number of reserved buffers
+     * @param length minimum length of the buffer
+     */
+    public double[] buffer(int index, int length) {
+        if (index >= top) {
+            throw new IllegalStateException("Buffer " + index + " has not been reserved");
+        }
+        double[] buffer = buffers[index];
+        if (buffer == null || buffer.length < length) {
+            buffer = new double[length];
+            buffers[index] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Give back the buffers reserved from base.
+     *
+     * @param base the index returned by {@link #push(int)}
+     */
+    public void pop(int base) {
+        for (int i = base; i < top; i++) {
+            if (buffers[i] != null && buffers[i].length > MAX_RETAINED_LENGTH) {
+                buffers[i] = null;
+            }
+        }
+        top = base;
+    }
+}
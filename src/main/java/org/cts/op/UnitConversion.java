@@ -100,6 +100,33 @@ public class UnitConversion extends AbstractCoordinateOperation {
         return coord;
     }
 
+    /**
+     * Convert the units of <code>count</code> coordinates stored one after the
+     * other in <code>packed</code>. NaN values are left unchanged.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is lower than 1
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 1);
+        int length = Math.min(stride, sourceUnits.length);
+        for (int i = 0; i < length; i++) {
+            double sourceScale = sourceUnits[i].getScale();
+            double targetScale = targetUnits[i].getScale();
+            for (int pos = offset + i, end = offset + count * stride; pos < end; pos += stride) {
+                if (Double.isNaN(packed[pos])) {
+                    continue;
+                }
+                packed[pos] = packed[pos] * sourceScale / targetScale;
+            }
+        }
+    }
+
     /**
      * Returns a coordinate representing the same point as coord but with
      * different units.
@@ -225,6 +252,20 @@ public class UnitConversion extends AbstractCoordinateOperation {
         return hash;
     }
 
+    /**
+     * Return the units of the source coordinates.
+     */
+    Unit[] getSourceUnits() {
+        return sourceUnits;
+    }
+
+    /**
+     * Return the units of the target coordinates.
+     */
+    Unit[] getTargetUnits() {
+        return targetUnits;
+    }
+
     /**
      * @return true if this operation does not change coordinates.
      */
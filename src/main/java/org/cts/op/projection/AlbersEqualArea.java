@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -125,20 +126,36 @@ public class AlbersEqualArea extends Projection {
     }
 
     /**
-     * Transform coord using the Albers Equal Area Projection. Input coord is
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Albers Equal Area Projection. Input coord is
      * supposed to be a geographic latitude / longitude coordinate in radians.
      * Algorithm based on the OGP's Guidance Note Number 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double theta = n * (coord[1] - lon0);
-        double rho = ellipsoid.getSemiMajorAxis() / n * sqrt(C - n * q(coord[0]));
-        coord[0] = FE + rho * sin(theta);
-        coord[1] = FN + rho0 - rho * cos(theta);
-        return coord;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double theta = n * (packed[pos + 1] - lon0);
+            double rho = ellipsoid.getSemiMajorAxis() / n * sqrt(C - n * q(packed[pos]));
+            packed[pos] = FE + rho * sin(theta);
+            packed[pos + 1] = FN + rho0 - rho * cos(theta);
+        }
     }
 
     /**
@@ -151,21 +168,23 @@ public class AlbersEqualArea extends Projection {
     public Projection inverse() {
         return new AlbersEqualArea(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
                 double e = ellipsoid.getEccentricity();
                 double e2 = ellipsoid.getSquareEccentricity();
                 double e4 = e2 * e2;
                 double e6 = e4 * e2;
-                double x = coord[0] - FE;
-                double y = rho0 - (coord[1] - FN);
-                double theta = atan(x / y);
-                double rho = sqrt(x * x + y * y);
-                double alphap = (C - pow(rho * n / ellipsoid.getSemiMajorAxis(), 2)) / n;
-                double betap = asin(alphap / (1 - (1 - e2) / 2 / e * log((1 - e) / (1 + e))));
-                coord[0] = betap + (e2 / 3 + 31 / 180 * e4 + 517 / 5040 * e6) * sin(2 * betap)
-                        + (23 / 360 * e4 + 251 / 3780 * e6) * sin(4 * betap) + 761 / 45360 * e6 * sin(6 * betap);
-                coord[1] = lon0 + theta / n;
-                return coord;
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double x = packed[pos] - FE;
+                    double y = rho0 - (packed[pos + 1] - FN);
+                    double theta = atan(x / y);
+                    double rho = sqrt(x * x + y * y);
+                    double alphap = (C - pow(rho * n / ellipsoid.getSemiMajorAxis(), 2)) / n;
+                    double betap = asin(alphap / (1 - (1 - e2) / 2 / e * log((1 - e) / (1 + e))));
+                    packed[pos] = betap + (e2 / 3 + 31 / 180 * e4 + 517 / 5040 * e6) * sin(2 * betap)
+                            + (23 / 360 * e4 + 251 / 3780 * e6) * sin(4 * betap) + 761 / 45360 * e6 * sin(6 * betap);
+                    packed[pos + 1] = lon0 + theta / n;
+                }
             }
 
             @Override
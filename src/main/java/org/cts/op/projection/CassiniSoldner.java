@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -106,29 +107,45 @@ public class CassiniSoldner extends Projection {
     }
 
     /**
-     * Transform coord using the Cassini-Soldner Projection. Input coord is
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Cassini-Soldner Projection. Input coord is
      * supposed to be a geographic latitude / longitude coordinate in radians.
      * Algorithm based on the OGP's Guidance Note Number 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lon = coord[1];
-        double lat = coord[0];
-        double A = (lon - lon0) * cos(lat);
-        double A2 = A * A;
-        double A4 = A2 * A2;
-        double T = pow(tan(lat), 2);
-        double C = e2 * pow(cos(lat), 2) / (1 - e2);
-        double v = ellipsoid.transverseRadiusOfCurvature(lat);
-        double M = ellipsoid.arcFromLat(lat);
-        double dE = v * A * (1 - T * A2 / 6 - (8 * (1 + C) - T) * T * A4 / 120);
-        double dN = M - M0 + v * tan(lat) * (A2 / 2 + (5 - T + 6 * C) * A4 / 24);
-        coord[0] = FE + dE;
-        coord[1] = FN + dN;
-        return coord;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lon = packed[pos + 1];
+            double lat = packed[pos];
+            double A = (lon - lon0) * cos(lat);
+            double A2 = A * A;
+            double A4 = A2 * A2;
+            double T = pow(tan(lat), 2);
+            double C = e2 * pow(cos(lat), 2) / (1 - e2);
+            double v = ellipsoid.transverseRadiusOfCurvature(lat);
+            double M = ellipsoid.arcFromLat(lat);
+            double dE = v * A * (1 - T * A2 / 6 - (8 * (1 + C) - T) * T * A4 / 120);
+            double dN = M - M0 + v * tan(lat) * (A2 / 2 + (5 - T + 6 * C) * A4 / 24);
+            packed[pos] = FE + dE;
+            packed[pos + 1] = FN + dN;
+        }
     }
 
     /**
@@ -141,17 +158,19 @@ public class CassiniSoldner extends Projection {
     public Projection inverse() {
         return new CassiniSoldner(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double M1 = M0 + coord[1] - FN;
-                double lat1 = ellipsoid.latFromArc(M1);
-                double T1 = pow(tan(lat1), 2);
-                double v1 = ellipsoid.transverseRadiusOfCurvature(lat1);
-                double rho1 = ellipsoid.meridionalRadiusOfCurvature(lat1);
-                double D = (coord[0] - FE) / v1;
-                double D2 = D * D;
-                coord[1] = lon0 + D * (1 - T1 * D2 / 3 + (1 + 3 * T1) * T1 * D2 * D2 / 15) / cos(lat1);
-                coord[0] = lat1 - v1 * tan(lat1) / rho1 * D2 / 2 * (1 - (1 + 3 * T1) * D2 / 12);
-                return coord;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double M1 = M0 + packed[pos + 1] - FN;
+                    double lat1 = ellipsoid.latFromArc(M1);
+                    double T1 = pow(tan(lat1), 2);
+                    double v1 = ellipsoid.transverseRadiusOfCurvature(lat1);
+                    double rho1 = ellipsoid.meridionalRadiusOfCurvature(lat1);
+                    double D = (packed[pos] - FE) / v1;
+                    double D2 = D * D;
+                    packed[pos + 1] = lon0 + D * (1 - T1 * D2 / 3 + (1 + 3 * T1) * T1 * D2 * D2 / 15) / cos(lat1);
+                    packed[pos] = lat1 - v1 * tan(lat1) / rho1 * D2 / 2 * (1 - (1 + 3 * T1) * D2 / 12);
+                }
             }
 
             @Override
@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -114,21 +115,37 @@ public class CylindricalEqualArea extends Projection {
     }
 
     /**
-     * Transform coord using the Cylindrical Equal Area Projection. Input coord
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Cylindrical Equal Area Projection. Input coord
      * is supposed to be a geographic latitude / longitude coordinate in
      * radians. Algorithm based on the USGS professional paper 1395, "Map
      * Projection - A Working Manual" by John P. Snyder :
      * <a href=http://pubs.er.usgs.gov/publication/pp1395>pp1395</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lat = coord[0];
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
         double a = ellipsoid.getSemiMajorAxis();
-        coord[0] = FE + a * k0 * (coord[1] - lon0);
-        coord[1] = FN + a * q(lat) / 2 / k0;
-        return coord;
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lat = packed[pos];
+            packed[pos] = FE + a * k0 * (packed[pos + 1] - lon0);
+            packed[pos + 1] = FN + a * q(lat) / 2 / k0;
+        }
     }
 
     /**
@@ -142,32 +159,34 @@ public class CylindricalEqualArea extends Projection {
     public Projection inverse() {
         return new CylindricalEqualArea(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
                 double a = ellipsoid.getSemiMajorAxis();
                 double e = ellipsoid.getEccentricity();
-                double X = coord[0];
-                double Y = coord[1];
                 double qp = q(PI / 2);
-                double beta = asin(2 * (Y - FN) * k0 / a / qp);
-                double q = qp * sin(beta);
-                if (abs(beta) == PI / 2) {
-                    coord[0] = beta;
-                } else {
-                    final int MAXITER = 10;
-                    double lat = asin(q / 2), latold = 1.E30;
-                    int iter = 0;
-                    while (++iter < MAXITER && Math.abs(lat - latold) > 1.E-15) {
-                        latold = lat;
-                        double esin = e * sin(lat);
-                        lat = latold + pow(1 - esin * esin, 2) / 2 / cos(latold) / (1 - e * e) * (q - q(latold));
-                    }
-                    if (iter == MAXITER) {
-                        throw new ArithmeticException("The inverse Polyconic Projection method diverges. Last value of tolerance = " + Math.abs(lat - latold));
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double X = packed[pos];
+                    double Y = packed[pos + 1];
+                    double beta = asin(2 * (Y - FN) * k0 / a / qp);
+                    double q = qp * sin(beta);
+                    if (abs(beta) == PI / 2) {
+                        packed[pos] = beta;
+                    } else {
+                        final int MAXITER = 10;
+                        double lat = asin(q / 2), latold = 1.E30;
+                        int iter = 0;
+                        while (++iter < MAXITER && Math.abs(lat - latold) > 1.E-15) {
+                            latold = lat;
+                            double esin = e * sin(lat);
+                            lat = latold + pow(1 - esin * esin, 2) / 2 / cos(latold) / (1 - e * e) * (q - q(latold));
+                        }
+                        if (iter == MAXITER) {
+                            throw new ArithmeticException("The inverse Polyconic Projection method diverges. Last value of tolerance = " + Math.abs(lat - latold));
+                        }
+                        packed[pos] = lat;
                     }
-                    coord[0] = lat;
+                    packed[pos + 1] = lon0 + (X - FE) / a / k0;
                 }
-                coord[1] = lon0 + (X - FE) / a / k0;
-                return coord;
             }
 
             @Override
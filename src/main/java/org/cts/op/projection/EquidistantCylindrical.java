@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -103,22 +104,38 @@ public class EquidistantCylindrical extends Projection {
     }
 
     /**
-     * Transform coord using the Equidistant Cylindrical Projection. Input coord
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Equidistant Cylindrical Projection. Input coord
      * is supposed to be a geographic latitude / longitude coordinate in
      * radians. Algorithm based on the OGP's Guidance Note Number 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lon = coord[1];
-        double lat = abs(coord[0]) > PI * 85 / 180 ? PI * 85 / 180 : coord[0];
-        double E = C * (lon - lon0);
-        double N = ellipsoid.arcFromLat(lat);
-        coord[0] = FE + E;
-        coord[1] = FN + N;
-        return coord;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lon = packed[pos + 1];
+            double lat = abs(packed[pos]) > PI * 85 / 180 ? PI * 85 / 180 : packed[pos];
+            double E = C * (lon - lon0);
+            double N = ellipsoid.arcFromLat(lat);
+            packed[pos] = FE + E;
+            packed[pos + 1] = FN + N;
+        }
     }
 
     /**
@@ -131,11 +148,13 @@ public class EquidistantCylindrical extends Projection {
     public Projection inverse() {
         return new EquidistantCylindrical(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double lat = ellipsoid.latFromArc(coord[1] - FN);
-                coord[1] = (coord[0] - FE) / C + lon0;
-                coord[0] = lat;
-                return coord;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double lat = ellipsoid.latFromArc(packed[pos + 1] - FN);
+                    packed[pos + 1] = (packed[pos] - FE) / C + lon0;
+                    packed[pos] = lat;
+                }
             }
 
             @Override
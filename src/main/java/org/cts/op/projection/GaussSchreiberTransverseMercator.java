@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -111,21 +112,37 @@ public class GaussSchreiberTransverseMercator extends Projection {
     }
 
     /**
-     * Transform coord using the Gauss Schreiber Transverse Mercator Projection.
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Gauss Schreiber Transverse Mercator Projection.
      * Input coord is supposed to be a geographic latitude / longitude
      * coordinate in radians. Algorithm based on the OGP's Guidance Note Number
      * 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double Lambda = n1 * (coord[1] - lon0);
-        double isoLats = c + n1 * ellipsoid.isometricLatitude(coord[0]);
-        coord[0] = xs + n2 * Ellipsoid.SPHERE.isometricLatitude(asin(sin(Lambda) / cosh(isoLats)));
-        coord[1] = ys + n2 * atan(sinh(isoLats) / cos(Lambda));
-        return coord;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double Lambda = n1 * (packed[pos + 1] - lon0);
+            double isoLats = c + n1 * ellipsoid.isometricLatitude(packed[pos]);
+            packed[pos] = xs + n2 * Ellipsoid.SPHERE.isometricLatitude(asin(sin(Lambda) / cosh(isoLats)));
+            packed[pos + 1] = ys + n2 * atan(sinh(isoLats) / cos(Lambda));
+        }
     }
 
     /**
@@ -139,12 +156,14 @@ public class GaussSchreiberTransverseMercator extends Projection {
     public Projection inverse() {
         return new GaussSchreiberTransverseMercator(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double Lambda = atan(sinh((coord[0] - xs) / n2) / cos((coord[1] - ys) / n2));
-                double isoLats = Ellipsoid.SPHERE.isometricLatitude(asin(sin((coord[1] - ys) / n2) / cosh((coord[0] - xs) / n2)));
-                coord[0] = ellipsoid.latitude((isoLats - c) / n1);
-                coord[1] = lon0 + Lambda / n1;
-                return coord;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double Lambda = atan(sinh((packed[pos] - xs) / n2) / cos((packed[pos + 1] - ys) / n2));
+                    double isoLats = Ellipsoid.SPHERE.isometricLatitude(asin(sin((packed[pos + 1] - ys) / n2) / cosh((packed[pos] - xs) / n2)));
+                    packed[pos] = ellipsoid.latitudeFromSeries((isoLats - c) / n1);
+                    packed[pos + 1] = lon0 + Lambda / n1;
+                }
             }
 
             @Override
@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -115,30 +116,46 @@ public class Krovak extends Projection {
     }
 
     /**
-     * Transform coord using the Krovak (North Orientated) Projection. Input
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Krovak (North Orientated) Projection. Input
      * coord is supposed to be a geographic latitude / longitude coordinate in
      * radians. Algorithm based on the OGP's Guidance Note Number 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lat = coord[0];
-        double lon = coord[1];
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
         double e = ellipsoid.getEccentricity();
-        double esin = e * sin(lat);
-        double U = 2 * (atan(t0 * pow(tan((PI / 2 + lat) / 2) / pow((1 + esin) / (1 - esin), e / 2), B)) - PI / 4);
-        double V = B * (lon0 - lon);
-        double T = asin(cos(alphac) * sin(U) + sin(alphac) * cos(U) * cos(V));
-        double sinD = cos(U) * sin(V) / cos(T);
-        double cosD = (cos(alphac) * sin(T) - sin(U)) / sin(alphac) / cos(T);
-        double D = atan2(sinD, cosD);
-        double theta = n * D;
-        double r = r0 * pow(tan((latp + PI / 2) / 2) / tan((T + PI / 2) / 2), n);
-        coord[0] = FE - r * sin(theta);
-        coord[1] = FN - r * cos(theta);
-        return coord;
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lat = packed[pos];
+            double lon = packed[pos + 1];
+            double esin = e * sin(lat);
+            double U = 2 * (atan(t0 * pow(tan((PI / 2 + lat) / 2) / pow((1 + esin) / (1 - esin), e / 2), B)) - PI / 4);
+            double V = B * (lon0 - lon);
+            double T = asin(cos(alphac) * sin(U) + sin(alphac) * cos(U) * cos(V));
+            double sinD = cos(U) * sin(V) / cos(T);
+            double cosD = (cos(alphac) * sin(T) - sin(U)) / sin(alphac) / cos(T);
+            double D = atan2(sinD, cosD);
+            double theta = n * D;
+            double r = r0 * pow(tan((latp + PI / 2) / 2) / tan((T + PI / 2) / 2), n);
+            packed[pos] = FE - r * sin(theta);
+            packed[pos + 1] = FN - r * cos(theta);
+        }
     }
 
     /**
@@ -151,31 +168,33 @@ public class Krovak extends Projection {
     public Projection inverse() {
         return new Krovak(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double Xp = -coord[1] + FN;
-                double Yp = -coord[0] + FE;
-                double r = sqrt(Xp * Xp + Yp * Yp);
-                double theta = atan(Yp / Xp);
-                double D = theta / sin(latp);
-                double T = 2 * (atan(pow(r0 / r, 1 / n) * tan((latp + PI / 2) / 2)) - PI / 4);
-                double U = asin(cos(alphac) * sin(T) - sin(alphac) * cos(T) * cos(D));
-                double V = asin(cos(T) * sin(D) / cos(U));
-                double oldLat = 1E30;
-                double lat = U;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
                 final int MAXITER = 10;
                 double e = ellipsoid.getEccentricity();
-                int iter = 0;
-                while (++iter < MAXITER && Math.abs(lat - oldLat) > 1E-15) {
-                    oldLat = lat;
-                    lat = 2 * (atan(pow(tan((U + PI / 2) / 2) / t0, 1 / B) * pow((1 + e * sin(lat)) / (1 - e * sin(lat)), e / 2)) - PI / 4);
-                }
-                if (iter == MAXITER) {
-                    throw new ArithmeticException("The inverse method diverges");
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double Xp = -packed[pos + 1] + FN;
+                    double Yp = -packed[pos] + FE;
+                    double r = sqrt(Xp * Xp + Yp * Yp);
+                    double theta = atan(Yp / Xp);
+                    double D = theta / sin(latp);
+                    double T = 2 * (atan(pow(r0 / r, 1 / n) * tan((latp + PI / 2) / 2)) - PI / 4);
+                    double U = asin(cos(alphac) * sin(T) - sin(alphac) * cos(T) * cos(D));
+                    double V = asin(cos(T) * sin(D) / cos(U));
+                    double oldLat = 1E30;
+                    double lat = U;
+                    int iter = 0;
+                    while (++iter < MAXITER && Math.abs(lat - oldLat) > 1E-15) {
+                        oldLat = lat;
+                        lat = 2 * (atan(pow(tan((U + PI / 2) / 2) / t0, 1 / B) * pow((1 + e * sin(lat)) / (1 - e * sin(lat)), e / 2)) - PI / 4);
+                    }
+                    if (iter == MAXITER) {
+                        throw new ArithmeticException("The inverse method diverges");
+                    }
+                    double lon = lon0 - V / B;
+                    packed[pos] = lat;
+                    packed[pos + 1] = lon;
                 }
-                double lon = lon0 - V / B;
-                coord[0] = lat;
-                coord[1] = lon;
-                return coord;
             }
 
             @Override
@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -110,24 +111,40 @@ public class LambertAzimuthalEqualArea extends Projection {
     }
 
     /**
-     * Transform coord using the Lambert Azimuthal Equal Area Projection. Input
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Lambert Azimuthal Equal Area Projection. Input
      * coord is supposed to be a geographic latitude / longitude coordinate in
      * radians. Algorithm based on the OGP's Guidance Note Number 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
         double e = ellipsoid.getEccentricity();
         double e2 = ellipsoid.getSquareEccentricity();
-        double esin = e * sin(coord[0]);
-        double q = (1 - e2) * (sin(coord[0]) / (1 - esin * esin) - log((1 - esin) / (1 + esin)) / 2 / e);
-        double beta = asin(q / qp);
-        double B = Rq * sqrt(2 / (1 + sin(beta0) * sin(beta) + cos(beta0) * cos(beta) * cos(coord[1] - lon0)));
-        coord[0] = FE + B * D * cos(beta) * sin(coord[1] - lon0);
-        coord[1] = FN + B / D * (cos(beta0) * sin(beta) - sin(beta0) * cos(beta) * cos(coord[1] - lon0));
-        return coord;
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double esin = e * sin(packed[pos]);
+            double q = (1 - e2) * (sin(packed[pos]) / (1 - esin * esin) - log((1 - esin) / (1 + esin)) / 2 / e);
+            double beta = asin(q / qp);
+            double B = Rq * sqrt(2 / (1 + sin(beta0) * sin(beta) + cos(beta0) * cos(beta) * cos(packed[pos + 1] - lon0)));
+            packed[pos] = FE + B * D * cos(beta) * sin(packed[pos + 1] - lon0);
+            packed[pos + 1] = FN + B / D * (cos(beta0) * sin(beta) - sin(beta0) * cos(beta) * cos(packed[pos + 1] - lon0));
+        }
     }
 
     /**
@@ -141,27 +158,29 @@ public class LambertAzimuthalEqualArea extends Projection {
     public Projection inverse() {
         return new LambertAzimuthalEqualArea(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
                 double e = ellipsoid.getEccentricity();
                 double e2 = ellipsoid.getSquareEccentricity();
-                double x = (coord[0] - FE) / D;
-                double y = (coord[1] - FN) * D;
-                double rho = sqrt(x * x + y * y);
-                double C = 2 * asin(rho / 2 / Rq);
-                double q = qp * (cos(C) * sin(beta0) + y * sin(C) * cos(beta0) / rho);
-                double phiOld = asin(q / 2);
-                double sinPhiOld = sin(phiOld);
-                double phi = phiOld + pow(1 - e2 * sinPhiOld * sinPhiOld, 2) / 2 / cos(phiOld) *
-                        (q / (1 - e2) - sinPhiOld / (1 - e2 * sinPhiOld * sinPhiOld) + log((1 - e * sinPhiOld) / (1 + e * sinPhiOld)) / 2 / e);
-                while (abs(phi - phiOld) > 1e-14) {
-                    phiOld = phi;
-                    sinPhiOld = sin(phiOld);
-                    phi = phiOld + pow(1 - e2 * sinPhiOld * sinPhiOld, 2) / 2 / cos(phiOld) *
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double x = (packed[pos] - FE) / D;
+                    double y = (packed[pos + 1] - FN) * D;
+                    double rho = sqrt(x * x + y * y);
+                    double C = 2 * asin(rho / 2 / Rq);
+                    double q = qp * (cos(C) * sin(beta0) + y * sin(C) * cos(beta0) / rho);
+                    double phiOld = asin(q / 2);
+                    double sinPhiOld = sin(phiOld);
+                    double phi = phiOld + pow(1 - e2 * sinPhiOld * sinPhiOld, 2) / 2 / cos(phiOld) *
                             (q / (1 - e2) - sinPhiOld / (1 - e2 * sinPhiOld * sinPhiOld) + log((1 - e * sinPhiOld) / (1 + e * sinPhiOld)) / 2 / e);
+                    while (abs(phi - phiOld) > 1e-14) {
+                        phiOld = phi;
+                        sinPhiOld = sin(phiOld);
+                        phi = phiOld + pow(1 - e2 * sinPhiOld * sinPhiOld, 2) / 2 / cos(phiOld) *
+                                (q / (1 - e2) - sinPhiOld / (1 - e2 * sinPhiOld * sinPhiOld) + log((1 - e * sinPhiOld) / (1 + e * sinPhiOld)) / 2 / e);
+                    }
+                    packed[pos] = phi;
+                    packed[pos + 1] = lon0 + atan(x * sin(C) / (rho * cos(beta0) * cos(C) - y * sin(beta0) * sin(C)));
                 }
-                coord[0] = phi;
-                coord[1] = lon0 + atan(x * sin(C) / (rho * cos(beta0) * cos(C) - y * sin(beta0) * sin(C)));
-                return coord;
             }
 
             @Override
@@ -23,7 +23,6 @@
  */
 package org.cts.op.projection;
 
-import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
 import org.cts.IllegalCoordinateException;
 import org.cts.Parameter;
@@ -31,6 +30,7 @@ import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 import org.cts.units.Unit;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -168,28 +168,45 @@ public class LambertConicConformal1SP extends Projection {
     }
 
     /**
-     * Transform coord using a Lambert Conformal Conic projection. Input coord
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     * @throws IllegalCoordinateException if <code>coord</code> is not
+     *                                    compatible with this <code>Projection</code>.
+     */
+    @Override
+    public double[] transform(double[] coord) throws IllegalCoordinateException {
+        transform(coord, 0, 1, coord.length);
+        return coord;
+    }
+
+    /**
+     * Transform coordinates using a Lambert Conformal Conic projection. Input coord
      * is supposed to be a geographic latitude / longitude coordinate in
      * radians.
      *
-     * @param coord coordinate to transform (in radians)
-     * @throws IllegalCoordinateException if <code>coord</code> is not
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if a coordinate is not
      *                                    compatible with this <code>CoordinateOperation</code>.
      */
     @Override
-    public double[] transform(double[] coord) throws IllegalCoordinateException {
-        if (coord.length < 2) {
-            throw new CoordinateDimensionException(coord, 2);
-        }
-        if (Double.isNaN(coord[0]) || Double.isNaN(coord[1])) {
-            throw new IllegalCoordinateException("Input coordinates can't ne NaN : ", coord);
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            if (Double.isNaN(packed[pos]) || Double.isNaN(packed[pos + 1])) {
+                throw new IllegalCoordinateException("Input coordinates can't ne NaN : ",
+                        Arrays.copyOfRange(packed, pos, pos + stride));
+            }
+            double latIso = ellipsoid.isometricLatitude(packed[pos]);
+            double x = xs + C * exp(-n * latIso) * sin(n * (packed[pos + 1] - lon0));
+            double y = ys - C * exp(-n * latIso) * cos(n * (packed[pos + 1] - lon0));
+            packed[pos] = x;
+            packed[pos + 1] = y;
         }
-        double latIso = ellipsoid.isometricLatitude(coord[0]);
-        double x = xs + C * exp(-n * latIso) * sin(n * (coord[1] - lon0));
-        double y = ys - C * exp(-n * latIso) * cos(n * (coord[1] - lon0));
-        coord[0] = x;
-        coord[1] = y;
-        return coord;
     }
 
     /**
@@ -199,17 +216,19 @@ public class LambertConicConformal1SP extends Projection {
     public Projection inverse() {
         return new LambertConicConformal1SP(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double x = coord[0];
-                double y = coord[1];
-                double R = sqrt((x - xs) * (x - xs) + (y - ys) * (y - ys));
-                double g = atan((x - xs) / (ys - y));
-                double lon = lon0 + g / n;
-                double latIso = (-1 / n) * log(abs(R / C));
-                double lat = ellipsoid.latitude(latIso);
-                coord[0] = lat;
-                coord[1] = lon;
-                return coord;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double x = packed[pos];
+                    double y = packed[pos + 1];
+                    double R = sqrt((x - xs) * (x - xs) + (y - ys) * (y - ys));
+                    double g = atan((x - xs) / (ys - y));
+                    double lon = lon0 + g / n;
+                    double latIso = (-1 / n) * log(abs(R / C));
+                    double lat = ellipsoid.latitudeFromSeries(latIso);
+                    packed[pos] = lat;
+                    packed[pos + 1] = lon;
+                }
             }
 
             @Override
@@ -145,20 +145,36 @@ public class LambertConicConformal2SP extends Projection {
     }
 
     /**
-     * Transform coord using a Lambert Conformal Conic projection. Input coord
-     * is supposed to be a geographic latitude / longitude coordinate in
-     * radians.
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
      *
      * @param coord coordinate to transform
      */
     @Override
     public double[] transform(double[] coord) {
-        double latIso = ellipsoid.isometricLatitude(coord[0]);
-        double x = xs + C * exp(-n * latIso) * sin(n * (coord[1] - lon0));
-        double y = ys - C * exp(-n * latIso) * cos(n * (coord[1] - lon0));
-        coord[0] = x;
-        coord[1] = y;
-        return coord;
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using a Lambert Conformal Conic projection. Input coord
+     * is supposed to be a geographic latitude / longitude coordinate in
+     * radians.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double latIso = ellipsoid.isometricLatitude(packed[pos]);
+            double x = xs + C * exp(-n * latIso) * sin(n * (packed[pos + 1] - lon0));
+            double y = ys - C * exp(-n * latIso) * cos(n * (packed[pos + 1] - lon0));
+            packed[pos] = x;
+            packed[pos + 1] = y;
+        }
     }
 
     /**
@@ -168,17 +184,19 @@ public class LambertConicConformal2SP extends Projection {
     public Projection inverse() {
         return new LambertConicConformal2SP(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double x = coord[0];
-                double y = coord[1];
-                double R = sqrt((x - xs) * (x - xs) + (y - ys) * (y - ys));
-                double g = atan((x - xs) / (ys - y));
-                double lon = lon0 + g / n;
-                double latIso = (-1 / n) * log(abs(R / C));
-                double lat = ellipsoid.latitude(latIso);
-                coord[0] = lat;
-                coord[1] = lon;
-                return coord;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double x = packed[pos];
+                    double y = packed[pos + 1];
+                    double R = sqrt((x - xs) * (x - xs) + (y - ys) * (y - ys));
+                    double g = atan((x - xs) / (ys - y));
+                    double lon = lon0 + g / n;
+                    double latIso = (-1 / n) * log(abs(R / C));
+                    double lat = ellipsoid.latitudeFromSeries(latIso);
+                    packed[pos] = lat;
+                    packed[pos + 1] = lon;
+                }
             }
 
             @Override
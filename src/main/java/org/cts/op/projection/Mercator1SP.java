@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -131,22 +132,38 @@ public class Mercator1SP extends Projection {
     }
 
     /**
-     * Transform coord using the Mercator Projection. Input coord is supposed to
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Mercator Projection. Input coord is supposed to
      * be a geographic latitude / longitude coordinate in radians. Algorithm
      * based on the OGP's Guidance Note Number 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lon = coord[1];
-        double lat = abs(coord[0]) > PI * 85 / 180 ? PI * 85 / 180 : coord[0];
-        double E = n * (lon - lon0);
-        double N = n * ellipsoid.isometricLatitude(lat);
-        coord[0] = FE + E;
-        coord[1] = FN + N;
-        return coord;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lon = packed[pos + 1];
+            double lat = abs(packed[pos]) > PI * 85 / 180 ? PI * 85 / 180 : packed[pos];
+            double E = n * (lon - lon0);
+            double N = n * ellipsoid.isometricLatitude(lat);
+            packed[pos] = FE + E;
+            packed[pos + 1] = FN + N;
+        }
     }
 
     /**
@@ -159,16 +176,18 @@ public class Mercator1SP extends Projection {
     public Projection inverse() {
         return new Mercator1SP(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double t = exp((FN - coord[1]) / n);
-                double ki = PI / 2 - 2 * atan(t);
-                double lat = ki;
-                for (int i = 1; i < 5; i++) {
-                    lat += invcoeff[i] * sin(2 * i * ki);
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double t = exp((FN - packed[pos + 1]) / n);
+                    double ki = PI / 2 - 2 * atan(t);
+                    double lat = ki;
+                    for (int i = 1; i < 5; i++) {
+                        lat += invcoeff[i] * sin(2 * i * ki);
+                    }
+                    packed[pos + 1] = (packed[pos] - FE) / n + lon0;
+                    packed[pos] = lat;
                 }
-                coord[1] = (coord[0] - FE) / n + lon0;
-                coord[0] = lat;
-                return coord;
             }
 
             @Override
@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -103,23 +104,39 @@ public class MillerCylindrical extends Projection {
     }
 
     /**
-     * Transform coord using the Miller Cylindrical Projection. Input coord is
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Miller Cylindrical Projection. Input coord is
      * supposed to be a geographic latitude / longitude coordinate in radians.
      * Algorithm based on the USGS professional paper 1395, "Map Projection - A
      * Working Manual" by John P. Snyder :
      * <a href=http://pubs.er.usgs.gov/publication/pp1395>pp1395</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lon = coord[1];
-        double lat = abs(coord[0]) > PI * 85 / 180 ? PI * 85 / 180 : coord[0];
-        double E = n * (lon - lon0);
-        double N = n * ellipsoid.isometricLatitude(lat * 0.8) / 0.8;
-        coord[0] = FE + E;
-        coord[1] = FN + N;
-        return coord;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lon = packed[pos + 1];
+            double lat = abs(packed[pos]) > PI * 85 / 180 ? PI * 85 / 180 : packed[pos];
+            double E = n * (lon - lon0);
+            double N = n * ellipsoid.isometricLatitude(lat * 0.8) / 0.8;
+            packed[pos] = FE + E;
+            packed[pos + 1] = FN + N;
+        }
     }
 
     /**
@@ -133,16 +150,18 @@ public class MillerCylindrical extends Projection {
     public Projection inverse() {
         return new MillerCylindrical(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double t = exp(0.8 * (FN - coord[1]) / n);
-                double ki = PI / 2 - 2 * atan(t);
-                double lat = ki;
-                for (int i = 1; i < 5; i++) {
-                    lat += invcoeff[i] * sin(2 * i * ki);
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double t = exp(0.8 * (FN - packed[pos + 1]) / n);
+                    double ki = PI / 2 - 2 * atan(t);
+                    double lat = ki;
+                    for (int i = 1; i < 5; i++) {
+                        lat += invcoeff[i] * sin(2 * i * ki);
+                    }
+                    packed[pos + 1] = (packed[pos] - FE) / n + lon0;
+                    packed[pos] = lat / 0.8;
                 }
-                coord[1] = (coord[0] - FE) / n + lon0;
-                coord[0] = lat / 0.8;
-                return coord;
             }
 
             @Override
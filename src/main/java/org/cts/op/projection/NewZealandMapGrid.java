@@ -25,9 +25,9 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
-import org.cts.util.Complex;
 
 import java.util.Map;
 
@@ -47,7 +47,22 @@ public class NewZealandMapGrid extends Projection {
             lon0, // the reference longitude (from the datum prime meridian)
             FE, // false easting
             FN;   // false northing
-    protected final Complex[] B;
+    /**
+     * Real and imaginary parts of the coefficients of the direct series
+     * (index 0 is not used).
+     */
+    private static final double[] B_RE = {0.0, 0.7557853228, 0.249204646,
+            -0.001541739, -0.10162907, -0.26623489, -0.6870983};
+    private static final double[] B_IM = {0.0, 0.0, 0.003371507,
+            0.041058560, 0.01727609, -0.36249218, -1.1651967};
+    /**
+     * Real and imaginary parts of the coefficients of the inverse series
+     * (index 0 is not used).
+     */
+    private static final double[] BINV_RE = {0.0, 1.3231270439, -0.577245789,
+            0.508307513, -0.15094762, 1.01418179, 1.9660549};
+    private static final double[] BINV_IM = {0.0, 0.0, -0.007809598,
+            -0.112208952, 0.18200602, 1.64497696, 2.5127645};
 
     /**
      * Create a new New Zealand Map Grid Projection corresponding to the
@@ -65,13 +80,6 @@ public class NewZealandMapGrid extends Projection {
         lat0 = getLatitudeOfOrigin();
         FE = getFalseEasting();
         FN = getFalseNorthing();
-        B = new Complex[7];
-        B[1] = new Complex(0.7557853228);
-        B[2] = new Complex(0.249204646, 0.003371507);
-        B[3] = new Complex(-0.001541739, 0.041058560);
-        B[4] = new Complex(-0.10162907, 0.01727609);
-        B[5] = new Complex(-0.26623489, -0.36249218);
-        B[6] = new Complex(-0.6870983, -1.1651967);
     }
 
     /**
@@ -105,25 +113,48 @@ public class NewZealandMapGrid extends Projection {
     }
 
     /**
-     * Transform coord using the New Zealand Map Grid Projection. Input coord is
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the New Zealand Map Grid Projection. Input coord is
      * supposed to be a geographic latitude / longitude coordinate in radians.
      * Algorithm based on the USGS professional paper 1395, "Map Projection - A
      * Working Manual" by John P. Snyder :
      * <a href=http://pubs.er.usgs.gov/publication/pp1395>pp1395</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lambda = coord[1] - lon0;
-        double isoPhi = ellipsoid.isometricLatitude(coord[0]) - ellipsoid.isometricLatitude(lat0);
-        Complex zeta = new Complex(isoPhi, lambda);
-        Complex origin = new Complex(FN, FE);
-        Complex z = B[6].axpb(zeta, B[5]).axpb(zeta, B[4]).axpb(zeta, B[3]).axpb(zeta, B[2]).axpb(zeta, B[1]).times(zeta).times(ellipsoid.getSemiMajorAxis());
-        Complex coordi = origin.plus(z);
-        coord[0] = coordi.im();
-        coord[1] = coordi.re();
-        return coord;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        double a = ellipsoid.getSemiMajorAxis();
+        double isoLat0 = ellipsoid.isometricLatitude(lat0);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            // zeta = isoPhi + i.lambda
+            double zr = ellipsoid.isometricLatitude(packed[pos]) - isoLat0;
+            double zi = packed[pos + 1] - lon0;
+            // z = a * zeta * (B1 + B2 * zeta + ... + B6 * zeta^5), Horner scheme
+            double re = B_RE[6];
+            double im = B_IM[6];
+            for (int k = 5; k >= 1; k--) {
+                double t = re * zr - im * zi + B_RE[k];
+                im = re * zi + im * zr + B_IM[k];
+                re = t;
+            }
+            packed[pos] = FE + a * (re * zi + im * zr);
+            packed[pos + 1] = FN + a * (re * zr - im * zi);
+        }
     }
 
     /**
@@ -137,25 +168,54 @@ public class NewZealandMapGrid extends Projection {
     public Projection inverse() {
         return new NewZealandMapGrid(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                Complex z = (new Complex(coord[1] - FN, coord[0] - FE)).divideBy(new Complex(ellipsoid.getSemiMajorAxis()));
-                Complex[] b = new Complex[7];
-                b[1] = new Complex(1.3231270439);
-                b[2] = new Complex(-0.577245789, -0.007809598);
-                b[3] = new Complex(0.508307513, -0.112208952);
-                b[4] = new Complex(-0.15094762, 0.18200602);
-                b[5] = new Complex(1.01418179, 1.64497696);
-                b[6] = new Complex(1.9660549, 2.5127645);
-                Complex zeta = b[6].axpb(z, b[5]).axpb(z, b[4]).axpb(z, b[3]).axpb(z, b[2]).axpb(z, b[1]).times(z);
-                zeta = (B[6].times(5).axpb(zeta, B[5].times(4)).axpb(zeta, B[4].times(3)).axpb(zeta, B[3].times(2)).axpb(zeta, B[2]).times(zeta).axpb(zeta, z))
-                        .divideBy(B[6].times(6).axpb(zeta, B[5].times(5)).axpb(zeta, B[4].times(4)).axpb(zeta, B[3].times(3)).axpb(zeta, B[2].times(2)).axpb(zeta, B[1]));
-                zeta = (B[6].times(5).axpb(zeta, B[5].times(4)).axpb(zeta, B[4].times(3)).axpb(zeta, B[3].times(2)).axpb(zeta, B[2]).times(zeta).axpb(zeta, z))
-                        .divideBy(B[6].times(6).axpb(zeta, B[5].times(5)).axpb(zeta, B[4].times(4)).axpb(zeta, B[3].times(3)).axpb(zeta, B[2].times(2)).axpb(zeta, B[1]));
-                double lon = zeta.im();
-                double isoLat = zeta.re();
-                coord[0] = ellipsoid.latitude(isoLat + ellipsoid.isometricLatitude(lat0));
-                coord[1] = lon0 + lon;
-                return coord;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                double a = ellipsoid.getSemiMajorAxis();
+                double isoLat0 = ellipsoid.isometricLatitude(lat0);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double zr = (packed[pos + 1] - FN) / a;
+                    double zi = (packed[pos] - FE) / a;
+                    // First approximation : zeta = z * (b1 + b2 * z + ... + b6 * z^5)
+                    double re = BINV_RE[6];
+                    double im = BINV_IM[6];
+                    for (int k = 5; k >= 1; k--) {
+                        double t = re * zr - im * zi + BINV_RE[k];
+                        im = re * zi + im * zr + BINV_IM[k];
+                        re = t;
+                    }
+                    double ar = re * zr - im * zi;
+                    double ai = re * zi + im * zr;
+                    // Two Newton-Raphson iterations :
+                    // zeta = (z + sum((k - 1) * Bk * zeta^k)) / sum(k * Bk * zeta^(k - 1))
+                    for (int iter = 0; iter < 2; iter++) {
+                        double nr = 5 * B_RE[6];
+                        double ni = 5 * B_IM[6];
+                        double dr = 6 * B_RE[6];
+                        double di = 6 * B_IM[6];
+                        for (int k = 5; k >= 1; k--) {
+                            if (k >= 2) {
+                                double t = nr * ar - ni * ai + (k - 1) * B_RE[k];
+                                ni = nr * ai + ni * ar + (k - 1) * B_IM[k];
+                                nr = t;
+                            }
+                            double t = dr * ar - di * ai + k * B_RE[k];
+                            di = dr * ai + di * ar + k * B_IM[k];
+                            dr = t;
+                        }
+                        // numerator = n * zeta^2 + z
+                        double t = nr * ar - ni * ai;
+                        ni = nr * ai + ni * ar;
+                        nr = t;
+                        t = nr * ar - ni * ai + zr;
+                        ni = nr * ai + ni * ar + zi;
+                        nr = t;
+                        double d2 = dr * dr + di * di;
+                        ar = (nr * dr + ni * di) / d2;
+                        ai = (ni * dr - nr * di) / d2;
+                    }
+                    packed[pos] = ellipsoid.latitudeFromSeries(ar + isoLat0);
+                    packed[pos + 1] = lon0 + ai;
+                }
             }
 
             @Override
@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -125,28 +126,44 @@ public class ObliqueMercator extends Projection {
     }
 
     /**
-     * Transform coord using the Oblique Mercator Projection. Input coord is
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Oblique Mercator Projection. Input coord is
      * supposed to be a geographic latitude / longitude coordinate in radians.
      * Algorithm based on the OGP's Guidance Note Number 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
         double e = ellipsoid.getEccentricity();
-        double esin = e * sin(coord[0]);
-        double t = tan((PI / 2 - coord[0]) / 2) / pow((1 - esin) / (1 + esin), e / 2);
-        double Q = H / pow(t, B);
-        double S = (Q - 1 / Q) / 2;
-        double T = (Q + 1 / Q) / 2;
-        double V = sin(B * (coord[1] - lambda0));
-        double U = (S * sin(gamma0) - V * cos(gamma0)) / T;
-        double v = A * log((1 - U) / (1 + U)) / 2 / B;
-        double u = A * atan((S * cos(gamma0) + V * sin(gamma0)) / cos(B * (coord[1] - lambda0))) / B - abs(uc) * signum(latc);
-        coord[0] = FE + v * cos(gammac) + u * sin(gammac);
-        coord[1] = FN + u * cos(gammac) - v * sin(gammac);
-        return coord;
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double esin = e * sin(packed[pos]);
+            double t = tan((PI / 2 - packed[pos]) / 2) / pow((1 - esin) / (1 + esin), e / 2);
+            double Q = H / pow(t, B);
+            double S = (Q - 1 / Q) / 2;
+            double T = (Q + 1 / Q) / 2;
+            double V = sin(B * (packed[pos + 1] - lambda0));
+            double U = (S * sin(gamma0) - V * cos(gamma0)) / T;
+            double v = A * log((1 - U) / (1 + U)) / 2 / B;
+            double u = A * atan((S * cos(gamma0) + V * sin(gamma0)) / cos(B * (packed[pos + 1] - lambda0))) / B - abs(uc) * signum(latc);
+            packed[pos] = FE + v * cos(gammac) + u * sin(gammac);
+            packed[pos + 1] = FN + u * cos(gammac) - v * sin(gammac);
+        }
     }
 
     /**
@@ -159,23 +176,25 @@ public class ObliqueMercator extends Projection {
     public Projection inverse() {
         return new ObliqueMercator(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double v = (coord[0] - FE) * cos(gammac) - (coord[1] - FN) * sin(gammac);
-                double u = (coord[1] - FN) * cos(gammac) + (coord[0] - FE) * sin(gammac) + abs(uc) * signum(latc);
-                double Q = exp(-B * v / A);
-                double S = (Q - 1 / Q) / 2;
-                double T = (Q + 1 / Q) / 2;
-                double V = sin(B * u / A);
-                double U = (V * cos(gamma0) + S * sin(gamma0)) / T;
-                double t = pow(H / sqrt((1 + U) / (1 - U)), 1 / B);
-                double ki = 2 * (PI / 4 - atan(t));
-                double lat = ki;
-                for (int i = 1; i < 5; i++) {
-                    lat += invcoeff[i] * sin(2 * i * ki);
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double v = (packed[pos] - FE) * cos(gammac) - (packed[pos + 1] - FN) * sin(gammac);
+                    double u = (packed[pos + 1] - FN) * cos(gammac) + (packed[pos] - FE) * sin(gammac) + abs(uc) * signum(latc);
+                    double Q = exp(-B * v / A);
+                    double S = (Q - 1 / Q) / 2;
+                    double T = (Q + 1 / Q) / 2;
+                    double V = sin(B * u / A);
+                    double U = (V * cos(gamma0) + S * sin(gamma0)) / T;
+                    double t = pow(H / sqrt((1 + U) / (1 - U)), 1 / B);
+                    double ki = 2 * (PI / 4 - atan(t));
+                    double lat = ki;
+                    for (int i = 1; i < 5; i++) {
+                        lat += invcoeff[i] * sin(2 * i * ki);
+                    }
+                    packed[pos] = lat;
+                    packed[pos + 1] = lambda0 - atan((S * cos(gamma0) - V * sin(gamma0)) / cos(B * u / A)) / B;
                 }
-                coord[0] = lat;
-                coord[1] = lambda0 - atan((S * cos(gamma0) - V * sin(gamma0)) / cos(B * u / A)) / B;
-                return coord;
             }
 
             @Override
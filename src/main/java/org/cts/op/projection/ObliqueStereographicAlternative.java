@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -121,26 +122,42 @@ public class ObliqueStereographicAlternative extends Projection {
     }
 
     /**
-     * Transform coord using the Oblique Stereographic Alternative Projection.
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Oblique Stereographic Alternative Projection.
      * Input coord is supposed to be a geographic latitude / longitude
      * coordinate in radians. Algorithm based on the OGP's Guidance Note Number
      * 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lon = coord[1];
-        double lat = coord[0];
-        double conLon = n * (lon - lon0) + lon0;
-        double conLat = asin((c * w(lat) - 1) / (c * w(lat) + 1));
-        double B = 1 + sin(conLat) * sin(conLat0) + cos(conLat) * cos(conLat0) * cos(conLon - lon0);
-        double dE = 2 * R * k0 * cos(conLat) * sin(conLon - lon0) / B;
-        double dN = 2 * R * k0 * (sin(conLat) * cos(conLat0) - cos(conLat) * sin(conLat0) * cos(conLon - lon0)) / B;
-        coord[0] = FE + dE;
-        coord[1] = FN + dN;
-        return coord;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lon = packed[pos + 1];
+            double lat = packed[pos];
+            double conLon = n * (lon - lon0) + lon0;
+            double conLat = asin((c * w(lat) - 1) / (c * w(lat) + 1));
+            double B = 1 + sin(conLat) * sin(conLat0) + cos(conLat) * cos(conLat0) * cos(conLon - lon0);
+            double dE = 2 * R * k0 * cos(conLat) * sin(conLon - lon0) / B;
+            double dN = 2 * R * k0 * (sin(conLat) * cos(conLat0) - cos(conLat) * sin(conLat0) * cos(conLon - lon0)) / B;
+            packed[pos] = FE + dE;
+            packed[pos + 1] = FN + dN;
+        }
     }
 
     /**
@@ -154,19 +171,21 @@ public class ObliqueStereographicAlternative extends Projection {
     public Projection inverse() {
         return new ObliqueStereographicAlternative(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double dE = coord[0] - FE;
-                double dN = coord[1] - FN;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
                 double g = 2 * R * k0 * tan((PI_2 - conLat0) / 2);
                 double h = 4 * R * k0 * tan(conLat0) + g;
-                double i = atan(dE / (h + dN));
-                double j = atan(dE / (g - dN)) - i;
-                double conLat = conLat0 + 2 * atan((dN - dE * tan(j / 2)) / 2 / R / k0);
-                double conLon = j + 2 * i + lon0;
-                coord[1] = (conLon - lon0) / n + lon0;
-                double isoLat = log((1 + sin(conLat)) / (1 - sin(conLat)) / c) / 2 / n;
-                coord[0] = ellipsoid.latitude(isoLat);
-                return coord;
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double dE = packed[pos] - FE;
+                    double dN = packed[pos + 1] - FN;
+                    double i = atan(dE / (h + dN));
+                    double j = atan(dE / (g - dN)) - i;
+                    double conLat = conLat0 + 2 * atan((dN - dE * tan(j / 2)) / 2 / R / k0);
+                    double conLon = j + 2 * i + lon0;
+                    packed[pos + 1] = (conLon - lon0) / n + lon0;
+                    double isoLat = log((1 + sin(conLat)) / (1 - sin(conLat)) / c) / 2 / n;
+                    packed[pos] = ellipsoid.latitudeFromSeries(isoLat);
+                }
             }
 
             @Override
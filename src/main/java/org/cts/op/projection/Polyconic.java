@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -97,29 +98,45 @@ public class Polyconic extends Projection {
     }
 
     /**
-     * Transform coord using the Polyconic Projection. Input coord is supposed
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Polyconic Projection. Input coord is supposed
      * to be a geographic latitude / longitude coordinate in radians. Algorithm
      * based on the USGS professional paper 1395, "Map Projection - A Working
      * Manual" by John P. Snyder :
      * <a href=http://pubs.er.usgs.gov/publication/pp1395>pp1395</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
         double a = ellipsoid.getSemiMajorAxis();
         double M0 = a * ellipsoid.curvilinearAbscissa(lat0);
-        if (coord[0] == 0) {
-            coord[0] = FE + ellipsoid.getSemiMajorAxis() * (coord[1] - lon0);
-            coord[1] = FN - M0;
-        } else {
-            double M = a * ellipsoid.curvilinearAbscissa(coord[0]);
-            double v = ellipsoid.transverseRadiusOfCurvature(coord[0]);
-            double L = (coord[1] - lon0) * sin(coord[0]);
-            coord[1] = FN + M - M0 + v / tan(coord[0]) * (1 - cos(L));
-            coord[0] = FE + v / tan(coord[0]) * sin(L);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            if (packed[pos] == 0) {
+                packed[pos] = FE + ellipsoid.getSemiMajorAxis() * (packed[pos + 1] - lon0);
+                packed[pos + 1] = FN - M0;
+            } else {
+                double M = a * ellipsoid.curvilinearAbscissa(packed[pos]);
+                double v = ellipsoid.transverseRadiusOfCurvature(packed[pos]);
+                double L = (packed[pos + 1] - lon0) * sin(packed[pos]);
+                packed[pos + 1] = FN + M - M0 + v / tan(packed[pos]) * (1 - cos(L));
+                packed[pos] = FE + v / tan(packed[pos]) * sin(L);
+            }
         }
-        return coord;
     }
 
     private double curvilinearAbscissaPrime(double latitude) {
@@ -142,36 +159,38 @@ public class Polyconic extends Projection {
     public Projection inverse() {
         return new Polyconic(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
                 double a = ellipsoid.getSemiMajorAxis();
                 double M0 = a * ellipsoid.curvilinearAbscissa(lat0);
                 double e2 = ellipsoid.getSquareEccentricity();
-                double x = coord[0] - FE;
-                double y = coord[1] - FN;
-                if (y + M0 == 0) {
-                    coord[0] = 0;
-                    coord[1] = lon0 + x / a;
-                } else {
-                    double A = (y + M0) / a;
-                    double B = A * A + pow(x / a, 2);
-                    double C = 0;
-                    final int MAXITER = 10;
-                    double lat = A, latold = 1.E30;
-                    int iter = 0;
-                    while (++iter < MAXITER && Math.abs(lat - latold) > 1.E-15) {
-                        latold = lat;
-                        C = sqrt(1 - e2 * sin(lat) * sin(lat)) * tan(lat);
-                        double J = ellipsoid.curvilinearAbscissa(lat);
-                        double I = curvilinearAbscissaPrime(lat);
-                        lat = latold - (A * (C * J + 1) - J - C / 2 * (J * J + B)) / (e2 * sin(2 * latold) * (J * (J - 2 * A) + B) / 4 / C + (A - J) * (C * I - 2 / sin(2 * latold)) - I);
-                    }
-                    if (iter == MAXITER) {
-                        throw new ArithmeticException("The inverse Polyconic Projection method diverges. Last value of tolerance = " + Math.abs(lat - latold));
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double x = packed[pos] - FE;
+                    double y = packed[pos + 1] - FN;
+                    if (y + M0 == 0) {
+                        packed[pos] = 0;
+                        packed[pos + 1] = lon0 + x / a;
+                    } else {
+                        double A = (y + M0) / a;
+                        double B = A * A + pow(x / a, 2);
+                        double C = 0;
+                        final int MAXITER = 10;
+                        double lat = A, latold = 1.E30;
+                        int iter = 0;
+                        while (++iter < MAXITER && Math.abs(lat - latold) > 1.E-15) {
+                            latold = lat;
+                            C = sqrt(1 - e2 * sin(lat) * sin(lat)) * tan(lat);
+                            double J = ellipsoid.curvilinearAbscissa(lat);
+                            double I = curvilinearAbscissaPrime(lat);
+                            lat = latold - (A * (C * J + 1) - J - C / 2 * (J * J + B)) / (e2 * sin(2 * latold) * (J * (J - 2 * A) + B) / 4 / C + (A - J) * (C * I - 2 / sin(2 * latold)) - I);
+                        }
+                        if (iter == MAXITER) {
+                            throw new ArithmeticException("The inverse Polyconic Projection method diverges. Last value of tolerance = " + Math.abs(lat - latold));
+                        }
+                        packed[pos] = lat;
+                        packed[pos + 1] = lon0 + asin(x * C / a) / sin(lat);
                     }
-                    coord[0] = lat;
-                    coord[1] = lon0 + asin(x * C / a) / sin(lat);
                 }
-                return coord;
             }
 
             @Override
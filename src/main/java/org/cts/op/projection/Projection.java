@@ -24,9 +24,11 @@
 package org.cts.op.projection;
 
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.Parameter;
 import org.cts.datum.Ellipsoid;
 import org.cts.op.AbstractCoordinateOperation;
+import org.cts.op.CoordinateOperationException;
 import org.cts.op.NonInvertibleOperationException;
 import org.cts.parser.prj.PrjWriter;
 import org.cts.units.Measure;
@@ -144,6 +146,28 @@ public abstract class Projection extends AbstractCoordinateOperation {
         }
     }
 
+    /**
+     * Transform a single coordinate with the packed version of transform, for
+     * the projections implementing the latter. Projections implementing only
+     * {@link #transform(double[])} get the default packed version, which
+     * calls it for each coordinate.
+     * The built-in projections use this method so that their single
+     * coordinate transform keeps declaring no checked exception : they only
+     * reject coordinates with less than two ordinates, which is reported by
+     * an IllegalArgumentException.
+     *
+     * @param coord coordinate to transform
+     * @return the same object with new values
+     */
+    protected final double[] transformCoordinate(double[] coord) {
+        try {
+            transform(coord, 0, 1, coord.length);
+        } catch (IllegalCoordinateException | CoordinateOperationException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        return coord;
+    }
+
     /**
      * Return the semi-major axis of the ellipsoid used for this projection (fr
      * : demi grand axe).
@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -117,34 +118,50 @@ public class Stereographic extends Projection {
     }
 
     /**
-     * Transform coord using the Stereographic Projection. Input coord is
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Stereographic Projection. Input coord is
      * supposed to be a geographic latitude / longitude coordinate in radians.
      * Algorithm based on the OGP's Guidance Note Number 7 Part 2 :
      * <a href=http://www.epsg.org/guides/G7-2.html>G7-2</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
-        double lon = coord[1];
-        double lat = coord[0];
-        double esin = e * sin(lat);
-        double t;
-        if (lat0 < 0) {
-            t = tan((PI_2 + lat) / 2) / pow((1 + esin) / (1 - esin), e / 2);
-        } else {
-            t = tan((PI_2 - lat) / 2) * pow((1 + esin) / (1 - esin), e / 2);
-        }
-        double rho = 2 * a * k0 * t / sqrt(pow(1 + e, 1 + e) * pow(1 - e, 1 - e));
-        double dE = rho * sin(lon - lon0);
-        double dN = rho * cos(lon - lon0);
-        coord[0] = FE + dE;
-        if (lat0 < 0) {
-            coord[1] = FN + dN;
-        } else {
-            coord[1] = FN - dN;
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double lon = packed[pos + 1];
+            double lat = packed[pos];
+            double esin = e * sin(lat);
+            double t;
+            if (lat0 < 0) {
+                t = tan((PI_2 + lat) / 2) / pow((1 + esin) / (1 - esin), e / 2);
+            } else {
+                t = tan((PI_2 - lat) / 2) * pow((1 + esin) / (1 - esin), e / 2);
+            }
+            double rho = 2 * a * k0 * t / sqrt(pow(1 + e, 1 + e) * pow(1 - e, 1 - e));
+            double dE = rho * sin(lon - lon0);
+            double dN = rho * cos(lon - lon0);
+            packed[pos] = FE + dE;
+            if (lat0 < 0) {
+                packed[pos + 1] = FN + dN;
+            } else {
+                packed[pos + 1] = FN - dN;
+            }
         }
-        return coord;
     }
 
     /**
@@ -157,26 +174,28 @@ public class Stereographic extends Projection {
     public Projection inverse() {
         return new Stereographic(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double rho = sqrt((coord[0] - FE) * (coord[0] - FE) + (coord[1] - FN) * (coord[1] - FN));
-                double t = rho * sqrt(pow(1 + e, 1 + e) * pow(1 - e, 1 - e)) / 2 / a / k0;
-                double ki;
-                if (lat0 > 0) {
-                    ki = PI / 2 - 2 * atan(t);
-                } else {
-                    ki = 2 * atan(t) - PI / 2;
-                }
-                double lat = ki;
-                for (int i = 1; i < 5; i++) {
-                    lat += invcoeff[i] * sin(2 * i * ki);
-                }
-                if (lat0 < 0) {
-                    coord[1] = lon0 + atan2(coord[0] - FE, coord[1] - FN);
-                } else {
-                    coord[1] = lon0 + atan2(coord[0] - FE, FN - coord[1]);
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double rho = sqrt((packed[pos] - FE) * (packed[pos] - FE) + (packed[pos + 1] - FN) * (packed[pos + 1] - FN));
+                    double t = rho * sqrt(pow(1 + e, 1 + e) * pow(1 - e, 1 - e)) / 2 / a / k0;
+                    double ki;
+                    if (lat0 > 0) {
+                        ki = PI / 2 - 2 * atan(t);
+                    } else {
+                        ki = 2 * atan(t) - PI / 2;
+                    }
+                    double lat = ki;
+                    for (int i = 1; i < 5; i++) {
+                        lat += invcoeff[i] * sin(2 * i * ki);
+                    }
+                    if (lat0 < 0) {
+                        packed[pos + 1] = lon0 + atan2(packed[pos] - FE, packed[pos + 1] - FN);
+                    } else {
+                        packed[pos + 1] = lon0 + atan2(packed[pos] - FE, FN - packed[pos + 1]);
+                    }
+                    packed[pos] = lat;
                 }
-                coord[0] = lat;
-                return coord;
             }
 
             @Override
@@ -25,6 +25,7 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 
@@ -114,27 +115,43 @@ public class SwissObliqueMercator extends Projection {
     }
 
     /**
-     * Transform coord using the Swiss Oblique Mercator Projection. Input coord
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
+     *
+     * @param coord coordinate to transform
+     */
+    @Override
+    public double[] transform(double[] coord) {
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Swiss Oblique Mercator Projection. Input coord
      * is supposed to be a geographic latitude / longitude coordinate in
      * radians. Algorithm based on a Swiss Federal Office of Topography document
      * :
      * <a href=http://www.swisstopo.admin.ch/internet/swisstopo/en/home/topics/survey/sys/refsys/switzerland.parsysrelated1.37696.downloadList.97912.DownloadFile.tmp/swissprojectionen.pdf>swissprojectionen.pdf</a>
      *
-     * @param coord coordinate to transform
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
      */
     @Override
-    public double[] transform(double[] coord) {
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
         double e = ellipsoid.getEccentricity();
-        double S = alpha * log(tan((PI / 2 + coord[0]) / 2)) - alpha * e / 2 * log((1 + e * sin(coord[0])) / (1 - e * sin(coord[0]))) + K;
-        double b = 2 * (atan(exp(S)) - PI / 4);
-        double I = alpha * (coord[1] - lonc);
-        double Ibar = atan(sin(I) / (sin(b0) * tan(b) + cos(b0) * cos(I)));
-        double bbar = asin(cos(b0) * sin(b) - sin(b0) * cos(b) * cos(I));
-        double Y = R * Ibar;
-        double X = R / 2 * log((1 + sin(bbar)) / (1 - sin(bbar)));
-        coord[0] = FE + Y;
-        coord[1] = FN + X;
-        return coord;
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double S = alpha * log(tan((PI / 2 + packed[pos]) / 2)) - alpha * e / 2 * log((1 + e * sin(packed[pos])) / (1 - e * sin(packed[pos]))) + K;
+            double b = 2 * (atan(exp(S)) - PI / 4);
+            double I = alpha * (packed[pos + 1] - lonc);
+            double Ibar = atan(sin(I) / (sin(b0) * tan(b) + cos(b0) * cos(I)));
+            double bbar = asin(cos(b0) * sin(b) - sin(b0) * cos(b) * cos(I));
+            double Y = R * Ibar;
+            double X = R / 2 * log((1 + sin(bbar)) / (1 - sin(bbar)));
+            packed[pos] = FE + Y;
+            packed[pos + 1] = FN + X;
+        }
     }
 
     private double findLatSwissObliqueMercator(double b) {
@@ -166,16 +183,18 @@ public class SwissObliqueMercator extends Projection {
     public Projection inverse() {
         return new SwissObliqueMercator(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                double X = (coord[1] - FN);
-                double Y = (coord[0] - FE);
-                double Ibar = Y / R;
-                double bbar = 2 * (atan(exp(X / R)) - PI / 4);
-                double b = asin(cos(b0) * sin(bbar) + sin(b0) * cos(bbar) * cos(Ibar));
-                double I = atan(sin(Ibar) / (cos(b0) * cos(Ibar) - sin(b0) * tan(bbar)));
-                coord[1] = lonc + I / alpha;
-                coord[0] = findLatSwissObliqueMercator(b);
-                return coord;
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double X = (packed[pos + 1] - FN);
+                    double Y = (packed[pos] - FE);
+                    double Ibar = Y / R;
+                    double bbar = 2 * (atan(exp(X / R)) - PI / 4);
+                    double b = asin(cos(b0) * sin(bbar) + sin(b0) * cos(bbar) * cos(Ibar));
+                    double I = atan(sin(Ibar) / (cos(b0) * cos(Ibar) - sin(b0) * tan(bbar)));
+                    packed[pos + 1] = lonc + I / alpha;
+                    packed[pos] = findLatSwissObliqueMercator(b);
+                }
             }
 
             @Override
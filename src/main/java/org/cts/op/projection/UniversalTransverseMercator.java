@@ -25,11 +25,11 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.Parameter;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 import org.cts.units.Unit;
-import org.cts.util.Complex;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -142,26 +142,87 @@ public class UniversalTransverseMercator extends Projection {
     }
 
     /**
-     * Transform coord using the Universal Transverse Mercator Projection. Input
-     * coord is supposed to be a geographic latitude / longitude coordinate in
-     * radians.
+     * Compute the series a0 * z + factor * (coeff[1] * sin(2z) + coeff[2] *
+     * sin(4z) + ...) used by the direct and the inverse transverse Mercator
+     * projections, for the complex number z = re + i.im. The sines of the
+     * multiple angles are computed by recurrence on plain doubles, so that no
+     * object is created for each point. The real and imaginary parts of the
+     * result are written into result[0] and result[1].
+     *
+     * @param re     real part of z
+     * @param im     imaginary part of z
+     * @param a0     factor of z
+     * @param coeff  direct or inverse UTM coefficients (coeff[0] is not used)
+     * @param factor factor applied to the other coefficients
+     * @param result array receiving the real and imaginary parts of the result
+     */
+    static void sinSeries(double re, double im, double a0, double[] coeff,
+                          double factor, double[] result) {
+        double sin2a = Math.sin(2.0 * re);
+        double cos2a = Math.cos(2.0 * re);
+        double sinh2b = Math.sinh(2.0 * im);
+        double cosh2b = Math.cosh(2.0 * im);
+        // sin(2z)
+        double sr = sin2a * cosh2b;
+        double si = cos2a * sinh2b;
+        // 2 * cos(2z)
+        double tr = 2.0 * cos2a * cosh2b;
+        double ti = -2.0 * sin2a * sinh2b;
+        // sin(2(k-1)z)
+        double pr = 0.0;
+        double pi = 0.0;
+        double rr = a0 * re;
+        double ri = a0 * im;
+        for (int k = 1; k < coeff.length; k++) {
+            double c = factor * coeff[k];
+            rr += c * sr;
+            ri += c * si;
+            // sin(2(k+1)z) = 2 * cos(2z) * sin(2kz) - sin(2(k-1)z)
+            double nr = tr * sr - ti * si - pr;
+            double ni = tr * si + ti * sr - pi;
+            pr = sr;
+            pi = si;
+            sr = nr;
+            si = ni;
+        }
+        result[0] = rr;
+        result[1] = ri;
+    }
+
+    /**
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
      *
      * @param coord coordinate to transform
      */
     @Override
     public double[] transform(double[] coord) {
-        double latIsoPhi = ellipsoid.isometricLatitude(coord[0]);
-        double PHI = Math.asin(Math.sin(coord[1] - lon0) / Math.cosh(latIsoPhi));
-        double latIsoPHI = Ellipsoid.SPHERE.isometricLatitude(PHI);
-        double lambda = Math.atan(Math.sinh(latIsoPhi) / Math.cos(coord[1] - lon0));
-        Complex z = new Complex(lambda, latIsoPHI);
-        Complex Z = z.times(n * dircoeff[0]);
-        for (int i = 1; i < 5; i++) {
-            Z = Z.plus(Complex.sin(z.times(2.0 * i)).times(n * dircoeff[i]));
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using the Universal Transverse Mercator Projection. Input
+     * coord is supposed to be a geographic latitude / longitude coordinate in
+     * radians.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        double[] Z = new double[2];
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double latIsoPhi = ellipsoid.isometricLatitude(packed[pos]);
+            double PHI = Math.asin(Math.sin(packed[pos + 1] - lon0) / Math.cosh(latIsoPhi));
+            double latIsoPHI = Ellipsoid.SPHERE.isometricLatitude(PHI);
+            double lambda = Math.atan(Math.sinh(latIsoPhi) / Math.cos(packed[pos + 1] - lon0));
+            sinSeries(lambda, latIsoPHI, n * dircoeff[0], dircoeff, n, Z);
+            packed[pos] = xs + Z[1];
+            packed[pos + 1] = ys + Z[0];
         }
-        coord[0] = xs + Z.im();
-        coord[1] = ys + Z.re();
-        return coord;
     }
 
     /**
@@ -171,20 +232,19 @@ public class UniversalTransverseMercator extends Projection {
     public Projection inverse() {
         return new UniversalTransverseMercator(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
-                Complex z = new Complex((coord[1] - ys) / (n * invcoeff[0]),
-                        (coord[0] - xs) / (n * invcoeff[0]));
-                Complex Z = z;
-                for (int i = 1; i < 5; i++) {
-                    Z = Z.plus(Complex.sin(z.times((2.0 * i))).times(-invcoeff[i]));
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                double[] Z = new double[2];
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    sinSeries((packed[pos + 1] - ys) / (n * invcoeff[0]),
+                            (packed[pos] - xs) / (n * invcoeff[0]), 1.0, invcoeff, -1.0, Z);
+                    double lon = lon0 + Math.atan(Math.sinh(Z[1]) / Math.cos(Z[0]));
+                    double PHI = Math.asin(Math.sin(Z[0]) / Math.cosh(Z[1]));
+                    double latIso = Ellipsoid.SPHERE.isometricLatitude(PHI);
+                    double lat = ellipsoid.latitudeFromSeries(latIso);
+                    packed[pos] = lat;
+                    packed[pos + 1] = lon;
                 }
-                double lon = lon0 + Math.atan(Math.sinh(Z.im()) / Math.cos(Z.re()));
-                double PHI = Math.asin(Math.sin(Z.re()) / Math.cosh(Z.im()));
-                double latIso = Ellipsoid.SPHERE.isometricLatitude(PHI);
-                double lat = ellipsoid.latitude(latIso);
-                coord[0] = lat;
-                coord[1] = lon;
-                return coord;
             }
 
             @Override
@@ -25,9 +25,9 @@ package org.cts.op.projection;
 
 import org.cts.CoordinateDimensionException;
 import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
-import org.cts.util.Complex;
 
 import java.util.Map;
 
@@ -71,30 +71,43 @@ public class UniversalTransverseMercatorAuto extends Projection {
     }
 
     /**
-     * Transform coord using a Universal Transverse Mercator projection. Input
-     * coord is supposed to be a geographic latitude / longitude coordinate in
-     * radians.
+     * Transform a single coordinate, see
+     * {@link #transform(double[], int, int, int)}.
      *
      * @param coord coordinate to transform
      */
     @Override
     public double[] transform(double[] coord) {
-        int zone = getZone(coord);
-        double lon0 = (6 * zone - 183) * Math.PI / 180;
-        double y0 = coord[0] >= 0 ? 0 : 10000000;
-        double ys = y0 - n * ellipsoid.curvilinearAbscissa(lat0); // = y0
-        double latIsoPhi = ellipsoid.isometricLatitude(coord[0]);
-        double PHI = Math.asin(Math.sin(coord[1] - lon0) / Math.cosh(latIsoPhi));
-        double latIsoPHI = Ellipsoid.SPHERE.isometricLatitude(PHI);
-        double lambda = Math.atan(Math.sinh(latIsoPhi) / Math.cos(coord[1] - lon0));
-        Complex z = new Complex(lambda, latIsoPHI);
-        Complex Z = z.times(n * dircoeff[0]);
-        for (int i = 1; i < 5; i++) {
-            Z = Z.plus(Complex.sin(z.times(2.0 * i)).times(n * dircoeff[i]));
+        return transformCoordinate(coord);
+    }
+
+    /**
+     * Transform coordinates using a Universal Transverse Mercator projection. Input
+     * coord is supposed to be a geographic latitude / longitude coordinate in
+     * radians.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
+        double[] Z = new double[2];
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            int zone = (int) ((packed[pos + 1] * 180.0 / Math.PI + 180.0) / 6.0) + 1;
+            double lon0 = (6 * zone - 183) * Math.PI / 180;
+            double y0 = packed[pos] >= 0 ? 0 : 10000000;
+            double ys = y0 - n * ellipsoid.curvilinearAbscissa(lat0); // = y0
+            double latIsoPhi = ellipsoid.isometricLatitude(packed[pos]);
+            double PHI = Math.asin(Math.sin(packed[pos + 1] - lon0) / Math.cosh(latIsoPhi));
+            double latIsoPHI = Ellipsoid.SPHERE.isometricLatitude(PHI);
+            double lambda = Math.atan(Math.sinh(latIsoPhi) / Math.cos(packed[pos + 1] - lon0));
+            UniversalTransverseMercator.sinSeries(lambda, latIsoPHI, n * dircoeff[0], dircoeff, n, Z);
+            packed[pos] = xs + Z[1];
+            packed[pos + 1] = ys + Z[0];
         }
-        coord[0] = xs + Z.im();
-        coord[1] = ys + Z.re();
-        return coord;
     }
 
     /**
@@ -104,22 +117,21 @@ public class UniversalTransverseMercatorAuto extends Projection {
     public Projection inverse() {
         return new UniversalTransverseMercatorAuto(ellipsoid, parameters) {
             @Override
-            public double[] transform(double[] coord) {
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
+                double[] Z = new double[2];
                 double lon0 = 0;
-                double ys = coord[0] >= 0 ? 0 : 10000000;
-                Complex z = new Complex((coord[1] - ys) / (n * invcoeff[0]),
-                        (coord[0] - xs) / (n * invcoeff[0]));
-                Complex Z = z;
-                for (int i = 1; i < 5; i++) {
-                    Z = Z.plus(Complex.sin(z.times((2.0 * i))).times(-invcoeff[i]));
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double ys = packed[pos] >= 0 ? 0 : 10000000;
+                    UniversalTransverseMercator.sinSeries((packed[pos + 1] - ys) / (n * invcoeff[0]),
+                            (packed[pos] - xs) / (n * invcoeff[0]), 1.0, invcoeff, -1.0, Z);
+                    double lon = lon0 + Math.atan(Math.sinh(Z[1]) / Math.cos(Z[0]));
+                    double PHI = Math.asin(Math.sin(Z[0]) / Math.cosh(Z[1]));
+                    double latIso = Ellipsoid.SPHERE.isometricLatitude(PHI);
+                    double lat = ellipsoid.latitudeFromSeries(latIso);
+                    packed[pos] = lat;
+                    packed[pos + 1] = lon;
                 }
-                double lon = lon0 + Math.atan(Math.sinh(Z.im()) / Math.cos(Z.re()));
-                double PHI = Math.asin(Math.sin(Z.re()) / Math.cosh(Z.im()));
-                double latIso = Ellipsoid.SPHERE.isometricLatitude(PHI);
-                double lat = ellipsoid.latitude(latIso);
-                coord[0] = lat;
-                coord[1] = lon;
-                return coord;
             }
 
             @Override
@@ -31,11 +31,12 @@ import org.cts.datum.GeodeticDatum;
 import org.cts.op.AbstractCoordinateOperation;
 import org.cts.op.CoordinateOperation;
 import org.cts.op.NonInvertibleOperationException;
+import org.cts.op.ScratchContext;
 import org.cts.op.transformation.grids.GeographicGrid;
+import org.cts.op.transformation.grids.GridManager;
 import org.cts.op.transformation.grids.GridUtils;
 import org.cts.op.transformation.grids.IGNVerticalGrid;
 
-import java.io.FileInputStream;
 import java.io.InputStream;
 
 /**
@@ -49,12 +50,9 @@ import java.io.InputStream;
 public class Altitude2EllipsoidalHeight extends AbstractCoordinateOperation implements GridBasedTransformation {
 
     /**
-     * The GeographicGrid that define this transformation.
-     */
-    private final GeographicGrid GRID;
-
-    /**
-     * The name of the grid file used to define this transformation.
+     * The name of the grid file used to define this transformation. The grid
+     * is loaded in the {@link GridManager} by the first transformation, or by
+     * {@link #loadGrid()}.
      */
     private final String gridFileName;
 
@@ -71,12 +69,19 @@ public class Altitude2EllipsoidalHeight extends AbstractCoordinateOperation impl
     private static final Identifier opId =
             new Identifier("EPSG", "9616", "Vertical Offset (by Interpolation of Gridded Data)", "Translation");
 
+    /**
+     * The reference to the grid in the {@link GridManager}, through which the
+     * grid is read without any lock for each transformation.
+     */
+    private final GridManager.GridReference<GeographicGrid> gridReference;
+
     // Inverse transformation
     private Altitude2EllipsoidalHeight inverse;
 
     /**
      * Altitude translation with parameter interpolated from a grid depending on
-     * the geographic coordinates of the point to convert.
+     * the geographic coordinates of the point to convert. The grid is not read
+     * before the first transformation.
      *
      * @param nameGrid the name of the grid file to use
      * @param gd       the geodetic datum in which the geographic coordinates used in
@@ -88,15 +93,58 @@ public class Altitude2EllipsoidalHeight extends AbstractCoordinateOperation impl
         this.associatedDatum = gd;
         this.precision = 0.01;
         this.gridFileName = nameGrid;
+        this.gridReference = GridManager.getInstance().getReference(nameGrid, GeographicGrid.class, this::readGrid);
+    }
+
+    /**
+     * Load the grid used by this transformation if it has not been loaded
+     * yet. The grid is otherwise loaded by the first transformation, this
+     * method may be used to load it beforehand.
+     *
+     * @return the grid used by this transformation
+     * @throws java.lang.Exception if the grid file cannot be found or read
+     */
+    public GeographicGrid loadGrid() throws Exception {
+        return gridReference.get();
+    }
+
+    /**
+     * Return true if the grid used by this transformation has been loaded.
+     * The grid is shared by all the transformations using the same grid file,
+     * it may have been loaded by another one.
+     */
+    public boolean isGridLoaded() {
+        return GridManager.getInstance().isLoaded(gridFileName);
+    }
+
+    /**
+     * Read the grid file used by this transformation.
+     */
+    private GeographicGrid readGrid() throws Exception {
         try {
-            InputStream is = GridUtils.class.getResourceAsStream(nameGrid);
+            InputStream is = GridUtils.class.getResourceAsStream(gridFileName);
             if (is != null) {
-                GRID = new IGNVerticalGrid(is, false);
+                try {
+                    return new IGNVerticalGrid(is, false);
+                } finally {
+                    is.close();
+                }
             } else {
-                GRID = new IGNVerticalGrid(new FileInputStream(GridUtils.findGrid(nameGrid)), false);
+                return IGNVerticalGrid.loadGrid(gridFileName);
             }
         } catch (Exception e) {
-            throw new Exception(e.getMessage() + "\nThis problem occured when loading the " + nameGrid + " grid file.");
+            throw new Exception(e.getMessage() + "\nThis problem occured when loading the " + gridFileName + " grid file.");
+        }
+    }
+
+    /**
+     * Return the grid from the {@link GridManager}, loading it if needed.
+     */
+    private GeographicGrid getGrid() throws IllegalCoordinateException {
+        try {
+            return gridReference.get();
+        } catch (Exception e) {
+            throw new IllegalCoordinateException(e.getMessage());
         }
     }
 
@@ -126,19 +174,42 @@ public class Altitude2EllipsoidalHeight extends AbstractCoordinateOperation impl
         if (coord.length < 3) {
             throw new CoordinateDimensionException(coord, 3);
         }
-        // Creates a temporary coord to find the final translation parameters
-        double[] coordi = coord.clone();
-        double th;
-        // Get the definitive translation parameters from the grids
+        transform(coord, 0, 1, coord.length);
+        return coord;
+    }
+
+    /**
+     * Transform <code>count</code> coordinates stored one after the other in
+     * <code>packed</code>, see {@link #transform(double[])}.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 3);
+        GeographicGrid grid = getGrid();
+        ScratchContext context = ScratchContext.get();
+        int base = context.push(1);
         try {
-            double[] t = GRID.bilinearInterpolation(coordi[0], coordi[1]);
-            th = t[0];
-        } catch (OutOfExtentException e) {
-            throw new IllegalCoordinateException(e.getMessage());
+            double[] t = context.buffer(base, grid.getDim());
+            for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                double th;
+                // Get the definitive translation parameters from the grids
+                try {
+                    grid.bilinearInterpolation(packed[pos], packed[pos + 1], t);
+                    th = t[0];
+                } catch (OutOfExtentException e) {
+                    throw new IllegalCoordinateException(e.getMessage());
+                }
+                // Apply definitive translation
+                packed[pos + 2] = th + packed[pos + 2];
+            }
+        } finally {
+            context.pop(base);
         }
-        // Apply definitive translation
-        coord[2] = th + coord[2];
-        return coord;
     }
 
     /**
@@ -150,21 +221,29 @@ public class Altitude2EllipsoidalHeight extends AbstractCoordinateOperation impl
         try {
             inverse = new Altitude2EllipsoidalHeight(getGridFileName(), associatedDatum) {
                 @Override
-                public double[] transform(double[] coord)
+                public void transform(double[] packed, int offset, int count, int stride)
                         throws IllegalCoordinateException {
-                    // Creates a temp coord to find the final translation parameters
-                    double[] coordi = coord.clone();
-                    double th;
-                    // Get the definitive translation parameters from the grids
+                    checkPackedCoordinates(packed, offset, count, stride, 3);
+                    GeographicGrid grid = Altitude2EllipsoidalHeight.this.getGrid();
+                    ScratchContext context = ScratchContext.get();
+                    int base = context.push(1);
                     try {
-                        double[] t = GRID.bilinearInterpolation(coordi[0], coordi[1]);
-                        th = t[0];
-                    } catch (OutOfExtentException e) {
-                        throw new IllegalCoordinateException(e.getMessage());
+                        double[] t = context.buffer(base, grid.getDim());
+                        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                            double th;
+                            // Get the definitive translation parameters from the grids
+                            try {
+                                grid.bilinearInterpolation(packed[pos], packed[pos + 1], t);
+                                th = t[0];
+                            } catch (OutOfExtentException e) {
+                                throw new IllegalCoordinateException(e.getMessage());
+                            }
+                            // Apply definitive translation
+                            packed[pos + 2] = -th + packed[pos + 2];
+                        }
+                    } finally {
+                        context.pop(base);
                     }
-                    // Apply definitive translation
-                    coord[2] = -th + coord[2];
-                    return coord;
                 }
 
                 @Override
@@ -31,14 +31,14 @@ import org.cts.datum.Ellipsoid;
 import org.cts.op.AbstractCoordinateOperation;
 import org.cts.op.Geocentric2Geographic;
 import org.cts.op.NonInvertibleOperationException;
+import org.cts.op.ScratchContext;
 import org.cts.op.UnitConversion;
-import org.cts.op.transformation.grids.GridUtils;
+import org.cts.op.transformation.grids.GridManager;
 import org.cts.op.transformation.grids.IGNGeographicGrid;
 import org.cts.units.Unit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
 
 /**
  * French Geocentric interpolation is a transformation used at IGN-France to
@@ -56,14 +56,23 @@ public class FrenchGeocentricNTF2RGF extends AbstractCoordinateOperation
     private final GeocentricTranslation NTF2WGS84 =
             new GeocentricTranslation(-168.0, -60.0, 320.0);
     private final Geocentric2Geographic GEOC2GEOG =
-            new Geocentric2Geographic(Ellipsoid.GRS80);
+            new Geocentric2Geographic(Ellipsoid.GRS80, Geocentric2Geographic.Algorithm.VERMEILLE);
     private final UnitConversion RAD2DD = UnitConversion.createUnitConverter(Unit.RADIAN, Unit.DEGREE);
 
 
     /**
-     * The GeographicGrid that define this transformation.
+     * The name of the grid file that define this transformation. The grid is
+     * stored in the {@link GridManager}.
      */
-    private final IGNGeographicGrid GRID3D;
+    private static final String GRID_NAME = "gr3df97a.txt";
+
+    /**
+     * The reference to the grid in the {@link GridManager}, shared by all the
+     * transformations.
+     */
+    private static final GridManager.GridReference<IGNGeographicGrid> GRID =
+            GridManager.getInstance().getReference(GRID_NAME, IGNGeographicGrid.class,
+                    () -> IGNGeographicGrid.loadGrid(GRID_NAME));
 
     // Inverse transformation
     private FrenchGeocentricNTF2RGF inverse;
@@ -73,15 +82,26 @@ public class FrenchGeocentricNTF2RGF extends AbstractCoordinateOperation
      * Geocentric translation with parameters interpolated in a grid.<p> The
      * gride can be found <a href =
      * http://geodesie.ign.fr/contenu/fichiers/documentation/rgf93/gr3df97a.txt>here</a>.
+     * The grid is loaded in the {@link GridManager} if it is not already.
      */
     public FrenchGeocentricNTF2RGF() throws Exception {
         super(new Identifier("EPSG", "9655", "French geographic interpolation", "NTF2RGF93"));
         this.precision = 0.001;
+        getGrid();
+    }
+
+    /**
+     * Return the grid of this transformation, loading it in the
+     * {@link GridManager} if needed. The loaded grid is read without any lock.
+     *
+     * @throws IllegalCoordinateException if the grid cannot be loaded
+     */
+    private static IGNGeographicGrid getGrid() throws IllegalCoordinateException {
         try {
-            String gridName = "gr3df97a.txt";
-            GRID3D = new IGNGeographicGrid(new FileInputStream(GridUtils.findGrid(gridName)), false);
+            return GRID.get();
         } catch (Exception e) {
-            throw new Exception("A problem occured during gr3df97a.txt grid file loading", e);
+            throw new IllegalCoordinateException("A problem occured during " + GRID_NAME
+                    + " grid file loading : " + e.getMessage());
         }
     }
 
@@ -97,54 +117,81 @@ public class FrenchGeocentricNTF2RGF extends AbstractCoordinateOperation
         if (coord.length < 3) {
             throw new CoordinateDimensionException(coord, 3);
         }
-        // Creates a temporary coord to find the final translation parameters
-        double[] coordi = coord.clone();
+        transform(coord, 0, 1, coord.length);
+        return coord;
+    }
 
-        // Translation using mean parameters (precision = +/- 5 m)
-        coordi = NTF2WGS84.transform(coordi);
+    /**
+     * Transform <code>count</code> coordinates stored one after the other in
+     * <code>packed</code>, see {@link #transform(double[])}.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 3);
+        IGNGeographicGrid grid = getGrid();
+        ScratchContext context = ScratchContext.get();
+        int base = context.push(2);
+        try {
+            // Temporary coord used to find the final translation parameters
+            double[] coordi = context.buffer(base, 3);
+            // Translation parameters interpolated in the grid
+            double[] t = context.buffer(base + 1, 3);
+            for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                System.arraycopy(packed, pos, coordi, 0, 3);
 
-        // Find a rough position on GRS 80
-        coordi = GEOC2GEOG.transform(coordi);
+                // Translation using mean parameters (precision = +/- 5 m)
+                NTF2WGS84.transform(coordi, 0, 1, 3);
 
-        double oldLon = 10;
-        double oldLat = 10;
+                // Find a rough position on GRS 80
+                GEOC2GEOG.transform(coordi, 0, 1, 3);
 
-        // Definitive translation parameters are initialized with mean
-        // translation parameters
-        double tx = -168.0;
-        double ty = -60.0;
-        double tz = 320.0;
+                double oldLon = 10;
+                double oldLat = 10;
 
-        while (Math.max(Math.abs(oldLon - coordi[0]), Math.abs(oldLat - coordi[1])) > 1e-11) {
+                // Definitive translation parameters are initialized with mean
+                // translation parameters
+                double tx = -168.0;
+                double ty = -60.0;
+                double tz = 320.0;
 
-            oldLon = coordi[0];
-            oldLat = coordi[1];
+                while (Math.max(Math.abs(oldLon - coordi[0]), Math.abs(oldLat - coordi[1])) > 1e-11) {
 
-            // Get decimal degree coordinates for grid interpolation
-            coordi = RAD2DD.transform(coordi);
+                    oldLon = coordi[0];
+                    oldLat = coordi[1];
 
-            // Get the definitive translation parameters from the grids
-            try {
-                double[] t = GRID3D.bilinearInterpolation(coordi[0], coordi[1]);
-                tx = t[0];
-                ty = t[1];
-                tz = t[2];
-            } catch (OutOfExtentException e) {
-                throw new IllegalCoordinateException(e.getMessage());
-            }
+                    // Get decimal degree coordinates for grid interpolation
+                    RAD2DD.transform(coordi, 0, 1, 3);
 
-            coordi[0] = tx + coord[0];
-            coordi[1] = ty + coord[1];
-            coordi[2] = tz + coord[2];
+                    // Get the definitive translation parameters from the grids
+                    try {
+                        grid.bilinearInterpolation(coordi[0], coordi[1], t);
+                        tx = t[0];
+                        ty = t[1];
+                        tz = t[2];
+                    } catch (OutOfExtentException e) {
+                        throw new IllegalCoordinateException(e.getMessage());
+                    }
 
-            coordi = GEOC2GEOG.transform(coordi);
-        }
+                    coordi[0] = tx + packed[pos];
+                    coordi[1] = ty + packed[pos + 1];
+                    coordi[2] = tz + packed[pos + 2];
 
-        // Apply definitive translation
-        coord[0] = tx + coord[0];
-        coord[1] = ty + coord[1];
-        coord[2] = tz + coord[2];
-        return coord;
+                    GEOC2GEOG.transform(coordi, 0, 1, 3);
+                }
+
+                // Apply definitive translation
+                packed[pos] = tx + packed[pos];
+                packed[pos + 1] = ty + packed[pos + 1];
+                packed[pos + 2] = tz + packed[pos + 2];
+            }
+        } finally {
+            context.pop(base);
+        }
     }
 
     /**
@@ -159,33 +206,45 @@ public class FrenchGeocentricNTF2RGF extends AbstractCoordinateOperation
             try {
                 inverse = new FrenchGeocentricNTF2RGF() {
                     @Override
-                    public double[] transform(double[] coord)
+                    public void transform(double[] packed, int offset, int count, int stride)
                             throws IllegalCoordinateException {
-                        // Creates a temp coord to find the final translation parameters
-                        double[] coordi = coord.clone();
-                        // Find a rough position on GRS 80
-                        coordi = GEOC2GEOG.transform(coordi);
-                        // Get decimal degree coordinates for grid interpolation
-                        coordi = RAD2DD.transform(coordi);
-                        // Definitive translation parameters are initialized with mean
-                        // translation parameters
-                        double tx = -168.0;
-                        double ty = -60.0;
-                        double tz = 320.0;
-                        // Get the definitive translation parameters from the grids
+                        checkPackedCoordinates(packed, offset, count, stride, 3);
+                        IGNGeographicGrid grid = getGrid();
+                        ScratchContext context = ScratchContext.get();
+                        int base = context.push(2);
                         try {
-                            double[] t = GRID3D.bilinearInterpolation(coordi[0], coordi[1]);
-                            tx = t[0];
-                            ty = t[1];
-                            tz = t[2];
-                        } catch (OutOfExtentException e) {
-                            throw new IllegalCoordinateException(e.getMessage());
+                            // Temp coord used to find the final translation parameters
+                            double[] coordi = context.buffer(base, 3);
+                            // Translation parameters interpolated in the grid
+                            double[] t = context.buffer(base + 1, 3);
+                            for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                                System.arraycopy(packed, pos, coordi, 0, 3);
+                                // Find a rough position on GRS 80
+                                GEOC2GEOG.transform(coordi, 0, 1, 3);
+                                // Get decimal degree coordinates for grid interpolation
+                                RAD2DD.transform(coordi, 0, 1, 3);
+                                // Definitive translation parameters are initialized with mean
+                                // translation parameters
+                                double tx = -168.0;
+                                double ty = -60.0;
+                                double tz = 320.0;
+                                // Get the definitive translation parameters from the grids
+                                try {
+                                    grid.bilinearInterpolation(coordi[0], coordi[1], t);
+                                    tx = t[0];
+                                    ty = t[1];
+                                    tz = t[2];
+                                } catch (OutOfExtentException e) {
+                                    throw new IllegalCoordinateException(e.getMessage());
+                                }
+                                // Apply definitive translation
+                                packed[pos] = -tx + packed[pos];
+                                packed[pos + 1] = -ty + packed[pos + 1];
+                                packed[pos + 2] = -tz + packed[pos + 2];
+                            }
+                        } finally {
+                            context.pop(base);
                         }
-                        // Apply definitive translation
-                        coord[0] = -tx + coord[0];
-                        coord[1] = -ty + coord[1];
-                        coord[2] = -tz + coord[2];
-                        return coord;
                     }
 
                     @Override
@@ -34,6 +34,8 @@ import java.util.List;
 /**
  * A GeocentricTransformationSequence is a CoordinateOperationSequence which
  * result is a {@link GeocentricTransformation}.
+ * Like other sequences, it applies each datum shift of geographic coordinates
+ * through geocentric coordinates as a single {@link GeographicDatumShift}.
  *
  * @author Michaël Michaud
  */
@@ -103,6 +105,7 @@ public class GeocentricTransformationSequence
                         return false;
                     }
                 }
+                return true;
             }
         }
         return false;
@@ -108,12 +108,29 @@ public class GeocentricTranslation extends AbstractCoordinateOperation implement
         if (coord.length < 3) {
             throw new CoordinateDimensionException(coord, 3);
         }
-        coord[0] = tx + coord[0];
-        coord[1] = ty + coord[1];
-        coord[2] = tz + coord[2];
+        transform(coord, 0, 1, coord.length);
         return coord;
     }
 
+    /**
+     * Transform <code>count</code> coordinates stored one after the other in
+     * <code>packed</code>, see {@link #transform(double[])}.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 3);
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            packed[pos] = tx + packed[pos];
+            packed[pos + 1] = ty + packed[pos + 1];
+            packed[pos + 2] = tz + packed[pos + 2];
+        }
+    }
+
     /**
      * Creates the inverse CoordinateOperation.
      */
@@ -0,0 +1,312 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation;
+
+import org.cts.CoordinateDimensionException;
+import org.cts.Identifier;
+import org.cts.IllegalCoordinateException;
+import org.cts.datum.Ellipsoid;
+import org.cts.op.AbstractCoordinateOperation;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.CoordinateOperationException;
+import org.cts.op.Geocentric2Geographic;
+import org.cts.op.Geographic2Geocentric;
+import org.cts.op.LongitudeRotation;
+import org.cts.op.NonInvertibleOperationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+import static java.lang.Math.sqrt;
+
+/**
+ * A GeographicDatumShift performs, in a single operation, the usual datum
+ * change of geographic coordinates :
+ * <ul>
+ * <li>an optional {@link LongitudeRotation} to the Greenwich meridian,</li>
+ * <li>a {@link Geographic2Geocentric} conversion on the source ellipsoid,</li>
+ * <li>zero or more {@link SevenParameterTransformation}s or
+ * {@link GeocentricTranslation}s,</li>
+ * <li>a {@link Geocentric2Geographic} conversion on the target ellipsoid,</li>
+ * <li>an optional {@link LongitudeRotation} from the Greenwich meridian.</li>
+ * </ul>
+ * The sine and cosine of the latitude are computed once per coordinate, and
+ * packed coordinates are processed by blocks of {@link #BLOCK_SIZE}
+ * coordinates so that each block stays in the processor cache between the
+ * steps. Results are the same as the ones of the individual operations.
+ * <p>GeographicDatumShifts are not built directly, {@link #fuse} replaces
+ * each matching run of operations of a sequence by a GeographicDatumShift.</p>
+ */
+public class GeographicDatumShift extends AbstractCoordinateOperation {
+
+    /**
+     * Number of packed coordinates processed by each step before the next
+     * step is applied.
+     */
+    static final int BLOCK_SIZE = 256;
+
+    private static final Identifier opId =
+            new Identifier(GeographicDatumShift.class, "Geographic datum shift");
+
+    /**
+     * The fused operations, in the order they are applied.
+     */
+    private final CoordinateOperation[] operations;
+
+    private final double rotationFromSource;
+    private final Ellipsoid sourceEllipsoid;
+    private final CoordinateOperation[] shifts;
+    private final Geocentric2Geographic toGeographic;
+    private final double rotationToTarget;
+
+    // Inverse operation
+    private GeographicDatumShift inverse;
+
+    /**
+     * Create a GeographicDatumShift from a run of operations accepted by
+     * {@link #matchLength(CoordinateOperation[], int)}.
+     */
+    private GeographicDatumShift(CoordinateOperation... operations) {
+        super(opId);
+        this.operations = operations;
+        int i = 0;
+        if (operations[i] instanceof LongitudeRotation) {
+            rotationFromSource = ((LongitudeRotation) operations[i++]).getRotationAngle();
+        } else {
+            rotationFromSource = 0.0;
+        }
+        sourceEllipsoid = ((Geographic2Geocentric) operations[i++]).getEllipsoid();
+        int first = i;
+        while (isGeocentricShift(operations[i])) {
+            i++;
+        }
+        shifts = Arrays.copyOfRange(operations, first, i);
+        toGeographic = (Geocentric2Geographic) operations[i++];
+        if (i < operations.length) {
+            rotationToTarget = ((LongitudeRotation) operations[i]).getRotationAngle();
+        } else {
+            rotationToTarget = 0.0;
+        }
+        for (CoordinateOperation op : operations) {
+            precision += op.getPrecision();
+        }
+    }
+
+    /**
+     * Return a copy of sequence where each run of operations performing a
+     * geographic datum shift is replaced by a GeographicDatumShift, or
+     * sequence itself if it does not contain such a run.
+     *
+     * @param sequence the operations to apply one after the other
+     */
+    public static CoordinateOperation[] fuse(CoordinateOperation[] sequence) {
+        List<CoordinateOperation> result = null;
+        for (int i = 0; i < sequence.length; i++) {
+            int length = matchLength(sequence, i);
+            if (length > 0) {
+                if (result == null) {
+                    result = new ArrayList<CoordinateOperation>(Arrays.asList(sequence).subList(0, i));
+                }
+                result.add(new GeographicDatumShift(Arrays.copyOfRange(sequence, i, i + length)));
+                i += length - 1;
+            } else if (result != null) {
+                result.add(sequence[i]);
+            }
+        }
+        return result == null ? sequence : result.toArray(new CoordinateOperation[0]);
+    }
+
+    /**
+     * Return the number of operations of the geographic datum shift starting
+     * at index start in sequence, or 0 if there is none.
+     */
+    private static int matchLength(CoordinateOperation[] sequence, int start) {
+        int i = start;
+        if (i < sequence.length && sequence[i] instanceof LongitudeRotation) {
+            i++;
+        }
+        if (i == sequence.length || !(sequence[i] instanceof Geographic2Geocentric)) {
+            return 0;
+        }
+        i++;
+        while (i < sequence.length && isGeocentricShift(sequence[i])) {
+            i++;
+        }
+        if (i == sequence.length || !(sequence[i] instanceof Geocentric2Geographic)) {
+            return 0;
+        }
+        i++;
+        if (i < sequence.length && sequence[i] instanceof LongitudeRotation) {
+            i++;
+        }
+        return i - start;
+    }
+
+    /**
+     * Return true if op is a transformation between geocentric coordinate
+     * systems which can be fused.
+     */
+    private static boolean isGeocentricShift(CoordinateOperation op) {
+        return op instanceof SevenParameterTransformation || op instanceof GeocentricTranslation;
+    }
+
+    /**
+     * Return the operations fused in this GeographicDatumShift.
+     */
+    public List<CoordinateOperation> getOperations() {
+        return Arrays.asList(operations.clone());
+    }
+
+    /**
+     * Transform geographic coordinates (latitude, longitude and optionally
+     * ellipsoidal height) from the source datum to the target datum. If coord
+     * has only two ordinates, the height is considered as 0 and a new array
+     * containing the three resulting ordinates is returned.
+     *
+     * @param coord the geographic coordinate to transform
+     * @throws IllegalCoordinateException if <code>coord</code> is not
+     *                                    compatible with this <code>CoordinateOperation</code>.
+     */
+    @Override
+    public double[] transform(double[] coord)
+            throws IllegalCoordinateException, CoordinateOperationException {
+        if (coord.length < 2) {
+            throw new CoordinateDimensionException(coord, 3);
+        } else if (coord.length == 2) {
+            coord = new double[]{coord[0], coord[1], 0.0};
+        }
+        transform(coord, 0, 1, coord.length);
+        return coord;
+    }
+
+    /**
+     * Transform <code>count</code> geographic coordinates stored one after the
+     * other in <code>packed</code>, see {@link #transform(double[])}.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if <code>stride</code> is lower than 3
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride)
+            throws IllegalCoordinateException, CoordinateOperationException {
+        checkPackedCoordinates(packed, offset, count, stride, 3);
+        double a = sourceEllipsoid.getSemiMajorAxis();
+        double e2 = sourceEllipsoid.getSquareEccentricity();
+        for (int done = 0; done < count; done += BLOCK_SIZE) {
+            int n = Math.min(BLOCK_SIZE, count - done);
+            int start = offset + done * stride;
+            int end = start + n * stride;
+            // Geographic to geocentric, same formula as Geographic2Geocentric
+            for (int pos = start; pos < end; pos += stride) {
+                double lat = packed[pos];
+                double lon = packed[pos + 1] + rotationFromSource;
+                double height = 0.0;
+                if (!Double.isNaN(packed[pos + 2])) {
+                    height = packed[pos + 2];
+                }
+                double sinlat = sin(lat);
+                double coslat = cos(lat);
+                double N = a / sqrt(1 - (e2 * sinlat * sinlat));
+                packed[pos] = (N + height) * coslat * cos(lon);
+                packed[pos + 1] = (N + height) * coslat * sin(lon);
+                packed[pos + 2] = (N * (1 - e2) + height) * sinlat;
+            }
+            for (CoordinateOperation shift : shifts) {
+                shift.transform(packed, start, n, stride);
+            }
+            toGeographic.transform(packed, start, n, stride);
+            if (rotationToTarget != 0.0) {
+                for (int pos = start + 1; pos < end; pos += stride) {
+                    packed[pos] = packed[pos] + rotationToTarget;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the inverse CoordinateOperation, fusing the inverse of each
+     * operation.
+     */
+    @Override
+    public CoordinateOperation inverse() throws NonInvertibleOperationException {
+        if (inverse != null) return inverse;
+        CoordinateOperation[] inverseOperations = new CoordinateOperation[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            inverseOperations[operations.length - i - 1] = operations[i].inverse();
+        }
+        return inverse = new GeographicDatumShift(inverseOperations) {
+            @Override
+            public CoordinateOperation inverse() {
+                return GeographicDatumShift.this;
+            }
+        };
+    }
+
+    /**
+     * Returns a String representation of this GeographicDatumShift, listing
+     * the fused operations.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(getName()).append(" {");
+        for (CoordinateOperation op : operations) {
+            sb.append("\n      ").append(op.toString());
+        }
+        sb.append("\n   }");
+        return sb.toString();
+    }
+
+    /**
+     * Returns true if o is a GeographicDatumShift fusing the same operations.
+     *
+     * @param o The object to compare this GeographicDatumShift against
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof GeographicDatumShift) {
+            return Arrays.equals(operations, ((GeographicDatumShift) o).operations);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the hash code for this GeographicDatumShift.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Arrays.hashCode(operations);
+        return hash;
+    }
+}
@@ -30,6 +30,7 @@ import org.cts.op.AbstractCoordinateOperation;
 import org.cts.op.CoordinateOperation;
 import org.cts.op.transformation.grid.GridShift;
 import org.cts.op.transformation.grid.GridShiftFile;
+import org.cts.op.transformation.grids.GridManager;
 import org.cts.op.transformation.grids.GridUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,7 +38,11 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Geographic Offset by Interpolation of Gridded Data.<p>
@@ -56,6 +61,12 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
             new Identifier("EPSG", "9615", "NTv2 Geographic Offset", "NTv2");
     public static final int SPEED = 0;
     public static final int LOW_MEMORY = 1;
+    /**
+     * Mode mapping the grid file in memory : nodes are read from the mapped
+     * file when needed, without loading the grid in the heap and without
+     * locking when several threads use the transformation.
+     */
+    public static final int MAPPED = 2;
     /**
      * if set to true, this class will use a RandomAccessFile to access the
      * gridded data instead of loading it into memory.
@@ -66,9 +77,10 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
      */
     final private URL grid_file;
     /**
-     * The GridShiftFile that define this transformation.
+     * The reference to the grid in the {@link GridManager}, created for the
+     * current mode.
      */
-    final private GridShiftFile gsf;
+    private volatile GridManager.GridReference<GridShiftFile> gridReference;
 
     // Inverse NTv2GridShiftTransformation
     private NTv2GridShiftTransformation inverse;
@@ -99,7 +111,6 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
     public NTv2GridShiftTransformation(URL ntv2_gridFile, double precision) {
         super(opId);
         this.grid_file = ntv2_gridFile;
-        this.gsf = new GridShiftFile();
         this.precision = Math.max(0.000000001, precision);
     }
 
@@ -114,7 +125,6 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
         if (ntv2_gridFile == null) {
             LOGGER.warn("No NTv2 Grid file specified.");
         }
-        this.gsf = new GridShiftFile();
         this.precision = 0.1;
     }
 
@@ -132,22 +142,41 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
         if (coord.length < 2) {
             throw new CoordinateDimensionException(coord, 2);
         }
+        transform(coord, 0, 1, coord.length);
+        return coord;
+    }
+
+    /**
+     * Shift <code>count</code> geographic coordinates stored one after the
+     * other in <code>packed</code>. The grid is read once from the
+     * {@link GridManager} and the same {@link GridShift} is reused for all the
+     * coordinates.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     * @throws IllegalCoordinateException if coordinates are not compatible
+     *                                    with this <code>CoordinateOperation</code>.
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 2);
         GridShift gs = new GridShift();
-        gs.setLatDegrees(coord[0] * 180d / Math.PI);
-        gs.setLonPositiveEastDegrees(coord[1] * 180d / Math.PI);
+        GridShiftFile gsf = getGrid();
         try {
-            if (gsf == null || !gsf.isLoaded()) {
-                loadGridShiftFile();
-            }
-            boolean withinGrid = gsf.gridShiftForward(gs);
-            if (withinGrid) {
-                coord[0] = gs.getShiftedLatDegrees() * Math.PI / 180d;
-                coord[1] = gs.getShiftedLonPositiveEastDegrees() * Math.PI / 180d;
+            for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                gs.setLatDegrees(packed[pos] * 180d / Math.PI);
+                gs.setLonPositiveEastDegrees(packed[pos + 1] * 180d / Math.PI);
+                boolean withinGrid = gsf.gridShiftForward(gs);
+                if (withinGrid) {
+                    packed[pos] = gs.getShiftedLatDegrees() * Math.PI / 180d;
+                    packed[pos + 1] = gs.getShiftedLonPositiveEastDegrees() * Math.PI / 180d;
+                }
             }
         } catch (IOException ioe) {
             throw new CoordinateDimensionException(ioe.getMessage());
         }
-        return coord;
     }
 
     /**
@@ -159,32 +188,61 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
     public CoordinateOperation inverse() {
         if (inverse != null) return inverse;
         try {
-            if (gsf == null || !gsf.isLoaded()) {
-                loadGridShiftFile();
-            }
+            loadGridShiftFile();
         } catch (IOException ioe) {
             LOGGER.error("Could not load GridShiftFile " + grid_file);
         }
 
+        // The inverse transformation uses the grid of this transformation
         return inverse = new NTv2GridShiftTransformation(grid_file, precision) {
             @Override
-            public double[] transform(double[] coord) throws IllegalCoordinateException {
-                if (coord.length < 2) {
-                    throw new CoordinateDimensionException(coord, 2);
-                }
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 2);
                 GridShift gs = new GridShift();
-                gs.setLatDegrees(coord[0] * 180d / Math.PI);
-                gs.setLonPositiveEastDegrees(coord[1] * 180d / Math.PI);
+                GridShiftFile gsf = NTv2GridShiftTransformation.this.getGrid();
                 try {
-                    boolean withinGrid = gsf.gridShiftReverse(gs);
-                    if (withinGrid) {
-                        coord[0] = gs.getShiftedLatDegrees() * Math.PI / 180d;
-                        coord[1] = gs.getShiftedLonPositiveEastDegrees() * Math.PI / 180d;
+                    for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                        gs.setLatDegrees(packed[pos] * 180d / Math.PI);
+                        gs.setLonPositiveEastDegrees(packed[pos + 1] * 180d / Math.PI);
+                        boolean withinGrid = gsf.gridShiftReverse(gs);
+                        if (withinGrid) {
+                            packed[pos] = gs.getShiftedLatDegrees() * Math.PI / 180d;
+                            packed[pos + 1] = gs.getShiftedLonPositiveEastDegrees() * Math.PI / 180d;
+                        }
                     }
                 } catch (IOException ioe) {
                     throw new CoordinateDimensionException(ioe.getMessage());
                 }
-                return coord;
+            }
+
+            @Override
+            public void loadGridShiftFile() throws IOException {
+                NTv2GridShiftTransformation.this.loadGridShiftFile();
+            }
+
+            @Override
+            public boolean isLoaded() {
+                return NTv2GridShiftTransformation.this.isLoaded();
+            }
+
+            @Override
+            public void unload() throws IOException {
+                NTv2GridShiftTransformation.this.unload();
+            }
+
+            @Override
+            public boolean setMode(int mode) throws IOException {
+                return NTv2GridShiftTransformation.this.setMode(mode);
+            }
+
+            @Override
+            public String getFromDatum() {
+                return NTv2GridShiftTransformation.this.getFromDatum();
+            }
+
+            @Override
+            public String getToDatum() {
+                return NTv2GridShiftTransformation.this.getToDatum();
             }
 
             @Override
@@ -195,13 +253,84 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
     }
 
     /**
-     * Load the grid file that will be used to transform the coordinates.
+     * Return the key identifying the grid of this transformation in the
+     * {@link GridManager}. A mapped grid is not shared with a grid loaded in
+     * the heap.
+     */
+    private String getGridKey() {
+        String key = String.valueOf(grid_file);
+        return mode == MAPPED ? key + " (mapped)" : key;
+    }
+
+    /**
+     * Return the reference to the grid of this transformation in the
+     * {@link GridManager}, creating it for the current mode if needed.
+     */
+    private GridManager.GridReference<GridShiftFile> getGridReference() {
+        GridManager.GridReference<GridShiftFile> reference = gridReference;
+        if (reference == null) {
+            reference = GridManager.getInstance().getReference(getGridKey(), GridShiftFile.class,
+                    this::readGridShiftFile);
+            gridReference = reference;
+        }
+        return reference;
+    }
+
+    /**
+     * Return the grid of this transformation, loading it if needed. Only one
+     * thread loads the grid when several threads use this transformation, and
+     * the loaded grid is then read without any lock.
+     *
+     * @throws IllegalCoordinateException if the grid cannot be loaded
+     */
+    private GridShiftFile getGrid() throws IllegalCoordinateException {
+        try {
+            return getGridReference().get();
+        } catch (Exception e) {
+            throw new CoordinateDimensionException(e.getMessage());
+        }
+    }
+
+    /**
+     * Load the grid file that will be used to transform the coordinates, if
+     * it is not already loaded in the {@link GridManager}.
      *
      * @throws java.io.IOException
      */
     public void loadGridShiftFile() throws IOException {
+        try {
+            getGridReference().get();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read the grid file according to the mode of this transformation.
+     *
+     * @throws java.io.IOException if the grid file cannot be read
+     */
+    private GridShiftFile readGridShiftFile() throws IOException {
+        GridShiftFile gsf = new GridShiftFile();
         if (grid_file != null) {
-            if (mode == 0) {
+            if (mode == MAPPED && grid_file.getProtocol().equals("file")) {
+                FileChannel channel = null;
+                try {
+                    channel = FileChannel.open(Paths.get(grid_file.toURI()), StandardOpenOption.READ);
+                    gsf.loadGridShiftFile(channel);
+                } catch (URISyntaxException e) {
+                    throw new IOException("Invalid grid location : " + grid_file, e);
+                } finally {
+                    if (channel != null) {
+                        channel.close();
+                    }
+                }
+            } else if (mode == 0 || mode == MAPPED) {
+                if (mode == MAPPED) {
+                    LOGGER.warn("This grid cannot be mapped in memory, it will be loaded in memory.");
+                }
                 if (grid_file.getProtocol().equals("file")) {
                     InputStream is = null;
                     try {
@@ -241,6 +370,10 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
         } else {
             LOGGER.warn("The location of the grid is null. Any grid will be used.");
         }
+        if (!gsf.isLoaded()) {
+            throw new IOException("The grid " + grid_file + " cannot be read.");
+        }
+        return gsf;
     }
 
     /**
@@ -250,24 +383,25 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
      * @return
      */
     public boolean isLoaded() {
-        return gsf.isLoaded();
+        return GridManager.getInstance().isLoaded(getGridKey());
     }
 
     /**
-     * Unload the grid shift file used by this transformation.
+     * Unload the grid shift file used by this transformation, if it is not
+     * in use.
      *
      * @throws IOException
      */
     public void unload() throws IOException {
-        gsf.unload();
+        GridManager.getInstance().unload(getGridKey());
     }
 
     /**
      * Set the mode to access the grid shift file. If mode = 0 (SPEED), it will
      * use an InputStream, if mode = 1 (LOW_MEMORY), it will use a
-     * RandomAccessFile. If the parameter mode is different from 0 or 1 or if it
-     * is equal to the current mode, this method will have no effect and return
-     * false.
+     * RandomAccessFile, if mode = 2 (MAPPED), it will map the file in memory.
+     * If the parameter mode is different from 0, 1 or 2 or if it is equal to
+     * the current mode, this method will have no effect and return false.
      *
      * @param mode an integer representing a mode to access to grid shift file
      *             (see description above)
@@ -275,9 +409,10 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
      * @throws IOException
      */
     public boolean setMode(int mode) throws IOException {
-        if ((mode == 0 || mode == 1) && this.mode != mode) {
-            this.mode = mode;
+        if ((mode == SPEED || mode == LOW_MEMORY || mode == MAPPED) && this.mode != mode) {
             unload();
+            this.mode = mode;
+            gridReference = null;
             loadGridShiftFile();
             return true;
         } else {
@@ -302,7 +437,7 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
      * @return
      */
     public String getFromDatum() {
-        return gsf.getFromEllipsoid().trim().toLowerCase();
+        return getHeader().getFromEllipsoid().trim().toLowerCase();
     }
 
     /**
@@ -312,6 +447,17 @@ public class NTv2GridShiftTransformation extends AbstractCoordinateOperation imp
      * @return
      */
     public String getToDatum() {
-        return gsf.getToEllipsoid().trim().toLowerCase();
+        return getHeader().getToEllipsoid().trim().toLowerCase();
+    }
+
+    /**
+     * Return the grid to read its header.
+     */
+    private GridShiftFile getHeader() {
+        try {
+            return getGrid();
+        } catch (IllegalCoordinateException e) {
+            throw new IllegalStateException("Could not load GridShiftFile " + grid_file, e);
+        }
     }
 }
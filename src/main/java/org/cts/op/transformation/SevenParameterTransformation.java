@@ -370,20 +370,37 @@ public class SevenParameterTransformation extends AbstractCoordinateOperation
         if (coord.length < 3) {
             throw new CoordinateDimensionException(coord, 3);
         }
+        transform(coord, 0, 1, coord.length);
+        return coord;
+    }
+
+    /**
+     * Transform <code>count</code> coordinates stored one after the other in
+     * <code>packed</code>, see {@link #transform(double[])}.
+     *
+     * @param packed array holding the coordinates one after the other
+     * @param offset index of the first ordinate of the first coordinate
+     * @param count  number of coordinates to transform
+     * @param stride number of ordinates of each coordinate
+     */
+    @Override
+    public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+        checkPackedCoordinates(packed, offset, count, stride, 3);
         double rotationSign = (rotationConvention == POSITION_VECTOR) ? 1.0 : -1.0;
-        double x = coord[0];
-        double y = coord[1];
-        double z = coord[2];
         double srx = rx * rotationSign;
         double sry = ry * rotationSign;
         double srz = rz * rotationSign;
         srx = linearized ? srx : sin(srx);
         sry = linearized ? sry : sin(sry);
         srz = linearized ? srz : sin(srz);
-        coord[0] = tx + scale * (x + z * sry - y * srz);
-        coord[1] = ty + scale * (y + x * srz - z * srx);
-        coord[2] = tz + scale * (z + y * srx - x * sry);
-        return coord;
+        for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+            double x = packed[pos];
+            double y = packed[pos + 1];
+            double z = packed[pos + 2];
+            packed[pos] = tx + scale * (x + z * sry - y * srz);
+            packed[pos + 1] = ty + scale * (y + x * srz - z * srx);
+            packed[pos + 2] = tz + scale * (z + y * srx - x * sry);
+        }
     }
 
     /**
@@ -403,24 +420,23 @@ public class SevenParameterTransformation extends AbstractCoordinateOperation
         return new SevenParameterTransformation(tx, ty, tz, rx, ry, rz, scale,
                 rotationConvention, linearized, precision) {
             @Override
-            public double[] transform(double[] coord) throws IllegalCoordinateException {
-                if (coord.length < 3) {
-                    throw new CoordinateDimensionException(coord, 3);
-                }
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 3);
                 double rotationSign = (rotationConvention == POSITION_VECTOR) ? 1.0 : -1.0;
-                double x = coord[0] - tx;
-                double y = coord[1] - ty;
-                double z = coord[2] - tz;
                 double srx = rx * rotationSign;
                 double sry = ry * rotationSign;
                 double srz = rz * rotationSign;
                 srx = linearized ? -srx : -sin(srx);
                 sry = linearized ? -sry : -sin(sry);
                 srz = linearized ? -srz : -sin(srz);
-                coord[0] = (1.0 / scale) * (x * (1 + srx * srx) + z * (sry + srx * srz) - y * (srz - srx * sry)) / (1 + srx * srx + sry * sry + srz * srz);
-                coord[1] = (1.0 / scale) * (y * (1 + sry * sry) + x * (srz + srx * sry) - z * (srx - sry * srz)) / (1 + srx * srx + sry * sry + srz * srz);
-                coord[2] = (1.0 / scale) * (z * (1 + srz * srz) + y * (srx + sry * srz) - x * (sry - srx * srz)) / (1 + srx * srx + sry * sry + srz * srz);
-                return coord;
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double x = packed[pos] - tx;
+                    double y = packed[pos + 1] - ty;
+                    double z = packed[pos + 2] - tz;
+                    packed[pos] = (1.0 / scale) * (x * (1 + srx * srx) + z * (sry + srx * srz) - y * (srz - srx * sry)) / (1 + srx * srx + sry * sry + srz * srz);
+                    packed[pos + 1] = (1.0 / scale) * (y * (1 + sry * sry) + x * (srz + srx * sry) - z * (srx - sry * srz)) / (1 + srx * srx + sry * sry + srz * srz);
+                    packed[pos + 2] = (1.0 / scale) * (z * (1 + srz * srz) + y * (srx + sry * srz) - x * (sry - srx * srz)) / (1 + srx * srx + sry * sry + srz * srz);
+                }
             }
 
             @Override
@@ -447,14 +463,9 @@ public class SevenParameterTransformation extends AbstractCoordinateOperation
         return new SevenParameterTransformation(tx, ty, tz, rx, ry, rz, scale,
                 rotationConvention, linearized, precision) {
             @Override
-            public double[] transform(double[] coord) throws IllegalCoordinateException {
-                if (coord.length < 3) {
-                    throw new CoordinateDimensionException(coord, 3);
-                }
+            public void transform(double[] packed, int offset, int count, int stride) throws IllegalCoordinateException {
+                checkPackedCoordinates(packed, offset, count, stride, 3);
                 double rotationSign = (rotationConvention == POSITION_VECTOR) ? 1.0 : -1.0;
-                double x = coord[0] - tx;
-                double y = coord[1] - ty;
-                double z = coord[2] - tz;
                 double srx = rx * rotationSign;
                 double sry = ry * rotationSign;
                 double srz = rz * rotationSign;
@@ -464,10 +475,14 @@ public class SevenParameterTransformation extends AbstractCoordinateOperation
                 double e = scale;
                 double e2 = e * e;
                 double det = e * (e2 + srx * srx + sry * sry + srz * srz);
-                coord[0] = (x * (e2 + srx * srx) + z * (srx * srz - e * sry) + y * (e * srz + srx * sry)) / det;
-                coord[1] = (y * (e2 + sry * sry) + x * (sry * srx - e * srz) + z * (e * srx + sry * srz)) / det;
-                coord[2] = (z * (e2 + srz * srz) + y * (srz * sry - e * srx) + x * (e * sry + srz * srx)) / det;
-                return coord;
+                for (int pos = offset, end = offset + count * stride; pos < end; pos += stride) {
+                    double x = packed[pos] - tx;
+                    double y = packed[pos + 1] - ty;
+                    double z = packed[pos + 2] - tz;
+                    packed[pos] = (x * (e2 + srx * srx) + z * (srx * srz - e * sry) + y * (e * srz + srx * sry)) / det;
+                    packed[pos + 1] = (y * (e2 + sry * sry) + x * (sry * srx - e * srz) + z * (e * srx + sry * srz)) / det;
+                    packed[pos + 2] = (z * (e2 + srz * srz) + y * (srz * sry - e * srx) + x * (e * sry + srz * srx)) / det;
+                }
             }
 
             @Override
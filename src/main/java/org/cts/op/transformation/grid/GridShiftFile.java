@@ -27,6 +27,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -46,9 +50,10 @@ public class GridShiftFile
     private double fromSemiMinorAxis;
     private double toSemiMajorAxis;
     private double toSemiMinorAxis;
-    private SubGrid[] topLevelSubGrid;
-    private SubGrid lastSubGrid;
+    private volatile SubGrid[] topLevelSubGrid;
+    private volatile SubGridIndex topLevelIndex;
     private transient RandomAccessFile raf;
+    private transient ByteBuffer buffer;
 
     public void loadGridShiftFile(InputStream in, boolean loadAccuracy)
             throws IOException {
@@ -109,8 +114,9 @@ public class GridShiftFile
         for (int i = 0; i < this.subGridCount; i++) {
             subGrid[i] = new SubGrid(in, bigEndian, loadAccuracy);
         }
-        this.topLevelSubGrid = createSubGridTree(subGrid);
-        this.lastSubGrid = this.topLevelSubGrid[0];
+        SubGrid[] tree = createSubGridTree(subGrid);
+        this.topLevelIndex = new SubGridIndex(tree);
+        this.topLevelSubGrid = tree;
 
         in.close();
     }
@@ -180,8 +186,72 @@ public class GridShiftFile
             subGrid[i] = new SubGrid(raf, offset, bigEndian);
             offset = offset + this.subGridHeaderCount * 16L + subGrid[i].getNodeCount() * 16L;
         }
-        this.topLevelSubGrid = createSubGridTree(subGrid);
-        this.lastSubGrid = this.topLevelSubGrid[0];
+        SubGrid[] tree = createSubGridTree(subGrid);
+        this.topLevelIndex = new SubGridIndex(tree);
+        this.topLevelSubGrid = tree;
+    }
+
+    /**
+     * Load the grid shift file by mapping it in memory. Only the headers are
+     * read, the nodes are read from the mapped buffer when needed, so that
+     * the grid is neither loaded in the heap nor read through a shared file
+     * pointer. The channel can be closed once this method returns.
+     *
+     * @param channel the channel of the grid shift file
+     * @throws IOException
+     */
+    public void loadGridShiftFile(FileChannel channel)
+            throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("The grid shift file is too large to be mapped in memory");
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+        loadGridShiftFile(mapped);
+    }
+
+    /**
+     * Load the grid shift file from a buffer containing the whole file.
+     * The buffer is only read with absolute get methods, and can be used by
+     * several threads at the same time.
+     *
+     * @param buffer a buffer containing the whole grid shift file
+     */
+    public void loadGridShiftFile(ByteBuffer buffer) {
+        this.topLevelSubGrid = null;
+        this.overviewHeaderCountId = SubGrid.getString(buffer, 0);
+        if (!"NUM_OREC".equals(this.overviewHeaderCountId)) {
+            throw new IllegalArgumentException("Input file is not an NTv2 grid shift file");
+        }
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        this.overviewHeaderCount = buffer.getInt(8);
+        if (this.overviewHeaderCount != 11) {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            this.overviewHeaderCount = buffer.getInt(8);
+            if (this.overviewHeaderCount != 11) {
+                throw new IllegalArgumentException("Input file is not an NTv2 grid shift file");
+            }
+        }
+        this.subGridHeaderCount = buffer.getInt(24);
+        this.subGridCount = buffer.getInt(40);
+        this.shiftType = SubGrid.getString(buffer, 56);
+        this.version = SubGrid.getString(buffer, 72);
+        this.fromEllipsoid = SubGrid.getString(buffer, 88);
+        this.toEllipsoid = SubGrid.getString(buffer, 104);
+        this.fromSemiMajorAxis = buffer.getDouble(120);
+        this.fromSemiMinorAxis = buffer.getDouble(136);
+        this.toSemiMajorAxis = buffer.getDouble(152);
+        this.toSemiMinorAxis = buffer.getDouble(168);
+
+        SubGrid[] subGrid = new SubGrid[this.subGridCount];
+        long offset = this.overviewHeaderCount * 16L;
+        for (int i = 0; i < this.subGridCount; i++) {
+            subGrid[i] = new SubGrid(buffer, (int) offset);
+            offset = offset + this.subGridHeaderCount * 16L + subGrid[i].getNodeCount() * 16L;
+        }
+        this.buffer = buffer;
+        SubGrid[] tree = createSubGridTree(subGrid);
+        this.topLevelIndex = new SubGridIndex(tree);
+        this.topLevelSubGrid = tree;
     }
 
     private SubGrid[] createSubGridTree(SubGrid[] subGrid) {
@@ -216,16 +286,12 @@ public class GridShiftFile
 
     public boolean gridShiftForward(GridShift gs)
             throws IOException {
-        SubGrid subGrid = this.lastSubGrid.getSubGridForCoord(gs.getLonPositiveWestSeconds(), gs.getLatSeconds());
-        if (subGrid == null) {
-            subGrid = getSubGrid(gs.getLonPositiveWestSeconds(), gs.getLatSeconds());
-        }
+        SubGrid subGrid = getSubGrid(gs.getLonPositiveWestSeconds(), gs.getLatSeconds());
         if (subGrid == null) {
             return false;
         }
         subGrid.interpolateGridShift(gs);
         gs.setSubGridName(subGrid.getSubGridName());
-        this.lastSubGrid = subGrid;
         return true;
     }
 
@@ -255,23 +321,46 @@ public class GridShiftFile
         return true;
     }
 
-    private SubGrid getSubGrid(double lon, double lat) {
-        SubGrid sub = null;
-        for (SubGrid aTopLevelSubGrid : this.topLevelSubGrid) {
-            sub = aTopLevelSubGrid.getSubGridForCoord(lon, lat);
-            if (sub != null) {
-                break;
-            }
-        }
-        return sub;
+    /**
+     * Return the most detailed sub grid containing the coordinate, or null
+     * if the coordinate is outside of this grid shift file. The top level
+     * sub grid is found through a {@link SubGridIndex} built when the file
+     * is loaded, so that the search does not depend on previous searches
+     * and may be done by several threads at the same time.
+     *
+     * @param lon the longitude, in seconds positive west
+     * @param lat the latitude, in seconds
+     */
+    SubGrid getSubGrid(double lon, double lat) {
+        SubGrid[] grids = this.topLevelSubGrid;
+        SubGridIndex index = this.topLevelIndex;
+        SubGrid sub = index.find(grids, lon, lat);
+        return sub == null ? null : sub.getSubGridForCoord(lon, lat);
     }
 
     public boolean isLoaded() {
         return this.topLevelSubGrid != null;
     }
 
+    /**
+     * Return the approximate number of bytes used in the heap by this grid
+     * shift file. Grids read from a file or a mapped buffer use almost no heap.
+     */
+    public long getMemoryUsage() {
+        SubGrid[] subGrids = this.topLevelSubGrid;
+        long size = 0L;
+        if (subGrids != null) {
+            for (SubGrid subGrid : subGrids) {
+                size += subGrid.getMemoryUsage();
+            }
+        }
+        return size;
+    }
+
     public void unload() throws IOException {
         this.topLevelSubGrid = null;
+        this.topLevelIndex = null;
+        this.buffer = null;
         if (this.raf != null) {
             this.raf.close();
             this.raf = null;
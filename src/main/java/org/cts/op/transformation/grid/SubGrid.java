@@ -27,6 +27,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 public class SubGrid implements Cloneable, Serializable {
 
@@ -49,13 +51,16 @@ public class SubGrid implements Cloneable, Serializable {
     private float[] latAccuracy;
     private float[] lonAccuracy;
     private final RandomAccessFile raf;
+    private final transient ByteBuffer buffer;
     private long subGridOffset;
     boolean bigEndian;
     private SubGrid[] subGrid;
+    private SubGridIndex subGridIndex;
 
     public SubGrid(InputStream in, boolean bigEndian, boolean loadAccuracy)
             throws IOException {
         this.raf = null;
+        this.buffer = null;
         byte[] b8 = new byte[8];
         byte[] b4 = new byte[4];
         in.read(b8);
@@ -122,6 +127,7 @@ public class SubGrid implements Cloneable, Serializable {
     public SubGrid(RandomAccessFile raf, long subGridOffset, boolean bigEndian)
             throws IOException {
         this.raf = raf;
+        this.buffer = null;
         this.subGridOffset = subGridOffset;
         this.bigEndian = bigEndian;
         raf.seek(subGridOffset);
@@ -166,23 +172,76 @@ public class SubGrid implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Creates a SubGrid reading its nodes from a buffer containing the whole
+     * grid shift file (usually a file mapped in memory). The byte order of
+     * the buffer must be the one of the file. The buffer is only read with
+     * absolute get methods, so that it can be shared by several threads.
+     *
+     * @param buffer        the buffer containing the grid shift file
+     * @param subGridOffset the position of the sub grid header in the buffer
+     */
+    public SubGrid(ByteBuffer buffer, int subGridOffset) {
+        this.raf = null;
+        this.buffer = buffer;
+        this.subGridOffset = subGridOffset;
+        this.bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        this.subGridName = getString(buffer, subGridOffset + 8).trim();
+        this.parentSubGridName = getString(buffer, subGridOffset + 24).trim();
+        this.created = getString(buffer, subGridOffset + 40);
+        this.updated = getString(buffer, subGridOffset + 56);
+        this.minLat = buffer.getDouble(subGridOffset + 72);
+        this.maxLat = buffer.getDouble(subGridOffset + 88);
+        this.minLon = buffer.getDouble(subGridOffset + 104);
+        this.maxLon = buffer.getDouble(subGridOffset + 120);
+        this.latInterval = buffer.getDouble(subGridOffset + 136);
+        this.lonInterval = buffer.getDouble(subGridOffset + 152);
+        this.lonColumnCount = (1 + (int) ((this.maxLon - this.minLon) / this.lonInterval));
+        this.latRowCount = (1 + (int) ((this.maxLat - this.minLat) / this.latInterval));
+        this.nodeCount = buffer.getInt(subGridOffset + 168);
+        if (this.nodeCount != this.lonColumnCount * this.latRowCount) {
+            throw new IllegalStateException("SubGrid " + this.subGridName + " has inconsistent grid dimesions");
+        }
+    }
+
+    /**
+     * Read the 8 characters string at index in buffer without changing the
+     * position of the buffer.
+     */
+    static String getString(ByteBuffer buffer, int index) {
+        byte[] b8 = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            b8[i] = buffer.get(index + i);
+        }
+        return new String(b8);
+    }
+
+    /**
+     * Return the most detailed sub grid containing the coordinate : this sub
+     * grid or one of its descendants, or null if this sub grid does not
+     * contain the coordinate. Children are found through a
+     * {@link SubGridIndex}.
+     *
+     * @param lon the longitude, in seconds positive west
+     * @param lat the latitude, in seconds
+     */
     public SubGrid getSubGridForCoord(double lon, double lat) {
         if (isCoordWithin(lon, lat)) {
-            if (this.subGrid == null) {
-                return this;
-            }
-            for (SubGrid aSubGrid : this.subGrid) {
-                if (aSubGrid.isCoordWithin(lon, lat)) {
-                    return aSubGrid.getSubGridForCoord(lon, lat);
+            SubGrid grid = this;
+            while (grid.subGrid != null) {
+                SubGrid child = grid.subGridIndex.find(grid.subGrid, lon, lat);
+                if (child == null) {
+                    break;
                 }
+                grid = child;
             }
-            return this;
+            return grid;
         }
 
         return null;
     }
 
-    private boolean isCoordWithin(double lon, double lat) {
+    boolean isCoordWithin(double lon, double lat) {
         return (lon >= this.minLon) && (lon < this.maxLon) && (lat >= this.minLat) && (lat < this.maxLat);
     }
 
@@ -203,7 +262,28 @@ public class SubGrid implements Cloneable, Serializable {
         int indexC = indexA + this.lonColumnCount;
         int indexD = indexC + 1;
 
-        if (this.raf == null) {
+        if (this.buffer != null) {
+            int nodeOffset = (int) this.subGridOffset + 176;
+            int offsetA = nodeOffset + indexA * 16;
+            int offsetB = nodeOffset + indexB * 16;
+            int offsetC = nodeOffset + indexC * 16;
+            int offsetD = nodeOffset + indexD * 16;
+            ByteBuffer b = this.buffer;
+
+            gs.setLonShiftPositiveWestSeconds(interpolate(b.getFloat(offsetA + 4), b.getFloat(offsetB + 4),
+                    b.getFloat(offsetC + 4), b.getFloat(offsetD + 4), X, Y));
+
+            gs.setLatShiftSeconds(interpolate(b.getFloat(offsetA), b.getFloat(offsetB),
+                    b.getFloat(offsetC), b.getFloat(offsetD), X, Y));
+
+            gs.setLonAccuracyAvailable(true);
+            gs.setLonAccuracySeconds(interpolate(b.getFloat(offsetA + 12), b.getFloat(offsetB + 12),
+                    b.getFloat(offsetC + 12), b.getFloat(offsetD + 12), X, Y));
+
+            gs.setLatAccuracyAvailable(true);
+            gs.setLatAccuracySeconds(interpolate(b.getFloat(offsetA + 8), b.getFloat(offsetB + 8),
+                    b.getFloat(offsetC + 8), b.getFloat(offsetD + 8), X, Y));
+        } else if (this.raf == null) {
             gs.setLonShiftPositiveWestSeconds(interpolate(this.lonShift[indexA], this.lonShift[indexB], this.lonShift[indexC], this.lonShift[indexD], X, Y));
 
             gs.setLatShiftSeconds(interpolate(this.latShift[indexA], this.latShift[indexB], this.latShift[indexC], this.latShift[indexD], X, Y));
@@ -303,9 +383,29 @@ public class SubGrid implements Cloneable, Serializable {
     }
 
     public void setSubGridArray(SubGrid[] subGrid) {
+        this.subGridIndex = subGrid == null ? null : new SubGridIndex(subGrid);
         this.subGrid = subGrid;
     }
 
+    /**
+     * Return the approximate number of bytes used in the heap by the shifts
+     * of this sub grid and of its children.
+     */
+    public long getMemoryUsage() {
+        long size = 0L;
+        for (float[] array : new float[][]{latShift, lonShift, latAccuracy, lonAccuracy}) {
+            if (array != null) {
+                size += 4L * array.length;
+            }
+        }
+        if (this.subGrid != null) {
+            for (SubGrid child : this.subGrid) {
+                size += child.getMemoryUsage();
+            }
+        }
+        return size;
+    }
+
     @Override
     public String toString() {
         return this.subGridName;
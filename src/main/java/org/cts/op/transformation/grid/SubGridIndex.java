@@ -0,0 +1,130 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation.grid;
+
+import java.io.Serializable;
+
+/**
+ * A spatial index over sub grids of the same level, used to find the sub
+ * grid containing a coordinate without testing all of them. The extent of
+ * the sub grids is divided into a regular grid of buckets, and each bucket
+ * keeps the indexes of the sub grids intersecting it, in their original
+ * order. The index is immutable once built, and can be used by several
+ * threads at the same time.
+ */
+final class SubGridIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The maximum number of buckets along each axis.
+     */
+    private static final int MAX_SIDE = 64;
+
+    private final double minLon;
+    private final double maxLon;
+    private final double minLat;
+    private final double maxLat;
+    private final int side;
+    private final double lonStep;
+    private final double latStep;
+    private final int[][] buckets;
+
+    /**
+     * Build the index of grids.
+     *
+     * @param grids the sub grids to index
+     */
+    SubGridIndex(SubGrid[] grids) {
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (SubGrid grid : grids) {
+            minX = Math.min(minX, grid.getMinLon());
+            maxX = Math.max(maxX, grid.getMaxLon());
+            minY = Math.min(minY, grid.getMinLat());
+            maxY = Math.max(maxY, grid.getMaxLat());
+        }
+        this.minLon = minX;
+        this.maxLon = maxX;
+        this.minLat = minY;
+        this.maxLat = maxY;
+        this.side = Math.max(1, Math.min(MAX_SIDE, 2 * (int) Math.ceil(Math.sqrt(grids.length))));
+        this.lonStep = (maxX - minX) / side;
+        this.latStep = (maxY - minY) / side;
+        int[] counts = new int[side * side];
+        for (SubGrid grid : grids) {
+            for (int i = row(grid.getMinLat()); i <= row(grid.getMaxLat()); i++) {
+                for (int j = column(grid.getMinLon()); j <= column(grid.getMaxLon()); j++) {
+                    counts[i * side + j]++;
+                }
+            }
+        }
+        this.buckets = new int[side * side][];
+        for (int b = 0; b < buckets.length; b++) {
+            buckets[b] = new int[counts[b]];
+            counts[b] = 0;
+        }
+        for (int g = 0; g < grids.length; g++) {
+            SubGrid grid = grids[g];
+            for (int i = row(grid.getMinLat()); i <= row(grid.getMaxLat()); i++) {
+                for (int j = column(grid.getMinLon()); j <= column(grid.getMaxLon()); j++) {
+                    int b = i * side + j;
+                    buckets[b][counts[b]++] = g;
+                }
+            }
+        }
+    }
+
+    private int column(double lon) {
+        int j = (int) ((lon - minLon) / lonStep);
+        return j < 0 ? 0 : (j >= side ? side - 1 : j);
+    }
+
+    private int row(double lat) {
+        int i = (int) ((lat - minLat) / latStep);
+        return i < 0 ? 0 : (i >= side ? side - 1 : i);
+    }
+
+    /**
+     * Return the first of grids containing the coordinate, or null if none
+     * of them contains it.
+     *
+     * @param grids the sub grids used to build this index
+     * @param lon   the longitude, in seconds positive west
+     * @param lat   the latitude, in seconds
+     */
+    SubGrid find(SubGrid[] grids, double lon, double lat) {
+        if (!(lon >= minLon && lon < maxLon && lat >= minLat && lat < maxLat)) {
+            return null;
+        }
+        for (int g : buckets[row(lat) * side + column(lon)]) {
+            if (grids[g].isCoordWithin(lon, lat)) {
+                return grids[g];
+            }
+        }
+        return null;
+    }
+}
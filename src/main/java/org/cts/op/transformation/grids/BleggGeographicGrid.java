@@ -151,12 +151,12 @@ public class BleggGeographicGrid extends GeographicGrid {
                 }
                 groupNumber++;
             }
-            values = new double[rowNumber][colNumber][];
-            values[0][0][0] = intVal[0] / (float) scale;
-            values[0][1][0] = intVal[1] / (float) scale;
+            values = new double[rowNumber * colNumber];
+            values[getIndex(0, 0)] = intVal[0] / (float) scale;
+            values[getIndex(0, 1)] = intVal[1] / (float) scale;
             for (int i = 2; i < rowNumber * colNumber; i++) {
                 int[] lc = getPos(i, rowNumber, colNumber);
-                values[lc[0]][lc[1]][0] = intVal[i] / (float) scale;
+                values[getIndex(lc[0], lc[1])] = intVal[i] / (float) scale;
             }
         } catch (Exception e) {
             throw e;
@@ -290,7 +290,7 @@ public class BleggGeographicGrid extends GeographicGrid {
     public static void write(GeographicGrid gg,
                              OutputStream os) throws Exception {
 
-        compress(gg.getValues(), gg.getScale(), 16, gg.getX0(), gg.getY0(),
+        compress(gg.copyValues(), gg.getScale(), 16, gg.getX0(), gg.getY0(),
                 gg.getGridWidth(), gg.getGridHeight(), os);
     }
 
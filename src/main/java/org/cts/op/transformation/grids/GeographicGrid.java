@@ -26,6 +26,10 @@ package org.cts.op.transformation.grids;
 import org.cts.cs.GeographicExtent;
 import org.cts.cs.OutOfExtentException;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -58,10 +62,12 @@ public class GeographicGrid implements Grid {
      */
     int scale = 1;
     /**
-     * 3-dimensions array containing transformation parameters (rotation,
-     * translation and scale coefficients) for each node of the grid.
+     * Transformation parameters (rotation, translation and scale coefficients)
+     * of each node of the grid, stored in a single array. Nodes are stored row
+     * by row, and the dim values of the node in row r and column c start at
+     * index (r * colNumber + c) * dim.
      */
-    protected double[][][] values;
+    protected double[] values;
     /**
      * Context object (may be used to specify the reference Datum).
      */
@@ -105,7 +111,7 @@ public class GeographicGrid implements Grid {
         this.extent = new GeographicExtent("GG", yL, y0, x0, xL, modulo);
         this.scale = scale;
         this.context = context;
-        values = new double[rowNumber][colNumber][dim];
+        values = new double[rowNumber * colNumber * dim];
     }
 
     /**
@@ -225,15 +231,54 @@ public class GeographicGrid implements Grid {
         return context;
     }
 
+    /**
+     * Get the number of values stored in each node of the grid.
+     *
+     * @return
+     */
+    public int getDim() {
+        return dim;
+    }
+
+    /**
+     * Get the index of the first value of the node in row r and column c in
+     * the array returned by {@link #getValueArray()}.
+     *
+     * @param r row index
+     * @param c column index
+     * @return
+     */
+    public int getIndex(int r, int c) {
+        return (r * colNumber + c) * dim;
+    }
+
     /**
      * get the value in row r and column c
      *
      * @param r row index
      * @param c column index
      * @return
+     * @deprecated the values are stored in a single array, so the returned
+     * array is a copy and changing it does not change the grid. Use
+     * {@link #copyValues(int, int)} to read the values and
+     * {@link #setValue(int, int, double[])} to change them.
      */
+    @Deprecated
     public double[] getValues(int r, int c) {
-        return values[r][c];
+        return copyValues(r, c);
+    }
+
+    /**
+     * Return a copy of the values in row r and column c.
+     *
+     * @param r row index
+     * @param c column index
+     * @return a new array of length dim
+     */
+    public double[] copyValues(int r, int c) {
+        double[] v = new double[dim];
+        System.arraycopy(values, getIndex(r, c), v, 0, dim);
+        return v;
     }
 
     /**
@@ -244,7 +289,7 @@ public class GeographicGrid implements Grid {
      * @param values new value for row r column c
      */
     public void setValue(int r, int c, double[] values) {
-        System.arraycopy(values, 0, this.values[r][c], 0, dim);
+        System.arraycopy(values, 0, this.values, getIndex(r, c), dim);
     }
 
     /**
@@ -267,11 +312,97 @@ public class GeographicGrid implements Grid {
      * Return the array of values.
      *
      * @return
+     * @deprecated the values are stored in a single array, so the returned
+     * array is a copy and changing it does not change the grid. Use
+     * {@link #copyValues()} or {@link #getValueArray()}.
      */
+    @Deprecated
     public double[][][] getValues() {
+        return copyValues();
+    }
+
+    /**
+     * Return a copy of the values as a [row][column][dim] array.
+     *
+     * @return
+     */
+    public double[][][] copyValues() {
+        double[][][] array = new double[rowNumber][colNumber][dim];
+        for (int r = 0; r < rowNumber; r++) {
+            for (int c = 0; c < colNumber; c++) {
+                System.arraycopy(values, getIndex(r, c), array[r][c], 0, dim);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Return the array backing this grid. Values are stored row by row, see
+     * {@link #getIndex(int, int)}.
+     *
+     * @return
+     */
+    public double[] getValueArray() {
         return values;
     }
 
+    /**
+     * Return the approximate number of bytes used in the heap by the values
+     * of this grid.
+     */
+    public long getMemoryUsage() {
+        return values == null ? 0L : 8L * values.length;
+    }
+
+    /**
+     * Write the geometry and the values of this grid in the binary format
+     * read by {@link #readBinary(ByteBuffer)}. Subclasses write their own
+     * fields before calling this method.
+     *
+     * @param out the output to write into
+     * @throws IOException
+     */
+    protected void writeBinary(DataOutputStream out) throws IOException {
+        out.writeInt(colNumber);
+        out.writeInt(rowNumber);
+        out.writeInt(dim);
+        out.writeDouble(x0);
+        out.writeDouble(y0);
+        out.writeDouble(xL);
+        out.writeDouble(yL);
+        out.writeDouble(dx);
+        out.writeDouble(dy);
+        out.writeDouble(modulo);
+        out.writeInt(scale);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Read the geometry and the values of this grid from a buffer written by
+     * {@link #writeBinary(DataOutputStream)}. The values are read with a
+     * single bulk get.
+     *
+     * @param in the buffer to read from
+     */
+    protected void readBinary(ByteBuffer in) {
+        colNumber = in.getInt();
+        rowNumber = in.getInt();
+        dim = in.getInt();
+        x0 = in.getDouble();
+        y0 = in.getDouble();
+        xL = in.getDouble();
+        yL = in.getDouble();
+        dx = in.getDouble();
+        dy = in.getDouble();
+        modulo = in.getDouble();
+        scale = in.getInt();
+        values = new double[rowNumber * colNumber * dim];
+        in.asDoubleBuffer().get(values);
+        in.position(in.position() + values.length * 8);
+    }
+
     /**
      * Return a double value interpolated in this geographic grid with a
      * bilinear interpolation method.
@@ -295,6 +426,23 @@ public class GeographicGrid implements Grid {
      */
     public double[] bilinearInterpolation(double latitude, double longitude)
             throws OutOfExtentException {
+        return bilinearInterpolation(latitude, longitude, new double[dim]);
+    }
+
+    /**
+     * Interpolate the values of this geographic grid at the given position
+     * with a bilinear interpolation method, and write them into shift. This
+     * method does not allocate anything and may be called in a loop with the
+     * same output array.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @param shift     the array receiving the dim interpolated values
+     * @return shift
+     * @throws org.cts.cs.OutOfExtentException
+     */
+    public double[] bilinearInterpolation(double latitude, double longitude, double[] shift)
+            throws OutOfExtentException {
         if (!extent.isInside(latitude, longitude)) {
             throw new OutOfExtentException(new double[]{latitude, longitude}, extent);
         }
@@ -313,12 +461,17 @@ public class GeographicGrid implements Grid {
         // Les tests j<(cnb-1) et i<(rnb-1) permettent de gérer le cas des
         // coordonnées situées exactement sur la dernière ligne ou dernière
         // colonne (cela revient à les dupliquer)
-        double[] shift = new double[dim];
+        int i1 = i < (rowNumber - 1) ? i + 1 : i;
+        int j1 = j < (colNumber - 1) ? j + 1 : j;
+        int n1 = getIndex(i, j);
+        int n2 = getIndex(i1, j);
+        int n3 = getIndex(i, j1);
+        int n4 = getIndex(i1, j1);
         for (int k = 0; k < dim; k++) {
-            double d1 = values[i][j][k];
-            double d2 = values[i < (rowNumber - 1) ? i + 1 : i][j][k];
-            double d3 = values[i][j < (colNumber - 1) ? j + 1 : j][k];
-            double d4 = values[i < (rowNumber - 1) ? i + 1 : i][j < (colNumber - 1) ? j + 1 : j][k];
+            double d1 = values[n1 + k];
+            double d2 = values[n2 + k];
+            double d3 = values[n3 + k];
+            double d4 = values[n4 + k];
             shift[k] = ((1 - fx) * (1 - fy) * d1 + (1 - fx) * fy * d2 + fx * (1 - fy) * d3 + fx * fy * d4);
         }
         return shift;
@@ -345,7 +498,7 @@ public class GeographicGrid implements Grid {
                 + " eastLon=" + xL + " southLat=" + yL + " Column[" + colNumber + "] Row[" + rowNumber + "])\n");
         for (int i = 0; i < rowNumber; i++) {
             for (int j = 0; j < colNumber; j++) {
-                sb.append(values[i][j]);
+                sb.append(Arrays.toString(copyValues(i, j)));
                 if (j < (colNumber - 1)) {
                     sb.append("\t");
                 }
@@ -375,21 +528,14 @@ public class GeographicGrid implements Grid {
         if (Double.compare(that.yL, yL) != 0) return false;
         if (!Objects.equals(context, that.context)) return false;
         if (!Objects.equals(extent, that.extent)) return false;
-        double[][][] thisArray3 = this.values;
-        double[][][] thatArray3 = that.values;
-        if (thisArray3.length != thatArray3.length) return false;
+        if (this.values.length != that.values.length) return false;
         // Check a small sample of grid values in the grid
         // (ok: equality check is more restrictive than hashcode)
-        for (int i = 0; i < thisArray3.length; i += thisArray3.length / 3) {
-            double[][] thisArray2 = thisArray3[i];
-            double[][] thatArray2 = thisArray3[i];
-            if (thisArray2.length != thatArray2.length) return false;
-            for (int j = 0; j < thisArray2.length; j += thisArray2.length / 3) {
-                double[] thisArray1 = thisArray2[j];
-                double[] thatArray1 = thisArray2[j];
-                if (thisArray1.length != thatArray1.length) return false;
-                for (int k = 0; k < thisArray1.length; k++) {
-                    if (thisArray1[k] != thatArray1[k]) return false;
+        for (int i = 0; i < rowNumber; i += Math.max(1, rowNumber / 3)) {
+            for (int j = 0; j < colNumber; j += Math.max(1, colNumber / 3)) {
+                int n = getIndex(i, j);
+                for (int k = 0; k < dim; k++) {
+                    if (Double.compare(this.values[n + k], that.values[n + k]) != 0) return false;
                 }
             }
         }
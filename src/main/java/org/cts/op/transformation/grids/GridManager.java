@@ -0,0 +1,458 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation.grids;
+
+import org.cts.op.transformation.grid.GridShiftFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide store of the grids used by grid based transformations.<p>
+ * Grids are identified by a key, generally the name or the location of the
+ * grid file, so that all the operations using the same file (for instance a
+ * transformation and its inverse) share a single copy of the grid.<p>
+ * Operations {@link #acquire(String, Class, GridLoader) acquire} a grid before
+ * using it and {@link #release(String) release} it afterwards, or keep a
+ * {@link GridReference} to read the grid without any lock for each coordinate.
+ * When the memory used by the grids exceeds the memory budget, the least
+ * recently used grids which are not in use are unloaded. They are loaded again
+ * the next time they are needed.
+ */
+public final class GridManager {
+
+    static final Logger LOGGER = LoggerFactory.getLogger(GridManager.class);
+
+    /**
+     * Default memory budget of the grids (256 MB).
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    private static final GridManager INSTANCE = new GridManager();
+
+    /**
+     * Load a grid which is not in the manager yet.
+     *
+     * @param <G> the type of grid
+     */
+    public interface GridLoader<G> {
+
+        G load() throws Exception;
+    }
+
+    /**
+     * A reference to a grid of the manager, to be kept by an operation. The
+     * grid is read through a volatile field, without locking the manager, so
+     * that several threads may transform single coordinates at the same time.
+     * The grid is loaded by the first call to {@link #get()}, and loaded again
+     * if it has been unloaded since the previous call.
+     *
+     * @param <G> the type of grid
+     */
+    public static final class GridReference<G> {
+
+        private final GridManager manager;
+        private final String key;
+        private final Class<G> type;
+        private final GridLoader<? extends G> loader;
+        private volatile Entry entry;
+
+        private GridReference(GridManager manager, String key, Class<G> type, GridLoader<? extends G> loader) {
+            this.manager = manager;
+            this.key = key;
+            this.type = type;
+            this.loader = loader;
+        }
+
+        /**
+         * Return the grid, loading it if needed. The grid is not acquired :
+         * it may be unloaded by the manager while it is used, but the grid
+         * object itself remains usable until it is garbage collected. The use
+         * of the grid is recorded by a flag, only written the first time the
+         * grid is read after each eviction check, so that the threads using
+         * the same grid do not write shared memory for each coordinate.
+         *
+         * @throws Exception if the grid cannot be loaded
+         */
+        @SuppressWarnings("unchecked")
+        public G get() throws Exception {
+            Entry e = entry;
+            Object grid = e == null ? null : e.grid;
+            if (grid == null) {
+                return type.cast(manager.load(this));
+            }
+            if (!e.used) {
+                e.used = true;
+            }
+            // The type of the grid has been checked when it was loaded
+            return (G) grid;
+        }
+
+        /**
+         * Return the key identifying the grid in the manager.
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * A grid and its usage.
+     */
+    private static final class Entry {
+
+        final String key;
+        // Following fields are written with the entry locked
+        volatile Object grid;
+        long memory;
+        int references;
+        long lastAccess;
+        boolean removed;
+        // Set when the grid is read through a GridReference, without lock
+        volatile boolean used;
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * The state of an entry at a given time, used to sort the entries.
+     */
+    private static final class Snapshot {
+
+        final Entry entry;
+        final long lastAccess;
+        final long memory;
+        final boolean loaded;
+
+        Snapshot(Entry entry) {
+            synchronized (entry) {
+                this.entry = entry;
+                this.lastAccess = entry.lastAccess;
+                this.memory = entry.memory;
+                this.loaded = !entry.removed && entry.grid != null;
+            }
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    private final AtomicLong memoryUsage = new AtomicLong();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private volatile long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+    /**
+     * Creates a new GridManager. Transformations use the shared instance
+     * returned by {@link #getInstance()}.
+     */
+    GridManager() {
+    }
+
+    /**
+     * Return the grid manager shared by all the transformations.
+     */
+    public static GridManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Return the grid associated to <code>key</code>, loading it with
+     * <code>loader</code> if it is not in the manager yet. Only one thread
+     * loads a given grid. The grid must be released with
+     * {@link #release(String)} once it is not used anymore.
+     *
+     * @param key    the key identifying the grid, generally its file name
+     * @param type   the type of grid
+     * @param loader the loader used if the grid has not been loaded yet
+     * @return the grid
+     * @throws Exception if the grid cannot be loaded, or if the grid stored
+     *                   with this key is not of the expected type
+     */
+    public <G> G acquire(String key, Class<G> type, GridLoader<? extends G> loader) throws Exception {
+        return type.cast(acquire(key, type, loader, null));
+    }
+
+    /**
+     * Return a reference to the grid associated to <code>key</code>. The grid
+     * is loaded with <code>loader</code> the first time it is read through the
+     * reference, and each time it has been unloaded since.
+     *
+     * @param key    the key identifying the grid, generally its file name
+     * @param type   the type of grid
+     * @param loader the loader used if the grid has not been loaded yet
+     */
+    public <G> GridReference<G> getReference(String key, Class<G> type, GridLoader<? extends G> loader) {
+        return new GridReference<G>(this, key, type, loader);
+    }
+
+    /**
+     * Load the grid of a reference if it is not loaded yet, and let the
+     * reference point at its entry. The grid is returned even if it is
+     * unloaded right away to respect the memory budget.
+     */
+    private Object load(GridReference<?> reference) throws Exception {
+        Object grid = acquire(reference.key, reference.type, reference.loader, reference);
+        release(reference.key);
+        return grid;
+    }
+
+    /**
+     * Acquire the grid associated to <code>key</code>, and let
+     * <code>reference</code> point at its entry if it is not null.
+     */
+    private Object acquire(String key, Class<?> type, GridLoader<?> loader,
+                           GridReference<?> reference) throws Exception {
+        while (true) {
+            Entry entry = entries.computeIfAbsent(key, Entry::new);
+            long added;
+            Object grid;
+            synchronized (entry) {
+                if (entry.removed) {
+                    // The entry has just been evicted, use a new one
+                    continue;
+                }
+                added = 0L;
+                if (entry.grid == null) {
+                    try {
+                        grid = loader.load();
+                    } catch (Exception e) {
+                        if (entry.references == 0) {
+                            entry.removed = true;
+                            entries.remove(key, entry);
+                        }
+                        throw e;
+                    }
+                    if (grid == null) {
+                        throw new IOException("The grid " + key + " cannot be loaded.");
+                    }
+                    entry.grid = grid;
+                    entry.memory = getMemoryUsage(grid);
+                    added = entry.memory;
+                    LOGGER.debug("Grid " + key + " loaded (" + entry.memory + " bytes)");
+                }
+                if (!type.isInstance(entry.grid)) {
+                    throw new IllegalArgumentException("The grid " + key + " is a "
+                            + entry.grid.getClass().getSimpleName() + ", not a " + type.getSimpleName());
+                }
+                entry.references++;
+                entry.lastAccess = clock.incrementAndGet();
+                grid = entry.grid;
+                if (reference != null) {
+                    reference.entry = entry;
+                }
+            }
+            if (added > 0 && memoryUsage.addAndGet(added) > memoryBudget) {
+                evict();
+            }
+            return grid;
+        }
+    }
+
+    /**
+     * Release a grid acquired with
+     * {@link #acquire(String, Class, GridLoader)}.
+     *
+     * @param key the key identifying the grid
+     */
+    public void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            synchronized (entry) {
+                if (entry.references > 0) {
+                    entry.references--;
+                }
+            }
+            if (memoryUsage.get() > memoryBudget) {
+                evict();
+            }
+        }
+    }
+
+    /**
+     * Return true if the grid associated to <code>key</code> is loaded.
+     *
+     * @param key the key identifying the grid
+     */
+    public boolean isLoaded(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (entry) {
+            return !entry.removed && entry.grid != null;
+        }
+    }
+
+    /**
+     * Unload the grid associated to <code>key</code> if it is not in use.
+     *
+     * @param key the key identifying the grid
+     * @return true if the grid has been unloaded
+     */
+    public boolean unload(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && remove(entry);
+    }
+
+    /**
+     * Unload all the grids which are not in use.
+     */
+    public void clear() {
+        for (Entry entry : new ArrayList<Entry>(entries.values())) {
+            remove(entry);
+        }
+    }
+
+    /**
+     * Return the maximum number of bytes the grids should use. Grids in use
+     * are never unloaded, so the budget may be temporarily exceeded.
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Set the maximum number of bytes the grids should use. Grids which are
+     * not in use are unloaded if the new budget is exceeded.
+     *
+     * @param memoryBudget the memory budget in bytes
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("The memory budget cannot be negative : " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+        evict();
+    }
+
+    /**
+     * Return the approximate number of bytes used by all the loaded grids.
+     */
+    public long getMemoryUsage() {
+        return memoryUsage.get();
+    }
+
+    /**
+     * Return the approximate number of bytes used by each loaded grid, the
+     * most recently used grids first.
+     */
+    public Map<String, Long> getGridMemoryUsage() {
+        List<Snapshot> loaded = snapshot();
+        Collections.reverse(loaded);
+        Map<String, Long> usage = new LinkedHashMap<String, Long>();
+        for (Snapshot snapshot : loaded) {
+            if (snapshot.loaded) {
+                usage.put(snapshot.entry.key, snapshot.memory);
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Return the approximate number of bytes used in the heap by a grid.
+     *
+     * @param grid a GeographicGrid or a GridShiftFile
+     */
+    public static long getMemoryUsage(Object grid) {
+        if (grid instanceof GeographicGrid) {
+            return ((GeographicGrid) grid).getMemoryUsage();
+        } else if (grid instanceof GridShiftFile) {
+            return ((GridShiftFile) grid).getMemoryUsage();
+        }
+        return 0L;
+    }
+
+    /**
+     * Unload the least recently used grids which are not in use until the
+     * memory budget is respected.
+     */
+    private void evict() {
+        if (memoryUsage.get() <= memoryBudget) {
+            return;
+        }
+        for (Snapshot snapshot : snapshot()) {
+            Entry entry = snapshot.entry;
+            if (memoryUsage.get() <= memoryBudget) {
+                break;
+            }
+            if (remove(entry)) {
+                LOGGER.debug("Grid " + entry.key + " unloaded to respect the memory budget of "
+                        + memoryBudget + " bytes");
+            }
+        }
+    }
+
+    /**
+     * Return the state of all the entries, the least recently used first.
+     */
+    private List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<Snapshot>();
+        for (Entry entry : entries.values()) {
+            if (entry.used) {
+                // The grid has been read through a reference since the last
+                // snapshot : it is considered as accessed now
+                synchronized (entry) {
+                    entry.used = false;
+                    entry.lastAccess = clock.incrementAndGet();
+                }
+            }
+            snapshots.add(new Snapshot(entry));
+        }
+        snapshots.sort(Comparator.comparingLong((Snapshot s) -> s.lastAccess));
+        return snapshots;
+    }
+
+    /**
+     * Remove an entry from the manager if its grid is not acquired. The grid
+     * itself is left untouched, as it may still be read through a
+     * {@link GridReference} : it is garbage collected once no transformation
+     * uses it anymore.
+     */
+    private boolean remove(Entry entry) {
+        Object grid;
+        synchronized (entry) {
+            if (entry.removed || entry.references > 0) {
+                return false;
+            }
+            entry.removed = true;
+            entries.remove(entry.key, entry);
+            grid = entry.grid;
+            entry.grid = null;
+            memoryUsage.addAndGet(-entry.memory);
+        }
+        return grid != null;
+    }
+}
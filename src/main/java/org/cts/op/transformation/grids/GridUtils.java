@@ -23,9 +23,18 @@
  */
 package org.cts.op.transformation.grids;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * A utility class to manage grids
@@ -34,8 +43,30 @@ import java.net.URL;
  */
 public class GridUtils {
 
+    static final Logger LOGGER = LoggerFactory.getLogger(GridUtils.class);
+
     static String URL_PATH = "https://github.com/orbisgis/cts/raw/master/grids/";
 
+    /**
+     * Magic number ("CTSG") at the beginning of the binary grid cache files.
+     */
+    private static final int CACHE_MAGIC = 0x43545347;
+
+    /**
+     * Version of the binary grid cache format.
+     */
+    private static final int CACHE_VERSION = 2;
+
+    /**
+     * Read a grid from an input stream.
+     *
+     * @param <G> the type of grid
+     */
+    interface GridParser<G extends GeographicGrid> {
+
+        G parse(InputStream is) throws Exception;
+    }
+
     /**
      * Find the grid used by the transformation
      * <p>
@@ -77,6 +108,135 @@ public class GridUtils {
         }
     }
 
+    /**
+     * Return the file used to cache the binary version of a grid in the .cts
+     * folder.
+     *
+     * @param nameGrid the name of the grid file
+     */
+    public static File getGridCacheFile(String nameGrid) {
+        String ctsFolderPath = new File(System.getProperty("user.home")).getAbsolutePath() + File.separator + ".cts";
+        return new File(ctsFolderPath + File.separator + nameGrid + ".bin");
+    }
+
+    /**
+     * Load a grid from the .cts folder. The grid file is parsed only the first
+     * time : the grid is then written in a binary cache file, which is read
+     * instead of the grid file as long as it is more recent than the grid file.
+     *
+     * @param nameGrid the name of the grid file
+     * @param grid     an empty grid, filled if the cache can be used
+     * @param parser   the parser used to read the grid file
+     * @throws Exception
+     */
+    static <G extends GeographicGrid> G loadGrid(String nameGrid, G grid, GridParser<G> parser) throws Exception {
+        File gridFile = findGrid(nameGrid);
+        File cacheFile = getGridCacheFile(nameGrid);
+        if (cacheFile.exists() && cacheFile.lastModified() >= gridFile.lastModified()) {
+            try {
+                readGridCache(grid, cacheFile);
+                return grid;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Cannot read the cache of the " + nameGrid + " grid, the grid file will be parsed", e);
+            }
+        }
+        G parsedGrid;
+        InputStream is = new FileInputStream(gridFile);
+        try {
+            parsedGrid = parser.parse(is);
+        } finally {
+            is.close();
+        }
+        try {
+            writeGridCache(parsedGrid, cacheFile);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Cannot write the cache of the " + nameGrid + " grid", e);
+        }
+        return parsedGrid;
+    }
+
+    /**
+     * Write a grid in a binary cache file. The file is first written under a
+     * temporary name and then renamed, so that other processes never read a
+     * partial file.
+     *
+     * @param grid      the grid to write
+     * @param cacheFile the cache file
+     * @throws IOException
+     */
+    public static void writeGridCache(GeographicGrid grid, File cacheFile) throws IOException {
+        File tmpFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getAbsoluteFile().getParentFile());
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile), 1 << 16));
+            try {
+                out.writeInt(CACHE_MAGIC);
+                out.writeInt(CACHE_VERSION);
+                out.writeUTF(grid.getClass().getName());
+                grid.writeBinary(out);
+            } finally {
+                out.close();
+            }
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpFile.toPath());
+        }
+    }
+
+    /**
+     * Read a grid from a binary cache file written by
+     * {@link #writeGridCache(GeographicGrid, File)}. The file is mapped in
+     * memory and the values are read with a bulk get.
+     *
+     * @param grid      the empty grid to fill
+     * @param cacheFile the cache file
+     * @throws IOException if the file is not a cache of this type of grid
+     */
+    public static void readGridCache(GeographicGrid grid, File cacheFile) throws IOException {
+        FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ);
+        try {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != CACHE_MAGIC || in.getInt() != CACHE_VERSION) {
+                throw new IOException(cacheFile + " is not a grid cache file");
+            }
+            String className = readUTF(in);
+            if (!className.equals(grid.getClass().getName())) {
+                throw new IOException(cacheFile + " contains a " + className + " and not a " + grid.getClass().getName());
+            }
+            grid.readBinary(in);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Read a string written with {@link DataOutputStream#writeUTF(String)}
+     * (limited to ASCII characters).
+     */
+    static String readUTF(ByteBuffer in) {
+        byte[] b = new byte[in.getShort() & 0xFFFF];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write a string which may be null, preceded by a flag telling if it is
+     * present. It is read back by {@link #readNullableUTF(ByteBuffer)}.
+     */
+    static void writeNullableUTF(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    /**
+     * Read a string written by
+     * {@link #writeNullableUTF(DataOutputStream, String)}.
+     */
+    static String readNullableUTF(ByteBuffer in) {
+        return in.get() != 0 ? readUTF(in) : null;
+    }
+
     /**
      * Download a file from an URL to a specified target
      *
@@ -28,8 +28,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
@@ -80,6 +82,25 @@ public class IGNGeographicGrid extends GeographicGrid {
     String precisionUnit;
 
 
+    /**
+     * Creates an empty grid, filled from a binary cache file.
+     */
+    IGNGeographicGrid() {
+    }
+
+    /**
+     * Load an IGN geographic grid from the .cts folder. The text file is only
+     * parsed the first time, a binary cache of the grid is then used.
+     *
+     * @param nameGrid the name of the grid file (ex. gr3df97a.txt)
+     * @return the grid
+     * @throws Exception if the grid cannot be found or read
+     */
+    public static IGNGeographicGrid loadGrid(String nameGrid) throws Exception {
+        return GridUtils.loadGrid(nameGrid, new IGNGeographicGrid(),
+                is -> new IGNGeographicGrid(is, false));
+    }
+
     /**
      * <p>Construct a GeographicGrid from an InputStream representing an IGN
      * GeographicGrid. Default value of zip is true.</p>
@@ -250,19 +271,18 @@ public class IGNGeographicGrid extends GeographicGrid {
             }
         }
         // Grid reading
-        values = new double[rowNumber][colNumber][dim];
+        values = new double[rowNumber * colNumber * dim];
         int nbdec = 0;
         while (st.hasMoreTokens()) {
             String[] gg = st.nextToken().trim().split("[ \t]+");
             try {
                 double lon = Double.parseDouble(gg[1]);
                 double lat = Double.parseDouble(gg[2]);
-                double[] t = new double[dim];
+                int n = getIndex((int) Math.rint((lat - y0) / dy), (int) Math.rint((lon - x0) / dx));
                 for (int i = 0; i < dim; i++) {
-                    t[i] = Double.parseDouble(gg[3 + i]);
+                    values[n + i] = Double.parseDouble(gg[3 + i]);
                 }
                 nbdec = Math.max(nbdec, gg[3].split("\\.")[1].length());
-                System.arraycopy(t, 0, values[(int) Math.rint((lat - y0) / dy)][(int) Math.rint((lon - x0) / dx)], 0, dim);
             } catch (NumberFormatException nfe) {
                 LOGGER.warn("Cannot parse the number long : " + gg[0] + " lat : " + gg[1] + " dim :" + gg[2]);
             }
@@ -271,4 +291,31 @@ public class IGNGeographicGrid extends GeographicGrid {
         scale = (int) Math.rint(Math.pow(10.0, nbdec));
         extent = new GeographicExtent("GG", y0, yL, x0, xL, modulo);
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void writeBinary(DataOutputStream out) throws IOException {
+        GridUtils.writeNullableUTF(out, gridType);
+        out.writeInt(datumId);
+        out.writeInt(coordinateType);
+        out.writeInt(geographicDatumId);
+        out.writeInt(unit);
+        out.writeInt(primeMeridian);
+        GridUtils.writeNullableUTF(out, interpolationMode);
+        GridUtils.writeNullableUTF(out, precisionUnit);
+        super.writeBinary(out);
+    }
+
+    @Override
+    protected void readBinary(ByteBuffer in) {
+        gridType = GridUtils.readNullableUTF(in);
+        datumId = in.getInt();
+        coordinateType = in.getInt();
+        geographicDatumId = in.getInt();
+        unit = in.getInt();
+        primeMeridian = in.getInt();
+        interpolationMode = GridUtils.readNullableUTF(in);
+        precisionUnit = GridUtils.readNullableUTF(in);
+        super.readBinary(in);
+        extent = new GeographicExtent("GG", y0, yL, x0, xL, modulo);
+    }
+}
@@ -26,8 +26,10 @@ package org.cts.op.transformation.grids;
 import org.cts.cs.GeographicExtent;
 
 import java.io.BufferedInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.StringTokenizer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -67,6 +69,25 @@ public class IGNVerticalGrid extends GeographicGrid {
     boolean isPrecision;
     double[] globalTranslation;
 
+    /**
+     * Creates an empty grid, filled from a binary cache file.
+     */
+    IGNVerticalGrid() {
+    }
+
+    /**
+     * Load an IGN vertical grid from the .cts folder. The text file is only
+     * parsed the first time, a binary cache of the grid is then used.
+     *
+     * @param nameGrid the name of the grid file (ex. RAF09.txt)
+     * @return the grid
+     * @throws Exception if the grid cannot be found or read
+     */
+    public static IGNVerticalGrid loadGrid(String nameGrid) throws Exception {
+        return GridUtils.loadGrid(nameGrid, new IGNVerticalGrid(),
+                is -> new IGNVerticalGrid(is, false));
+    }
+
     /**
      * <p>Construct a GeographicGrid from an InputStream representing an IGN
      * GeographicGrid. Default value of zip is true.</p>
@@ -191,7 +212,7 @@ public class IGNVerticalGrid extends GeographicGrid {
             }
         }
         // Lecture de la grille
-        values = new double[rowNumber][colNumber][dim];
+        values = new double[rowNumber * colNumber * dim];
         int nbdec = 0;
         double lon;
         double lat;
@@ -239,7 +260,7 @@ public class IGNVerticalGrid extends GeographicGrid {
                         String prec = gg[index];
                         index++;
                     }
-                    System.arraycopy(t, 0, values[i][j], 0, dim);
+                    System.arraycopy(t, 0, values, getIndex(i, j), dim);
                     if (!isCoordinate) {
                         i = incr[0];
                         j = incr[1];
@@ -254,6 +275,31 @@ public class IGNVerticalGrid extends GeographicGrid {
         extent = new GeographicExtent("GG", y0, yL, x0, xL, modulo);
     }
 
+    @Override
+    protected void writeBinary(DataOutputStream out) throws IOException {
+        out.writeInt(orderType);
+        out.writeBoolean(isCoordinate);
+        out.writeBoolean(isPrecision);
+        out.writeInt(globalTranslation.length);
+        for (double t : globalTranslation) {
+            out.writeDouble(t);
+        }
+        super.writeBinary(out);
+    }
+
+    @Override
+    protected void readBinary(ByteBuffer in) {
+        orderType = in.getInt();
+        isCoordinate = in.get() != 0;
+        isPrecision = in.get() != 0;
+        globalTranslation = new double[in.getInt()];
+        for (int i = 0; i < globalTranslation.length; i++) {
+            globalTranslation[i] = in.getDouble();
+        }
+        super.readBinary(in);
+        extent = new GeographicExtent("GG", y0, yL, x0, xL, modulo);
+    }
+
     /**
      * Return a table storing the new values of the parameter i and j used to
      * browse the table. The returned values depend on the order used to write
@@ -799,10 +799,11 @@ public final class PrjMatcher {
      */
     private void parseDatum(List<PrjElement> ll) {
         String datum = getString(ll.get(0));
-        String datm = PrjValueParameters.DATUMNAMES.get(datum.toLowerCase()
-                .replaceAll("^d_", "")
-                .replaceAll("[^a-zA-Z0-9]", "")
-                .replaceAll("datum", ""));
+        String key = datum.toLowerCase();
+        if (key.startsWith("d_")) {
+            key = key.substring(2);
+        }
+        String datm = PrjValueParameters.DATUMNAMES.get(alphanumeric(key).replace("datum", ""));
         datum = datm != null ? datm : datum;
         params.put(ProjKeyParameters.datum, datum);
 
@@ -855,7 +856,7 @@ public final class PrjMatcher {
      */
     private void parseSpheroid(List<PrjElement> ll) {
         String ellps = getString(ll.get(0));
-        String elps = PrjValueParameters.ELLIPSOIDNAMES.get(ellps.toLowerCase().replaceAll("[^a-zA-Z0-9]", ""));
+        String elps = PrjValueParameters.ELLIPSOIDNAMES.get(alphanumeric(ellps.toLowerCase()));
         ellps = elps != null ? elps : ellps;
         params.put(ProjKeyParameters.ellps, ellps);
         parseNumber(ll.get(1), ProjKeyParameters.a);
@@ -889,7 +890,7 @@ public final class PrjMatcher {
      */
     private void parseVertDatum(List<PrjElement> ll) {
         String datum = getString(ll.get(0));
-        String datm = PrjValueParameters.DATUMNAMES.get(datum.toLowerCase().replaceAll("[^a-zA-Z0-9]", ""));
+        String datm = PrjValueParameters.DATUMNAMES.get(alphanumeric(datum.toLowerCase()));
         datum = datm != null ? datm : datum;
         params.put(PrjKeyParameters.VERTDATUM, datum);
         parseNumber(ll.get(1), PrjKeyParameters.VERTDATUMTYPE);
@@ -907,7 +908,7 @@ public final class PrjMatcher {
     private List<String> getUnit(List<PrjElement> ll) {
         List<String> result = new ArrayList<String>();
         String unit = getString(ll.get(0));
-        String unt = PrjValueParameters.UNITNAMES.get(unit.replaceAll("[^a-zA-Z0-9]", "").toLowerCase());
+        String unt = PrjValueParameters.UNITNAMES.get(alphanumeric(unit).toLowerCase());
         if (unt != null) {
             result.add(unt);
         } else {
@@ -928,7 +929,7 @@ public final class PrjMatcher {
      */
     private void parseProjection(List<PrjElement> ll) {
         String proj = getString(ll.get(0));
-        String prj = PrjValueParameters.PROJNAMES.get(proj.replaceAll("[^a-zA-Z0-9]", "").toLowerCase());
+        String prj = PrjValueParameters.PROJNAMES.get(alphanumeric(proj).toLowerCase());
         proj = prj != null ? prj : proj;
         params.put(ProjKeyParameters.proj, proj);
     }
@@ -941,7 +942,7 @@ public final class PrjMatcher {
      */
     private void parsePrimeM(List<PrjElement> ll) {
         String pm = getString(ll.get(0));
-        String prm = PrjValueParameters.PRIMEMERIDIANNAMES.get(pm.replaceAll("[^a-zA-Z0-9]", "").toLowerCase());
+        String prm = PrjValueParameters.PRIMEMERIDIANNAMES.get(alphanumeric(pm).toLowerCase());
         if (prm != null) {
             params.put(ProjKeyParameters.pm, prm);
         } else {
@@ -962,7 +963,7 @@ public final class PrjMatcher {
      */
     private void parseParameter(List<PrjElement> ll) {
         String param = getString(ll.get(0));
-        String parm = PrjValueParameters.PARAMNAMES.get(param.toLowerCase().replaceAll("[^a-zA-Z0-9]", ""));
+        String parm = PrjValueParameters.PARAMNAMES.get(alphanumeric(param.toLowerCase()));
         if (parm != null) {
             parseNumber(ll.get(1), parm);
         }
@@ -976,7 +977,7 @@ public final class PrjMatcher {
     private List<String> getAxis(List<PrjElement> ll) {
         List<String> result = new ArrayList<String>();
         String axisName = getString(ll.get(0));
-        String axis = PrjValueParameters.AXISNAMES.get(axisName.replaceAll("[^a-zA-Z0-9]", "").toLowerCase());
+        String axis = PrjValueParameters.AXISNAMES.get(alphanumeric(axisName).toLowerCase());
         if (axis != null) {
             result.add(axis);
         } else {
@@ -986,6 +987,28 @@ public final class PrjMatcher {
         return result;
     }
 
+    /**
+     * Return s without the characters which are not ASCII letters or digits,
+     * as <code>s.replaceAll("[^a-zA-Z0-9]", "")</code> would do without
+     * compiling a regular expression.
+     *
+     * @param s the String to clean
+     */
+    static String alphanumeric(String s) {
+        StringBuilder b = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            boolean keep = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+            if (!keep && b == null) {
+                b = new StringBuilder(s.length());
+                b.append(s, 0, i);
+            } else if (keep && b != null) {
+                b.append(c);
+            }
+        }
+        return b == null ? s : b.toString();
+    }
+
     /**
      * Read the informations contains in the PrjElement in parameter using one
      * of the PrjNodeMatcher in parameter and put it into the set of parameters.
@@ -23,7 +23,6 @@
  */
 package org.cts.parser.prj;
 
-import java.nio.BufferUnderflowException;
 import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,10 +38,34 @@ import java.util.Map;
  * 3. the proj4 description string is passed to the parser that builds the
  * CRS.
  *
+ * The first step reads each character once : the usual keywords are not
+ * copied into new strings, and most numbers are computed from their digits
+ * without creating a string.
+ *
  * @author Antoine Gourlay, Erwan Bocher, Jules Party
  */
 public class PrjParser {
 
+    /**
+     * Names of nodes and unquoted values commonly found in PRJ files. They
+     * are returned instead of a copy of the parsed characters when they match
+     * exactly.
+     */
+    private static final String[] KEYWORDS = new String[]{
+            "PROJCS", "GEOGCS", "GEOCCS", "DATUM", "SPHEROID", "PRIMEM", "UNIT",
+            "PROJECTION", "PARAMETER", "AUTHORITY", "AXIS", "TOWGS84", "COMPD_CS",
+            "VERT_CS", "VERT_DATUM", "EXTENSION",
+            "NORTH", "SOUTH", "EAST", "WEST", "UP", "DOWN", "OTHER"
+    };
+
+    /**
+     * Powers of ten which are exactly represented by a double.
+     */
+    private static final double[] POWERS_OF_TEN = new double[]{
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
     /**
      * Creates a new parser.
      */
@@ -61,14 +84,9 @@ public class PrjParser {
      *                            reason
      */
     public PrjElement getAsPrjElement(String prjString) {
-        CharBuffer s = CharBuffer.wrap(prjString);
-        PrjElement e;
-        try {
-            e = parseNode(s);
-        } catch (BufferUnderflowException ex) {
-            throw new PrjParserException("Failed to read PRJ.", ex);
-        }
-        return e;
+        Cursor c = new Cursor(prjString);
+        skipWhitespaces(c);
+        return parseNode(c);
     }
 
     /**
@@ -86,48 +104,115 @@ public class PrjParser {
     }
 
     /**
-     * Parses a Node into its PrjElement representation.
+     * Parses a Node into its PrjElement representation. The position of the
+     * buffer is moved after the node.
      *
      * @param s the Buffer to parse
      */
     public PrjElement parseNode(CharBuffer s) {
+        Cursor c = new Cursor(s);
+        PrjElement e = parseNode(c);
+        s.position(s.position() + c.pos);
+        return e;
+    }
+
+    /**
+     * The characters being parsed and the position of the next character to
+     * read.
+     */
+    private static final class Cursor {
+
+        private final CharSequence text;
+        private final int length;
+        private int pos;
+
+        Cursor(CharSequence text) {
+            this.text = text;
+            this.length = text.length();
+        }
+
+        /**
+         * Return the next character and move after it.
+         */
+        char get() {
+            if (pos >= length) {
+                throw new PrjParserException("Failed to read PRJ.");
+            }
+            return text.charAt(pos++);
+        }
+    }
+
+    /**
+     * Parses a Node into its PrjElement representation.
+     *
+     * @param c the characters to parse
+     */
+    private PrjElement parseNode(Cursor c) {
         // parse Name
-        boolean complexNode = false;
-        int start = s.position();
-        int ll = 0;
-        while (s.hasRemaining()) {
-            char c = s.get();
-            if (c == '[') {
-                complexNode = true;
+        int start = c.pos;
+        char next = 0;
+        while (c.pos < c.length) {
+            next = c.text.charAt(c.pos);
+            if (next == '[' || next == ']' || next == ',') {
                 break;
-            } else if (c == ']' || c == ',') {
-                break;
-            } else {
-                ll++;
             }
+            c.pos++;
         }
-        s.position(start);
-        String name = s.subSequence(0, ll).toString();
-        s.position(start + ll + 1);
+        int end = c.pos;
+        while (end > start && Character.isWhitespace(c.text.charAt(end - 1))) {
+            end--;
+        }
+        String name = keyword(c.text, start, end);
 
-        if (complexNode) {
+        if (next == '[') {
             // parse children and return
-            return new PrjNodeElement(name, parseNodeChildren(s));
+            c.pos++;
+            return new PrjNodeElement(name, parseNodeChildren(c));
         } else {
-            s.position(s.position() - 1);
             return new PrjStringElement(name);
         }
     }
 
+    /**
+     * Return the characters of text between start and end as a String, using
+     * one of the {@link #KEYWORDS} if possible.
+     */
+    private static String keyword(CharSequence text, int start, int end) {
+        int length = end - start;
+        for (String keyword : KEYWORDS) {
+            if (keyword.length() == length) {
+                int i = 0;
+                while (i < length && keyword.charAt(i) == text.charAt(start + i)) {
+                    i++;
+                }
+                if (i == length) {
+                    return keyword;
+                }
+            }
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    /**
+     * Move the cursor on the next character that is not a white space.
+     *
+     * @param c the parsed characters
+     */
+    private void skipWhitespaces(Cursor c) {
+        while (c.pos < c.length && Character.isWhitespace(c.text.charAt(c.pos))) {
+            c.pos++;
+        }
+    }
+
     /**
      * Return the next character that is not a white space.
      *
-     * @param s the parsed Buffer
+     * @param c the parsed characters
      */
-    private char next(CharBuffer s) {
+    private char next(Cursor c) {
         char next;
         do {
-            next = s.get();
+            next = c.get();
         } while (Character.isWhitespace(next));
         return next;
     }
@@ -135,28 +220,28 @@ public class PrjParser {
     /**
      * Parses a Node's children into a list of PrjElement.
      *
-     * @param s the Buffer to parse
+     * @param c the characters to parse
      */
-    private List<PrjElement> parseNodeChildren(CharBuffer s) {
+    private List<PrjElement> parseNodeChildren(Cursor c) {
         List<PrjElement> elms = new ArrayList<PrjElement>();
 
         boolean finished = false;
 
         do {
-            char next = next(s);
+            char next = next(c);
             if (next == '"') {
-                elms.add(parseString(s));
+                elms.add(parseString(c));
             } else {
-                s.position(s.position() - 1);
+                c.pos--;
                 if (Character.isDigit(next) || next == '-') {
-                    elms.add(parseNumber(s));
+                    elms.add(parseNumber(c));
                 } else {
-                    elms.add(parseNode(s));
+                    elms.add(parseNode(c));
                 }
             }
 
 
-            next = next(s);
+            next = next(c);
             switch (next) {
                 case ',':
                     break;
@@ -174,46 +259,101 @@ public class PrjParser {
     /**
      * Parses a String information into its PrjStringElement representation.
      *
-     * @param s the Buffer to parse
+     * @param c the characters to parse
      */
-    private PrjStringElement parseString(CharBuffer s) {
-        int start = s.position();
-        int ll = 0;
-        while (s.hasRemaining()) {
-            char c = s.get();
-            if (c == '"') {
-                break;
-            } else {
-                ll++;
-            }
+    private PrjStringElement parseString(Cursor c) {
+        int start = c.pos;
+        while (c.get() != '"') {
+            // find the closing quote
         }
-        s.position(start);
-        String str = s.subSequence(0, ll).toString();
-        s.position(start + ll + 1);
-
-        return new PrjStringElement(str);
+        return new PrjStringElement(c.text.subSequence(start, c.pos - 1).toString());
     }
 
     /**
      * Parses a Number information into its PrjNumberElement representation.
      *
-     * @param s the Buffer to parse
+     * @param c the characters to parse
      */
-    private PrjNumberElement parseNumber(CharBuffer s) {
-        int start = s.position();
-        int ll = 0;
-        while (s.hasRemaining()) {
-            char c = s.get();
-            if (c == ',' || c == ']' || Character.isWhitespace(c)) {
+    private PrjNumberElement parseNumber(Cursor c) {
+        int start = c.pos;
+        while (c.pos < c.length) {
+            char ch = c.text.charAt(c.pos);
+            if (ch == ',' || ch == ']' || Character.isWhitespace(ch)) {
                 break;
-            } else {
-                ll++;
             }
+            c.pos++;
         }
-        s.position(start);
-        String str = s.subSequence(0, ll).toString();
-        s.position(start + ll);
+        return new PrjNumberElement(parseDouble(c.text, start, c.pos));
+    }
 
-        return new PrjNumberElement(Double.parseDouble(str));
+    /**
+     * Parse the decimal number written between start and end in text. Numbers
+     * having at most 15 significant digits and a small exponent are computed
+     * from their digits, the result being exact as it only involves one
+     * rounding. Other numbers are parsed with {@link Double#parseDouble}.
+     *
+     * @param text  the characters containing the number
+     * @param start the index of the first character of the number
+     * @param end   the index following the last character of the number
+     */
+    static double parseDouble(CharSequence text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean hasDigit = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                hasDigit = true;
+                if (significand != 0 || ch != '0') {
+                    if (++digits > 15) {
+                        return Double.parseDouble(text.subSequence(start, end).toString());
+                    }
+                    significand = 10 * significand + (ch - '0');
+                }
+                if (point) {
+                    exponent--;
+                }
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (i < end && hasDigit && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            int exp = 0;
+            int first = i;
+            for (; i < end && exp < 1000; i++) {
+                char ch = text.charAt(i);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                exp = 10 * exp + (ch - '0');
+            }
+            if (i == first) {
+                i = -1;
+            }
+            exponent += negativeExponent ? -exp : exp;
+        }
+        if (i != end || !hasDigit || exponent < -22 || exponent > 22) {
+            return Double.parseDouble(text.subSequence(start, end).toString());
+        }
+        double value = exponent < 0
+                ? significand / POWERS_OF_TEN[-exponent]
+                : significand * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
     }
 }
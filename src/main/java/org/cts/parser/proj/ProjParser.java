@@ -25,20 +25,30 @@ package org.cts.parser.proj;
 
 import org.cts.registry.Registry;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * Parser used to read a proj file as the one used in proj4 library.
  * It can return the list of codes available in the file
  * or the map of parameters associated to a particular code.
+ * The file is read only once : the first request builds an index of the
+ * definitions it contains, and later requests are answered from memory.
+ * The index is shared by all the parsers of registries having the same name,
+ * so that creating new registries does not read the file again. It only
+ * keeps the content of the file and the position of each definition in it,
+ * the definitions are decoded when they are requested.
+ * <p>
+ * The build writes a binary snapshot of each registry file next to it, see
+ * {@link RegistrySnapshot}. The index is loaded from this snapshot when it
+ * exists, and built from the registry file otherwise.
  *
  * @author Erwan Bocher
  */
@@ -49,6 +59,12 @@ public class ProjParser {
      */
     private final Registry registry;
 
+    /**
+     * The indexes of the registry files which have been read, by registry
+     * name.
+     */
+    private static final Map<String, RegistryIndex> INDEXES = new ConcurrentHashMap<String, RegistryIndex>();
+
     /**
      * Create a new ProjParser for the given registry.
      *
@@ -65,98 +81,184 @@ public class ProjParser {
      *                     extracted from the registry
      * @param regexPattern the pattern used to split the line that describes the
      *                     coordinate system
-     * @return
+     * @return the parameters of the coordinate system or null if the registry
+     * does not contain this code
      * @throws IOException
      */
     public Map<String, String> readParameters(String crsCode, Pattern regexPattern)
             throws IOException {
-        InputStream inStr = Registry.class.getResourceAsStream(registry.getRegistryName());
-        if (inStr == null) {
-            throw new IllegalStateException("Unable to access CRS file: " + registry.getRegistryName());
+        Definition definition = getIndex().getDefinition(crsCode.toLowerCase());
+        if (definition == null) {
+            return null;
         }
-        BufferedReader reader = new BufferedReader(new InputStreamReader(inStr));
-        Map<String, String> args;
-        try {
-            args = readRegistry(reader, crsCode, regexPattern);
+        return parseDefinition(definition, regexPattern);
+    }
 
-        } finally {
-            reader.close();
+    /**
+     * Return the index of the registry, reading the registry file if it has
+     * not been read yet.
+     *
+     * @throws IOException
+     */
+    private RegistryIndex getIndex() throws IOException {
+        String name = registry.getRegistryName();
+        RegistryIndex result = INDEXES.get(name);
+        if (result == null) {
+            synchronized (INDEXES) {
+                result = INDEXES.get(name);
+                if (result == null) {
+                    result = RegistrySnapshot.read(name);
+                    if (result == null) {
+                        result = readRegistry(name);
+                    }
+                    INDEXES.put(name, result);
+                }
+            }
         }
-        return args;
+        return result;
     }
 
     /**
-     * Read all parameters from the registry
+     * Read all definitions from the registry file. The file is read at once,
+     * and its lines are scanned without being decoded, except for the codes
+     * and for the definitions spanning several lines.
      *
-     * @param br
-     * @param nameOfCRS the code corresponding to the information that must be
-     *                  extracted from the registry
-     * @param regex     the pattern used to split the line that describes the
-     *                  coordinate system
+     * @param registryName the name of the registry file
      * @throws IOException
      */
-    private Map<String, String> readRegistry(BufferedReader br, String nameOfCRS, Pattern regex) throws IOException {
-        String line;
-        String crsName = null;
-        while (null != (line = br.readLine())) {
-            if (line.startsWith("#")) {
+    static TextIndex readRegistry(String registryName) throws IOException {
+        InputStream inStr = Registry.class.getResourceAsStream(registryName);
+        if (inStr == null) {
+            throw new IllegalStateException("Unable to access CRS file: " + registryName);
+        }
+        byte[] data;
+        try {
+            data = inStr.readAllBytes();
+        } finally {
+            inStr.close();
+        }
+        Map<String, Definition> definitions = new HashMap<String, Definition>();
+        Set<String> fileCodes = new HashSet<String>();
+        int nameStart = -1;
+        int nameEnd = -1;
+        int pos = 0;
+        while (pos < data.length) {
+            int end = lineEnd(data, pos);
+            int next = nextLine(data, end);
+            if (data[pos] == '#') {
                 // in the "epsg" file, the crs name can only be read in the
                 // comment line preceding the projection definition
-                crsName = line.substring(1).trim();
-            } else if (line.startsWith("<")) {
-                while (!line.endsWith(">")) {
-                    int i = line.indexOf('#');
-                    if (i != -1) {
-                        // in the "world" file, the crs name can only be read in
-                        // a comment following the key tag
-                        crsName = line.substring(i + 2);
-                        line = line.substring(0, i - 1);
-                    }
-                    line = line + " " + br.readLine();
+                nameStart = pos + 1;
+                nameEnd = end;
+            } else if (data[pos] == '<') {
+                int close = pos + 1;
+                while (close < end && data[close] != '>') {
+                    close++;
                 }
-                String[] tokens = regex.split(line);
-                Map<String, String> v = new HashMap<String, String>();
-                String crsID;
-                boolean crsFound = true;
-                for (String token : tokens) {
-                    if (token.startsWith("<") && token.endsWith(">")
-                            && token.length() > 2) {
-                        crsID = token.substring(1, token.length() - 1);
-                        if (!crsID.equalsIgnoreCase(nameOfCRS)) {
-                            crsFound = false;
-                            crsName = null;
-                            break;
-                        }
-                    } else if (token.equals("<>")) {
-                        break;
-                    } else {
-                        String[] keyValue = token.split("=");
-                        if (keyValue.length == 2) {
-                            String key = formatKey(keyValue[0]);
-                            ProjKeyParameters.checkUnsupported(key);
-                            v.put(key, keyValue[1]);
-                        } else {
-                            String key = formatKey(token);
-                            ProjKeyParameters.checkUnsupported(key);
-                            if (key.equals(ProjKeyParameters.wktext)) {
-                                String[] lines = regex.split(line, 2);
-                                v.put(key, lines[1]);
-                            } else {
-                                v.put(key, null);
-                            }
+                String code = decode(data, pos + 1, close);
+                Definition definition;
+                if (data[end - 1] == '>') {
+                    definition = new Definition(data, pos, end, nameStart, nameEnd);
+                } else {
+                    String line = decode(data, pos, end);
+                    String crsName = nameStart == -1 ? null : decode(data, nameStart, nameEnd).trim();
+                    while (!line.endsWith(">") && next < data.length) {
+                        int i = line.indexOf('#');
+                        if (i != -1) {
+                            // in the "world" file, the crs name can only be read in
+                            // a comment following the key tag
+                            crsName = line.substring(i + 2);
+                            line = line.substring(0, i - 1);
                         }
+                        end = lineEnd(data, next);
+                        line = line + " " + decode(data, next, end);
+                        next = nextLine(data, end);
                     }
+                    definition = new Definition(line, crsName);
                 }
-                // found requested CRS?
-                if (crsFound) {
-                    if (!v.containsKey(ProjKeyParameters.title) && crsName != null) {
-                        v.put(ProjKeyParameters.title, crsName);
+                fileCodes.add(code);
+                String key = code.toLowerCase();
+                if (!definitions.containsKey(key)) {
+                    definitions.put(key, definition);
+                }
+                nameStart = -1;
+                nameEnd = -1;
+            }
+            pos = next;
+        }
+        return new TextIndex(definitions, fileCodes);
+    }
+
+    /**
+     * Return the index of the line terminator of the line starting at pos.
+     */
+    private static int lineEnd(byte[] data, int pos) {
+        while (pos < data.length && data[pos] != '\n' && data[pos] != '\r') {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Return the index of the line following the line terminator at end.
+     */
+    private static int nextLine(byte[] data, int end) {
+        if (end < data.length - 1 && data[end] == '\r' && data[end + 1] == '\n') {
+            return end + 2;
+        }
+        return end + 1;
+    }
+
+    /**
+     * Decode the characters of the registry file between start and end.
+     */
+    private static String decode(byte[] data, int start, int end) {
+        return new String(data, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Split a definition read from the registry into its parameters
+     *
+     * @param definition the definition of the coordinate system
+     * @param regex      the pattern used to split the line that describes the
+     *                   coordinate system
+     */
+    private static Map<String, String> parseDefinition(Definition definition, Pattern regex) {
+        String line = definition.getLine();
+        String[] tokens = regex.split(line);
+        Map<String, String> v = new HashMap<String, String>();
+        for (String token : tokens) {
+            if (token.startsWith("<") && token.endsWith(">")
+                    && token.length() > 2) {
+                // the code of the coordinate system
+                continue;
+            } else if (token.equals("<>")) {
+                break;
+            } else {
+                String[] keyValue = token.split("=");
+                if (keyValue.length == 2) {
+                    String key = formatKey(keyValue[0]);
+                    ProjKeyParameters.checkUnsupported(key);
+                    v.put(key, keyValue[1]);
+                } else {
+                    String key = formatKey(token);
+                    ProjKeyParameters.checkUnsupported(key);
+                    if (key.equals(ProjKeyParameters.wktext)) {
+                        String[] lines = regex.split(line, 2);
+                        v.put(key, lines[1]);
+                    } else {
+                        v.put(key, null);
                     }
-                    return v;
                 }
             }
         }
-        return null;
+        if (!v.containsKey(ProjKeyParameters.title)) {
+            String crsName = definition.getCrsName();
+            if (crsName != null) {
+                v.put(ProjKeyParameters.title, crsName);
+            }
+        }
+        return v;
     }
 
     /**
@@ -178,25 +280,128 @@ public class ProjParser {
      * @param regex pattern
      * @return
      * @throws java.io.IOException
+     * @deprecated the codes are read from the index of the registry file, the
+     * pattern is not used anymore. Use {@link #getSupportedCodes()}.
      */
+    @Deprecated
     public Set<String> getSupportedCodes(Pattern regex) throws IOException {
-        InputStream inStr = Registry.class.getResourceAsStream(registry.getRegistryName());
-        if (inStr == null) {
-            throw new IllegalStateException("Unable to access CRS file: " + registry.getRegistryName());
+        return getSupportedCodes();
+    }
+
+    /**
+     * Return the list of all codes defined by this registry
+     *
+     * @return
+     * @throws java.io.IOException
+     */
+    public Set<String> getSupportedCodes() throws IOException {
+        return new HashSet<String>(getIndex().getCodes());
+    }
+
+    /**
+     * The definitions of a registry file, indexed by their lower case code.
+     */
+    abstract static class RegistryIndex {
+
+        /**
+         * Return the definition of the given lower case code, or null if the
+         * registry does not define it.
+         */
+        abstract Definition getDefinition(String key);
+
+        /**
+         * Return the codes defined by the registry, as they are written in
+         * the file.
+         */
+        abstract Set<String> getCodes();
+    }
+
+    /**
+     * The index built from the registry file.
+     */
+    static final class TextIndex extends RegistryIndex {
+
+        final Map<String, Definition> definitions;
+
+        final Set<String> codes;
+
+        private TextIndex(Map<String, Definition> definitions, Set<String> codes) {
+            this.definitions = definitions;
+            this.codes = codes;
         }
-        BufferedReader br = new BufferedReader(new InputStreamReader(inStr));
-        try {
-            Set<String> codes = new HashSet<String>();
-            String line;
-            while (null != (line = br.readLine())) {
-                if (line.startsWith("<")) {
-                    String token = regex.split(line, 2)[0];
-                    codes.add(token.substring(1, token.length() - 1));
-                }
-            }
+
+        @Override
+        Definition getDefinition(String key) {
+            return definitions.get(key);
+        }
+
+        @Override
+        Set<String> getCodes() {
             return codes;
-        } finally {
-            br.close();
+        }
+    }
+
+    /**
+     * A coordinate system definition read from the registry file. Definitions
+     * written on a single line are kept as a position in the content of the
+     * file and decoded on request.
+     */
+    static final class Definition {
+
+        private final byte[] data;
+        private final int start;
+        private final int end;
+        private final int nameStart;
+        private final int nameEnd;
+
+        /**
+         * The definition line, continuation lines included, if it spans
+         * several lines.
+         */
+        private final String line;
+
+        /**
+         * The name of the coordinate system read from the comments, if the
+         * definition spans several lines.
+         */
+        private final String crsName;
+
+        Definition(byte[] data, int start, int end, int nameStart, int nameEnd) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.nameStart = nameStart;
+            this.nameEnd = nameEnd;
+            this.line = null;
+            this.crsName = null;
+        }
+
+        private Definition(String line, String crsName) {
+            this.data = null;
+            this.start = -1;
+            this.end = -1;
+            this.nameStart = -1;
+            this.nameEnd = -1;
+            this.line = line;
+            this.crsName = crsName;
+        }
+
+        /**
+         * Return the definition line, continuation lines included.
+         */
+        String getLine() {
+            return data == null ? line : decode(data, start, end);
+        }
+
+        /**
+         * Return the name of the coordinate system read from the comments,
+         * or null if there is none.
+         */
+        String getCrsName() {
+            if (data == null) {
+                return crsName;
+            }
+            return nameStart == -1 ? null : decode(data, nameStart, nameEnd).trim();
         }
     }
 }
@@ -0,0 +1,302 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.parser.proj;
+
+import org.cts.registry.Registry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary snapshot of a registry file, written by the build next to the
+ * registry file and loaded by {@link ProjParser} instead of scanning the
+ * text.
+ * <p>
+ * The snapshot contains a pool of UTF-8 strings holding each distinct code,
+ * definition line and coordinate system name once, and the positions of
+ * these strings in the pool : the lower case codes sorted so that they can be
+ * searched by binary search, with the positions of their definition line and
+ * coordinate system name, and the codes as they are written in the registry
+ * file. The snapshot is read with a single read and its positions with a
+ * single bulk get, nothing is decoded when it is loaded : the codes and the
+ * definitions are decoded from the pool when they are requested.
+ * <p>
+ * The snapshots are written in the <code>process-classes</code> phase by
+ * {@link #main(String[])}, with the output directory of the classes and the
+ * names of the registries as arguments.
+ */
+public final class RegistrySnapshot {
+
+    static final Logger LOGGER = LoggerFactory.getLogger(RegistrySnapshot.class);
+
+    /**
+     * Extension of the snapshot of a registry file.
+     */
+    static final String EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x43545352;
+
+    /**
+     * Version of the format, to be changed with the format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Number of positions stored for each key : start and end of the key,
+     * of the definition line and of the coordinate system name.
+     */
+    private static final int KEY_ENTRY = 6;
+
+    /**
+     * Comparator of the keys, consistent with the order of their UTF-8 bytes.
+     */
+    private static final Comparator<String> KEY_ORDER = new Comparator<String>() {
+        @Override
+        public int compare(String k1, String k2) {
+            return Arrays.compareUnsigned(k1.getBytes(StandardCharsets.UTF_8), k2.getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    private RegistrySnapshot() {
+    }
+
+    /**
+     * Write the snapshots of the given registries.
+     *
+     * @param args the output directory of the classes, followed by the names
+     *             of the registries
+     * @throws IOException if a registry cannot be read or its snapshot
+     *                     cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage : RegistrySnapshot <classes directory> <registry>...");
+        }
+        File directory = new File(args[0], Registry.class.getPackage().getName().replace('.', File.separatorChar));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+        for (int i = 1; i < args.length; i++) {
+            File file = new File(directory, args[i] + EXTENSION);
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+            try {
+                write(ProjParser.readRegistry(args[i]), out);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Write the snapshot of a registry index.
+     *
+     * @param index the index built from the registry file
+     * @param out   the output to write into
+     * @throws IOException
+     */
+    static void write(ProjParser.TextIndex index, OutputStream out) throws IOException {
+        String[] keys = index.definitions.keySet().toArray(new String[0]);
+        Arrays.sort(keys, KEY_ORDER);
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        Map<String, int[]> pooled = new HashMap<String, int[]>();
+        int[] keyEntries = new int[KEY_ENTRY * keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ProjParser.Definition definition = index.definitions.get(keys[i]);
+            int n = KEY_ENTRY * i;
+            pool(keys[i], pool, pooled, keyEntries, n);
+            pool(definition.getLine(), pool, pooled, keyEntries, n + 2);
+            pool(definition.getCrsName(), pool, pooled, keyEntries, n + 4);
+        }
+        int[] codeEntries = new int[2 * index.codes.size()];
+        int n = 0;
+        for (String code : index.codes) {
+            pool(code, pool, pooled, codeEntries, n);
+            n += 2;
+        }
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(keys.length);
+        data.writeInt(index.codes.size());
+        data.writeInt(pool.size());
+        for (int entry : keyEntries) {
+            data.writeInt(entry);
+        }
+        for (int entry : codeEntries) {
+            data.writeInt(entry);
+        }
+        pool.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Add a string to the pool if it is not in it yet, and write its start
+     * and end in the pool in entries, at index n. A null string is written
+     * as -1, -1.
+     */
+    private static void pool(String s, ByteArrayOutputStream pool, Map<String, int[]> pooled,
+                             int[] entries, int n) {
+        int[] position = s == null ? new int[]{-1, -1} : pooled.get(s);
+        if (position == null) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            position = new int[]{pool.size(), pool.size() + bytes.length};
+            pool.write(bytes, 0, bytes.length);
+            pooled.put(s, position);
+        }
+        entries[n] = position[0];
+        entries[n + 1] = position[1];
+    }
+
+    /**
+     * Load the snapshot of a registry written by the build.
+     *
+     * @param registryName the name of the registry file
+     * @return the index of the registry, or null if there is no snapshot of
+     * this registry or if it cannot be read
+     */
+    static ProjParser.RegistryIndex read(String registryName) {
+        InputStream in = Registry.class.getResourceAsStream(registryName + EXTENSION);
+        if (in == null) {
+            return null;
+        }
+        try {
+            try {
+                return read(in.readAllBytes());
+            } finally {
+                in.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Cannot read the snapshot of the " + registryName
+                    + " registry, the registry file will be read", e);
+            return null;
+        }
+    }
+
+    /**
+     * Load a snapshot written by {@link #write(ProjParser.TextIndex, OutputStream)}.
+     *
+     * @param snapshot the content of the snapshot
+     * @return the index of the registry, or null if snapshot has been written
+     * with another version of the format
+     * @throws IOException if the snapshot is truncated
+     */
+    static ProjParser.RegistryIndex read(byte[] snapshot) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(snapshot);
+        if (snapshot.length < 20 || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            return null;
+        }
+        int keyCount = in.getInt();
+        int codeCount = in.getInt();
+        int poolLength = in.getInt();
+        long poolStart = 20 + 4L * (KEY_ENTRY * (long) keyCount + 2L * codeCount);
+        if (keyCount < 0 || codeCount < 0 || poolStart + poolLength != snapshot.length) {
+            throw new IOException("The registry snapshot is truncated");
+        }
+        int[] keyEntries = new int[KEY_ENTRY * keyCount];
+        int[] codeEntries = new int[2 * codeCount];
+        IntBuffer entries = in.asIntBuffer();
+        entries.get(keyEntries);
+        entries.get(codeEntries);
+        return new SnapshotIndex(snapshot, (int) poolStart, keyEntries, codeEntries);
+    }
+
+    /**
+     * The index of a registry loaded from its snapshot.
+     */
+    private static final class SnapshotIndex extends ProjParser.RegistryIndex {
+
+        private final byte[] snapshot;
+        private final int poolStart;
+
+        /**
+         * The start and end of each key, of its definition line and of its
+         * coordinate system name in the pool, sorted by key.
+         */
+        private final int[] keyEntries;
+
+        /**
+         * The start and end of each code written in the file in the pool.
+         */
+        private final int[] codeEntries;
+
+        private SnapshotIndex(byte[] snapshot, int poolStart, int[] keyEntries, int[] codeEntries) {
+            this.snapshot = snapshot;
+            this.poolStart = poolStart;
+            this.keyEntries = keyEntries;
+            this.codeEntries = codeEntries;
+        }
+
+        @Override
+        ProjParser.Definition getDefinition(String key) {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            int low = 0;
+            int high = keyEntries.length / KEY_ENTRY - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int n = KEY_ENTRY * mid;
+                int cmp = Arrays.compareUnsigned(snapshot, poolStart + keyEntries[n], poolStart + keyEntries[n + 1],
+                        bytes, 0, bytes.length);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    int nameStart = keyEntries[n + 4];
+                    return new ProjParser.Definition(snapshot,
+                            poolStart + keyEntries[n + 2], poolStart + keyEntries[n + 3],
+                            nameStart == -1 ? -1 : poolStart + nameStart,
+                            nameStart == -1 ? -1 : poolStart + keyEntries[n + 5]);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Set<String> getCodes() {
+            Set<String> codes = new HashSet<String>(codeEntries.length);
+            for (int n = 0; n < codeEntries.length; n += 2) {
+                codes.add(new String(snapshot, poolStart + codeEntries[n],
+                        codeEntries[n + 1] - codeEntries[n], StandardCharsets.UTF_8));
+            }
+            return codes;
+        }
+    }
+}
@@ -59,7 +59,7 @@ public class EPSGRegistry extends AbstractProjRegistry implements Registry {
     @Override
     public Set<String> getSupportedCodes() throws RegistryException {
         try {
-            return projParser.getSupportedCodes(EPSG_REGEX);
+            return projParser.getSupportedCodes();
         } catch (IOException ex) {
             throw new RegistryException("Cannot load the EPSG registry", ex);
         }
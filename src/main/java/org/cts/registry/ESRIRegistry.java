@@ -59,7 +59,7 @@ public class ESRIRegistry extends AbstractProjRegistry implements Registry {
     @Override
     public Set<String> getSupportedCodes() throws RegistryException {
         try {
-            return projParser.getSupportedCodes(ESRI_REGEX);
+            return projParser.getSupportedCodes();
         } catch (IOException ex) {
             throw new RegistryException("Cannot load the ESRI registry", ex);
         }
@@ -59,7 +59,7 @@ public class IGNFRegistry extends AbstractProjRegistry {
     @Override
     public Set<String> getSupportedCodes() throws RegistryException {
         try {
-            return projParser.getSupportedCodes(IGNF_REGEX);
+            return projParser.getSupportedCodes();
         } catch (IOException ex) {
             throw new RegistryException("Cannot load the IGNF registry", ex);
         }
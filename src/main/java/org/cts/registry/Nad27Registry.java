@@ -59,7 +59,7 @@ public class Nad27Registry extends AbstractProjRegistry {
     @Override
     public Set<String> getSupportedCodes() throws RegistryException {
         try {
-            return projParser.getSupportedCodes(NAD27_REGEX);
+            return projParser.getSupportedCodes();
         } catch (IOException ex) {
             throw new RegistryException("Cannot load the NAD27 registry", ex);
         }
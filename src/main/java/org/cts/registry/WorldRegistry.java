@@ -59,7 +59,7 @@ public class WorldRegistry extends AbstractProjRegistry {
     @Override
     public Set<String> getSupportedCodes() throws RegistryException {
         try {
-            return projParser.getSupportedCodes(WORLD_REGEX);
+            return projParser.getSupportedCodes();
         } catch (IOException ex) {
             throw new RegistryException("Cannot load the world registry", ex);
         }
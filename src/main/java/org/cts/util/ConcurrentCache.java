@@ -0,0 +1,462 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache which can be shared by several threads.
+ * <p>Lookups do not lock : they only read a {@link ConcurrentHashMap} and
+ * update the access information of the entry. When the cache grows over its
+ * maximum size, entries are evicted without locking either : a sample of
+ * {@link #SAMPLE_SIZE} entries is taken from a queue of the entries, and the
+ * least recently used (LRU) or the least frequently used (LFU) entry of the
+ * sample is evicted. The other entries of the sample go back at the end of
+ * the queue, so that all the entries are sampled in turn. The eviction is
+ * exact for caches smaller than the sample, and approximate otherwise.</p>
+ * <p>Values built by {@link #get(Object, Loader)} are built only once per
+ * key : threads asking for a key which is being built wait for the result
+ * instead of building it again.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class ConcurrentCache<K, V> {
+
+    /**
+     * Policy used to choose the entries to remove when the cache is full.
+     */
+    public enum EvictionPolicy {
+
+        /**
+         * Remove the least recently used entry.
+         */
+        LRU,
+        /**
+         * Remove the least frequently used entry (the least recently used
+         * one among entries with the same number of hits).
+         */
+        LFU
+    }
+
+    /**
+     * Builds the value associated to a key which is not in the cache.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @param <E> the exception thrown when the value cannot be built
+     */
+    public interface Loader<K, V, E extends Exception> {
+
+        /**
+         * Build the value associated to key, or return null if there is no
+         * such value (null values are not cached).
+         *
+         * @param key the key of the value to build
+         */
+        V load(K key) throws E;
+    }
+
+    /**
+     * The number of entries compared to choose the entry to evict.
+     */
+    public static final int SAMPLE_SIZE = 16;
+
+    private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<K, Node<K, V>>();
+    // Entries in the order they are sampled, which may contain entries
+    // removed from the map since they were queued
+    private final ConcurrentLinkedQueue<Node<K, V>> queue = new ConcurrentLinkedQueue<Node<K, V>>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private final EvictionPolicy policy;
+    private volatile int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new LRU cache.
+     *
+     * @param maxSize the maximum number of entries of this cache
+     */
+    public ConcurrentCache(int maxSize) {
+        this(maxSize, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of entries of this cache
+     * @param policy  the policy used to evict entries when the cache is full
+     */
+    public ConcurrentCache(int maxSize, EvictionPolicy policy) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The size of the cache must be positive : " + maxSize);
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("The eviction policy of the cache cannot be null");
+        }
+        this.maxSize = maxSize;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the value associated to key, or null if this cache does not
+     * contain it.
+     *
+     * @param key the key of the value
+     */
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        V value = node == null ? null : node.getIfDone();
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        hit(node);
+        return value;
+    }
+
+    /**
+     * Returns the value associated to key. If the cache does not contain it,
+     * the value is built by loader and added to the cache. If several threads
+     * ask for the same missing key, the value is built by one of them and
+     * the others wait for the result.
+     *
+     * @param key    the key of the value
+     * @param loader the loader used to build the value if it is missing
+     * @return the value or null if loader returned null
+     * @throws E if loader cannot build the value
+     */
+    public <E extends Exception> V get(K key, Loader<? super K, ? extends V, E> loader) throws E {
+        while (true) {
+            Node<K, V> node = map.get(key);
+            if (node == null) {
+                Node<K, V> created = new Node<K, V>(key, System.nanoTime());
+                node = map.putIfAbsent(key, created);
+                if (node == null) {
+                    misses.increment();
+                    enqueue(created);
+                    return load(key, created, loader);
+                }
+            }
+            try {
+                V value = node.future.join();
+                if (value != null) {
+                    hit(node);
+                }
+                return value;
+            } catch (CompletionException ex) {
+                // the thread building this value failed, try again
+                map.remove(key, node);
+            }
+        }
+    }
+
+    private <E extends Exception> V load(K key, Node<K, V> node, Loader<? super K, ? extends V, E> loader) throws E {
+        V value;
+        try {
+            value = loader.load(key);
+        } catch (Exception ex) {
+            map.remove(key, node);
+            node.future.completeExceptionally(ex);
+            throw ex;
+        } catch (Error err) {
+            map.remove(key, node);
+            node.future.completeExceptionally(err);
+            throw err;
+        }
+        if (value == null) {
+            map.remove(key, node);
+        }
+        node.future.complete(value);
+        if (value != null) {
+            evictIfNeeded(node);
+        }
+        return value;
+    }
+
+    /**
+     * Adds a value to this cache, replacing the previous value associated to
+     * key if any.
+     *
+     * @param key   the key of the value
+     * @param value the value to cache (cannot be null)
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot cache a null value");
+        }
+        Node<K, V> node = new Node<K, V>(key, System.nanoTime());
+        node.future.complete(value);
+        map.put(key, node);
+        enqueue(node);
+        evictIfNeeded(node);
+    }
+
+    /**
+     * Removes the value associated to key from this cache.
+     *
+     * @param key the key of the value
+     * @return the removed value, or null if there was none
+     */
+    public V remove(K key) {
+        Node<K, V> node = map.remove(key);
+        return node == null ? null : node.getIfDone();
+    }
+
+    /**
+     * Returns true if this cache contains a value for key.
+     *
+     * @param key the key of the value
+     */
+    public boolean containsKey(K key) {
+        Node<K, V> node = map.get(key);
+        return node != null && node.getIfDone() != null;
+    }
+
+    /**
+     * Removes all values from this cache.
+     */
+    public void clear() {
+        map.clear();
+        purge();
+    }
+
+    /**
+     * Returns a copy of the entries of this cache. The values still being
+     * built are not included.
+     */
+    public Map<K, V> toMap() {
+        Map<K, V> result = new HashMap<K, V>();
+        for (Map.Entry<K, Node<K, V>> entry : map.entrySet()) {
+            V value = entry.getValue().getIfDone();
+            if (value != null) {
+                result.put(entry.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of entries of this cache.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the maximum number of entries of this cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Changes the maximum number of entries of this cache, evicting entries
+     * if the cache is bigger than the new size.
+     *
+     * @param maxSize the new maximum size
+     */
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The size of the cache must be positive : " + maxSize);
+        }
+        this.maxSize = maxSize;
+        evictIfNeeded(null);
+    }
+
+    /**
+     * Returns the policy used to evict entries when this cache is full.
+     */
+    public EvictionPolicy getEvictionPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the number of lookups which found their value in this cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which did not find their value in this
+     * cache.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries removed because this cache was full.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Reset the hit, miss and eviction counters.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private void hit(Node<K, V> node) {
+        hits.increment();
+        node.lastAccess = System.nanoTime();
+        if (policy == EvictionPolicy.LFU) {
+            node.frequency.increment();
+        }
+    }
+
+    /**
+     * Remove entries until the size of the cache is less or equal to its
+     * maximum size. Entries which are being built and the entry which has
+     * just been added are never evicted.
+     *
+     * @param added the entry which has just been added, or null
+     */
+    private void evictIfNeeded(Node<K, V> added) {
+        while (map.size() > maxSize) {
+            List<Node<K, V>> sample = new ArrayList<Node<K, V>>(SAMPLE_SIZE);
+            Node<K, V> victim = null;
+            Node<K, V> node;
+            while (sample.size() < SAMPLE_SIZE && (node = poll()) != null) {
+                if (map.get(node.key) != node) {
+                    // removed or replaced since it was queued
+                    continue;
+                }
+                sample.add(node);
+                if (node != added && node.future.isDone() && (victim == null || isLessUsed(node, victim))) {
+                    victim = node;
+                }
+            }
+            for (Node<K, V> n : sample) {
+                if (n != victim) {
+                    enqueue(n);
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            if (map.remove(victim.key, victim)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean isLessUsed(Node<K, V> node, Node<K, V> other) {
+        if (policy == EvictionPolicy.LFU) {
+            long f1 = node.frequency.sum();
+            long f2 = other.frequency.sum();
+            if (f1 != f2) {
+                return f1 < f2;
+            }
+        }
+        return node.lastAccess < other.lastAccess;
+    }
+
+    /**
+     * Add an entry at the end of the queue. The queue is purged when entries
+     * removed from the map make it much bigger than the cache.
+     */
+    private void enqueue(Node<K, V> node) {
+        queue.offer(node);
+        if (queueSize.incrementAndGet() > 2 * Math.max(maxSize, map.size()) + SAMPLE_SIZE) {
+            purge();
+        }
+    }
+
+    /**
+     * Take the entry at the head of the queue, or return null if the queue is
+     * empty.
+     */
+    private Node<K, V> poll() {
+        Node<K, V> node = queue.poll();
+        if (node != null) {
+            queueSize.decrementAndGet();
+        }
+        return node;
+    }
+
+    /**
+     * Remove from the queue the entries which are not in the map anymore.
+     * Only one thread purges the queue at a time, the others go on.
+     */
+    private void purge() {
+        if (!purging.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int size = 0;
+            for (Iterator<Node<K, V>> it = queue.iterator(); it.hasNext(); ) {
+                Node<K, V> node = it.next();
+                if (map.get(node.key) != node) {
+                    it.remove();
+                } else {
+                    size++;
+                }
+            }
+            // The size is approximate if the queue is updated meanwhile
+            queueSize.set(size);
+        } finally {
+            purging.set(false);
+        }
+    }
+
+    /**
+     * A cache entry : the value (which may be still being built) and the
+     * information used to choose the entries to evict.
+     */
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final CompletableFuture<V> future = new CompletableFuture<V>();
+        private final LongAdder frequency = new LongAdder();
+        private volatile long lastAccess;
+
+        private Node(K key, long lastAccess) {
+            this.key = key;
+            this.lastAccess = lastAccess;
+        }
+
+        private V getIfDone() {
+            return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+        }
+    }
+}
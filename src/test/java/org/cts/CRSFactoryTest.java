@@ -25,10 +25,16 @@
 package org.cts;
 
 import org.cts.crs.CoordinateReferenceSystem;
+import org.cts.registry.EPSGRegistry;
+import org.cts.util.ConcurrentCache;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  *
@@ -116,4 +122,71 @@ class CRSFactoryTest extends CTSTestCase {
         CoordinateReferenceSystem crs = cRSFactory.createFromPrj4(prj);
         assertEquals("UTM 32 NORTH", crs.getName());
     }
+
+    @Test
+    void testCRSCache() throws Exception {
+        CRSFactory factory = new CRSFactory(2, ConcurrentCache.EvictionPolicy.LRU);
+        factory.getRegistryManager().addRegistry(new EPSGRegistry());
+        CoordinateReferenceSystem crs = factory.getCRS("EPSG:4326");
+        assertSame(crs, factory.getCRS("epsg:4326"));
+        factory.getCRS("EPSG:2154");
+        factory.getCRS("EPSG:27572");
+        ConcurrentCache<String, CoordinateReferenceSystem> cache = factory.getCRSCache();
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testDeprecatedCRSPool() throws Exception {
+        CRSFactory factory = new CRSFactory();
+        factory.getRegistryManager().addRegistry(new EPSGRegistry());
+        CoordinateReferenceSystem crs = factory.getCRS("EPSG:4326");
+        assertSame(crs, factory.CRSPOOL.get("EPSG:4326"));
+        assertEquals(1, factory.CRSPOOL.size());
+        CoordinateReferenceSystem other = factory.createFromPrj4("+proj=longlat +datum=WGS84 +no_defs");
+        factory.CRSPOOL.put("TEST:1", other);
+        assertSame(other, factory.getCRS("TEST:1"));
+        assertEquals(2, factory.CRSPOOL.entrySet().size());
+        assertTrue(factory.CRSPOOL.keySet().contains("EPSG:4326"));
+        assertTrue(factory.CRSPOOL.values().contains(other));
+        assertThrows(UnsupportedOperationException.class,
+                () -> factory.CRSPOOL.computeIfAbsent("TEST:2", k -> other));
+        factory.CRSPOOL.clear();
+        assertEquals(0, factory.getCRSCache().size());
+    }
+
+    @Test
+    void testDefinitionCache() throws Exception {
+        CRSFactory factory = new CRSFactory();
+        String prj = "PROJCS[\"RGF93_Lambert_93\",GEOGCS[\"GCS_RGF_1993\","
+                + "DATUM[\"D_RGF_1993\",SPHEROID[\"GRS_1980\",6378137.0,298.257222101]],"
+                + "PRIMEM[\"Greenwich\",0.0],UNIT[\"Degree\",0.0174532925199433]],"
+                + "PROJECTION[\"Lambert_Conformal_Conic\"],PARAMETER[\"False_Easting\",700000.0],"
+                + "PARAMETER[\"False_Northing\",6600000.0],PARAMETER[\"Central_Meridian\",3.0],"
+                + "PARAMETER[\"Standard_Parallel_1\",49.0],PARAMETER[\"Standard_Parallel_2\",44.0],"
+                + "PARAMETER[\"Latitude_Of_Origin\",46.5],UNIT[\"Meter\",1.0]]";
+        String equivalentPrj = "PROJCS[\"RGF93_Lambert_93\", GEOGCS[\"GCS_RGF_1993\",\n"
+                + "  DATUM[\"D_RGF_1993\", SPHEROID[\"GRS_1980\", 6378137, 298.257222101]],\n"
+                + "  PRIMEM[\"Greenwich\", 0], UNIT[\"Degree\", 0.0174532925199433]],\n"
+                + "  PROJECTION[\"Lambert_Conformal_Conic\"], PARAMETER[\"False_Northing\", 6600000],\n"
+                + "  PARAMETER[\"False_Easting\", 7e5], PARAMETER[\"Central_Meridian\", 3],\n"
+                + "  PARAMETER[\"Standard_Parallel_2\", 44], PARAMETER[\"Standard_Parallel_1\", 49],\n"
+                + "  PARAMETER[\"Latitude_Of_Origin\", 46.5], UNIT[\"Meter\", 1]]";
+        CoordinateReferenceSystem crs = factory.createFromPrj(prj);
+        assertSame(crs, factory.createFromPrj(prj));
+        assertSame(crs, factory.createFromPrj(equivalentPrj));
+        assertNotSame(crs, factory.createFromPrj(prj.replace("700000.0", "700000.5")));
+
+        String proj4 = "+proj=tmerc +lat_0=0 +lon_0=106 +k=1 +x_0=500000 +y_0=0 +ellps=krass "
+                + "+towgs84=-17.51,-108.32,-62.39,0,0,0,0 +units=m +no_defs";
+        String equivalentProj4 = "+proj=tmerc +lon_0=106.0 +lat_0=0 +k=1.0 +y_0=0 +x_0=500000 +ellps=krass "
+                + "+towgs84=-17.51,-108.32,-62.390,0,0,0,0.0 +no_defs +units=m";
+        crs = factory.createFromPrj4(proj4);
+        assertSame(crs, factory.createFromPrj4(equivalentProj4));
+        assertNotSame(crs, factory.createFromPrj4(proj4.replace("+lon_0=106", "+lon_0=105")));
+        assertEquals(4, factory.getDefinitionCache().size());
+    }
 }
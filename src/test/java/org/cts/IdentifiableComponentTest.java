@@ -0,0 +1,58 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts;
+
+import org.cts.units.Unit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for the registry of identifiable components.
+ */
+class IdentifiableComponentTest {
+
+    @Test
+    void testAuthorityCodedComponentsAreRegistered() {
+        IdentifiableComponent first = new IdentifiableComponent(new Identifier("TEST", "1", "first"));
+        IdentifiableComponent second = new IdentifiableComponent(new Identifier("test", "1", "second"));
+        assertSame(first, IdentifiableComponent.getComponent(new Identifier("TEST", "1", "")));
+        assertSame(first, IdentifiableComponent.getComponent(second.getIdentifier()));
+        assertSame(Unit.METER, IdentifiableComponent.getComponent(new Identifier("EPSG", "9001", "")));
+        assertNull(IdentifiableComponent.getComponent(null));
+    }
+
+    @Test
+    void testLocalComponentsAreNotRegistered() {
+        IdentifiableComponent component = new IdentifiableComponent(new Identifier(IdentifiableComponent.class));
+        assertNull(IdentifiableComponent.getComponent(component.getIdentifier()));
+        int size = IdentifiableComponent.getRegistrySize();
+        for (int i = 0; i < 1000; i++) {
+            new IdentifiableComponent(new Identifier(IdentifiableComponent.class, "local " + i));
+        }
+        assertEquals(size, IdentifiableComponent.getRegistrySize());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the generation of local ids and the hash code of identifiers.
+ */
+class IdentifierTest {
+
+    @Test
+    void testConcurrentNewIdsAreUnique() throws Exception {
+        int threads = 8;
+        final int count = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<int[]>> futures = new ArrayList<Future<int[]>>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(new Callable<int[]>() {
+                    @Override
+                    public int[] call() {
+                        int[] ids = new int[count];
+                        for (int i = 0; i < count; i++) {
+                            ids[i] = Identifier.getNewId();
+                        }
+                        return ids;
+                    }
+                }));
+            }
+            Set<Integer> ids = new HashSet<Integer>();
+            for (Future<int[]> future : futures) {
+                for (int id : future.get()) {
+                    assertTrue(ids.add(id), "duplicate id " + id);
+                }
+            }
+            assertEquals(threads * count, ids.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testHashCode() {
+        Identifier id = new Identifier("EPSG", "4326", "WGS 84");
+        int hash = id.hashCode();
+        assertEquals(hash, new Identifier("epsg", "4326", "").hashCode());
+        assertTrue(id.equals(new Identifier("epsg", "4326", "")));
+        List<Identifiable> aliases = new ArrayList<Identifiable>();
+        aliases.add(new Identifier("IGNF", "WGS84G", "WGS 84"));
+        assertEquals(hash, new Identifier("EPSG", "4326", "WGS 84", null, null, aliases).hashCode());
+        id.addAlias(new Identifier("IGNF", "WGS84G", "WGS 84"));
+        assertEquals(hash, id.hashCode());
+        new Identifier((String) null, null, "unknown").hashCode();
+    }
+}
@@ -372,4 +372,18 @@ class EllipsoidTest extends CTSTestCase {
         assertEquals(eTest2.latFromArc(2845220.2110), Math.PI / 7, 1e-11, "latFromArcTest test 2");
         assertEquals(eTest2.latFromArc(0), 0, 1e-11, "latFromArcTest equator");
     }
+
+    @Test
+    void testLatitudeFromSeries() {
+        for (Ellipsoid ellps : new Ellipsoid[]{SPHERE, GRS80, INTERNATIONAL1924, BESSEL1841, CLARKE1880IGN}) {
+            for (double lat = -89.9; lat < 90; lat += 0.7) {
+                double phi = Math.toRadians(lat);
+                double isoLat = ellps.isometricLatitude(phi);
+                assertEquals(phi, ellps.latitudeFromSeries(isoLat), 1e-14, ellps.getName() + " latitude " + lat);
+                assertEquals(ellps.latitude(isoLat), ellps.latitudeFromSeries(isoLat), 1e-11, ellps.getName() + " latitude " + lat);
+            }
+            assertEquals(0, ellps.latitudeFromSeries(0), 0, ellps.getName() + " equator");
+            assertEquals(Math.PI / 2, ellps.latitudeFromSeries(Double.POSITIVE_INFINITY), 1e-15, ellps.getName() + " north pole");
+        }
+    }
 }
@@ -28,12 +28,21 @@ import org.cts.CTSTestCase;
 import org.cts.Identifier;
 import org.cts.cs.GeographicExtent;
 import org.cts.op.Identity;
+import org.cts.op.CoordinateOperation;
 import org.cts.op.transformation.GeocentricTranslation;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.cts.datum.GeodeticDatum.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -98,4 +107,50 @@ class GeodeticDatumTest extends CTSTestCase {
         assertTrue(WGS84.getGeocentricTransformations(datum).size()>0);
         assertEquals(WGS84.getGeocentricTransformations(datum).iterator().next(), new GeocentricTranslation(-10, -10, -10));
     }
+
+    @Test
+    void testConcurrentRegistration() throws Exception {
+        Identifier id = new Identifier("TEST", "concurrent", "Concurrent datum");
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<GeodeticDatum>> futures = new ArrayList<Future<GeodeticDatum>>();
+            for (int t = 0; t < threads; t++) {
+                final int shift = t;
+                futures.add(executor.submit(new Callable<GeodeticDatum>() {
+                    @Override
+                    public GeodeticDatum call() {
+                        GeodeticDatum datum = GeodeticDatum.createGeodeticDatum(id,
+                                PrimeMeridian.GREENWICH, Ellipsoid.GRS80,
+                                new GeocentricTranslation(1, 2, 3), GeographicExtent.WORLD, "", "");
+                        for (int i = 0; i < 50; i++) {
+                            datum.addGeocentricTransformation(ED50,
+                                    new GeocentricTranslation(shift, i, 0));
+                            for (CoordinateOperation op : datum.getGeographicTransformations(ED50)) {
+                                assertTrue(op != null);
+                            }
+                        }
+                        return datum;
+                    }
+                }));
+            }
+            GeodeticDatum datum = futures.get(0).get();
+            for (Future<GeodeticDatum> future : futures) {
+                assertSame(datum, future.get());
+            }
+            assertSame(datum, GeodeticDatum.getGeodeticDatum(id));
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < 50; i++) {
+                    assertTrue(datum.getGeocentricTransformations(ED50).contains(new GeocentricTranslation(t, i, 0)));
+                    assertTrue(ED50.getGeocentricTransformations(datum).contains(new GeocentricTranslation(t, i, 0).inverse()));
+                }
+            }
+            // the transformation through WGS84 is only added once
+            int size = datum.getGeocentricTransformations(ED50).size();
+            assertEquals(Integer.valueOf(threads * 50 + 1), Integer.valueOf(size));
+            assertEquals(Integer.valueOf(size), Integer.valueOf(datum.getGeocentricTransformations(ED50).size()));
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.datum;
+
+import org.cts.CTSTestCase;
+import org.cts.Identifier;
+import org.cts.cs.GeographicExtent;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.transformation.Altitude2EllipsoidalHeight;
+import org.cts.op.transformation.grids.GridManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Check that altitude grids are only loaded when needed.
+ */
+class VerticalDatumTest extends CTSTestCase {
+
+    private static VerticalDatum createIGN69() {
+        return new VerticalDatum(
+                new Identifier("Test", "0001", "Test NGF-IGN 1969"),
+                GeographicExtent.WORLD, "", "1969", VerticalDatum.Type.GEOIDAL,
+                "RAF09.txt", GeodeticDatum.RGF93);
+    }
+
+    /**
+     * Grids are shared by all the datums through the GridManager, unload the
+     * grid which may have been loaded by another test.
+     */
+    @BeforeEach
+    void unloadGrid() {
+        GridManager.getInstance().unload("RAF09.txt");
+    }
+
+    @Test
+    void testGridLoadedByFirstTransform() throws Exception {
+        VerticalDatum vd = createIGN69();
+        assertFalse(vd.isGridLoaded());
+        CoordinateOperation op = vd.getAltiToEllpsHeight();
+        CoordinateOperation inverse = op.inverse();
+        double[] coord = new double[]{48.85, 2.35, 100};
+        op.transform(coord);
+        assertTrue(vd.isGridLoaded());
+        assertTrue(coord[2] > 140 && coord[2] < 160);
+        inverse.transform(coord);
+        assertEquals(100, coord[2], 1E-9);
+    }
+
+    @Test
+    void testLoadGrid() throws Exception {
+        VerticalDatum vd = createIGN69();
+        VerticalDatum.loadGrids(vd, VerticalDatum.WGS84VD);
+        assertTrue(vd.isGridLoaded());
+        Altitude2EllipsoidalHeight inverse = (Altitude2EllipsoidalHeight) vd.getAltiToEllpsHeight().inverse();
+        assertTrue(inverse.isGridLoaded());
+        assertTrue(VerticalDatum.WGS84VD.isGridLoaded());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.CoordinateDimensionException;
+import org.cts.Identifier;
+import org.cts.units.Unit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Check that folded affine conversions give the same results as the
+ * operations they replace.
+ */
+class AffineCoordinateConversionTest {
+
+    /**
+     * Conversion from geographic coordinates (longitude west positive, latitude
+     * in grads) to latitude and longitude in radians from the Paris meridian.
+     */
+    private static CoordinateOperation[] toGeographic() {
+        return new CoordinateOperation[]{
+                new OppositeCoordinate(0),
+                UnitConversion.createUnitConverter(Unit.GRAD, Unit.RADIAN),
+                CoordinateSwitch.SWITCH_LAT_LON,
+                ChangeCoordinateDimension.TO3D,
+                new LongitudeRotation(0.04)};
+    }
+
+    @Test
+    void testFold() {
+        CoordinateOperation[] folded = AffineCoordinateConversion.fold(toGeographic());
+        assertEquals(2, folded.length);
+        assertTrue(folded[0] instanceof AffineCoordinateConversion);
+        assertSame(ChangeCoordinateDimension.TO3D, folded[1]);
+        // A switch reading the added height cannot be moved before TO3D
+        CoordinateOperation[] ops = new CoordinateOperation[]{
+                CoordinateSwitch.SWITCH_LAT_LON, ChangeCoordinateDimension.TO3D, new CoordinateSwitch(1, 2)};
+        assertSame(ops, AffineCoordinateConversion.fold(ops));
+        // Inverse operations are removed
+        ops = new CoordinateOperation[]{new OppositeCoordinate(1), new OppositeCoordinate(1)};
+        assertEquals(0, AffineCoordinateConversion.fold(ops).length);
+    }
+
+    @Test
+    void testSameResults() throws Exception {
+        CoordinateOperation[] ops = toGeographic();
+        CoordinateOperation conversion = AffineCoordinateConversion.fold(ops)[0];
+        double[] packed = new double[]{1.5, 52.3, Double.NaN, -3.2, 45.1, 12.0};
+        double[] expected = packed.clone();
+        for (int i = 0; i < 3; i++) {
+            ops[i].transform(expected, 0, 2, 3);
+        }
+        ops[4].transform(expected, 0, 2, 3);
+        conversion.transform(packed, 0, 2, 3);
+        for (int i = 0; i < packed.length; i++) {
+            assertEquals(expected[i], packed[i], 1E-15, "ordinate " + i);
+        }
+        assertTrue(Double.isNaN(packed[2]));
+        assertThrows(CoordinateDimensionException.class,
+                () -> conversion.transform(new double[]{1.0}));
+    }
+
+    @Test
+    void testInverse() throws Exception {
+        CoordinateOperation conversion = AffineCoordinateConversion.fold(toGeographic())[0];
+        CoordinateOperation inverse = conversion.inverse();
+        assertSame(conversion, inverse.inverse());
+        double[] coord = new double[]{1.5, 52.3};
+        double[] result = inverse.transform(conversion.transform(coord.clone()));
+        assertEquals(coord[0], result[0], 1E-12);
+        assertEquals(coord[1], result[1], 1E-12);
+    }
+
+    @Test
+    void testSequence() throws Exception {
+        CoordinateOperationSequence sequence = new CoordinateOperationSequence(
+                new Identifier(CoordinateOperationSequence.class, "to geographic"), toGeographic());
+        assertEquals(5, sequence.getSequence().length);
+        assertEquals(2, sequence.getExecutionSequence().length);
+        double[] expected = new double[]{1.5, 52.3};
+        for (CoordinateOperation op : toGeographic()) {
+            expected = op.transform(expected);
+        }
+        double[] result = sequence.transform(new double[]{1.5, 52.3});
+        assertEquals(3, result.length);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected[i], result[i], 1E-15);
+        }
+        double[] packed = new double[]{1.5, 52.3, 1.5, 52.3};
+        sequence.transform(packed, 0, 2, 2);
+        assertEquals(expected[0], packed[2], 1E-15);
+        assertEquals(expected[1], packed[3], 1E-15);
+    }
+}
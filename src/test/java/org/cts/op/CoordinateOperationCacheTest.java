@@ -0,0 +1,90 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.crs.CoordinateReferenceSystem;
+import org.cts.crs.GeodeticCRS;
+import org.cts.datum.GeodeticDatum;
+import org.cts.op.transformation.GeocentricTranslation;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the caches of {@link CoordinateOperationFactory}.
+ */
+public class CoordinateOperationCacheTest extends BaseCoordinateTransformTest {
+
+    @Test
+    void testOperationsAreCached() throws Exception {
+        GeodeticCRS source = (GeodeticCRS) cRSFactory.getCRS("EPSG:4326");
+        GeodeticCRS target = (GeodeticCRS) cRSFactory.getCRS("EPSG:2154");
+        Set<CoordinateOperation> ops = CoordinateOperationFactory.createCoordinateOperations(source, target);
+        assertSame(ops, CoordinateOperationFactory.createCoordinateOperations(source, target));
+        assertThrows(UnsupportedOperationException.class, () -> ops.clear());
+        CoordinateOperation best = CoordinateOperationFactory.getMostPrecise(source, target);
+        assertSame(CoordinateOperationFactory.getMostPrecise(ops), best);
+        assertSame(best, CoordinateOperationFactory.getMostPrecise(source, target));
+    }
+
+    @Test
+    void testCacheClearedByDatumChange() throws Exception {
+        GeodeticCRS source = (GeodeticCRS) cRSFactory.getCRS("EPSG:4326");
+        GeodeticCRS target = (GeodeticCRS) cRSFactory.createFromPrj4("+proj=longlat +ellps=bessel +towgs84=11,22,33 +no_defs");
+        Set<CoordinateOperation> ops = CoordinateOperationFactory.createCoordinateOperations(source, target);
+        target.getDatum().addGeocentricTransformation(GeodeticDatum.WGS84,
+                new GeocentricTranslation(12, 22, 33, 1.0));
+        assertNotSame(ops, CoordinateOperationFactory.createCoordinateOperations(source, target));
+    }
+
+    @Test
+    void testCacheKeptWhenNothingAdded() throws Exception {
+        GeodeticCRS source = (GeodeticCRS) cRSFactory.getCRS("EPSG:4326");
+        GeodeticCRS target = (GeodeticCRS) cRSFactory.createFromPrj4("+proj=longlat +ellps=bessel +towgs84=44,55,66 +no_defs");
+        GeocentricTranslation translation = new GeocentricTranslation(45, 55, 66, 1.0);
+        target.getDatum().addGeocentricTransformation(GeodeticDatum.WGS84, translation);
+        Set<CoordinateOperation> ops = CoordinateOperationFactory.createCoordinateOperations(source, target);
+        // registering the same transformations again does not clear the cache
+        target.getDatum().addGeocentricTransformation(GeodeticDatum.WGS84, translation);
+        target.getDatum().addGeographicTransformation(GeodeticDatum.WGS84,
+                target.getDatum().getRegisteredGeographicTransformations(GeodeticDatum.WGS84).iterator().next());
+        cRSFactory.createFromPrj4("+proj=longlat +ellps=bessel +towgs84=44,55,66 +no_defs");
+        assertSame(ops, CoordinateOperationFactory.createCoordinateOperations(source, target));
+    }
+
+    @Test
+    void testCacheUsesCRSIdentity() throws Exception {
+        CoordinateReferenceSystem crs1 = cRSFactory.createFromPrj4("+proj=utm +zone=31 +datum=WGS84 +units=m +no_defs");
+        CoordinateReferenceSystem crs2 = cRSFactory.createFromPrj4("+proj=utm +zone=32 +datum=WGS84 +units=m +no_defs");
+        GeodeticCRS source = (GeodeticCRS) cRSFactory.getCRS("EPSG:4326");
+        CoordinateOperation op1 = CoordinateOperationFactory.getMostPrecise(source, (GeodeticCRS) crs1);
+        CoordinateOperation op2 = CoordinateOperationFactory.getMostPrecise(source, (GeodeticCRS) crs2);
+        assertNotSame(op1, op2);
+        double[] p1 = op1.transform(new double[]{3, 45});
+        double[] p2 = op2.transform(new double[]{3, 45});
+        assertNotEquals(p1[0], p2[0], 1000);
+    }
+}
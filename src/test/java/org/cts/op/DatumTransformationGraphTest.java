@@ -0,0 +1,195 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.Identifier;
+import org.cts.crs.Geographic2DCRS;
+import org.cts.crs.Geographic3DCRS;
+import org.cts.crs.GeodeticCRS;
+import org.cts.cs.GeographicExtent;
+import org.cts.datum.Ellipsoid;
+import org.cts.datum.GeodeticDatum;
+import org.cts.datum.PrimeMeridian;
+import org.cts.op.transformation.GeocentricTranslation;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the search of chains of datum transformations.
+ */
+public class DatumTransformationGraphTest extends BaseCoordinateTransformTest {
+
+    /**
+     * Create a datum without transformation to WGS84.
+     */
+    private static GeodeticDatum createDatum(String code) {
+        return GeodeticDatum.createGeodeticDatum(new Identifier("TEST", code, "Datum " + code),
+                PrimeMeridian.GREENWICH, Ellipsoid.GRS80, null, GeographicExtent.WORLD, "", "");
+    }
+
+    @Test
+    void testChainOfTransformations() throws Exception {
+        GeodeticDatum a = createDatum("chainA");
+        GeodeticDatum b = createDatum("chainB");
+        GeodeticDatum c = createDatum("chainC");
+        a.addGeocentricTransformation(b, new GeocentricTranslation(100, 0, 0, 0.1));
+        b.addGeocentricTransformation(c, new GeocentricTranslation(0, 100, 0, 0.1));
+
+        for (boolean is3D : new boolean[]{true, false}) {
+            GeodeticCRS crsA = is3D ? new Geographic3DCRS(new Identifier("TEST", "crsA3D", "A"), a)
+                    : new Geographic2DCRS(new Identifier("TEST", "crsA2D", "A"), a);
+            GeodeticCRS crsB = is3D ? new Geographic3DCRS(new Identifier("TEST", "crsB3D", "B"), b)
+                    : new Geographic2DCRS(new Identifier("TEST", "crsB2D", "B"), b);
+            GeodeticCRS crsC = is3D ? new Geographic3DCRS(new Identifier("TEST", "crsC3D", "C"), c)
+                    : new Geographic2DCRS(new Identifier("TEST", "crsC2D", "C"), c);
+            double[] point = is3D ? new double[]{2.0, 45.0, 100.0} : new double[]{2.0, 45.0};
+            double[] expected = CoordinateOperationFactory.getMostPrecise(crsB, crsC).transform(
+                    CoordinateOperationFactory.getMostPrecise(crsA, crsB).transform(point.clone()));
+            double[] result = CoordinateOperationFactory.getMostPrecise(crsA, crsC).transform(point.clone());
+            assertEquals(expected[0], result[0], MM_IN_DEG);
+            assertEquals(expected[1], result[1], MM_IN_DEG);
+            if (is3D) {
+                assertEquals(expected[2], result[2], MM);
+            }
+        }
+    }
+
+    @Test
+    void testMostPreciseChain() throws Exception {
+        GeodeticDatum a = createDatum("preciseA");
+        GeodeticDatum b = createDatum("preciseB");
+        GeodeticDatum c = createDatum("preciseC");
+        a.addGeocentricTransformation(c, new GeocentricTranslation(100, 100, 0, 1.0));
+        a.addGeocentricTransformation(b, new GeocentricTranslation(100, 0, 0, 0.1));
+        b.addGeocentricTransformation(c, new GeocentricTranslation(0, 101, 0, 0.1));
+        GeocentricTranslation chainPrecision = new GeocentricTranslation(0, 0, 0, 0.2);
+
+        CoordinateOperation path = DatumTransformationGraph.getGeocentricPath(a, c);
+        assertNotNull(path);
+        assertEquals(chainPrecision.getPrecision(), path.getPrecision(), 1E-12);
+        double[] geocentric = path.transform(new double[]{4000000, 100000, 4000000});
+        assertEquals(4000100, geocentric[0], 1E-6);
+        assertEquals(100101, geocentric[1], 1E-6);
+
+        GeodeticCRS crsA = new Geographic3DCRS(new Identifier("TEST", "preciseA3D", "A"), a);
+        GeodeticCRS crsB = new Geographic3DCRS(new Identifier("TEST", "preciseB3D", "B"), b);
+        GeodeticCRS crsC = new Geographic3DCRS(new Identifier("TEST", "preciseC3D", "C"), c);
+        Set<CoordinateOperation> ops = CoordinateOperationFactory.createCoordinateOperations(crsA, crsC);
+        assertEquals(Integer.valueOf(2), Integer.valueOf(ops.size()));
+        // the chain is preferred to the direct transformation
+        double[] point = new double[]{2.0, 45.0, 100.0};
+        double[] expected = CoordinateOperationFactory.getMostPrecise(crsB, crsC).transform(
+                CoordinateOperationFactory.getMostPrecise(crsA, crsB).transform(point.clone()));
+        double[] result = CoordinateOperationFactory.getMostPrecise(ops).transform(point.clone());
+        assertEquals(expected[0], result[0], MM_IN_DEG);
+        assertEquals(expected[1], result[1], MM_IN_DEG);
+        assertEquals(expected[2], result[2], MM);
+    }
+
+    @Test
+    void testNoChain() {
+        GeodeticDatum a = createDatum("noChainA");
+        GeodeticDatum b = createDatum("noChainB");
+        assertNull(DatumTransformationGraph.getGeocentricPath(a, b));
+        assertNull(DatumTransformationGraph.getGeographicPath(a, b));
+        // a direct transformation is not a chain
+        a.addGeocentricTransformation(b, new GeocentricTranslation(1, 2, 3, 1.0));
+        assertNull(DatumTransformationGraph.getGeocentricPath(a, b));
+    }
+
+    @Test
+    void testShorterChainFoundBeyondCheaperOne() throws Exception {
+        GeodeticDatum source = createDatum("statesS");
+        GeodeticDatum p1 = createDatum("statesP1");
+        GeodeticDatum p2 = createDatum("statesP2");
+        GeodeticDatum x = createDatum("statesX");
+        GeodeticDatum y = createDatum("statesY");
+        GeodeticDatum target = createDatum("statesT");
+        // x is reached first by the cheap chain source > p1 > p2 > x, which
+        // is too long to go on to target
+        source.addGeocentricTransformation(p1, new GeocentricTranslation(1, 0, 0, 0.1));
+        p1.addGeocentricTransformation(p2, new GeocentricTranslation(1, 0, 0, 0.1));
+        p2.addGeocentricTransformation(x, new GeocentricTranslation(1, 0, 0, 0.1));
+        source.addGeocentricTransformation(x, new GeocentricTranslation(3, 0, 0, 1.0));
+        x.addGeocentricTransformation(y, new GeocentricTranslation(0, 1, 0, 0.1));
+        y.addGeocentricTransformation(target, new GeocentricTranslation(0, 0, 1, 0.1));
+
+        CoordinateOperation path = DatumTransformationGraph.getGeocentricPath(source, target);
+        assertNotNull(path);
+        assertEquals(1.2, path.getPrecision(), 1E-12);
+        double[] geocentric = path.transform(new double[]{4000000, 100000, 4000000});
+        assertEquals(4000003, geocentric[0], 1E-6);
+        assertEquals(100001, geocentric[1], 1E-6);
+        assertEquals(4000001, geocentric[2], 1E-6);
+    }
+
+    @Test
+    void testCacheClearedByNewLink() {
+        GeodeticDatum a = createDatum("newLinkA");
+        GeodeticDatum b = createDatum("newLinkB");
+        GeodeticDatum c = createDatum("newLinkC");
+        a.addGeocentricTransformation(b, new GeocentricTranslation(1, 0, 0, 0.1));
+        assertNull(DatumTransformationGraph.getGeocentricPath(a, c));
+        // the inverse is registered in c, from where the link is added
+        c.addGeocentricTransformation(b, new GeocentricTranslation(0, 1, 0, 0.1));
+        assertNotNull(DatumTransformationGraph.getGeocentricPath(a, c));
+    }
+
+    @Test
+    void testCacheClearedByLinkThroughWGS84() {
+        GeodeticDatum x1 = createDatum("pivotX1");
+        GeodeticDatum x2 = createDatum("pivotX2");
+        GeodeticDatum x3 = createDatum("pivotX3");
+        GeodeticDatum p = GeodeticDatum.createGeodeticDatum(new Identifier("TEST", "pivotP", "Datum pivotP"),
+                PrimeMeridian.GREENWICH, Ellipsoid.GRS80, new GeocentricTranslation(10, 0, 0, 1.0),
+                GeographicExtent.WORLD, "", "");
+        GeodeticDatum q = GeodeticDatum.createGeodeticDatum(new Identifier("TEST", "pivotQ", "Datum pivotQ"),
+                PrimeMeridian.GREENWICH, Ellipsoid.GRS80, new GeocentricTranslation(0, 10, 0, 1.0),
+                GeographicExtent.WORLD, "", "");
+        x1.addGeocentricTransformation(x2, new GeocentricTranslation(1, 0, 0, 0.1));
+        x2.addGeocentricTransformation(x3, new GeocentricTranslation(1, 0, 0, 0.1));
+        x3.addGeocentricTransformation(p, new GeocentricTranslation(1, 0, 0, 0.1));
+        // x1 > x2 > x3 > p > WGS84 > q is too long
+        assertNull(DatumTransformationGraph.getGeocentricPath(x1, q));
+        // build the direct link from p to q through WGS84
+        assertFalse(p.getGeocentricTransformations(q).isEmpty());
+        assertNotNull(DatumTransformationGraph.getGeocentricPath(x1, q));
+    }
+
+    @Test
+    void testChainLengthIsBounded() {
+        GeodeticDatum[] datums = new GeodeticDatum[DatumTransformationGraph.MAX_LENGTH + 2];
+        for (int i = 0; i < datums.length; i++) {
+            datums[i] = createDatum("bounded" + i);
+            if (i > 0) {
+                datums[i - 1].addGeocentricTransformation(datums[i], new GeocentricTranslation(1, 0, 0, 0.1));
+            }
+        }
+        assertNotNull(DatumTransformationGraph.getGeocentricPath(datums[0], datums[datums.length - 2]));
+        assertNull(DatumTransformationGraph.getGeocentricPath(datums[0], datums[datums.length - 1]));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.datum.Ellipsoid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Compare the iterative and the closed-form geocentric to geographic
+ * conversions.
+ */
+class Geocentric2GeographicTest {
+
+    @Test
+    void testClosedFormRoundTrip() throws Exception {
+        for (Ellipsoid ellps : new Ellipsoid[]{Ellipsoid.GRS80, Ellipsoid.CLARKE1880IGN, Ellipsoid.SPHERE}) {
+            Geographic2Geocentric toGeocentric = new Geographic2Geocentric(ellps);
+            Geocentric2Geographic closedForm = new Geocentric2Geographic(ellps, Geocentric2Geographic.Algorithm.VERMEILLE);
+            for (double h : new double[]{-10000, 0, 350, 8000, 1000000}) {
+                for (double lat = -90; lat <= 90; lat += 2.5) {
+                    double phi = Math.toRadians(lat);
+                    double[] coord = toGeocentric.transform(new double[]{phi, 2.1, h});
+                    closedForm.transform(coord);
+                    String msg = ellps.getName() + " lat=" + lat + " h=" + h;
+                    assertEquals(phi, coord[0], 1E-15, msg);
+                    assertEquals(2.1, coord[1], 1E-15, msg);
+                    assertEquals(h, coord[2], 1E-8, msg);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testClosedFormMatchesIterative() throws Exception {
+        Geocentric2Geographic iterative = new Geocentric2Geographic(Ellipsoid.WGS84);
+        Geocentric2Geographic closedForm = new Geocentric2Geographic(Ellipsoid.WGS84, Geocentric2Geographic.Algorithm.VERMEILLE);
+        double[][] points = new double[][]{
+                {4201575.8, 189856.3, 4779066.4},
+                {-2694892.5, -4297405.1, 3854586.2},
+                {1000.0, 2000.0, 6356000.0},
+                // close to the center of the ellipsoid
+                {10000.0, 0.0, 5000.0}};
+        for (double[] point : points) {
+            double[] expected = iterative.transform(point.clone());
+            double[] result = closedForm.transform(point.clone());
+            assertEquals(expected[0], result[0], 1E-11);
+            assertEquals(expected[1], result[1], 1E-15);
+            assertEquals(expected[2], result[2], 1E-4);
+        }
+    }
+
+    @Test
+    void testEqualsUsesAlgorithm() {
+        Geocentric2Geographic iterative = new Geocentric2Geographic(Ellipsoid.WGS84);
+        Geocentric2Geographic closedForm = new Geocentric2Geographic(Ellipsoid.WGS84, Geocentric2Geographic.Algorithm.VERMEILLE);
+        assertNotEquals(iterative, closedForm);
+        assertEquals(iterative, new Geocentric2Geographic(Ellipsoid.WGS84, Geocentric2Geographic.Algorithm.ITERATIVE));
+        assertEquals(closedForm, new Geocentric2Geographic(Ellipsoid.WGS84, Geocentric2Geographic.Algorithm.VERMEILLE));
+        assertEquals(closedForm.hashCode(),
+                new Geocentric2Geographic(Ellipsoid.WGS84, Geocentric2Geographic.Algorithm.VERMEILLE).hashCode());
+        assertThrows(IllegalArgumentException.class, () -> new Geocentric2Geographic(Ellipsoid.WGS84, null));
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.CoordinateDimensionException;
+import org.cts.IllegalCoordinateException;
+import org.cts.Identifier;
+import org.cts.crs.CompoundCRS;
+import org.cts.crs.GeodeticCRS;
+import org.cts.crs.VerticalCRS;
+import org.cts.datum.Ellipsoid;
+import org.cts.datum.VerticalDatum;
+import org.cts.op.projection.LambertConicConformal1SP;
+import org.cts.op.projection.Projection;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Check that transforming packed coordinates gives the same results as
+ * transforming coordinates one by one.
+ */
+public class PackedCoordinateTransformTest extends BaseCoordinateTransformTest {
+
+    private static final double[][] POINTS = new double[][]{
+            {2.114551393, 50.345609791},
+            {-1.5, 47.2},
+            {7.75, 48.58},
+            {3.0, 43.6}
+    };
+
+    @Test
+    public void testPackedSequence2D() throws Exception {
+        checkPacked(cRSFactory.getCRS("EPSG:4326"), cRSFactory.getCRS("EPSG:2154"), 2);
+        checkPacked(cRSFactory.getCRS("EPSG:4326"), cRSFactory.getCRS("EPSG:27572"), 2);
+        checkPacked(cRSFactory.getCRS("EPSG:2154"), cRSFactory.getCRS("EPSG:32631"), 2);
+    }
+
+    @Test
+    public void testPackedSequenceWithExtraOrdinate() throws Exception {
+        checkPacked(cRSFactory.getCRS("EPSG:4326"), cRSFactory.getCRS("EPSG:27572"), 3);
+        checkPacked(cRSFactory.getCRS("EPSG:4326"), cRSFactory.getCRS("EPSG:4258"), 3);
+    }
+
+    @Test
+    public void testPackedProjection() throws Exception {
+        Projection lambert93 = LambertConicConformal1SP.LAMBERT93;
+        double[] packed = new double[]{-1, 0.8, 0.04, 0.85, 0.06, -1};
+        double[] expected1 = lambert93.transform(new double[]{0.8, 0.04});
+        double[] expected2 = lambert93.transform(new double[]{0.85, 0.06});
+        lambert93.transform(packed, 1, 2, 2);
+        assertEquals(-1, packed[0]);
+        assertEquals(expected1[0], packed[1]);
+        assertEquals(expected1[1], packed[2]);
+        assertEquals(expected2[0], packed[3]);
+        assertEquals(expected2[1], packed[4]);
+        assertEquals(-1, packed[5]);
+        lambert93.inverse().transform(packed, 1, 2, 2);
+        assertEquals(0.8, packed[1], 1E-12);
+        assertEquals(0.04, packed[2], 1E-12);
+        assertEquals(0.85, packed[3], 1E-12);
+        assertEquals(0.06, packed[4], 1E-12);
+    }
+
+    @Test
+    public void testPackedProjectionDefault() throws Exception {
+        // A projection implementing only the single coordinate transform
+        Projection shift = new Projection(new Identifier(Projection.class), Ellipsoid.GRS80, null) {
+            @Override
+            public double[] transform(double[] coord) {
+                coord[0] += 10;
+                coord[1] -= 10;
+                return coord;
+            }
+
+            @Override
+            public Surface getSurface() {
+                return Surface.CYLINDRICAL;
+            }
+
+            @Override
+            public Property getProperty() {
+                return Property.CONFORMAL;
+            }
+
+            @Override
+            public Orientation getOrientation() {
+                return Orientation.TANGENT;
+            }
+        };
+        double[] packed = new double[]{-1, 1, 2, 3, 4, 5, 6, -1};
+        shift.transform(packed, 1, 2, 3);
+        assertArrayEquals(new double[]{-1, 11, -8, 3, 14, -5, 6, -1}, packed);
+    }
+
+    @Test
+    public void testPackedDimensionChecked() {
+        Geographic2Geocentric op = new Geographic2Geocentric(Ellipsoid.GRS80);
+        assertThrows(CoordinateDimensionException.class,
+                () -> op.transform(new double[4], 0, 2, 2));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> op.transform(new double[6], 1, 2, 3));
+    }
+
+    @Test
+    public void testPackedMemorizeCoordinate() throws Exception {
+        CoordinateOperationSequence seq = new CoordinateOperationSequence(
+                new Identifier(CoordinateOperationSequence.class),
+                MemorizeCoordinate.memoXY,
+                new OppositeCoordinate(0),
+                LoadMemorizeCoordinate.loadZ,
+                ChangeCoordinateDimension.TO2D);
+        double[] expected = seq.transform(new double[]{1, 2, 3});
+        assertArrayEquals(new double[]{-1, 2}, expected);
+        double[] packed = new double[]{-1, 1, 2, 3, 4, 5, 6, -1};
+        seq.transform(packed, 1, 2, 3);
+        assertArrayEquals(new double[]{-1, -1, 2, 3, -4, 5, 6, -1}, packed);
+        assertArrayEquals(new double[]{1, 2, 0, 1}, MemorizeCoordinate.memoX.transform(new double[]{1, 2}));
+        assertThrows(IllegalCoordinateException.class,
+                () -> LoadMemorizeCoordinate.loadZ.transform(new double[]{1, 2, 3}));
+    }
+
+    @Test
+    public void testCompoundCRSDoesNotAllocate() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        VerticalCRS ign69 = new VerticalCRS(new Identifier("EPSG", "5720", "IGN69"),
+                VerticalDatum.IGN69, VerticalCRS.ALTITUDE_CS);
+        CompoundCRS sourceCRS = new CompoundCRS(new Identifier(CompoundCRS.class, "RGF93 + IGN69"),
+                (GeodeticCRS) cRSFactory.getCRS("IGNF:LAMB93"), ign69);
+        CompoundCRS targetCRS = new CompoundCRS(new Identifier(CompoundCRS.class, "NTF LAMB2E + IGN69"),
+                (GeodeticCRS) cRSFactory.getCRS("IGNF:LAMBE"), ign69);
+        CoordinateOperation op = CoordinateOperationFactory.getMostPrecise(
+                CoordinateOperationFactory.createCoordinateOperations(sourceCRS, targetCRS));
+        CoordinateOperation inverse = CoordinateOperationFactory.getMostPrecise(
+                CoordinateOperationFactory.createCoordinateOperations(targetCRS, sourceCRS));
+        double[] coord = new double[3];
+        double[] packed = new double[30];
+        long allocated = 0;
+        for (int round = 0; round < 2; round++) {
+            // the first round loads the grids and warms up the scratch context
+            long start = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int i = 0; i < 100; i++) {
+                coord[0] = 882408.3;
+                coord[1] = 6543019.6;
+                coord[2] = 100.0;
+                coord = inverse.transform(op.transform(coord));
+                for (int j = 0; j < packed.length; j += 3) {
+                    System.arraycopy(coord, 0, packed, j, 3);
+                }
+                op.transform(packed, 0, 10, 3);
+                inverse.transform(packed, 0, 10, 3);
+            }
+            allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+        }
+        assertEquals(882408.3, coord[0], MM);
+        assertEquals(6543019.6, coord[1], MM);
+        assertEquals(100.0, coord[2], MM);
+        // tolerate a few objects allocated by the JVM itself
+        assertTrue(allocated < 1024, allocated + " bytes allocated");
+    }
+
+    private void checkPacked(org.cts.crs.CoordinateReferenceSystem source,
+                             org.cts.crs.CoordinateReferenceSystem target, int stride) throws Exception {
+        Set<CoordinateOperation> ops = CoordinateOperationFactory.createCoordinateOperations(
+                (GeodeticCRS) source, (GeodeticCRS) target);
+        CoordinateOperation op = CoordinateOperationFactory.getMostPrecise(ops);
+        int offset = 1;
+        double[] packed = new double[offset + POINTS.length * stride];
+        double[][] expected = new double[POINTS.length][];
+        for (int i = 0; i < POINTS.length; i++) {
+            double[] coord = new double[stride];
+            System.arraycopy(POINTS[i], 0, coord, 0, 2);
+            System.arraycopy(coord, 0, packed, offset + i * stride, stride);
+            expected[i] = op.transform(coord);
+        }
+        op.transform(packed, offset, POINTS.length, stride);
+        for (int i = 0; i < POINTS.length; i++) {
+            for (int j = 0; j < Math.min(stride, expected[i].length); j++) {
+                assertEquals(expected[i][j], packed[offset + i * stride + j], 1E-9,
+                        source + " to " + target + " point " + i);
+            }
+        }
+    }
+}
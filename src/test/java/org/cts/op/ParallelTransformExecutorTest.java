@@ -0,0 +1,146 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.cts.Identifier;
+import org.cts.CoordinateDimensionException;
+import org.cts.IllegalCoordinateException;
+import org.cts.crs.GeodeticCRS;
+import org.cts.datum.Ellipsoid;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ParallelTransformExecutor}.
+ */
+public class ParallelTransformExecutorTest extends BaseCoordinateTransformTest {
+
+    private static final int COUNT = 10000;
+
+    /**
+     * Operation doubling the first ordinate, and failing on negative values.
+     */
+    private static final CoordinateOperation DOUBLE_POSITIVE = new AbstractCoordinateOperation(
+            new Identifier(CoordinateOperation.class, "Double positive values")) {
+        @Override
+        public double[] transform(double[] coord) throws IllegalCoordinateException {
+            if (coord[0] < 0) {
+                throw new IllegalCoordinateException("Negative value", coord);
+            }
+            coord[0] = 2 * coord[0];
+            return coord;
+        }
+    };
+
+    private static double[] createCoordinates(int stride) {
+        double[] packed = new double[COUNT * stride];
+        for (int i = 0; i < COUNT; i++) {
+            packed[i * stride] = Math.toRadians(43.0 + (i % 100) * 0.05);
+            packed[i * stride + 1] = Math.toRadians(-1.0 + (i / 100) * 0.07);
+        }
+        return packed;
+    }
+
+    @Test
+    void testSameResultsAsSequentialTransform() throws Exception {
+        GeodeticCRS source = (GeodeticCRS) cRSFactory.getCRS("EPSG:4326");
+        GeodeticCRS target = (GeodeticCRS) cRSFactory.getCRS("EPSG:2154");
+        CoordinateOperation op = CoordinateOperationFactory.getMostPrecise(source, target);
+        for (int stride : new int[]{2, 3}) {
+            double[] expected = createCoordinates(stride);
+            double[] packed = expected.clone();
+            op.transform(expected, 0, COUNT, stride);
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                new ParallelTransformExecutor(pool, 777).transform(op, packed, 0, COUNT, stride);
+            } finally {
+                pool.shutdown();
+            }
+            assertArrayEquals(expected, packed);
+        }
+    }
+
+    @Test
+    void testOffsetAndSmallBatches() throws Exception {
+        double[] packed = new double[]{-1, 1, 2, 3, 4, 5, -1};
+        ParallelTransformExecutor executor = new ParallelTransformExecutor(ForkJoinPool.commonPool(), 2);
+        executor.transform(DOUBLE_POSITIVE, packed, 1, 5, 1);
+        assertArrayEquals(new double[]{-1, 2, 4, 6, 8, 10, -1}, packed);
+        // A single chunk is transformed in the calling thread
+        new ParallelTransformExecutor().transform(DOUBLE_POSITIVE, packed, 1, 2, 1);
+        assertArrayEquals(new double[]{-1, 4, 8, 6, 8, 10, -1}, packed);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> executor.transform(DOUBLE_POSITIVE, new double[4], 1, 4, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelTransformExecutor(ForkJoinPool.commonPool(), 0));
+    }
+
+    @Test
+    void testFirstFailingChunkIsReported() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            ParallelTransformExecutor executor = new ParallelTransformExecutor(pool, 100);
+            for (int run = 0; run < 20; run++) {
+                double[] packed = new double[COUNT];
+                packed[250] = -1;
+                packed[5120] = -2;
+                packed[9999] = -3;
+                IllegalCoordinateException e = assertThrows(IllegalCoordinateException.class,
+                        () -> executor.transform(DOUBLE_POSITIVE, packed, 0, COUNT, 1));
+                assertTrue(e.getMessage().startsWith("Coordinate 250 : Negative value"), e.getMessage());
+                assertEquals(2, e.getSuppressed().length);
+                assertTrue(e.getSuppressed()[0].getMessage().startsWith("Coordinate 5120 : "));
+                assertTrue(e.getSuppressed()[0].getMessage().contains("-2.0"));
+                assertTrue(e.getSuppressed()[1].getMessage().startsWith("Coordinate 9999 : "));
+                assertTrue(e.getSuppressed()[1].getMessage().contains("-3.0"));
+                // the coordinates preceding the failing one are transformed
+                assertEquals(0.0, packed[249]);
+                assertEquals(-1.0, packed[250]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testExceptionTypeIsKept() throws Exception {
+        ParallelTransformExecutor executor = new ParallelTransformExecutor(ForkJoinPool.commonPool(), 2);
+        CoordinateOperation op = new Geographic2Geocentric(Ellipsoid.GRS80);
+        // coordinates of dimension 2 are rejected by the packed transform
+        CoordinateDimensionException e = assertThrows(CoordinateDimensionException.class,
+                () -> executor.transform(op, new double[10], 0, 5, 2));
+        assertTrue(e.getMessage().startsWith("Coordinate 0 : "), e.getMessage());
+        // the single chunk transformed in the calling thread gives the index too
+        double[] packed = new double[]{1, 2, -3};
+        IllegalCoordinateException single = assertThrows(IllegalCoordinateException.class,
+                () -> new ParallelTransformExecutor().transform(DOUBLE_POSITIVE, packed, 0, 3, 1));
+        assertTrue(single.getMessage().startsWith("Coordinate 2 : Negative value"), single.getMessage());
+        assertArrayEquals(new double[]{2, 4, -3}, packed);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Check the reservation of the buffers of a {@link ScratchContext}.
+ */
+class ScratchContextTest {
+
+    @Test
+    void testBuffersReused() {
+        ScratchContext context = ScratchContext.get();
+        int base = context.push(1);
+        double[] buffer = context.buffer(base, 10);
+        assertTrue(buffer.length >= 10);
+        assertSame(buffer, context.buffer(base, 5));
+        context.pop(base);
+        base = context.push(1);
+        assertSame(buffer, context.buffer(base, 10));
+        context.pop(base);
+    }
+
+    @Test
+    void testNestedReservations() {
+        ScratchContext context = ScratchContext.get();
+        int outer = context.push(2);
+        double[] first = context.buffer(outer, 3);
+        double[] second = context.buffer(outer + 1, 3);
+        int inner = context.push(1);
+        double[] nested = context.buffer(inner, 3);
+        assertNotSame(first, second);
+        assertNotSame(first, nested);
+        assertNotSame(second, nested);
+        context.pop(inner);
+        assertSame(first, context.buffer(outer, 3));
+        assertThrows(IllegalStateException.class, () -> context.buffer(inner, 3));
+        context.pop(outer);
+    }
+
+    @Test
+    void testLargeBuffersReleased() {
+        ScratchContext context = ScratchContext.get();
+        int base = context.push(1);
+        double[] large = context.buffer(base, ScratchContext.MAX_RETAINED_LENGTH + 1);
+        context.pop(base);
+        base = context.push(1);
+        assertNotSame(large, context.buffer(base, 1));
+        context.pop(base);
+    }
+
+    @Test
+    void testOtherThreadContext() throws Exception {
+        ScratchContext[] other = new ScratchContext[1];
+        Thread thread = new Thread(() -> other[0] = ScratchContext.get());
+        thread.start();
+        thread.join();
+        assertNotSame(ScratchContext.get(), other[0]);
+    }
+}
@@ -28,10 +28,12 @@ import org.cts.Parameter;
 import org.cts.datum.Ellipsoid;
 import org.cts.units.Measure;
 import org.cts.units.Unit;
+import org.cts.util.Complex;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -84,4 +86,32 @@ class TransverseMercatorTest extends CTSTestCase {
         assertFalse(checkEquals2D("", tmerc1.transform(new double[]{0.0, 0.0}), tmerc2.transform(new double[]{0.0, 0.0}), 1000));
     }
 
+    @Test
+    // Check that the series computed with doubles gives the same result as
+    // the series computed with Complex numbers, +/- 1e-9 m
+    void testSinSeries() throws Exception {
+        double n = 0.9996 * Ellipsoid.WGS84.getSemiMajorAxis();
+        double[] dircoeff = UniversalTransverseMercator.getDirectUTMCoeff(Ellipsoid.WGS84);
+        double[] invcoeff = UniversalTransverseMercator.getInverseUTMCoeff(Ellipsoid.WGS84);
+        double[] result = new double[2];
+        for (double re = -1.5; re <= 1.5; re += 0.1) {
+            for (double im = -0.1; im <= 0.1; im += 0.01) {
+                Complex z = new Complex(re, im);
+                Complex Z = z.times(n * dircoeff[0]);
+                for (int i = 1; i < 5; i++) {
+                    Z = Z.plus(Complex.sin(z.times(2.0 * i)).times(n * dircoeff[i]));
+                }
+                UniversalTransverseMercator.sinSeries(re, im, n * dircoeff[0], dircoeff, n, result);
+                assertEquals(Z.re(), result[0], 1e-9);
+                assertEquals(Z.im(), result[1], 1e-9);
+                Z = z;
+                for (int i = 1; i < 5; i++) {
+                    Z = Z.plus(Complex.sin(z.times(2.0 * i)).times(-invcoeff[i]));
+                }
+                UniversalTransverseMercator.sinSeries(re, im, 1.0, invcoeff, -1.0, result);
+                assertEquals(Z.re(), result[0], 1e-15);
+                assertEquals(Z.im(), result[1], 1e-15);
+            }
+        }
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation;
+
+import org.cts.Identifier;
+import org.cts.datum.Ellipsoid;
+import org.cts.datum.PrimeMeridian;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.CoordinateOperationSequence;
+import org.cts.op.Geocentric2Geographic;
+import org.cts.op.Geographic2Geocentric;
+import org.cts.op.LongitudeRotation;
+import org.cts.op.UnitConversion;
+import org.cts.units.Unit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Check that fused datum shifts give the same results as the operations they
+ * replace.
+ */
+class GeographicDatumShiftTest {
+
+    private static CoordinateOperation[] ntfToRgf93() {
+        return new CoordinateOperation[]{
+                LongitudeRotation.getLongitudeRotationFrom(PrimeMeridian.PARIS),
+                new Geographic2Geocentric(Ellipsoid.CLARKE1880IGN),
+                new GeocentricTranslation(-168.0, -60.0, 320.0, 1.0),
+                new Geocentric2Geographic(Ellipsoid.GRS80)};
+    }
+
+    private static CoordinateOperation[] ed50ToEd50() {
+        SevenParameterTransformation toWGS84 = SevenParameterTransformation.createBursaWolfTransformation(
+                -84.0, -97.0, -117.0, 0.5, -0.1, 0.2, 1.5);
+        return new CoordinateOperation[]{
+                new Geographic2Geocentric(Ellipsoid.INTERNATIONAL1924),
+                toWGS84,
+                toWGS84.inverse(),
+                new Geocentric2Geographic(Ellipsoid.INTERNATIONAL1924, Geocentric2Geographic.Algorithm.VERMEILLE),
+                new LongitudeRotation(0.1)};
+    }
+
+    @Test
+    void testFuse() throws Exception {
+        CoordinateOperation[] ops = ntfToRgf93();
+        CoordinateOperation[] fused = GeographicDatumShift.fuse(ops);
+        assertEquals(1, fused.length);
+        assertTrue(fused[0] instanceof GeographicDatumShift);
+        CoordinateOperation toRadians = UnitConversion.createUnitConverter(Unit.DEGREE, Unit.RADIAN);
+        fused = GeographicDatumShift.fuse(new CoordinateOperation[]{
+                toRadians, ops[0], ops[1], ops[2], ops[3], toRadians.inverse()});
+        assertEquals(3, fused.length);
+        assertSame(toRadians, fused[0]);
+        assertTrue(fused[1] instanceof GeographicDatumShift);
+        // Nothing to fuse without the geocentric to geographic conversion
+        CoordinateOperation[] unfused = new CoordinateOperation[]{ops[0], ops[1], ops[2]};
+        assertSame(unfused, GeographicDatumShift.fuse(unfused));
+    }
+
+    @Test
+    void testSameResults() throws Exception {
+        checkSameResults(ntfToRgf93());
+        checkSameResults(ed50ToEd50());
+    }
+
+    @Test
+    void testInverse() throws Exception {
+        CoordinateOperation shift = GeographicDatumShift.fuse(ntfToRgf93())[0];
+        CoordinateOperation inverse = shift.inverse();
+        assertSame(shift, inverse.inverse());
+        double[] coord = new double[]{0.85, 0.04, 120.0};
+        double[] result = inverse.transform(shift.transform(coord.clone()));
+        assertEquals(coord[0], result[0], 1E-11);
+        assertEquals(coord[1], result[1], 1E-11);
+        assertEquals(coord[2], result[2], 1E-4);
+    }
+
+    @Test
+    void testSequence2D() throws Exception {
+        CoordinateOperationSequence sequence = new CoordinateOperationSequence(
+                new Identifier(CoordinateOperationSequence.class, "NTF to RGF93"), ntfToRgf93());
+        double[] coord = new double[]{0.85, 0.04};
+        double[] expected = coord.clone();
+        for (CoordinateOperation op : ntfToRgf93()) {
+            expected = op.transform(expected);
+        }
+        double[] result = sequence.transform(coord.clone());
+        assertEquals(3, result.length);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected[i], result[i], 0.0);
+        }
+        double[] packed = new double[]{coord[0], coord[1], coord[0], coord[1]};
+        sequence.transform(packed, 0, 2, 2);
+        assertEquals(expected[0], packed[2], 0.0);
+        assertEquals(expected[1], packed[3], 0.0);
+    }
+
+    /**
+     * Transform more than a block of packed coordinates with the operations
+     * one after the other and with the fused operation, and compare results.
+     */
+    private static void checkSameResults(CoordinateOperation[] ops) throws Exception {
+        CoordinateOperation shift = GeographicDatumShift.fuse(ops)[0];
+        int count = 2 * GeographicDatumShift.BLOCK_SIZE + 17;
+        int stride = 4;
+        int offset = 1;
+        double[] packed = new double[offset + count * stride];
+        for (int i = 0; i < count; i++) {
+            int pos = offset + i * stride;
+            packed[pos] = 0.7 + 1E-3 * i;
+            packed[pos + 1] = -0.1 + 5E-4 * i;
+            packed[pos + 2] = i % 7 == 0 ? Double.NaN : 10.0 * (i % 50);
+            packed[pos + 3] = i;
+        }
+        double[] expected = packed.clone();
+        for (CoordinateOperation op : ops) {
+            op.transform(expected, offset, count, stride);
+        }
+        shift.transform(packed, offset, count, stride);
+        for (int i = 0; i < packed.length; i++) {
+            assertEquals(expected[i], packed[i], 0.0, "ordinate " + i);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation;
+
+import org.cts.CTSTestCase;
+import org.cts.op.CoordinateOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the different modes of NTv2GridShiftTransformation.
+ */
+class NTv2GridShiftTransformationTest extends CTSTestCase {
+
+    private static final double[][] POINTS = new double[][]{
+            {48.85, 2.35}, {43.6, 1.44}, {45.76, 4.84}, {47.22, -1.55}, {50.63, 3.06}
+    };
+
+    private static double[] toRadians(double[] p) {
+        return new double[]{Math.toRadians(p[0]), Math.toRadians(p[1])};
+    }
+
+    @Test
+    void testMappedModeGivesSameResultsAsSpeedMode() throws Exception {
+        NTv2GridShiftTransformation speed = NTv2GridShiftTransformation.createNTv2GridShiftTransformation("ntf_r93.gsb");
+        speed.setMode(NTv2GridShiftTransformation.SPEED);
+        NTv2GridShiftTransformation mapped = NTv2GridShiftTransformation.createNTv2GridShiftTransformation("ntf_r93.gsb");
+        assertTrue(mapped.setMode(NTv2GridShiftTransformation.MAPPED));
+        for (double[] p : POINTS) {
+            double[] expected = speed.transform(toRadians(p));
+            double[] result = mapped.transform(toRadians(p));
+            assertEquals(expected[0], result[0], 1E-15);
+            assertEquals(expected[1], result[1], 1E-15);
+            assertTrue(Math.abs(result[0] - Math.toRadians(p[0])) > 0);
+            double[] back = mapped.inverse().transform(result);
+            assertEquals(Math.toRadians(p[0]), back[0], 1E-12);
+            assertEquals(Math.toRadians(p[1]), back[1], 1E-12);
+        }
+    }
+
+    @Test
+    void testMappedModeConcurrentAccess() throws Exception {
+        final NTv2GridShiftTransformation mapped = NTv2GridShiftTransformation.createNTv2GridShiftTransformation("ntf_r93.gsb");
+        mapped.setMode(NTv2GridShiftTransformation.MAPPED);
+        final CoordinateOperation reference = NTv2GridShiftTransformation.createNTv2GridShiftTransformation("ntf_r93.gsb");
+        final double[][] expected = new double[POINTS.length][];
+        for (int i = 0; i < POINTS.length; i++) {
+            expected[i] = reference.transform(toRadians(POINTS[i]));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        for (int n = 0; n < 2000; n++) {
+                            int i = n % POINTS.length;
+                            double[] result = mapped.transform(toRadians(POINTS[i]));
+                            if (result[0] != expected[i][0] || result[1] != expected[i][1]) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
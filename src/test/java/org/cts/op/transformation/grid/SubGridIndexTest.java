@@ -0,0 +1,132 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation.grid;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for the spatial index used to select NTv2 sub grids.
+ */
+class SubGridIndexTest {
+
+    /**
+     * Create a sub grid with a single node per corner, only the header is
+     * read by the index.
+     */
+    private static SubGrid createSubGrid(String name, double minLat, double maxLat, double minLon, double maxLon) {
+        ByteBuffer buffer = ByteBuffer.allocate(176);
+        buffer.put(8, (name + "        ").substring(0, 8).getBytes());
+        buffer.putDouble(72, minLat);
+        buffer.putDouble(88, maxLat);
+        buffer.putDouble(104, minLon);
+        buffer.putDouble(120, maxLon);
+        buffer.putDouble(136, maxLat - minLat);
+        buffer.putDouble(152, maxLon - minLon);
+        buffer.putInt(168, 4);
+        return new SubGrid(buffer, 0);
+    }
+
+    private static SubGrid linearSearch(SubGrid[] grids, double lon, double lat) {
+        for (SubGrid grid : grids) {
+            SubGrid sub = grid.getSubGridForCoord(lon, lat);
+            if (sub != null) {
+                return sub;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void testIndexFindsSameSubGridAsLinearSearch() {
+        Random random = new Random(42);
+        SubGrid[] grids = new SubGrid[200];
+        for (int i = 0; i < grids.length; i++) {
+            double lat = random.nextInt(3600) * 10.0;
+            double lon = random.nextInt(3600) * 10.0;
+            double size = (1 + random.nextInt(60)) * 60.0;
+            grids[i] = createSubGrid("G" + i, lat, lat + size, lon, lon + size);
+            SubGrid[] children = new SubGrid[3];
+            for (int j = 0; j < children.length; j++) {
+                double step = size / 4;
+                children[j] = createSubGrid("G" + i + "_" + j, lat + j * step, lat + (j + 2) * step,
+                        lon + step, lon + 2 * step);
+            }
+            grids[i].setSubGridArray(children);
+        }
+        SubGridIndex index = new SubGridIndex(grids);
+        for (int k = 0; k < 100000; k++) {
+            double lon = random.nextDouble() * 40000 - 2000;
+            double lat = random.nextDouble() * 40000 - 2000;
+            SubGrid expected = linearSearch(grids, lon, lat);
+            SubGrid top = index.find(grids, lon, lat);
+            assertSame(expected, top == null ? null : top.getSubGridForCoord(lon, lat));
+        }
+    }
+
+    @Test
+    void testIndexBounds() {
+        SubGrid[] grids = new SubGrid[]{
+                createSubGrid("A", 0, 100, 0, 100),
+                createSubGrid("B", 50, 150, 50, 150)
+        };
+        SubGridIndex index = new SubGridIndex(grids);
+        assertSame(grids[0], index.find(grids, 0, 0));
+        assertSame(grids[0], index.find(grids, 75, 75));
+        assertSame(grids[1], index.find(grids, 100, 100));
+        assertSame(grids[1], index.find(grids, 149.9, 50));
+        assertNull(index.find(grids, 150, 150));
+        assertNull(index.find(grids, 120, 20));
+        assertNull(index.find(grids, -1, 50));
+        assertNull(new SubGridIndex(new SubGrid[0]).find(new SubGrid[0], 0, 0));
+    }
+
+    @Test
+    void testSerializedIndex() throws Exception {
+        SubGrid[] grids = new SubGrid[]{
+                createSubGrid("A", 0, 100, 0, 100),
+                createSubGrid("B", 50, 150, 50, 150)
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new SubGridIndex(grids));
+        }
+        SubGridIndex index;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            index = (SubGridIndex) in.readObject();
+        }
+        assertSame(grids[0], index.find(grids, 75, 75));
+        assertSame(grids[1], index.find(grids, 100, 100));
+        assertNull(index.find(grids, 120, 20));
+    }
+}
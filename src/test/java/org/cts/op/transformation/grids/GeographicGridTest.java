@@ -0,0 +1,79 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation.grids;
+
+import org.cts.cs.OutOfExtentException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the storage and the interpolation of a GeographicGrid.
+ */
+class GeographicGridTest {
+
+    /**
+     * A 3 x 4 grid with 2 values per node : the node in row r and column c
+     * holds {10 * r + c, -(10 * r + c)}.
+     */
+    private GeographicGrid createGrid() {
+        GeographicGrid grid = new GeographicGrid(0.0, 2.0, 3.0, 0.0, 4, 3, 2, 360.0, 1, null);
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 4; c++) {
+                grid.setValue(r, c, new double[]{10 * r + c, -(10 * r + c)});
+            }
+        }
+        return grid;
+    }
+
+    @Test
+    void testRowMajorStorage() {
+        GeographicGrid grid = createGrid();
+        double[] array = grid.getValueArray();
+        assertEquals(3 * 4 * 2, array.length);
+        assertEquals(12.0, array[grid.getIndex(1, 2)]);
+        assertEquals(-12.0, array[grid.getIndex(1, 2) + 1]);
+        assertArrayEquals(new double[]{23.0, -23.0}, grid.copyValues(2, 3));
+        assertArrayEquals(new double[]{23.0, -23.0}, grid.copyValues()[2][3]);
+        // copies are not linked to the grid
+        grid.copyValues(2, 3)[0] = 0.0;
+        assertEquals(23.0, array[grid.getIndex(2, 3)]);
+    }
+
+    @Test
+    void testBilinearInterpolationIntoArray() throws Exception {
+        GeographicGrid grid = createGrid();
+        double[] shift = new double[2];
+        // y decreases from 2 (row 0) to 0 (row 2)
+        assertSame(shift, grid.bilinearInterpolation(1.5, 0.5, shift));
+        assertArrayEquals(new double[]{5.5, -5.5}, shift, 1e-12);
+        grid.bilinearInterpolation(0.0, 3.0, shift);
+        assertArrayEquals(new double[]{23.0, -23.0}, shift, 1e-12);
+        assertArrayEquals(grid.bilinearInterpolation(0.7, 2.2), grid.bilinearInterpolation(0.7, 2.2, shift));
+        assertThrows(OutOfExtentException.class, () -> grid.bilinearInterpolation(5.0, 1.0, new double[2]));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation.grids;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the binary cache of the IGN grids.
+ */
+class GridCacheTest {
+
+    @Test
+    void testGeographicGridCache() throws Exception {
+        IGNGeographicGrid grid;
+        InputStream is = new FileInputStream(GridUtils.findGrid("gr3df97a.txt"));
+        try {
+            grid = new IGNGeographicGrid(is, false);
+        } finally {
+            is.close();
+        }
+        File cache = File.createTempFile("gr3df97a", ".bin");
+        try {
+            GridUtils.writeGridCache(grid, cache);
+            IGNGeographicGrid cached = new IGNGeographicGrid();
+            GridUtils.readGridCache(cached, cache);
+            checkSameGrid(grid, cached);
+            assertEquals(grid.gridType, cached.gridType);
+            assertEquals(grid.interpolationMode, cached.interpolationMode);
+            assertEquals(grid.precisionUnit, cached.precisionUnit);
+            assertArrayEquals(grid.bilinearInterpolation(46.5, 2.5), cached.bilinearInterpolation(46.5, 2.5));
+            assertThrows(java.io.IOException.class, () -> GridUtils.readGridCache(new IGNVerticalGrid(), cache));
+        } finally {
+            cache.delete();
+        }
+    }
+
+    @Test
+    void testGeographicGridCacheWithoutOptionalHeaders() throws Exception {
+        IGNGeographicGrid grid;
+        InputStream is = new FileInputStream(GridUtils.findGrid("gr3df97a.txt"));
+        try {
+            grid = new IGNGeographicGrid(is, false);
+        } finally {
+            is.close();
+        }
+        grid.gridType = null;
+        grid.interpolationMode = null;
+        grid.precisionUnit = null;
+        File cache = File.createTempFile("gr3df97a", ".bin");
+        try {
+            GridUtils.writeGridCache(grid, cache);
+            IGNGeographicGrid cached = new IGNGeographicGrid();
+            GridUtils.readGridCache(cached, cache);
+            checkSameGrid(grid, cached);
+            assertNull(cached.gridType);
+            assertNull(cached.interpolationMode);
+            assertNull(cached.precisionUnit);
+        } finally {
+            cache.delete();
+        }
+    }
+
+    @Test
+    void testVerticalGridCache() throws Exception {
+        IGNVerticalGrid grid;
+        InputStream is = new FileInputStream(GridUtils.findGrid("RAF09.txt"));
+        try {
+            grid = new IGNVerticalGrid(is, false);
+        } finally {
+            is.close();
+        }
+        File cache = File.createTempFile("RAF09", ".bin");
+        try {
+            GridUtils.writeGridCache(grid, cache);
+            IGNVerticalGrid cached = new IGNVerticalGrid();
+            GridUtils.readGridCache(cached, cache);
+            checkSameGrid(grid, cached);
+            assertArrayEquals(grid.globalTranslation, cached.globalTranslation);
+            assertArrayEquals(grid.bilinearInterpolation(46.5, 2.5), cached.bilinearInterpolation(46.5, 2.5));
+        } finally {
+            cache.delete();
+        }
+    }
+
+    private static void checkSameGrid(GeographicGrid expected, GeographicGrid grid) {
+        assertEquals(expected.getColumnNumber(), grid.getColumnNumber());
+        assertEquals(expected.getRowNumber(), grid.getRowNumber());
+        assertEquals(expected.getX0(), grid.getX0());
+        assertEquals(expected.getY0(), grid.getY0());
+        assertEquals(expected.getDX(), grid.getDX());
+        assertEquals(expected.getDY(), grid.getDY());
+        assertEquals(expected.getScale(), grid.getScale());
+        for (int r = 0; r < expected.getRowNumber(); r++) {
+            for (int c = 0; c < expected.getColumnNumber(); c++) {
+                assertArrayEquals(expected.copyValues(r, c), grid.copyValues(r, c));
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.op.transformation.grids;
+
+import org.cts.datum.GeodeticDatum;
+import org.cts.op.CoordinateOperation;
+import org.cts.op.transformation.Altitude2EllipsoidalHeight;
+import org.cts.op.transformation.NTv2GridShiftTransformation;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the sharing, the reference counting and the eviction of grids.
+ */
+class GridManagerTest {
+
+    /**
+     * A 3 x 4 grid with 2 values per node, using 192 bytes.
+     */
+    private static GeographicGrid createGrid() {
+        return new GeographicGrid(0.0, 2.0, 3.0, 0.0, 4, 3, 2, 360.0, 1, null);
+    }
+
+    @Test
+    void testGridLoadedOnce() throws Exception {
+        GridManager manager = new GridManager();
+        final AtomicInteger loads = new AtomicInteger();
+        GridManager.GridLoader<GeographicGrid> loader = () -> {
+            loads.incrementAndGet();
+            return createGrid();
+        };
+        assertFalse(manager.isLoaded("a"));
+        GeographicGrid grid = manager.acquire("a", GeographicGrid.class, loader);
+        assertSame(grid, manager.acquire("a", GeographicGrid.class, loader));
+        manager.release("a");
+        manager.release("a");
+        assertSame(grid, manager.acquire("a", GeographicGrid.class, loader));
+        manager.release("a");
+        assertEquals(1, loads.get());
+        assertTrue(manager.isLoaded("a"));
+        assertEquals(192L, manager.getMemoryUsage());
+        assertEquals(Long.valueOf(192L), manager.getGridMemoryUsage().get("a"));
+        assertTrue(manager.unload("a"));
+        assertFalse(manager.isLoaded("a"));
+        assertEquals(0L, manager.getMemoryUsage());
+    }
+
+    @Test
+    void testLeastRecentlyUsedGridsEvicted() throws Exception {
+        GridManager manager = new GridManager();
+        manager.setMemoryBudget(400L);
+        for (String key : Arrays.asList("a", "b")) {
+            manager.acquire(key, GeographicGrid.class, GridManagerTest::createGrid);
+            manager.release(key);
+        }
+        // "a" is used again, "b" becomes the least recently used grid
+        manager.acquire("a", GeographicGrid.class, GridManagerTest::createGrid);
+        manager.release("a");
+        manager.acquire("c", GeographicGrid.class, GridManagerTest::createGrid);
+        manager.release("c");
+        assertTrue(manager.isLoaded("a"));
+        assertFalse(manager.isLoaded("b"));
+        assertTrue(manager.isLoaded("c"));
+        assertEquals(Arrays.asList("c", "a"), new ArrayList<String>(manager.getGridMemoryUsage().keySet()));
+        assertEquals(384L, manager.getMemoryUsage());
+    }
+
+    @Test
+    void testGridInUseNotEvicted() throws Exception {
+        GridManager manager = new GridManager();
+        GeographicGrid grid = manager.acquire("a", GeographicGrid.class, GridManagerTest::createGrid);
+        manager.setMemoryBudget(0L);
+        assertFalse(manager.unload("a"));
+        assertTrue(manager.isLoaded("a"));
+        assertSame(grid, manager.acquire("a", GeographicGrid.class, GridManagerTest::createGrid));
+        manager.release("a");
+        manager.release("a");
+        assertFalse(manager.isLoaded("a"));
+        assertEquals(0L, manager.getMemoryUsage());
+    }
+
+    @Test
+    void testGridReference() throws Exception {
+        GridManager manager = new GridManager();
+        final AtomicInteger loads = new AtomicInteger();
+        GridManager.GridReference<GeographicGrid> reference = manager.getReference("a", GeographicGrid.class, () -> {
+            loads.incrementAndGet();
+            return createGrid();
+        });
+        assertFalse(manager.isLoaded("a"));
+        GeographicGrid grid = reference.get();
+        assertSame(grid, reference.get());
+        assertSame(grid, manager.acquire("a", GeographicGrid.class, GridManagerTest::createGrid));
+        manager.release("a");
+        assertEquals(1, loads.get());
+        // The reference does not keep the grid in use
+        assertTrue(manager.unload("a"));
+        assertFalse(manager.isLoaded("a"));
+        GeographicGrid reloaded = reference.get();
+        assertTrue(reloaded != grid);
+        assertTrue(manager.isLoaded("a"));
+        assertEquals(2, loads.get());
+        // A grid larger than the budget is still returned
+        manager.setMemoryBudget(0L);
+        assertFalse(manager.isLoaded("a"));
+        assertTrue(reference.get() != null);
+        assertEquals(0L, manager.getMemoryUsage());
+    }
+
+    @Test
+    void testLoadingErrors() throws Exception {
+        GridManager manager = new GridManager();
+        assertThrows(IOException.class, () -> manager.acquire("a", GeographicGrid.class, () -> {
+            throw new IOException("missing");
+        }));
+        assertFalse(manager.isLoaded("a"));
+        manager.acquire("a", GeographicGrid.class, GridManagerTest::createGrid);
+        manager.release("a");
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.acquire("a", IGNVerticalGrid.class, IGNVerticalGrid::new));
+    }
+
+    @Test
+    void testGridSharedByOperations() throws Exception {
+        NTv2GridShiftTransformation ntv2 = NTv2GridShiftTransformation.createNTv2GridShiftTransformation("ntf_r93.gsb");
+        CoordinateOperation inverse = ntv2.inverse();
+        inverse.transform(new double[]{Math.toRadians(48.85), Math.toRadians(2.35)});
+        assertTrue(ntv2.isLoaded());
+        assertTrue(NTv2GridShiftTransformation.createNTv2GridShiftTransformation("ntf_r93.gsb").isLoaded());
+
+        Altitude2EllipsoidalHeight alti = new Altitude2EllipsoidalHeight("RAF09.txt", GeodeticDatum.RGF93);
+        GeographicGrid grid = alti.loadGrid();
+        assertSame(grid, new Altitude2EllipsoidalHeight("RAF09.txt", GeodeticDatum.RGF93).loadGrid());
+        assertTrue(GridManager.getInstance().getGridMemoryUsage().get("RAF09.txt") > 0);
+    }
+}
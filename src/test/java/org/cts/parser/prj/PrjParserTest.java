@@ -351,4 +351,61 @@ class PrjParserTest extends CTSTestCase {
         assertEquals("EPSG", ((PrjStringElement)epsgElement.get(0)).getValue());
         assertEquals(32631, ((PrjNumberElement)epsgElement.get(1)).getValue());
     }
+
+    @Test
+    void testParseDouble() {
+        String[] numbers = new String[]{"0", "-0", "1", "-1", "48.000178", "6378137.0", "298.257223563",
+                "0.0174532925199433", "0.017453292519943295", "0.01570796326794897", "1e-7", "-1.5E+3",
+                "2.5e22", "2.5e23", "123456789012345", "1234567890123456789", ".5", "5.", "0.000000000000000000000001",
+                "1.0d", "0x1p3", "00012.5000"};
+        for (String number : numbers) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(number)),
+                    Double.doubleToLongBits(PrjParser.parseDouble(number, 0, number.length())), number);
+        }
+        java.util.Random random = new java.util.Random(7);
+        for (int i = 0; i < 10000; i++) {
+            String number = Double.toString((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10));
+            assertEquals(Double.parseDouble(number), PrjParser.parseDouble(number, 0, number.length()), number);
+            number = String.format(java.util.Locale.ROOT, "%.6f", random.nextDouble() * 1000);
+            assertEquals(Double.parseDouble(number), PrjParser.parseDouble(number, 0, number.length()), number);
+        }
+        assertThrows(NumberFormatException.class, () -> PrjParser.parseDouble("1.2.3", 0, 5));
+        assertThrows(NumberFormatException.class, () -> PrjParser.parseDouble("1e", 0, 2));
+    }
+
+    @Test
+    void testParseNodeMovesBuffer() {
+        CharBuffer buffer = CharBuffer.wrap("TOTO[\"some text\", TATA], TITI");
+        PrjElement elem = parser.parseNode(buffer);
+        assertEquals(2, elem.getChildren().size());
+        assertEquals("TATA", ((PrjStringElement) elem.getChildren().get(1)).getValue());
+        assertEquals(", TITI", buffer.toString());
+        assertThrows(PrjParserException.class, () -> parser.getAsPrjElement("TOTO[\"some text\", 1"));
+    }
+
+    @Test
+    void testCreateFromPrjStreamNotReady() throws Exception {
+        String prj = "PROJCS[\"NTF (Paris) / Lambert zone II\",GEOGCS[\"NTF (Paris)\",\r\n"
+                + "DATUM[\"Nouvelle_Triangulation_Francaise_Paris\",\r\n"
+                + "SPHEROID[\"Clarke 1880 (IGN)\",6378249.2,293.4660212936269,\n"
+                + "AUTHORITY[\"EPSG\",\"7011\"]],TOWGS84[-168,-60,320,0,0,0,0],"
+                + "AUTHORITY[\"EPSG\",\"6807\"]],PRIMEM[\"Paris\",2.33722917,"
+                + "AUTHORITY[\"EPSG\",\"8903\"]],UNIT[\"grad\",0.01570796326794897,"
+                + "AUTHORITY[\"EPSG\",\"9105\"]],AUTHORITY[\"EPSG\",\"4807\"]],UNIT[\"metre\",1,"
+                + "AUTHORITY[\"EPSG\",\"9001\"]],PROJECTION[\"Lambert_Conformal_Conic_1SP\"],"
+                + "PARAMETER[\"latitude_of_origin\",52],PARAMETER[\"central_meridian\",0],"
+                + "PARAMETER[\"scale_factor\",0.99987742],PARAMETER[\"false_easting\",600000],"
+                + "PARAMETER[\"false_northing\",2200000],\n"
+                + "AUTHORITY[\"EPSG\",\"27572\"],AXIS[\"X\",EAST],AXIS[\"Y\",NORTH]]\n";
+        // a stream which never tells that bytes are available without blocking
+        java.io.InputStream stream = new java.io.ByteArrayInputStream(prj.getBytes("UTF-8")) {
+            @Override
+            public synchronized int available() {
+                return 0;
+            }
+        };
+        CoordinateReferenceSystem crs = cRSFactory.createFromPrj(stream, java.nio.charset.StandardCharsets.UTF_8);
+        assertEquals("EPSG:27572", crs.getCode());
+        assertEquals(cRSFactory.createFromPrj(prj.replace("\r", "").replace("\n", "")).toWKT(), crs.toWKT());
+    }
 }
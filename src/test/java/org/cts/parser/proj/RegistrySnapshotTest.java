@@ -0,0 +1,76 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.parser.proj;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Check that the snapshot of a registry gives the same definitions as the
+ * registry file.
+ */
+class RegistrySnapshotTest {
+
+    private static byte[] write(ProjParser.TextIndex index) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RegistrySnapshot.write(index, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testSnapshotMatchesRegistryFile() throws Exception {
+        for (String name : new String[]{"epsg", "esri", "ignf", "nad27", "nad83", "world"}) {
+            ProjParser.TextIndex text = ProjParser.readRegistry(name);
+            ProjParser.RegistryIndex snapshot = RegistrySnapshot.read(write(text));
+            assertNotNull(snapshot, name);
+            assertEquals(text.getCodes(), snapshot.getCodes(), name);
+            for (String key : text.definitions.keySet()) {
+                ProjParser.Definition expected = text.getDefinition(key);
+                ProjParser.Definition definition = snapshot.getDefinition(key);
+                assertNotNull(definition, name + ":" + key);
+                assertEquals(expected.getLine(), definition.getLine(), name + ":" + key);
+                assertEquals(expected.getCrsName(), definition.getCrsName(), name + ":" + key);
+            }
+            assertNull(snapshot.getDefinition("unknown"));
+        }
+    }
+
+    @Test
+    void testInvalidSnapshot() throws Exception {
+        byte[] snapshot = write(ProjParser.readRegistry("world"));
+        assertThrows(IOException.class,
+                () -> RegistrySnapshot.read(Arrays.copyOf(snapshot, snapshot.length - 1)));
+        // another version of the format
+        snapshot[7]++;
+        assertNull(RegistrySnapshot.read(snapshot));
+    }
+}
@@ -26,6 +26,7 @@ package org.cts.registry;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.cts.CTSTestCase;
 import org.cts.Identifier;
@@ -209,4 +210,44 @@ class RegistryParserTest extends CTSTestCase {
         parameters = getParameters("EPsg", "4326");
         assertNotNull(parameters);
     }
+
+    @Test
+    void testReadAllEPSGCodes() throws Exception {
+        Registry reg = cRSFactory.getRegistryManager().getRegistry("epsg");
+        Set<String> codes = reg.getSupportedCodes();
+        assertEquals(5596, codes.size());
+        for (String code : codes) {
+            assertNotNull(getParameters("epsg", code), "epsg:" + code);
+        }
+    }
+
+    @Test
+    void testReadParametersAreNotShared() throws Exception {
+        Map<String, String> parameters = getParameters("epsg", "4326");
+        parameters.put(ProjKeyParameters.proj, "utm");
+        assertEquals("longlat", getParameters("epsg", "4326").get(ProjKeyParameters.proj));
+        assertEquals("WGS 84", getParameters("epsg", "4326").get(ProjKeyParameters.title));
+    }
+
+    @Test
+    void testRegistriesShareIndex() throws Exception {
+        EPSGRegistry first = new EPSGRegistry();
+        EPSGRegistry second = new EPSGRegistry();
+        assertEquals(first.getSupportedCodes(), second.getSupportedCodes());
+        assertEquals(first.getParameters("2154"), second.getParameters("2154"));
+        assertNotSame(first.getParameters("2154"), second.getParameters("2154"));
+        assertEquals("RGF93 / Lambert-93", second.getParameters("2154").get(ProjKeyParameters.title));
+    }
+
+    @Test
+    void testReadDefinitionsOnSeveralLines() throws Exception {
+        Map<String, String> parameters = new WorldRegistry().getParameters("CH1903");
+        assertEquals("Swiss Coordinate System", parameters.get(ProjKeyParameters.title));
+        assertEquals("somerc", parameters.get(ProjKeyParameters.proj));
+        assertEquals("600000", parameters.get(ProjKeyParameters.x_0));
+        parameters = new Nad27Registry().getParameters("101");
+        assertEquals("tmerc", parameters.get(ProjKeyParameters.proj));
+        assertEquals("152400.3048006096", parameters.get(ProjKeyParameters.x_0));
+        assertEquals("101: alabama east: nad27", parameters.get(ProjKeyParameters.title));
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Coordinate Transformations Suite (abridged CTS)  is a library developped to
+ * perform Coordinate Transformations using well known geodetic algorithms
+ * and parameter sets.
+ * Its main focus are simplicity, flexibility, interoperability, in this order.
+ *
+ * This library has been originally developed by Michaël Michaud under the JGeod
+ * name. It has been renamed CTS in 2009 and shared to the community from
+ * the OrbisGIS code repository.
+ *
+ * CTS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free Software
+ * Foundation, either version 3 of the License.
+ *
+ * CTS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * CTS. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * For more information, please consult: <https://github.com/orbisgis/cts/>
+ */
+package org.cts.util;
+
+import org.cts.util.ConcurrentCache.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ConcurrentCache
+ */
+public class ConcurrentCacheTest {
+
+    @Test
+    void testLRUEviction() {
+        ConcurrentCache<String, Integer> cache = new ConcurrentCache<>(2, EvictionPolicy.LRU);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        cache.put("c", 3);
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void testLFUEviction() {
+        ConcurrentCache<String, Integer> cache = new ConcurrentCache<>(2, EvictionPolicy.LFU);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.put("c", 3);
+        cache.get("c");
+        cache.put("d", 4);
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertFalse(cache.containsKey("c"));
+        assertTrue(cache.containsKey("d"));
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void testStatistics() throws Exception {
+        ConcurrentCache<String, Integer> cache = new ConcurrentCache<>(10);
+        assertNull(cache.get("a"));
+        assertEquals(Integer.valueOf(1), cache.get("a", String::length));
+        assertEquals(Integer.valueOf(1), cache.get("a", String::length));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+        cache.resetStatistics();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void testNullAndFailuresAreNotCached() {
+        ConcurrentCache<String, Integer> cache = new ConcurrentCache<>(10);
+        assertNull(cache.get("a", key -> null));
+        assertFalse(cache.containsKey("a"));
+        assertThrows(IOException.class, () -> cache.get("a", key -> {
+            throw new IOException("cannot load " + key);
+        }));
+        assertFalse(cache.containsKey("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSetMaxSize() {
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        cache.setMaxSize(4);
+        assertEquals(4, cache.size());
+        assertEquals(6, cache.getEvictionCount());
+        for (int i = 6; i < 10; i++) {
+            assertTrue(cache.containsKey(i));
+        }
+    }
+
+    @Test
+    void testSampledEviction() {
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+            // keys 0 to 9 are used after each insertion
+            for (int j = 0; j < 10 && j <= i; j++) {
+                cache.get(j);
+            }
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.getEvictionCount());
+        for (int j = 0; j < 10; j++) {
+            assertTrue(cache.containsKey(j));
+        }
+        assertTrue(cache.containsKey(999));
+    }
+
+    @Test
+    void testConcurrentInsertions() throws Exception {
+        final ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        int key = thread * 2000 + i;
+                        assertEquals(Integer.valueOf(key), cache.get(key, k -> k));
+                        if (i % 7 == 0) {
+                            cache.remove(key);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(cache.size() <= 50);
+    }
+
+    @Test
+    void testSingleLoadPerKey() throws Exception {
+        final ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(100);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 64; t++) {
+                final int key = t % 4;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(key, k -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(20);
+                        return k * 10;
+                    });
+                }));
+            }
+            start.countDown();
+            for (int t = 0; t < results.size(); t++) {
+                assertEquals(Integer.valueOf((t % 4) * 10), results.get(t).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(4, loads.get());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(60, cache.getHitCount());
+    }
+}